@@ -0,0 +1,419 @@
+package com.bakingcode.io.twitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+
+/**
+ * Batches the petitions of single items by id: the ids requested within a short window, or until a batch has
+ * {@link #MAX_BATCH_SIZE} ids, are sent as a single lookup petition and every caller gets the future of its own
+ * item. A hundred users shown one by one from different places cost one users/lookup petition instead of a
+ * hundred users/show ones:
+ *
+ * twitter.getUserLoader().load(id).addCallback(...)
+ *
+ * The future of an item that twitter does not return, e.g. a suspended user or a deleted tweet, completes with
+ * null. If the lookup fails, or the async executor rejects it, all the futures of the batch fail with its error.
+ *
+ * @param <T> type of the items
+ */
+public class BatchLoader<T> {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "BatchLoader";
+
+    /**
+     * Max number of ids of a lookup petition
+     */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * Default time a batch waits for more ids
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 10L;
+
+    /**
+     * Lookup of a batch of ids
+     *
+     * @param <T> type of the items
+     */
+    interface BatchFunction<T> {
+
+        /**
+         * Requests the items of a batch
+         *
+         * @param ids the ids, up to MAX_BATCH_SIZE
+         * @return the items returned by twitter, in any order
+         * @throws TwitterErrorRequestException if the lookup fails
+         */
+        List<T> load(long[] ids) throws TwitterErrorRequestException;
+
+        /**
+         * @param item an item
+         * @return the id of the item
+         */
+        long idOf(T item);
+
+    }
+
+    /**
+     * Shared timer that dispatches the batches whose window ends
+     */
+    private static final ScheduledExecutorService batchTimer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+        @Override
+        public Thread newThread(Runnable r) {
+
+            Thread t = new Thread(r, "ara-twitter-batches");
+            t.setDaemon(true);
+            return t;
+
+        }
+
+    });
+
+    /**
+     * Ids collected in a window and the futures waiting for them
+     */
+    private class Batch implements Runnable {
+
+        /**
+         * Distinct ids of the batch
+         */
+        final Set<Long> ids = new LinkedHashSet<Long>();
+
+        /**
+         * Futures of the callers
+         */
+        final List<TwitterFuture<T>> futures = new ArrayList<TwitterFuture<T>>();
+
+        /**
+         * Timer that dispatches the batch at the end of its window
+         */
+        ScheduledFuture<?> timer;
+
+        /**
+         * Items by id, once the lookup is done
+         */
+        volatile Map<Long, T> items;
+
+        /**
+         * Error of the lookup
+         */
+        volatile TwitterErrorRequestException error;
+
+        /**
+         * Unexpected failure of the lookup
+         */
+        volatile RuntimeException failure;
+
+        @Override
+        public void run() {
+
+            if (isAbandoned()) {
+                return;
+            }
+
+            long[] batchIds = new long[ids.size()];
+            int i = 0;
+
+            for (Long id : ids) {
+                batchIds[i++] = id;
+            }
+
+            try {
+
+                Map<Long, T> loaded = new HashMap<Long, T>();
+                List<T> result = function.load(batchIds);
+
+                if (result != null) {
+
+                    for (T item : result) {
+                        loaded.put(function.idOf(item), item);
+                    }
+
+                }
+
+                items = loaded;
+
+            } catch (TwitterErrorRequestException e) {
+                error = e;
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+
+            // Every future reads its own item, in this thread
+            for (TwitterFuture<T> future : futures) {
+                future.run();
+            }
+
+        }
+
+        /**
+         * Completes every future with an error without making the lookup
+         *
+         * @param e the error
+         */
+        void fail(TwitterErrorRequestException e) {
+
+            error = e;
+
+            for (TwitterFuture<T> future : futures) {
+                future.run();
+            }
+
+        }
+
+        /**
+         * @return true if every caller cancelled its future, so the lookup is not needed
+         */
+        boolean isAbandoned() {
+
+            for (TwitterFuture<T> future : futures) {
+
+                if (!future.isCancelled()) {
+                    return false;
+                }
+
+            }
+
+            return true;
+
+        }
+
+        /**
+         * @param id id of an item
+         * @return the item or null if twitter did not return it
+         * @throws TwitterErrorRequestException if the lookup failed
+         */
+        T get(long id) throws TwitterErrorRequestException {
+
+            if (failure != null) {
+                throw failure;
+            }
+
+            if (error != null) {
+                throw new TwitterErrorRequestException(error.getError());
+            }
+
+            return items.get(id);
+
+        }
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Consumer whose async executor runs the lookups
+     */
+    private final Twitter twitter;
+
+    /**
+     * Lookup of a batch
+     */
+    private final BatchFunction<T> function;
+
+    /**
+     * Time in millis a batch waits for more ids
+     */
+    private volatile long windowMillis = DEFAULT_WINDOW_MILLIS;
+
+    /**
+     * Max number of distinct ids of a batch
+     */
+    private volatile int maxBatchSize = MAX_BATCH_SIZE;
+
+    /**
+     * Batch collecting ids, null if there is none
+     */
+    private Batch pending;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a loader
+     *
+     * @param twitter consumer whose async executor runs the lookups
+     * @param function lookup of a batch
+     */
+    BatchLoader(Twitter twitter, BatchFunction<T> function) {
+
+        this.twitter = twitter;
+        this.function = function;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the time in millis a batch waits for more ids
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * @param windowMillis the time in millis a batch waits for more ids to set. A longer window makes bigger
+     * batches but delays every item.
+     * @return this loader
+     */
+    public BatchLoader<T> setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+        return this;
+    }
+
+    /**
+     * @return the max number of distinct ids of a batch
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @param maxBatchSize the max number of distinct ids of a batch to set, up to MAX_BATCH_SIZE
+     * @return this loader
+     */
+    public BatchLoader<T> setMaxBatchSize(int maxBatchSize) {
+
+        if (maxBatchSize < 1 || maxBatchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("maxBatchSize must be between 1 and " + MAX_BATCH_SIZE);
+        }
+
+        this.maxBatchSize = maxBatchSize;
+        return this;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Loading
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Requests an item in the next batch
+     *
+     * @param id id of the item
+     * @return a future with the item, null if twitter does not return it
+     */
+    public TwitterFuture<T> load(final long id) {
+
+        final Batch batch;
+        final TwitterFuture<T> future;
+        boolean full;
+
+        synchronized (this) {
+
+            if (pending == null) {
+
+                final Batch created = new Batch();
+                pending = created;
+                created.timer = batchTimer.schedule(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        flush(created);
+                    }
+
+                }, windowMillis, TimeUnit.MILLISECONDS);
+
+            }
+
+            batch = pending;
+            future = new TwitterFuture<T>(new Callable<T>() {
+
+                @Override
+                public T call() throws Exception {
+                    return batch.get(id);
+                }
+
+            });
+
+            batch.ids.add(id);
+            batch.futures.add(future);
+            full = batch.ids.size() >= maxBatchSize;
+
+            if (full) {
+                pending = null;
+            }
+
+        }
+
+        if (full) {
+
+            batch.timer.cancel(false);
+            dispatch(batch);
+
+        }
+
+        return future;
+
+    }
+
+    /**
+     * Dispatches a batch at the end of its window, unless it was dispatched when it was full
+     *
+     * @param batch the batch
+     */
+    private void flush(Batch batch) {
+
+        synchronized (this) {
+
+            if (pending != batch) {
+                return;
+            }
+
+            pending = null;
+
+        }
+
+        dispatch(batch);
+
+    }
+
+    /**
+     * Runs the lookup of a batch in the async executor
+     *
+     * @param batch the batch
+     */
+    private void dispatch(Batch batch) {
+
+        L(TAG, "Dispatching a batch of " + batch.ids.size() + " ids");
+
+        try {
+
+            twitter.getAsyncExecutor().execute(batch);
+
+        } catch (RejectedExecutionException e) {
+
+            // This thread is the shared timer or a caller expecting a future, it must not make the lookup
+            L(TAG, "Batch rejected by the async executor: " + e);
+            batch.fail(new TwitterErrorRequestException(new TwitterCommunicationException("Batch lookup rejected by the async executor", e)));
+
+        }
+
+    }
+
+}
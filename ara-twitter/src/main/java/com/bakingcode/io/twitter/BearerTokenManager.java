@@ -0,0 +1,172 @@
+package com.bakingcode.io.twitter;
+
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
+
+/**
+ * Keeps the application-only bearer token of a consumer. The token is obtained once with
+ * {@link Twitter#obtainBearerToken()}, cached in memory and in a {@link TokenStore} so it survives restarts, and
+ * obtained again when twitter rejects it.
+ */
+public class BearerTokenManager {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "BearerTokenManager";
+
+    /**
+     * Persistent storage of the token, e.g. backed by the SharedPreferences of the app
+     */
+    public interface TokenStore {
+
+        /**
+         * @return the stored token or null if there is none
+         */
+        public String load();
+
+        /**
+         * Stores a token
+         * @param token the token
+         */
+        public void save(String token);
+
+        /**
+         * Removes the stored token
+         */
+        public void clear();
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Consumer whose key and secret obtain the token
+     */
+    private final Twitter twitter;
+
+    /**
+     * Storage of the token, null to keep it only in memory
+     */
+    private final TokenStore store;
+
+    /**
+     * Cached token
+     */
+    private volatile String token;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a manager
+     *
+     * @param twitter consumer whose key and secret obtain the token
+     * @param store storage of the token, null to keep it only in memory
+     */
+    public BearerTokenManager(Twitter twitter, TokenStore store) {
+
+        this.twitter = twitter;
+        this.store = store;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Token
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Gets the token, loading it from the store or obtaining it from twitter the first time
+     *
+     * @return the bearer token
+     * @throws TwitterErrorRequestException if the token cannot be obtained
+     */
+    public String getToken() throws TwitterErrorRequestException {
+
+        String current = token;
+
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+
+            if (token == null && store != null) {
+                token = store.load();
+            }
+
+            if (token == null) {
+
+                L(TAG, "Obtaining bearer token");
+                String obtained = twitter.obtainBearerToken();
+
+                if (obtained == null) {
+                    throw new TwitterErrorRequestException(new TwitterCommunicationException("Empty bearer token response"));
+                }
+
+                token = obtained;
+
+                if (store != null) {
+                    store.save(obtained);
+                }
+
+            }
+
+            return token;
+
+        }
+
+    }
+
+    /**
+     * Forgets a token rejected by twitter so the next call to {@link #getToken()} obtains a new one. Nothing is
+     * done if the token has already been replaced by another thread.
+     *
+     * @param rejected the rejected token
+     */
+    public synchronized void reject(String rejected) {
+
+        if (rejected != null && rejected.equals(token)) {
+
+            L(TAG, "Bearer token rejected, it will be obtained again");
+            token = null;
+
+            if (store != null) {
+                store.clear();
+            }
+
+        }
+
+    }
+
+    /**
+     * Invalidates the token in twitter and forgets it
+     */
+    public synchronized void invalidate() {
+
+        String current = token;
+        token = null;
+
+        if (store != null) {
+            store.clear();
+        }
+
+        if (current != null) {
+
+            try {
+                twitter.invalidateBearerToken(current);
+            } catch (TwitterErrorRequestException e) {
+                LT(TAG, e);
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.bakingcode.io.twitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.model.User;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+
+/**
+ * Hydrates any number of user ids. The ids are split in chunks of up to {@link #MAX_CHUNK_SIZE} ids, the max
+ * allowed by users/lookup, and the chunks are requested concurrently. When the users/lookup window tracked by the
+ * rate limit registry of the consumer is spent, shared with every other users/lookup petition, the chunks wait
+ * for its reset.
+ * The users are handed to a listener as soon as every chunk completes and a failed chunk is reported on its
+ * own, the rest of the chunks go on:
+ *
+ * twitter.bulkLookupUsers(followerIds).setParallelism(4).execute(new BulkUserLookup.Listener() { ... });
+ */
+public class BulkUserLookup {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "BulkUserLookup";
+
+    /**
+     * Max number of ids of a users/lookup request
+     */
+    public static final int MAX_CHUNK_SIZE = 100;
+
+    /**
+     * Default number of chunks requested at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * Receives the results of the chunks. The methods are called from the threads of the async executor,
+     * possibly at the same time.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a chunk has been hydrated
+         * @param users the users of the chunk, the suspended or deleted ones are not returned by twitter
+         */
+        public void onUsers(List<User> users);
+
+        /**
+         * Called when a chunk fails
+         * @param ids the ids of the chunk, they can be requested again later
+         * @param error the error of the chunk
+         */
+        public void onChunkFailed(long[] ids, TwitterErrorRequestException error);
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Consumer used for the requests, waiting for the rate limit resets
+     */
+    private final Twitter twitter;
+
+    /**
+     * Ids to hydrate
+     */
+    private final long[] ids;
+
+    /**
+     * Chunks requested at the same time
+     */
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * Ids per chunk
+     */
+    private int chunkSize = MAX_CHUNK_SIZE;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a bulk lookup
+     *
+     * @param twitter consumer used for the requests
+     * @param ids ids to hydrate
+     */
+    BulkUserLookup(Twitter twitter, long[] ids) {
+
+        this.twitter = twitter.withRateLimitPolicy(RateLimitPolicy.WAIT);
+        this.ids = ids;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param parallelism the number of chunks requested at the same time
+     * @return this lookup
+     */
+    public BulkUserLookup setParallelism(int parallelism) {
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+
+        this.parallelism = parallelism;
+        return this;
+
+    }
+
+    /**
+     * @param chunkSize the number of ids per chunk, up to MAX_CHUNK_SIZE
+     * @return this lookup
+     */
+    public BulkUserLookup setChunkSize(int chunkSize) {
+
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+
+        this.chunkSize = chunkSize;
+        return this;
+
+    }
+
+    /**
+     * @return the number of chunks of the lookup
+     */
+    public int getChunkCount() {
+        return (ids.length + chunkSize - 1) / chunkSize;
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Execution
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starts the lookup in the async executor of the consumer. Cancelling the returned future stops requesting
+     * the chunks that have not started yet.
+     *
+     * @param listener receiver of the results of the chunks
+     * @return a future with the number of users hydrated, completed when all the chunks have finished
+     */
+    public TwitterFuture<Integer> execute(final Listener listener) {
+
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final AtomicInteger hydrated = new AtomicInteger();
+        final int workers = Math.min(parallelism, getChunkCount());
+        final TwitterFuture<?>[] holder = new TwitterFuture<?>[1];
+
+        TwitterFuture<Integer> result = new TwitterFuture<Integer>(new Callable<Integer>() {
+
+            @Override
+            public Integer call() throws Exception {
+
+                Callable<Void> worker = new Callable<Void>() {
+
+                    @Override
+                    public Void call() throws Exception {
+
+                        runChunks(nextChunk, hydrated, listener, holder[0]);
+                        return null;
+
+                    }
+
+                };
+
+                // This thread is one of the workers, the others run in the executor
+                List<TwitterFuture<Void>> others = new ArrayList<TwitterFuture<Void>>();
+                for (int i = 1; i < workers; i++) {
+
+                    TwitterFuture<Void> other = new TwitterFuture<Void>(worker);
+                    others.add(other);
+                    twitter.getAsyncExecutor().execute(other);
+
+                }
+
+                worker.call();
+
+                for (TwitterFuture<Void> other : others) {
+
+                    // A worker still queued runs here (and finds no chunks left), so a busy executor cannot
+                    // leave this thread waiting for it
+                    other.run();
+
+                    try {
+                        other.get();
+                    } catch (ExecutionException e) {
+                        L(TAG, "Lookup worker failed: " + e.getCause());
+                    }
+
+                }
+
+                return hydrated.get();
+
+            }
+
+        });
+
+        holder[0] = result;
+        twitter.getAsyncExecutor().execute(result);
+        return result;
+
+    }
+
+    /**
+     * Requests chunks until there are no more or the lookup is cancelled
+     *
+     * @param nextChunk index of the next chunk to request
+     * @param hydrated counter of hydrated users
+     * @param listener receiver of the results
+     * @param lookup future of the whole lookup
+     */
+    private void runChunks(AtomicInteger nextChunk, AtomicInteger hydrated, Listener listener, TwitterFuture<?> lookup) {
+
+        int chunkCount = getChunkCount();
+        int chunk;
+
+        while (!lookup.isCancelled() && (chunk = nextChunk.getAndIncrement()) < chunkCount) {
+
+            int from = chunk * chunkSize;
+            long[] chunkIds = Arrays.copyOfRange(ids, from, Math.min(from + chunkSize, ids.length));
+
+            List<User> users;
+
+            try {
+
+                users = twitter.lookupUsers(chunkIds);
+
+            } catch (TwitterErrorRequestException e) {
+
+                listener.onChunkFailed(chunkIds, e);
+                continue;
+
+            } catch (RuntimeException e) {
+
+                listener.onChunkFailed(chunkIds, new TwitterErrorRequestException(new TwitterCommunicationException(e.toString())));
+                continue;
+
+            }
+
+            if (users == null) {
+                users = new ArrayList<User>();
+            }
+
+            hydrated.addAndGet(users.size());
+            listener.onUsers(users);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.bakingcode.io.twitter;
+
+/**
+ * How long the responses of an endpoint are kept by a {@link ResponseCache}. A response is fresh during its time
+ * to live. After that, and during the stale window, it is still returned while a new one is requested in the
+ * background. The "not found" and "suspended" errors are kept for the negative time to live.
+ */
+public class CachePolicy {
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Time in millis a response is fresh
+     */
+    private long ttlMillis;
+
+    /**
+     * Time in millis a response is returned, while it is revalidated, once it is no longer fresh
+     */
+    private long staleMillis;
+
+    /**
+     * Time in millis a "not found" or "suspended" error is kept, 0 to not keep them
+     */
+    private long negativeTtlMillis;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a policy without stale window nor negative caching
+     *
+     * @param ttlMillis time in millis a response is fresh
+     */
+    public CachePolicy(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the time in millis a response is fresh
+     */
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    /**
+     * @param ttlMillis the time in millis a response is fresh to set
+     * @return this policy
+     */
+    public CachePolicy setTtlMillis(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        return this;
+    }
+
+    /**
+     * @return the time in millis a response is returned while it is revalidated
+     */
+    public long getStaleMillis() {
+        return staleMillis;
+    }
+
+    /**
+     * @param staleMillis the time in millis a response is returned while it is revalidated to set, 0 to request it
+     * again as soon as it is no longer fresh
+     * @return this policy
+     */
+    public CachePolicy setStaleMillis(long staleMillis) {
+        this.staleMillis = staleMillis;
+        return this;
+    }
+
+    /**
+     * @return the time in millis a "not found" or "suspended" error is kept
+     */
+    public long getNegativeTtlMillis() {
+        return negativeTtlMillis;
+    }
+
+    /**
+     * @param negativeTtlMillis the time in millis a "not found" or "suspended" error is kept to set, 0 to not keep
+     * them
+     * @return this policy
+     */
+    public CachePolicy setNegativeTtlMillis(long negativeTtlMillis) {
+        this.negativeTtlMillis = negativeTtlMillis;
+        return this;
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.bakingcode.io.twitter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
+
+/**
+ * Cancels twitter petitions: the ones not started yet fail without being made and the running ones have their
+ * connection aborted. Tokens form groups, cancelling a token cancels its children too:
+ *
+ * CancellationToken screen = new CancellationToken();
+ * twitter.withCancellation(screen).showUser(...);
+ * twitter.withCancellation(screen.newChild()).getFollowersIdsPages(...);
+ * screen.cancel(); // when the screen is closed
+ *
+ * A cancelled token cannot be used again.
+ */
+public class CancellationToken {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "CancellationToken";
+
+    /**
+     * Message of the communication error of a cancelled petition
+     */
+    static final String CANCELLED_MESSAGE = "Petition cancelled";
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Group of this token, null for a root token
+     */
+    private final CancellationToken parent;
+
+    /**
+     * Whether this token has been cancelled
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Running petitions of this token and its children
+     */
+    private final ConcurrentMap<HttpUriRequest, Boolean> requests = new ConcurrentHashMap<HttpUriRequest, Boolean>(8, 0.75f, 4);
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a root token
+     */
+    public CancellationToken() {
+        this(null);
+    }
+
+    /**
+     * Creates a token in a group
+     *
+     * @param parent group of the token, cancelling it cancels this token. Null for a root token
+     */
+    public CancellationToken(CancellationToken parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * @return a new token in the group of this one
+     */
+    public CancellationToken newChild() {
+        return new CancellationToken(this);
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the group of this token or null if it is a root token
+     */
+    public CancellationToken getParent() {
+        return parent;
+    }
+
+    /**
+     * @return true if this token or any of its groups has been cancelled
+     */
+    public boolean isCancelled() {
+
+        for (CancellationToken token = this; token != null; token = token.parent) {
+
+            if (token.cancelled) {
+                return true;
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * @return the number of running petitions of this token and its children
+     */
+    public int getRunning() {
+        return requests.size();
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Cancellation
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Cancels the petitions of this token and its children, aborting the running ones
+     */
+    public void cancel() {
+
+        cancelled = true;
+
+        for (HttpUriRequest request : requests.keySet()) {
+            abort(request);
+        }
+
+    }
+
+    /**
+     * Registers a running petition in this token and its groups so cancelling any of them aborts it
+     *
+     * @param request the petition
+     * @return false if the token is already cancelled, then the petition is aborted and not registered
+     */
+    boolean register(HttpUriRequest request) {
+
+        for (CancellationToken token = this; token != null; token = token.parent) {
+            token.requests.put(request, Boolean.TRUE);
+        }
+
+        // Checked after registering, so a concurrent cancel either sees the petition or is seen here
+        if (isCancelled()) {
+
+            unregister(request);
+            abort(request);
+            return false;
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Removes a finished petition from this token and its groups
+     *
+     * @param request the petition
+     */
+    void unregister(HttpUriRequest request) {
+
+        for (CancellationToken token = this; token != null; token = token.parent) {
+            token.requests.remove(request);
+        }
+
+    }
+
+    /**
+     * Aborts a petition
+     *
+     * @param request the petition
+     */
+    private static void abort(HttpUriRequest request) {
+
+        try {
+            request.abort();
+        } catch (Throwable e) {
+            LT(TAG, e);
+        }
+
+    }
+
+}
@@ -0,0 +1,362 @@
+package com.bakingcode.io.twitter;
+
+import java.io.IOException;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.model.IError;
+import com.bakingcode.io.twitter.model.ResponseString;
+
+/**
+ * Circuit breaker of a twitter endpoint. While the endpoint works it is CLOSED and the outcome of its latest
+ * petitions is recorded. When too many of them fail (5xx responses and I/O errors) or are too slow it OPENS and the
+ * petitions fail at once, without waiting for the timeouts of a degraded endpoint. After a while it is HALF_OPEN:
+ * a few probe petitions are let through, it closes if they all succeed and opens again otherwise.
+ *
+ * The settings and the listeners of the state changes are the ones of its {@link CircuitBreakerRegistry}.
+ */
+public class CircuitBreaker {
+
+    /**
+     * State of a circuit breaker
+     */
+    public enum State {
+
+        /**
+         * The petitions are made and their outcome recorded
+         */
+        CLOSED,
+
+        /**
+         * The petitions fail at once
+         */
+        OPEN,
+
+        /**
+         * A few probe petitions are made to know if the endpoint has recovered
+         */
+        HALF_OPEN
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Registry with the settings and the listeners
+     */
+    private final CircuitBreakerRegistry registry;
+
+    /**
+     * Url of the endpoint
+     */
+    private final String endpoint;
+
+    /**
+     * Current state
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * Failures of the latest petitions, circular
+     */
+    private boolean[] failed;
+
+    /**
+     * Slow calls of the latest petitions, circular
+     */
+    private boolean[] slow;
+
+    /**
+     * Outcomes recorded in the window
+     */
+    private int recorded;
+
+    /**
+     * Position of the next outcome in the window
+     */
+    private int next;
+
+    /**
+     * Failures in the window
+     */
+    private int failures;
+
+    /**
+     * Slow calls in the window
+     */
+    private int slowCalls;
+
+    /**
+     * Time in millis when the breaker opened
+     */
+    private long openedAt;
+
+    /**
+     * Probes let through while half open
+     */
+    private int probesStarted;
+
+    /**
+     * Probes that succeeded while half open
+     */
+    private int probesSucceeded;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a closed breaker
+     *
+     * @param registry registry with the settings and the listeners
+     * @param endpoint url of the endpoint
+     */
+    CircuitBreaker(CircuitBreakerRegistry registry, String endpoint) {
+
+        this.registry = registry;
+        this.endpoint = endpoint;
+        resetWindow();
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the url of the endpoint
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return the current state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return the fraction of failed petitions in the window, 0 if it is empty
+     */
+    public synchronized float getFailureRate() {
+        return recorded == 0 ? 0 : (float) failures / recorded;
+    }
+
+    /**
+     * @return the fraction of slow petitions in the window, 0 if it is empty
+     */
+    public synchronized float getSlowCallRate() {
+        return recorded == 0 ? 0 : (float) slowCalls / recorded;
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Circuit
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Lets a petition through or fails it at once. Every petition let through must be followed by a call to
+     * {@link #onResult(ResponseString)} or {@link #onIgnored()}.
+     *
+     * @throws TwitterErrorRequestException with a communication error if the breaker is open or all the probes
+     * are already running
+     */
+    void acquire() throws TwitterErrorRequestException {
+
+        State from = null;
+
+        synchronized (this) {
+
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt >= registry.getWaitInOpenMillis()) {
+
+                from = state;
+                state = State.HALF_OPEN;
+                probesStarted = 0;
+                probesSucceeded = 0;
+
+            }
+
+            boolean allowed = state == State.CLOSED || (state == State.HALF_OPEN && probesStarted < registry.getPermittedCallsInHalfOpen());
+
+            if (allowed && state == State.HALF_OPEN) {
+                probesStarted++;
+            }
+
+            if (!allowed) {
+                throw new TwitterErrorRequestException(new TwitterCommunicationException("Circuit breaker open for " + endpoint));
+            }
+
+        }
+
+        if (from != null) {
+            registry.notifyStateChange(this, from, State.HALF_OPEN);
+        }
+
+    }
+
+    /**
+     * Records the outcome of a petition
+     *
+     * @param response the response, its http exchange tells if it was slow
+     */
+    void onResult(ResponseString response) {
+
+        // Cancelled and expired petitions tell nothing about the endpoint
+        if (response.getStatusCode() == 0 && response.getError() instanceof TwitterCommunicationException
+                && ((TwitterCommunicationException) response.getError()).getCause() == null) {
+
+            onIgnored();
+            return;
+
+        }
+
+        boolean failure = isFailure(response);
+        boolean slowCall = response.getElapsedMillis() >= registry.getSlowCallThresholdMillis();
+        State from;
+        State to;
+
+        synchronized (this) {
+
+            from = state;
+
+            if (state == State.HALF_OPEN) {
+
+                if (failure || slowCall) {
+                    open();
+                } else if (++probesSucceeded >= registry.getPermittedCallsInHalfOpen()) {
+                    state = State.CLOSED;
+                    resetWindow();
+                }
+
+            } else if (state == State.CLOSED) {
+
+                record(failure, slowCall);
+
+                if (recorded >= registry.getMinimumCalls()
+                        && (failures >= registry.getFailureRateThreshold() * recorded || slowCalls >= registry.getSlowCallRateThreshold() * recorded)) {
+                    open();
+                }
+
+            }
+
+            to = state;
+
+        }
+
+        if (from != to) {
+            registry.notifyStateChange(this, from, to);
+        }
+
+    }
+
+    /**
+     * Gives back the permit of a petition that was not made, e.g. cancelled or rejected by the rate limit
+     */
+    synchronized void onIgnored() {
+
+        if (state == State.HALF_OPEN && probesStarted > 0) {
+            probesStarted--;
+        }
+
+    }
+
+    /**
+     * Opens the breaker
+     */
+    private void open() {
+
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        resetWindow();
+
+    }
+
+    /**
+     * Adds an outcome to the window
+     *
+     * @param failure true if the petition failed
+     * @param slowCall true if the petition was slow
+     */
+    private void record(boolean failure, boolean slowCall) {
+
+        if (recorded == failed.length) {
+
+            // The window is full, the oldest outcome leaves it
+            if (failed[next]) {
+                failures--;
+            }
+
+            if (slow[next]) {
+                slowCalls--;
+            }
+
+        } else {
+
+            recorded++;
+
+        }
+
+        failed[next] = failure;
+        slow[next] = slowCall;
+
+        if (failure) {
+            failures++;
+        }
+
+        if (slowCall) {
+            slowCalls++;
+        }
+
+        next = (next + 1) % failed.length;
+
+    }
+
+    /**
+     * Empties the window
+     */
+    private void resetWindow() {
+
+        int size = Math.max(1, registry.getWindowSize());
+        failed = new boolean[size];
+        slow = new boolean[size];
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+
+    }
+
+    /**
+     * @param response response of a petition
+     * @return true if it shows a degraded endpoint: a 5xx response or an I/O error. Errors of the petition itself
+     * (4xx, rate limit) and cancelled or expired petitions do not count.
+     */
+    private static boolean isFailure(ResponseString response) {
+
+        IError error = response.getError();
+
+        if (error == null) {
+            return false;
+        }
+
+        if (response.getStatusCode() >= 500) {
+            return true;
+        }
+
+        // Twitter errors and bodies that cannot be parsed are answers of a working endpoint
+        if (!(error instanceof TwitterCommunicationException)) {
+            return false;
+        }
+
+        // An exhausted local connection pool says nothing about the endpoint
+        Throwable cause = ((TwitterCommunicationException) error).getCause();
+        return cause instanceof IOException && !(cause instanceof ConnectionPoolTimeoutException);
+
+    }
+
+}
@@ -0,0 +1,319 @@
+package com.bakingcode.io.twitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.bakingcode.io.twitter.CircuitBreaker.State;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
+
+/**
+ * Circuit breakers of the twitter endpoints, one by endpoint so a degraded endpoint does not stop the healthy
+ * ones. Holds the settings shared by all the breakers and the listeners of their state changes.
+ *
+ * The consumers have no circuit breakers by default, a view uses them with twitter.withCircuitBreakers(registry).
+ */
+public class CircuitBreakerRegistry {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "CircuitBreakerRegistry";
+
+    /**
+     * Listener of the state changes of the breakers
+     */
+    public interface Listener {
+
+        /**
+         * Called when a breaker changes its state, in the thread of the petition that changed it
+         * @param breaker the breaker
+         * @param from previous state
+         * @param to new state
+         */
+        public void onStateChange(CircuitBreaker breaker, State from, State to);
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Defaults
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Default number of latest petitions whose outcome is recorded
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 20;
+
+    /**
+     * Default min number of recorded petitions before a breaker can open
+     */
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+
+    /**
+     * Default fraction of failed petitions that opens a breaker
+     */
+    public static final float DEFAULT_FAILURE_RATE_THRESHOLD = 0.5f;
+
+    /**
+     * Default duration of a slow petition
+     */
+    public static final long DEFAULT_SLOW_CALL_THRESHOLD_MILLIS = 10 * 1000L;
+
+    /**
+     * Default fraction of slow petitions that opens a breaker
+     */
+    public static final float DEFAULT_SLOW_CALL_RATE_THRESHOLD = 0.8f;
+
+    /**
+     * Default time a breaker stays open before letting the probes through
+     */
+    public static final long DEFAULT_WAIT_IN_OPEN_MILLIS = 30 * 1000L;
+
+    /**
+     * Default number of probes of a half open breaker
+     */
+    public static final int DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN = 3;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Number of latest petitions whose outcome is recorded, applied to the breakers when they close
+     */
+    private volatile int windowSize = DEFAULT_WINDOW_SIZE;
+
+    /**
+     * Min number of recorded petitions before a breaker can open
+     */
+    private volatile int minimumCalls = DEFAULT_MINIMUM_CALLS;
+
+    /**
+     * Fraction of failed petitions that opens a breaker
+     */
+    private volatile float failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+
+    /**
+     * Duration in millis of a slow petition
+     */
+    private volatile long slowCallThresholdMillis = DEFAULT_SLOW_CALL_THRESHOLD_MILLIS;
+
+    /**
+     * Fraction of slow petitions that opens a breaker
+     */
+    private volatile float slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+
+    /**
+     * Time in millis a breaker stays open
+     */
+    private volatile long waitInOpenMillis = DEFAULT_WAIT_IN_OPEN_MILLIS;
+
+    /**
+     * Number of probes of a half open breaker
+     */
+    private volatile int permittedCallsInHalfOpen = DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN;
+
+    /**
+     * Breakers by endpoint
+     */
+    private final ConcurrentMap<Urls, CircuitBreaker> breakers = new ConcurrentHashMap<Urls, CircuitBreaker>();
+
+    /**
+     * Listeners of the state changes
+     */
+    private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the number of latest petitions whose outcome is recorded
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * @param windowSize the number of latest petitions whose outcome is recorded to set
+     * @return this registry
+     */
+    public CircuitBreakerRegistry setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    /**
+     * @return the min number of recorded petitions before a breaker can open
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * @param minimumCalls the min number of recorded petitions before a breaker can open to set
+     * @return this registry
+     */
+    public CircuitBreakerRegistry setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    /**
+     * @return the fraction of failed petitions that opens a breaker
+     */
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * @param failureRateThreshold the fraction of failed petitions that opens a breaker to set
+     * @return this registry
+     */
+    public CircuitBreakerRegistry setFailureRateThreshold(float failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    /**
+     * @return the duration in millis of a slow petition
+     */
+    public long getSlowCallThresholdMillis() {
+        return slowCallThresholdMillis;
+    }
+
+    /**
+     * @param slowCallThresholdMillis the duration in millis of a slow petition to set
+     * @return this registry
+     */
+    public CircuitBreakerRegistry setSlowCallThresholdMillis(long slowCallThresholdMillis) {
+        this.slowCallThresholdMillis = slowCallThresholdMillis;
+        return this;
+    }
+
+    /**
+     * @return the fraction of slow petitions that opens a breaker
+     */
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * @param slowCallRateThreshold the fraction of slow petitions that opens a breaker to set
+     * @return this registry
+     */
+    public CircuitBreakerRegistry setSlowCallRateThreshold(float slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        return this;
+    }
+
+    /**
+     * @return the time in millis a breaker stays open
+     */
+    public long getWaitInOpenMillis() {
+        return waitInOpenMillis;
+    }
+
+    /**
+     * @param waitInOpenMillis the time in millis a breaker stays open to set
+     * @return this registry
+     */
+    public CircuitBreakerRegistry setWaitInOpenMillis(long waitInOpenMillis) {
+        this.waitInOpenMillis = waitInOpenMillis;
+        return this;
+    }
+
+    /**
+     * @return the number of probes of a half open breaker
+     */
+    public int getPermittedCallsInHalfOpen() {
+        return permittedCallsInHalfOpen;
+    }
+
+    /**
+     * @param permittedCallsInHalfOpen the number of probes of a half open breaker to set
+     * @return this registry
+     */
+    public CircuitBreakerRegistry setPermittedCallsInHalfOpen(int permittedCallsInHalfOpen) {
+        this.permittedCallsInHalfOpen = permittedCallsInHalfOpen;
+        return this;
+    }
+
+    /**
+     * @param listener listener of the state changes to add
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener listener of the state changes to remove
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return the breakers of the endpoints already called
+     */
+    public List<CircuitBreaker> getBreakers() {
+        return new ArrayList<CircuitBreaker>(breakers.values());
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Breakers
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Gets the breaker of an endpoint, creating a closed one if needed
+     *
+     * @param endpoint the endpoint
+     * @return the breaker
+     */
+    CircuitBreaker get(Urls endpoint) {
+
+        CircuitBreaker breaker = breakers.get(endpoint);
+
+        if (breaker == null) {
+
+            CircuitBreaker created = new CircuitBreaker(this, endpoint.getUrl());
+            breaker = breakers.putIfAbsent(endpoint, created);
+
+            if (breaker == null) {
+                breaker = created;
+            }
+
+        }
+
+        return breaker;
+
+    }
+
+    /**
+     * Notifies a state change to the listeners
+     *
+     * @param breaker the breaker
+     * @param from previous state
+     * @param to new state
+     */
+    void notifyStateChange(CircuitBreaker breaker, State from, State to) {
+
+        L(TAG, "Circuit breaker of " + breaker.getEndpoint() + ": " + from + " -> " + to);
+
+        for (Listener listener : listeners) {
+
+            try {
+                listener.onStateChange(breaker, from, to);
+            } catch (RuntimeException e) {
+                LT(TAG, e);
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.bakingcode.io.twitter;
+
+/**
+ * Settings of the keep-alive connection pool used by {@link TwitterHttpClient}. All the twitter API lives
+ * under the same host so the per route limit is the one that really bounds the concurrency of a client.
+ */
+public class ConnectionPoolSettings {
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Defaults
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Default max number of pooled connections
+	 */
+	public static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 20;
+
+	/**
+	 * Default max number of pooled connections for a single route (host)
+	 */
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+
+	/**
+	 * Default time a connection can stay idle in the pool before being evicted
+	 */
+	public static final long DEFAULT_IDLE_CONNECTION_TIMEOUT_MILLIS = 30 * 1000L;
+
+	/**
+	 * Default interval between two runs of the idle connections reaper
+	 */
+	public static final long DEFAULT_REAPER_INTERVAL_MILLIS = 5 * 1000L;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Fields
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Max number of pooled connections
+	 */
+	private int maxTotalConnections = DEFAULT_MAX_TOTAL_CONNECTIONS;
+
+	/**
+	 * Max number of pooled connections for a single route
+	 */
+	private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+	/**
+	 * Time in millis a connection can stay idle in the pool before being closed by the reaper
+	 */
+	private long idleConnectionTimeoutMillis = DEFAULT_IDLE_CONNECTION_TIMEOUT_MILLIS;
+
+	/**
+	 * Interval in millis between two runs of the reaper
+	 */
+	private long reaperIntervalMillis = DEFAULT_REAPER_INTERVAL_MILLIS;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Get & Set
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * @return the max number of pooled connections
+	 */
+	public int getMaxTotalConnections() {
+		return maxTotalConnections;
+	}
+
+	/**
+	 * @param maxTotalConnections the max number of pooled connections to set
+	 * @return this settings instance
+	 */
+	public ConnectionPoolSettings setMaxTotalConnections(int maxTotalConnections) {
+		this.maxTotalConnections = maxTotalConnections;
+		return this;
+	}
+
+	/**
+	 * @return the max number of pooled connections for a single route
+	 */
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	/**
+	 * @param maxConnectionsPerRoute the max number of pooled connections for a single route to set
+	 * @return this settings instance
+	 */
+	public ConnectionPoolSettings setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		return this;
+	}
+
+	/**
+	 * @return the time in millis a connection can stay idle in the pool
+	 */
+	public long getIdleConnectionTimeoutMillis() {
+		return idleConnectionTimeoutMillis;
+	}
+
+	/**
+	 * @param idleConnectionTimeoutMillis the time in millis a connection can stay idle in the pool to set
+	 * @return this settings instance
+	 */
+	public ConnectionPoolSettings setIdleConnectionTimeoutMillis(long idleConnectionTimeoutMillis) {
+		this.idleConnectionTimeoutMillis = idleConnectionTimeoutMillis;
+		return this;
+	}
+
+	/**
+	 * @return the interval in millis between two runs of the reaper
+	 */
+	public long getReaperIntervalMillis() {
+		return reaperIntervalMillis;
+	}
+
+	/**
+	 * @param reaperIntervalMillis the interval in millis between two runs of the reaper to set
+	 * @return this settings instance
+	 */
+	public ConnectionPoolSettings setReaperIntervalMillis(long reaperIntervalMillis) {
+		this.reaperIntervalMillis = reaperIntervalMillis;
+		return this;
+	}
+
+}
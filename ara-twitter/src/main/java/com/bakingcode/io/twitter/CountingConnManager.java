@@ -0,0 +1,122 @@
+package com.bakingcode.io.twitter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.http.params.HttpParams;
+
+/**
+ * Pooled connection manager that counts the connections leased and the requests blocked waiting for one. It
+ * extends the manager instead of wrapping it because the connections give themselves back to the manager that
+ * created them, so only an override sees every release.
+ */
+class CountingConnManager extends ThreadSafeClientConnManager {
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Fields
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Connections leased and not released yet. A set, so a connection released twice is not discounted twice.
+	 */
+	private final ConcurrentMap<ManagedClientConnection, Boolean> leased = new ConcurrentHashMap<ManagedClientConnection, Boolean>();
+
+	/**
+	 * Requests blocked waiting for a connection
+	 */
+	private final AtomicInteger pending = new AtomicInteger();
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Constructors
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Creates a manager
+	 *
+	 * @param params parameters of the pool
+	 * @param registry schemes of the connections
+	 */
+	CountingConnManager(HttpParams params, SchemeRegistry registry) {
+		super(params, registry);
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Get & Set
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * @return the connections leased and not released yet
+	 */
+	int getLeased() {
+		return leased.size();
+	}
+
+	/**
+	 * @return the requests blocked waiting for a connection
+	 */
+	int getPending() {
+		return pending.get();
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Connection pool
+	// ///////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+
+		final ClientConnectionRequest request = super.requestConnection(route, state);
+
+		return new ClientConnectionRequest() {
+
+			@Override
+			public ManagedClientConnection getConnection(long timeout, TimeUnit unit) throws InterruptedException, ConnectionPoolTimeoutException {
+
+				pending.incrementAndGet();
+
+				try {
+
+					ManagedClientConnection connection = request.getConnection(timeout, unit);
+					leased.put(connection, Boolean.TRUE);
+					return connection;
+
+				} finally {
+					pending.decrementAndGet();
+				}
+
+			}
+
+			@Override
+			public void abortRequest() {
+				request.abortRequest();
+			}
+
+		};
+
+	}
+
+	@Override
+	public void releaseConnection(ManagedClientConnection connection, long validDuration, TimeUnit unit) {
+
+		leased.remove(connection);
+		super.releaseConnection(connection, validDuration, unit);
+
+	}
+
+	@Override
+	public void shutdown() {
+
+		leased.clear();
+		super.shutdown();
+
+	}
+
+}
@@ -0,0 +1,460 @@
+package com.bakingcode.io.twitter;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.exceptions.TwitterPaginationException;
+import com.bakingcode.io.twitter.model.Cursor;
+import com.bakingcode.io.twitter.model.TwitterError;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+
+/**
+ * Walks all the pages of a cursored petition. As soon as a page is handed to the consumer the next one starts
+ * being fetched in the background, so the network time overlaps with the processing of the current page.
+ * Only two pages are alive at any time, so very big collections never need to be fully loaded:
+ *
+ * CursorPaginator<IdentifierList> pages = twitter.getFollowersIdsPages(userId, null, null);
+ * while (pages.hasNextPage()) {
+ *     IdentifierList page = pages.nextPage();
+ *     ...
+ * }
+ *
+ * The iteration ends when twitter returns the cursor 0. When the rate limit of the endpoint is exhausted the
+ * paginator waits and retries the same page instead of failing. With a deadline the walk stops when it expires:
+ * nextPage fails with a communication error and getNextCursor is the page to resume from. Closing the paginator
+ * cancels its token, which aborts the connection of a prefetch in flight.
+ *
+ * @param <T> type of the pages
+ */
+public class CursorPaginator<T extends Cursor> implements Iterator<T> {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "CursorPaginator";
+
+    /**
+     * Cursor of the first page
+     */
+    public static final long FIRST_CURSOR = -1;
+
+    /**
+     * Cursor returned by twitter after the last page
+     */
+    public static final long END_CURSOR = 0;
+
+    /**
+     * Default time waited before retrying a page that failed because of the rate limit
+     */
+    public static final long DEFAULT_RATE_LIMIT_WAIT_MILLIS = 60 * 1000L;
+
+    /**
+     * Default number of retries of a page that failed because of the rate limit, enough to cover a whole
+     * 15 minutes window with the default wait
+     */
+    public static final int DEFAULT_RATE_LIMIT_RETRIES = 16;
+
+    /**
+     * Petition of a single page
+     *
+     * @param <T> type of the pages
+     */
+    public interface PageFetcher<T> {
+
+        /**
+         * Fetches a page
+         * @param cursor the cursor of the page
+         * @return the page
+         * @throws TwitterErrorRequestException if the petition fails
+         */
+        public T fetch(long cursor) throws TwitterErrorRequestException;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Petition of the pages
+     */
+    private final PageFetcher<T> fetcher;
+
+    /**
+     * Executor of the prefetches
+     */
+    private final Executor executor;
+
+    /**
+     * Cursor of the next page, END_CURSOR when there are no more pages
+     */
+    private long nextCursor;
+
+    /**
+     * Fetch of the next page, if it already started
+     */
+    private TwitterFuture<T> prefetch;
+
+    /**
+     * Time waited before retrying a rate limited page
+     */
+    private long rateLimitWaitMillis = DEFAULT_RATE_LIMIT_WAIT_MILLIS;
+
+    /**
+     * Retries of a rate limited page
+     */
+    private int rateLimitRetries = DEFAULT_RATE_LIMIT_RETRIES;
+
+    /**
+     * True to fetch the next page while the consumer processes the current one
+     */
+    private boolean prefetchEnabled = true;
+
+    /**
+     * Time by which the walk must finish, null if there is none
+     */
+    private volatile Deadline deadline;
+
+    /**
+     * Token of the petitions of the pages, cancelled when the paginator is closed. Null if there is none
+     */
+    private volatile CancellationToken cancellationToken;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a paginator that starts at the first page
+     *
+     * @param fetcher petition of the pages
+     * @param executor executor of the prefetches
+     */
+    public CursorPaginator(PageFetcher<T> fetcher, Executor executor) {
+        this(fetcher, executor, FIRST_CURSOR);
+    }
+
+    /**
+     * Creates a paginator that starts at the given cursor, e.g. to resume a previous iteration
+     *
+     * @param fetcher petition of the pages
+     * @param executor executor of the prefetches
+     * @param cursor cursor of the first page
+     */
+    public CursorPaginator(PageFetcher<T> fetcher, Executor executor, long cursor) {
+
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.nextCursor = cursor;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the cursor of the next page, END_CURSOR when all the pages have been returned
+     */
+    public synchronized long getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets how the rate limited pages are retried. With 0 retries the rate limit error is raised immediately.
+     *
+     * @param waitMillis time waited before every retry
+     * @param retries max number of retries of a page
+     * @return this paginator
+     */
+    public synchronized CursorPaginator<T> setRateLimitRetries(long waitMillis, int retries) {
+
+        this.rateLimitWaitMillis = waitMillis;
+        this.rateLimitRetries = retries;
+        return this;
+
+    }
+
+    /**
+     * @return the time by which the walk must finish or null if there is none
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Sets the time by which the walk must finish. The pages are not fetched nor their rate limit retried beyond it.
+     *
+     * @param deadline the deadline or null for none
+     * @return this paginator
+     */
+    public CursorPaginator<T> setDeadline(Deadline deadline) {
+
+        this.deadline = deadline;
+        return this;
+
+    }
+
+    /**
+     * @return the token of the petitions of the pages or null if there is none
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Sets the token the fetcher makes the petitions of the pages with, so closing the paginator aborts the
+     * connection of a running prefetch
+     *
+     * @param cancellationToken the token or null for none
+     * @return this paginator
+     */
+    public CursorPaginator<T> setCancellationToken(CancellationToken cancellationToken) {
+
+        this.cancellationToken = cancellationToken;
+        return this;
+
+    }
+
+    /**
+     * @param prefetchEnabled false to fetch every page only when it is requested
+     * @return this paginator
+     */
+    public synchronized CursorPaginator<T> setPrefetchEnabled(boolean prefetchEnabled) {
+
+        this.prefetchEnabled = prefetchEnabled;
+        return this;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Pagination
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return true if there are more pages
+     */
+    public synchronized boolean hasNextPage() {
+        return nextCursor != END_CURSOR;
+    }
+
+    /**
+     * Gets the next page, waiting for its prefetch if it is still running, and starts fetching the following one
+     *
+     * @return the next page
+     * @throws TwitterErrorRequestException if the petition of the page fails
+     */
+    public synchronized T nextPage() throws TwitterErrorRequestException {
+
+        if (nextCursor == END_CURSOR) {
+            throw new NoSuchElementException();
+        }
+
+        T page;
+
+        if (prefetch != null) {
+
+            TwitterFuture<T> pending = prefetch;
+            prefetch = null;
+            page = await(pending);
+
+        } else {
+
+            page = fetch(nextCursor);
+
+        }
+
+        // A missing page (e.g. empty response) ends the iteration instead of looping on the same cursor
+        nextCursor = page != null ? page.getNextCursor() : END_CURSOR;
+
+        Deadline current = deadline;
+
+        if (prefetchEnabled && nextCursor != END_CURSOR && (current == null || !current.isExpired())) {
+
+            final long cursor = nextCursor;
+            prefetch = new TwitterFuture<T>(new Callable<T>() {
+
+                @Override
+                public T call() throws Exception {
+                    return fetch(cursor);
+                }
+
+            });
+            prefetch.setCancellationToken(cancellationToken);
+            executor.execute(prefetch);
+
+        }
+
+        return page;
+
+    }
+
+    /**
+     * Stops the iteration, cancelling the prefetch of the next page and aborting its connection if it is running
+     */
+    public synchronized void close() {
+
+        if (prefetch != null) {
+            prefetch.cancel(true);
+            prefetch = null;
+        }
+
+        CancellationToken token = cancellationToken;
+
+        if (token != null) {
+            token.cancel();
+        }
+
+        nextCursor = END_CURSOR;
+
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNextPage();
+    }
+
+    /**
+     * Iterator version of nextPage
+     *
+     * @return the next page
+     * @throws TwitterPaginationException if the petition of the page fails
+     */
+    @Override
+    public T next() {
+
+        try {
+
+            return nextPage();
+
+        } catch (TwitterErrorRequestException e) {
+            throw new TwitterPaginationException(e);
+        }
+
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Private methods
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Fetches a page, retrying it while it is rate limited
+     *
+     * @param cursor cursor of the page
+     * @return the page
+     * @throws TwitterErrorRequestException if the petition fails or the deadline expires
+     */
+    private T fetch(long cursor) throws TwitterErrorRequestException {
+
+        int retries = 0;
+
+        while (true) {
+
+            Deadline current = deadline;
+
+            if (current != null && current.isExpired()) {
+                throw Deadline.expiredError();
+            }
+
+            try {
+
+                return fetcher.fetch(cursor);
+
+            } catch (TwitterErrorRequestException e) {
+
+                if (!isRateLimited(e) || retries++ >= rateLimitRetries) {
+                    throw e;
+                }
+
+                // The rate limit error is more useful than a deadline one if the retry cannot happen in time
+                if (current != null && rateLimitWaitMillis >= current.getRemainingMillis()) {
+                    throw e;
+                }
+
+                L(TAG, "Rate limited fetching cursor " + cursor + ", retrying in " + rateLimitWaitMillis + "ms");
+
+                try {
+                    Thread.sleep(rateLimitWaitMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Waits for a prefetched page. A prefetch still queued runs in the calling thread, so a busy executor
+     * cannot leave the consumer waiting for it
+     *
+     * @param future the prefetch
+     * @return the page
+     * @throws TwitterErrorRequestException if the petition failed
+     */
+    private T await(TwitterFuture<T> future) throws TwitterErrorRequestException {
+
+        boolean interrupted = false;
+
+        // Does nothing if the executor already started it
+        future.run();
+
+        try {
+
+            while (true) {
+
+                try {
+
+                    return future.get();
+
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+
+                    Throwable cause = e.getCause();
+
+                    if (cause instanceof TwitterErrorRequestException) {
+                        throw (TwitterErrorRequestException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+
+                    throw new RuntimeException(cause);
+
+                }
+
+            }
+
+        } finally {
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+        }
+
+    }
+
+    /**
+     * @param e the error of a petition
+     * @return true if the petition failed because the rate limit was exhausted
+     */
+    private static boolean isRateLimited(TwitterErrorRequestException e) {
+        return e.getError() instanceof TwitterError && ((TwitterError) e.getError()).getCode() == TwitterError.ERROR_RATE_LIMIT;
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.bakingcode.io.twitter;
+
+import java.util.concurrent.TimeUnit;
+
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+
+/**
+ * Point in time by which a petition, or a group of petitions like a whole cursor walk, must finish. It covers the
+ * waits in the request scheduler, the signing, the round trip and the parsing of the response.
+ */
+public final class Deadline {
+
+    /**
+     * Message of the communication error of a petition whose deadline expired
+     */
+    static final String EXPIRED_MESSAGE = "Deadline exceeded";
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Time in millis of the deadline
+     */
+    private final long timeMillis;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a deadline
+     *
+     * @param timeMillis time in millis of the deadline
+     */
+    private Deadline(long timeMillis) {
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * Creates a deadline from now
+     *
+     * @param timeout time until the deadline
+     * @param unit unit of the timeout
+     * @return the deadline
+     */
+    public static Deadline after(long timeout, TimeUnit unit) {
+        return new Deadline(System.currentTimeMillis() + unit.toMillis(timeout));
+    }
+
+    /**
+     * Gets the first of two deadlines
+     *
+     * @param a a deadline or null if there is none
+     * @param b another deadline or null if there is none
+     * @return the first deadline, null if both are null
+     */
+    public static Deadline earliest(Deadline a, Deadline b) {
+
+        if (a == null) {
+            return b;
+        }
+
+        if (b == null) {
+            return a;
+        }
+
+        return a.timeMillis <= b.timeMillis ? a : b;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the time in millis of the deadline
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * @return the millis left until the deadline, 0 if it already expired
+     */
+    public long getRemainingMillis() {
+        return Math.max(0, timeMillis - System.currentTimeMillis());
+    }
+
+    /**
+     * @return true if the deadline already expired
+     */
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= timeMillis;
+    }
+
+    /**
+     * @return the error raised when a petition reaches its deadline
+     */
+    static TwitterErrorRequestException expiredError() {
+        return new TwitterErrorRequestException(new TwitterCommunicationException(EXPIRED_MESSAGE));
+    }
+
+}
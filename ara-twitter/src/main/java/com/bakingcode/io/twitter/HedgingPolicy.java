@@ -0,0 +1,637 @@
+package com.bakingcode.io.twitter;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.model.HedgeStats;
+import com.bakingcode.io.twitter.model.ParsedResponse;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+
+/**
+ * Hedges the slow GET petitions to cut the tail latency: if a petition has no response after the usual latency
+ * of its endpoint (a percentile of the latest ones), a second copy is sent on another connection. The first
+ * successful response wins and the other petition is aborted.
+ *
+ * A hedge costs a request of the rate limit window and a connection, so it is only sent when both are free right
+ * away, and every endpoint has a hedge budget: each petition deposits a fraction of a hedge and each hedge takes a
+ * whole one, which caps the extra load to that fraction. Hedging is opt-in, see
+ * {@link Twitter#withHedging(HedgingPolicy)}.
+ */
+public class HedgingPolicy {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "HedgingPolicy";
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Defaults
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Default percentile of the latency of an endpoint after which a petition is hedged
+     */
+    public static final float DEFAULT_PERCENTILE = 0.95f;
+
+    /**
+     * Default delay of the hedges of an endpoint until enough latencies are known
+     */
+    public static final long DEFAULT_INITIAL_DELAY_MILLIS = 1000L;
+
+    /**
+     * Default min delay of a hedge
+     */
+    public static final long DEFAULT_MIN_DELAY_MILLIS = 20L;
+
+    /**
+     * Default fraction of a hedge deposited in the budget of an endpoint by every petition
+     */
+    public static final float DEFAULT_BUDGET_RATIO = 0.1f;
+
+    /**
+     * Default max hedges kept in the budget of an endpoint, it is also the initial budget
+     */
+    public static final int DEFAULT_BUDGET_CAPACITY = 10;
+
+    /**
+     * Latencies kept by endpoint
+     */
+    private static final int SAMPLES = 128;
+
+    /**
+     * Latencies needed before using the percentile
+     */
+    private static final int MIN_SAMPLES = 20;
+
+    /**
+     * New latencies between two computations of the percentile
+     */
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    /**
+     * Shared timer that launches the hedges
+     */
+    private static final ScheduledExecutorService hedgeTimer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+        @Override
+        public Thread newThread(Runnable r) {
+
+            Thread t = new Thread(r, "ara-twitter-hedging");
+            t.setDaemon(true);
+            return t;
+
+        }
+
+    });
+
+    /**
+     * A copy of a petition
+     *
+     * @param <T> type of the parsed response
+     */
+    interface Attempt<T> {
+
+        /**
+         * Makes the copy
+         * @param token token that aborts the copy when the other one wins
+         * @return the response or null if the copy could not be made
+         * @throws TwitterErrorRequestException if the copy fails before being made
+         */
+        public ParsedResponse<T> run(CancellationToken token) throws TwitterErrorRequestException;
+
+    }
+
+    /**
+     * Latencies and hedge budget of an endpoint
+     */
+    private static class Endpoint {
+
+        /**
+         * Latest latencies, circular
+         */
+        final long[] samples = new long[SAMPLES];
+
+        /**
+         * Number of latencies recorded
+         */
+        long count;
+
+        /**
+         * Current hedge delay
+         */
+        long delay;
+
+        /**
+         * Hedges left, fractional
+         */
+        float balance;
+
+    }
+
+    /**
+     * Race between the two copies of a petition
+     *
+     * @param <T> type of the parsed response
+     */
+    private static class Race<T> {
+
+        /**
+         * True once the petition has its final response, no hedge can start then
+         */
+        boolean done;
+
+        /**
+         * True while the hedge runs
+         */
+        boolean hedgeRunning;
+
+        /**
+         * Winning response
+         */
+        ParsedResponse<T> winner;
+
+        /**
+         * Response of the hedge
+         */
+        ParsedResponse<T> hedgeResponse;
+
+        /**
+         * @return false if the petition already finished and the hedge is not needed
+         */
+        synchronized boolean startHedge() {
+
+            if (done) {
+                return false;
+            }
+
+            hedgeRunning = true;
+            return true;
+
+        }
+
+        /**
+         * Records the end of the hedge
+         *
+         * @param response its response, null if it could not be made
+         * @return true if the hedge wins
+         */
+        synchronized boolean hedgeFinished(ParsedResponse<T> response) {
+
+            hedgeRunning = false;
+            hedgeResponse = response;
+            notifyAll();
+
+            if (!done && response != null && response.getError() == null) {
+
+                done = true;
+                winner = response;
+                return true;
+
+            }
+
+            return false;
+
+        }
+
+        /**
+         * Records the end of the first copy. If it failed and the hedge is running, waits for the hedge.
+         *
+         * @param response its response, null if it failed before being made
+         * @return the response of the petition, null if both copies failed before being made
+         */
+        synchronized ParsedResponse<T> primaryFinished(ParsedResponse<T> response) {
+
+            if (winner != null) {
+                return winner;
+            }
+
+            if (response == null || response.getError() != null) {
+
+                try {
+
+                    while (hedgeRunning) {
+                        wait();
+                    }
+
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                if (hedgeResponse != null && hedgeResponse.getError() == null) {
+                    winner = hedgeResponse;
+                }
+
+            }
+
+            done = true;
+            return winner != null ? winner : response;
+
+        }
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Percentile of the latency after which a petition is hedged
+     */
+    private volatile float percentile = DEFAULT_PERCENTILE;
+
+    /**
+     * Delay of the hedges until enough latencies are known
+     */
+    private volatile long initialDelayMillis = DEFAULT_INITIAL_DELAY_MILLIS;
+
+    /**
+     * Min delay of a hedge
+     */
+    private volatile long minDelayMillis = DEFAULT_MIN_DELAY_MILLIS;
+
+    /**
+     * Fraction of a hedge deposited by every petition
+     */
+    private volatile float budgetRatio = DEFAULT_BUDGET_RATIO;
+
+    /**
+     * Max hedges kept in the budget of an endpoint
+     */
+    private volatile int budgetCapacity = DEFAULT_BUDGET_CAPACITY;
+
+    /**
+     * State by endpoint
+     */
+    private final ConcurrentMap<Urls, Endpoint> endpoints = new ConcurrentHashMap<Urls, Endpoint>();
+
+    /**
+     * Petitions that could be hedged
+     */
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Hedges sent
+     */
+    private final AtomicLong hedges = new AtomicLong();
+
+    /**
+     * Hedges that won
+     */
+    private final AtomicLong wins = new AtomicLong();
+
+    /**
+     * Hedges not sent
+     */
+    private final AtomicLong denied = new AtomicLong();
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the percentile of the latency after which a petition is hedged
+     */
+    public float getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * @param percentile the percentile of the latency after which a petition is hedged to set, from 0 to 1
+     * @return this policy
+     */
+    public HedgingPolicy setPercentile(float percentile) {
+
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+
+        this.percentile = percentile;
+        return this;
+
+    }
+
+    /**
+     * @return the delay of the hedges until enough latencies are known
+     */
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    /**
+     * @param initialDelayMillis the delay of the hedges until enough latencies are known to set
+     * @return this policy
+     */
+    public HedgingPolicy setInitialDelayMillis(long initialDelayMillis) {
+        this.initialDelayMillis = initialDelayMillis;
+        return this;
+    }
+
+    /**
+     * @return the min delay of a hedge
+     */
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    /**
+     * @param minDelayMillis the min delay of a hedge to set
+     * @return this policy
+     */
+    public HedgingPolicy setMinDelayMillis(long minDelayMillis) {
+        this.minDelayMillis = minDelayMillis;
+        return this;
+    }
+
+    /**
+     * @return the fraction of a hedge deposited by every petition
+     */
+    public float getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    /**
+     * @param budgetRatio the fraction of a hedge deposited by every petition to set, the max extra load
+     * @return this policy
+     */
+    public HedgingPolicy setBudgetRatio(float budgetRatio) {
+        this.budgetRatio = budgetRatio;
+        return this;
+    }
+
+    /**
+     * @return the max hedges kept in the budget of an endpoint
+     */
+    public int getBudgetCapacity() {
+        return budgetCapacity;
+    }
+
+    /**
+     * @param budgetCapacity the max hedges kept in the budget of an endpoint to set
+     * @return this policy
+     */
+    public HedgingPolicy setBudgetCapacity(int budgetCapacity) {
+        this.budgetCapacity = budgetCapacity;
+        return this;
+    }
+
+    /**
+     * @return a snapshot of the hedge counters
+     */
+    public HedgeStats getStats() {
+        return new HedgeStats(requests.get(), hedges.get(), wins.get(), denied.get());
+    }
+
+    /**
+     * Gets the current hedge delay of an endpoint
+     *
+     * @param endpoint the endpoint
+     * @return the delay in millis
+     */
+    long getDelay(Urls endpoint) {
+
+        Endpoint state = endpoint(endpoint);
+
+        synchronized (state) {
+            return state.count < MIN_SAMPLES ? initialDelayMillis : state.delay;
+        }
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Hedging
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Makes a petition, hedging it if it is slow
+     *
+     * @param endpoint endpoint of the petition
+     * @param parent token of the petition or null, cancelling it aborts both copies
+     * @param primary the first copy, made in the calling thread
+     * @param hedge the second copy, it must not wait for connections nor rate limit windows
+     * @param executor executor of the second copy
+     * @param <T> type of the parsed response
+     * @return the first successful response, or the one of the first copy if both fail
+     * @throws TwitterErrorRequestException if both copies fail before being made
+     */
+    <T> ParsedResponse<T> execute(final Urls endpoint, CancellationToken parent, Attempt<T> primary, final Attempt<T> hedge, final Executor executor) throws TwitterErrorRequestException {
+
+        requests.incrementAndGet();
+        deposit(endpoint);
+
+        final CancellationToken primaryToken = new CancellationToken(parent);
+        final CancellationToken hedgeToken = new CancellationToken(parent);
+        final Race<T> race = new Race<T>();
+
+        ScheduledFuture<?> timer = hedgeTimer.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+
+                if (!tryAcquireHedge(endpoint)) {
+                    denied.incrementAndGet();
+                    return;
+                }
+
+                try {
+
+                    executor.execute(new Runnable() {
+
+                        @Override
+                        public void run() {
+                            runHedge(endpoint, race, hedge, hedgeToken, primaryToken);
+                        }
+
+                    });
+
+                } catch (RejectedExecutionException e) {
+                    denied.incrementAndGet();
+                }
+
+            }
+
+        }, getDelay(endpoint), TimeUnit.MILLISECONDS);
+
+        long start = System.currentTimeMillis();
+        ParsedResponse<T> response = null;
+        TwitterErrorRequestException failure = null;
+
+        try {
+            response = primary.run(primaryToken);
+        } catch (TwitterErrorRequestException e) {
+            failure = e;
+        }
+
+        timer.cancel(false);
+
+        // A copy aborted because the hedge won still tells that the endpoint was at least this slow
+        if (response != null) {
+            record(endpoint, System.currentTimeMillis() - start);
+        }
+
+        ParsedResponse<T> result = race.primaryFinished(response);
+
+        if (result != response) {
+
+            return result;
+
+        }
+
+        hedgeToken.cancel();
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        return response;
+
+    }
+
+    /**
+     * Runs the second copy of a petition
+     *
+     * @param endpoint endpoint of the petition
+     * @param race race of the copies
+     * @param hedge the second copy
+     * @param hedgeToken token of the second copy
+     * @param primaryToken token of the first copy, cancelled if the second one wins
+     * @param <T> type of the parsed response
+     */
+    private <T> void runHedge(Urls endpoint, Race<T> race, Attempt<T> hedge, CancellationToken hedgeToken, CancellationToken primaryToken) {
+
+        if (!race.startHedge()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        ParsedResponse<T> response = null;
+
+        try {
+            response = hedge.run(hedgeToken);
+        } catch (TwitterErrorRequestException e) {
+            L(TAG, "Hedge of " + endpoint + " failed: " + e.getError());
+        } catch (RuntimeException e) {
+            race.hedgeFinished(null);
+            throw e;
+        }
+
+        if (response == null) {
+            denied.incrementAndGet();
+        } else {
+            hedges.incrementAndGet();
+            record(endpoint, System.currentTimeMillis() - start);
+        }
+
+        if (race.hedgeFinished(response)) {
+
+            wins.incrementAndGet();
+            primaryToken.cancel();
+
+        }
+
+    }
+
+    /**
+     * Records the latency of a petition and updates the hedge delay of its endpoint
+     *
+     * @param endpoint the endpoint
+     * @param millis the latency
+     */
+    private void record(Urls endpoint, long millis) {
+
+        Endpoint state = endpoint(endpoint);
+
+        synchronized (state) {
+
+            state.samples[(int) (state.count % SAMPLES)] = millis;
+            state.count++;
+
+            if (state.count == MIN_SAMPLES || (state.count > MIN_SAMPLES && state.count % RECOMPUTE_INTERVAL == 0)) {
+
+                int n = (int) Math.min(state.count, SAMPLES);
+                long[] sorted = Arrays.copyOf(state.samples, n);
+                Arrays.sort(sorted);
+                int index = Math.min(n - 1, (int) Math.ceil(percentile * n) - 1);
+                state.delay = Math.max(minDelayMillis, sorted[Math.max(0, index)]);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Deposits the share of a new petition in the hedge budget of its endpoint
+     *
+     * @param endpoint the endpoint
+     */
+    private void deposit(Urls endpoint) {
+
+        Endpoint state = endpoint(endpoint);
+
+        synchronized (state) {
+            state.balance = Math.min(budgetCapacity, state.balance + budgetRatio);
+        }
+
+    }
+
+    /**
+     * Takes a hedge from the budget of an endpoint
+     *
+     * @param endpoint the endpoint
+     * @return false if the budget is exhausted
+     */
+    private boolean tryAcquireHedge(Urls endpoint) {
+
+        Endpoint state = endpoint(endpoint);
+
+        synchronized (state) {
+
+            if (state.balance < 1) {
+                return false;
+            }
+
+            state.balance--;
+            return true;
+
+        }
+
+    }
+
+    /**
+     * Gets the state of an endpoint, creating it if needed
+     *
+     * @param endpoint the endpoint
+     * @return the state
+     */
+    private Endpoint endpoint(Urls endpoint) {
+
+        Endpoint state = endpoints.get(endpoint);
+
+        if (state == null) {
+
+            Endpoint created = new Endpoint();
+            created.balance = budgetCapacity;
+            state = endpoints.putIfAbsent(endpoint, created);
+
+            if (state == null) {
+                state = created;
+            }
+
+        }
+
+        return state;
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.bakingcode.io.twitter;
+
+/**
+ * How the responses of twitter are turned into model objects
+ */
+public enum ParseMode {
+
+    /**
+     * The whole body is read into a String and parsed with org.json before mapping the fields
+     */
+    DOM,
+
+    /**
+     * Model objects are built while the body is read from the connection, without intermediate copies.
+     * Petitions whose response has no streaming parser fall back to DOM.
+     */
+    STREAMING
+
+}
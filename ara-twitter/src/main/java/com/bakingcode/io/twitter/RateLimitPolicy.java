@@ -0,0 +1,18 @@
+package com.bakingcode.io.twitter;
+
+/**
+ * What a petition does when the rate limit registry knows the window of its endpoint is exhausted
+ */
+public enum RateLimitPolicy {
+
+    /**
+     * Waits until the window resets and then makes the petition
+     */
+    WAIT,
+
+    /**
+     * Fails immediately with a rate limit error, without making the petition
+     */
+    FAIL_FAST
+
+}
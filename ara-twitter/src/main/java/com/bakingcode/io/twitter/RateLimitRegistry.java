@@ -0,0 +1,312 @@
+package com.bakingcode.io.twitter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.model.ApiMethod;
+import com.bakingcode.io.twitter.model.ApiMethod.Method;
+import com.bakingcode.io.twitter.model.TwitterError;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+
+/**
+ * Thread safe registry of the rate limit windows of the twitter endpoints. Every response updates the window of
+ * its endpoint with its x-rate-limit-limit, x-rate-limit-remaining and x-rate-limit-reset headers and every
+ * petition takes a request of the window before being made, so the concurrent petitions never go beyond the
+ * limit: once the window is exhausted they wait for its reset, or fail fast, instead of getting a rate limit
+ * error from twitter.
+ */
+public class RateLimitRegistry {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "RateLimitRegistry";
+
+    /**
+     * Margin added to the reset time before making a petition, absorbs the clock skew with twitter
+     */
+    private static final long RESET_MARGIN_MILLIS = 1000L;
+
+    /**
+     * Rate limit window of an endpoint
+     */
+    private static class Window {
+
+        /**
+         * Requests allowed in the window
+         */
+        int limit;
+
+        /**
+         * Requests left in the window, counting the petitions already started
+         */
+        int remaining;
+
+        /**
+         * Time in millis when the window resets
+         */
+        long resetMillis;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Known windows by endpoint
+     */
+    private final ConcurrentMap<Method, Window> windows = new ConcurrentHashMap<Method, Window>();
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Registry
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Gets the window of an endpoint, creating an unknown one if needed
+     *
+     * @param method the endpoint
+     * @return the window
+     */
+    private Window window(Method method) {
+
+        Window window = windows.get(method);
+
+        if (window == null) {
+
+            Window created = new Window();
+            window = windows.putIfAbsent(method, created);
+
+            if (window == null) {
+                window = created;
+            }
+
+        }
+
+        return window;
+
+    }
+
+    /**
+     * Updates the window of an endpoint with the rate limit status of a response
+     *
+     * @param method the endpoint, nothing is done if it is null
+     * @param rateLimit the status read from the headers or the rate_limit_status petition, nothing is done if it is null
+     */
+    public void update(Method method, ApiMethod rateLimit) {
+
+        if (method == null || rateLimit == null) {
+            return;
+        }
+
+        Window window = window(method);
+        long resetMillis = rateLimit.getReset() * 1000L;
+
+        synchronized (window) {
+
+            if (resetMillis > window.resetMillis) {
+
+                // A new window, the headers are the truth
+                window.limit = rateLimit.getLimit();
+                window.remaining = rateLimit.getRemaining();
+                window.resetMillis = resetMillis;
+
+            } else if (resetMillis == window.resetMillis) {
+
+                // Responses of the same window can arrive out of order, the lowest count is the newest one
+                window.remaining = Math.min(window.remaining, rateLimit.getRemaining());
+
+            }
+
+            window.notifyAll();
+
+        }
+
+    }
+
+    /**
+     * Updates the windows with the status returned by the rate_limit_status petition
+     *
+     * @param rateLimit the status of an endpoint
+     */
+    public void update(ApiMethod rateLimit) {
+
+        if (rateLimit != null) {
+            update(rateLimit.getMethod(), rateLimit);
+        }
+
+    }
+
+    /**
+     * Takes a request of the window of an endpoint before making a petition. Endpoints whose window is unknown or
+     * has already reset are never blocked.
+     *
+     * @param method the endpoint, nothing is done if it is null
+     * @param policy what to do if the window is exhausted
+     * @throws TwitterErrorRequestException with a rate limit error if the window is exhausted and the policy is
+     * FAIL_FAST or the thread is interrupted while waiting
+     */
+    public void acquire(Method method, RateLimitPolicy policy) throws TwitterErrorRequestException {
+        acquire(method, policy, null);
+    }
+
+    /**
+     * Takes a request of the window of an endpoint before making a petition that must finish by a deadline. A
+     * petition that would have to wait for the reset beyond its deadline fails at once.
+     *
+     * @param method the endpoint, nothing is done if it is null
+     * @param policy what to do if the window is exhausted
+     * @param deadline time by which the petition must finish or null if there is none
+     * @throws TwitterErrorRequestException with a rate limit error if the window is exhausted and the policy is
+     * FAIL_FAST, the reset is beyond the deadline or the thread is interrupted while waiting
+     */
+    public void acquire(Method method, RateLimitPolicy policy, Deadline deadline) throws TwitterErrorRequestException {
+        take(method, policy, deadline);
+    }
+
+    /**
+     * Takes a request of the window of an endpoint like {@link #acquire(Method, RateLimitPolicy, Deadline)}, telling
+     * which window it was taken from so it can be given back if the petition is not made
+     *
+     * @param method the endpoint, nothing is done if it is null
+     * @param policy what to do if the window is exhausted
+     * @param deadline time by which the petition must finish or null if there is none
+     * @return the reset time in millis of the window the request was taken from, 0 if none was counted
+     * @throws TwitterErrorRequestException with a rate limit error if the window is exhausted and the policy is
+     * FAIL_FAST, the reset is beyond the deadline or the thread is interrupted while waiting
+     */
+    long take(Method method, RateLimitPolicy policy, Deadline deadline) throws TwitterErrorRequestException {
+
+        if (method == null) {
+            return 0;
+        }
+
+        Window window = window(method);
+
+        synchronized (window) {
+
+            while (true) {
+
+                long now = System.currentTimeMillis();
+
+                if (now >= window.resetMillis || window.remaining > 0) {
+
+                    // Past the reset the new window is unknown until the response updates it
+                    if (now < window.resetMillis) {
+                        window.remaining--;
+                        return window.resetMillis;
+                    }
+
+                    return 0;
+
+                }
+
+                long wait = window.resetMillis + RESET_MARGIN_MILLIS - now;
+
+                if (policy == RateLimitPolicy.FAIL_FAST || (deadline != null && wait >= deadline.getRemainingMillis())) {
+                    throw rateLimitError(method, window.resetMillis);
+                }
+
+                L(TAG, "Rate limit of " + method.getName() + " exhausted, waiting " + wait + "ms");
+
+                try {
+
+                    window.wait(wait);
+
+                } catch (InterruptedException e) {
+
+                    Thread.currentThread().interrupt();
+                    throw rateLimitError(method, window.resetMillis);
+
+                }
+
+                // The reset margin has passed, the window is usable again
+                if (System.currentTimeMillis() >= window.resetMillis + RESET_MARGIN_MILLIS) {
+                    window.resetMillis = 0;
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Gives back a request taken for a petition that was finally not made, unless its window has already reset
+     *
+     * @param method the endpoint, nothing is done if it is null
+     * @param resetMillis reset time of the window returned by {@link #take(Method, RateLimitPolicy, Deadline)}
+     */
+    void giveBack(Method method, long resetMillis) {
+
+        if (method == null || resetMillis == 0) {
+            return;
+        }
+
+        Window window = window(method);
+
+        synchronized (window) {
+
+            if (window.resetMillis == resetMillis && window.remaining < window.limit) {
+
+                window.remaining++;
+                window.notifyAll();
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Gets the known rate limit status of an endpoint
+     *
+     * @param method the endpoint
+     * @return the status, with the petitions already started discounted, or null if the window is unknown
+     */
+    public ApiMethod getStatus(Method method) {
+
+        Window window = windows.get(method);
+
+        if (window == null) {
+            return null;
+        }
+
+        synchronized (window) {
+
+            if (window.resetMillis == 0) {
+                return null;
+            }
+
+            return new ApiMethod(method, window.limit, Math.max(0, window.remaining), window.resetMillis / 1000L);
+
+        }
+
+    }
+
+    /**
+     * Forgets all the known windows
+     */
+    public void clear() {
+        windows.clear();
+    }
+
+    /**
+     * Builds the error raised when a window is exhausted
+     *
+     * @param method the endpoint
+     * @param resetMillis time when the window resets
+     * @return the exception
+     */
+    private static TwitterErrorRequestException rateLimitError(Method method, long resetMillis) {
+
+        TwitterError error = new TwitterError();
+        error.setCode(TwitterError.ERROR_RATE_LIMIT);
+        error.setMessage("Rate limit of " + method.getName() + " exceeded, resets at " + resetMillis);
+        return new TwitterErrorRequestException(error);
+
+    }
+
+}
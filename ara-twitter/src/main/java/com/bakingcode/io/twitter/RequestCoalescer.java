@@ -0,0 +1,312 @@
+package com.bakingcode.io.twitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.NameValuePair;
+
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.tools.OAuthSigner;
+
+/**
+ * Merges identical GET petitions that are in flight at the same time: the first one is made and the others wait for
+ * it and get its parsed result, so they cost no connection, signature, parse or request of the rate limit window.
+ * Two petitions are identical if they call the same url with the same parameters, credentials and parser.
+ *
+ * All the waiters get the same result object, it must not be modified. A waiter stops waiting when its own
+ * petition is cancelled or reaches its deadline, and makes its own petition if the shared one was cancelled or
+ * expired for the petition that made it.
+ */
+public class RequestCoalescer {
+
+    /**
+     * Interval to check the cancellation of a waiting petition
+     */
+    private static final long POLL_MILLIS = 50L;
+
+    /**
+     * Petition that can be shared
+     *
+     * @param <T> type of the parsed response
+     */
+    interface Call<T> {
+
+        /**
+         * Makes the petition
+         *
+         * @return the parsed response
+         * @throws TwitterErrorRequestException if twitter returns an error or the communication fails
+         */
+        T run() throws TwitterErrorRequestException;
+
+    }
+
+    /**
+     * Petition in flight
+     */
+    private static class Flight {
+
+        /**
+         * Released when the petition finishes
+         */
+        final CountDownLatch done = new CountDownLatch(1);
+
+        /**
+         * Parsed response
+         */
+        Object result;
+
+        /**
+         * Error of the petition
+         */
+        TwitterErrorRequestException error;
+
+        /**
+         * Unexpected failure of the petition
+         */
+        RuntimeException failure;
+
+        /**
+         * True if the petition failed because it was cancelled or reached its deadline, not because of twitter
+         */
+        boolean abandoned;
+
+    }
+
+    /**
+     * Orders the parameters of a key
+     */
+    private static final Comparator<NameValuePair> PARAMETER_ORDER = new Comparator<NameValuePair>() {
+
+        @Override
+        public int compare(NameValuePair a, NameValuePair b) {
+
+            int c = a.getName().compareTo(b.getName());
+
+            if (c != 0) {
+                return c;
+            }
+
+            return String.valueOf(a.getValue()).compareTo(String.valueOf(b.getValue()));
+
+        }
+
+    };
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Petitions in flight by key
+     */
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<String, Flight>();
+
+    /**
+     * Petitions that could be shared
+     */
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Petitions that got the result of another one
+     */
+    private final AtomicLong coalesced = new AtomicLong();
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the petitions that could be shared
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return the petitions that got the result of another one instead of being made
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Coalescing
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Builds the key of a petition
+     *
+     * @param url url to call
+     * @param nameValuePair parameters, in any order
+     * @param credentials identity of the credentials that sign the petition
+     * @param parser parser of the response
+     * @return the key, equal for identical petitions
+     */
+    static String key(String url, List<NameValuePair> nameValuePair, String credentials, ResponseParser<?> parser) {
+
+        StringBuilder key = new StringBuilder(url.length() + 64);
+        key.append(credentials).append(' ').append(parser.getClass().getName()).append(' ').append(url);
+
+        if (nameValuePair != null && !nameValuePair.isEmpty()) {
+
+            List<NameValuePair> sorted = new ArrayList<NameValuePair>(nameValuePair);
+            Collections.sort(sorted, PARAMETER_ORDER);
+            char separator = '?';
+
+            for (NameValuePair pair : sorted) {
+
+                key.append(separator).append(OAuthSigner.encode(pair.getName())).append('=');
+
+                if (pair.getValue() != null) {
+                    key.append(OAuthSigner.encode(pair.getValue()));
+                }
+
+                separator = '&';
+
+            }
+
+        }
+
+        return key.toString();
+
+    }
+
+    /**
+     * Makes a petition or waits for an identical one in flight
+     *
+     * @param key key of the petition, see {@link #key(String, List, String, ResponseParser)}
+     * @param call the petition
+     * @param cancellation token of the petition or null
+     * @param deadline deadline of the petition or null
+     * @param <T> type of the parsed response
+     * @return the parsed response
+     * @throws TwitterErrorRequestException if twitter returns an error, the communication fails, or the petition is
+     * cancelled or reaches its deadline while waiting
+     */
+    @SuppressWarnings("unchecked")
+    <T> T execute(String key, Call<T> call, CancellationToken cancellation, Deadline deadline) throws TwitterErrorRequestException {
+
+        requests.incrementAndGet();
+
+        Flight flight = new Flight();
+        Flight running = flights.putIfAbsent(key, flight);
+
+        if (running == null) {
+            return (T) lead(key, flight, call, cancellation, deadline);
+        }
+
+        await(running, cancellation, deadline);
+
+        // The petition that made it was cancelled or expired, not this one
+        if (running.abandoned) {
+            return call.run();
+        }
+
+        coalesced.incrementAndGet();
+
+        if (running.failure != null) {
+            throw running.failure;
+        }
+
+        if (running.error != null) {
+            throw new TwitterErrorRequestException(running.error.getError());
+        }
+
+        return (T) running.result;
+
+    }
+
+    /**
+     * Makes a petition and publishes its outcome to the waiters
+     *
+     * @param key key of the petition
+     * @param flight the petition in flight
+     * @param call the petition
+     * @param cancellation token of the petition or null
+     * @param deadline deadline of the petition or null
+     * @return the parsed response
+     * @throws TwitterErrorRequestException if twitter returns an error or the communication fails
+     */
+    private Object lead(String key, Flight flight, Call<?> call, CancellationToken cancellation, Deadline deadline) throws TwitterErrorRequestException {
+
+        try {
+
+            flight.result = call.run();
+            return flight.result;
+
+        } catch (TwitterErrorRequestException e) {
+
+            flight.error = e;
+            flight.abandoned = (cancellation != null && cancellation.isCancelled()) || (deadline != null && deadline.isExpired());
+            throw e;
+
+        } catch (RuntimeException e) {
+
+            flight.failure = e;
+            throw e;
+
+        } finally {
+
+            // Removed before the release, so a petition arriving later makes a new one instead of getting a stale result
+            flights.remove(key, flight);
+            flight.done.countDown();
+
+        }
+
+    }
+
+    /**
+     * Waits for a petition in flight
+     *
+     * @param flight the petition
+     * @param cancellation token of the waiting petition or null
+     * @param deadline deadline of the waiting petition or null
+     * @throws TwitterErrorRequestException if the waiting petition is cancelled or reaches its deadline
+     */
+    private static void await(Flight flight, CancellationToken cancellation, Deadline deadline) throws TwitterErrorRequestException {
+
+        try {
+
+            while (true) {
+
+                if (cancellation != null && cancellation.isCancelled()) {
+                    throw new TwitterErrorRequestException(new TwitterCommunicationException(CancellationToken.CANCELLED_MESSAGE));
+                }
+
+                long wait = POLL_MILLIS;
+
+                if (deadline != null) {
+
+                    if (deadline.isExpired()) {
+                        throw Deadline.expiredError();
+                    }
+
+                    wait = Math.min(wait, deadline.getRemainingMillis());
+
+                }
+
+                if (flight.done.await(wait, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+
+            }
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new TwitterErrorRequestException(new TwitterCommunicationException(CancellationToken.CANCELLED_MESSAGE));
+
+        }
+
+    }
+
+}
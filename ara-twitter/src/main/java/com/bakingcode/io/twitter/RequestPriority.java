@@ -0,0 +1,20 @@
+package com.bakingcode.io.twitter;
+
+/**
+ * Priority class of a petition in the {@link RequestScheduler}
+ */
+public enum RequestPriority {
+
+    /**
+     * Petitions a user is waiting for. They go before any background petition and can use the whole rate limit
+     * window of their endpoint.
+     */
+    INTERACTIVE,
+
+    /**
+     * Crawls, polling and any other batch work. They only run when no interactive petition is waiting, leave a
+     * reserve of every window to the interactive ones and are spread along the window instead of bursting.
+     */
+    BACKGROUND
+
+}
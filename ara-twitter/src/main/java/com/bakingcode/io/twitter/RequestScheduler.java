@@ -0,0 +1,407 @@
+package com.bakingcode.io.twitter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.model.ApiMethod;
+import com.bakingcode.io.twitter.model.ApiMethod.Method;
+import com.bakingcode.io.twitter.model.TwitterError;
+
+/**
+ * Schedules the petitions of a consumer by priority before they reach the {@link TwitterHttpClient}.
+ *
+ * Two resources are scheduled. The connections: at most as many petitions as pooled connections per route
+ * run at the same time, and a free connection always goes to a waiting interactive petition before any
+ * background one. The rate limit windows of {@link RateLimitRegistry}: background petitions cannot use the
+ * reserve of every window kept for the interactive ones, and they are paced evenly until the reset of the window
+ * so a crawl does not drain the window in a burst.
+ */
+public class RequestScheduler {
+
+    /**
+     * Default fraction of every window reserved to the interactive petitions
+     */
+    public static final float DEFAULT_INTERACTIVE_RESERVE = 0.2f;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Known rate limit windows
+     */
+    private final RateLimitRegistry rateLimitRegistry;
+
+    /**
+     * Max number of petitions running at the same time
+     */
+    private final int maxConcurrentRequests;
+
+    /**
+     * Fraction of every window reserved to the interactive petitions
+     */
+    private volatile float interactiveReserve = DEFAULT_INTERACTIVE_RESERVE;
+
+    /**
+     * Time in millis of the next background petition of every endpoint
+     */
+    private final ConcurrentMap<Method, Long> nextBackgroundSlot = new ConcurrentHashMap<Method, Long>();
+
+    /**
+     * Lock of the connection slots
+     */
+    private final Object slots = new Object();
+
+    /**
+     * Petitions running
+     */
+    private int running;
+
+    /**
+     * Interactive petitions waiting for a connection slot
+     */
+    private int waitingInteractive;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a scheduler
+     *
+     * @param rateLimitRegistry known rate limit windows
+     * @param maxConcurrentRequests max number of petitions running at the same time, usually the pooled
+     * connections per route
+     */
+    public RequestScheduler(RateLimitRegistry rateLimitRegistry, int maxConcurrentRequests) {
+
+        this.rateLimitRegistry = rateLimitRegistry;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the fraction of every window reserved to the interactive petitions
+     */
+    public float getInteractiveReserve() {
+        return interactiveReserve;
+    }
+
+    /**
+     * @param interactiveReserve the fraction of every window reserved to the interactive petitions, from 0 to 1
+     */
+    public void setInteractiveReserve(float interactiveReserve) {
+
+        if (interactiveReserve < 0 || interactiveReserve > 1) {
+            throw new IllegalArgumentException("interactiveReserve must be between 0 and 1");
+        }
+
+        this.interactiveReserve = interactiveReserve;
+
+    }
+
+    /**
+     * @return the rate limit windows used by the scheduler
+     */
+    public RateLimitRegistry getRateLimitRegistry() {
+        return rateLimitRegistry;
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Scheduling
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Waits until a petition can be made. Every successful call must be followed by a call to {@link #release()}
+     * when the petition finishes.
+     *
+     * @param method rate limited method of the endpoint or null if it has no window
+     * @param priority priority of the petition
+     * @param policy what to do if the window of the endpoint is exhausted
+     * @throws TwitterErrorRequestException with a rate limit error if the window is exhausted and the policy is
+     * FAIL_FAST, or if the thread is interrupted while waiting
+     */
+    public void acquire(Method method, RequestPriority priority, RateLimitPolicy policy) throws TwitterErrorRequestException {
+        acquire(rateLimitRegistry, method, priority, policy);
+    }
+
+    /**
+     * Waits until a petition whose rate limit is tracked by another registry can be made, e.g. an application-only
+     * petition, which has its own windows but shares the connections
+     *
+     * @param registry rate limit windows of the credential of the petition
+     * @param method rate limited method of the endpoint or null if it has no window
+     * @param priority priority of the petition
+     * @param policy what to do if the window of the endpoint is exhausted
+     * @throws TwitterErrorRequestException with a rate limit error if the window is exhausted and the policy is
+     * FAIL_FAST, or if the thread is interrupted while waiting
+     */
+    public void acquire(RateLimitRegistry registry, Method method, RequestPriority priority, RateLimitPolicy policy) throws TwitterErrorRequestException {
+        acquire(registry, method, priority, policy, null);
+    }
+
+    /**
+     * Waits until a petition that must finish by a deadline can be made. The petition fails instead of waiting
+     * beyond its deadline.
+     *
+     * @param registry rate limit windows of the credential of the petition
+     * @param method rate limited method of the endpoint or null if it has no window
+     * @param priority priority of the petition
+     * @param policy what to do if the window of the endpoint is exhausted
+     * @param deadline time by which the petition must finish or null if there is none
+     * @throws TwitterErrorRequestException with a rate limit error if the window is exhausted and the policy is
+     * FAIL_FAST or its reset is beyond the deadline, with a communication error if the deadline expires while
+     * waiting or the thread is interrupted
+     */
+    public void acquire(RateLimitRegistry registry, Method method, RequestPriority priority, RateLimitPolicy policy, Deadline deadline) throws TwitterErrorRequestException {
+
+        if (priority == RequestPriority.BACKGROUND && method != null) {
+            awaitBackgroundBudget(registry, method, policy, deadline);
+        }
+
+        long window = registry.take(method, policy, deadline);
+
+        try {
+
+            acquireSlot(priority, deadline);
+
+        } catch (TwitterErrorRequestException e) {
+
+            // The petition is not made, its request of the window is free for the next one
+            registry.giveBack(method, window);
+            throw e;
+
+        }
+
+    }
+
+    /**
+     * Takes a connection slot and a request of the rate limit window only if both are free right away, e.g. for a
+     * hedge that is useless if it has to wait. A successful call must be followed by a call to {@link #release()}.
+     *
+     * @param registry rate limit windows of the credential of the petition
+     * @param method rate limited method of the endpoint or null if it has no window
+     * @return true if the petition can be made
+     */
+    public boolean tryAcquire(RateLimitRegistry registry, Method method) {
+
+        synchronized (slots) {
+
+            if (running >= maxConcurrentRequests || waitingInteractive > 0) {
+                return false;
+            }
+
+            running++;
+
+        }
+
+        try {
+
+            registry.acquire(method, RateLimitPolicy.FAIL_FAST);
+            return true;
+
+        } catch (TwitterErrorRequestException e) {
+
+            release();
+            return false;
+
+        }
+
+    }
+
+    /**
+     * Frees the connection slot of a finished petition
+     */
+    public void release() {
+
+        synchronized (slots) {
+
+            running--;
+            slots.notifyAll();
+
+        }
+
+    }
+
+    /**
+     * @return the number of petitions running
+     */
+    public int getRunning() {
+
+        synchronized (slots) {
+            return running;
+        }
+
+    }
+
+    /**
+     * Waits for a connection slot. Background petitions are only admitted when no interactive one is waiting.
+     *
+     * @param priority priority of the petition
+     * @param deadline time by which the petition must finish or null if there is none
+     * @throws TwitterErrorRequestException if the deadline expires or the thread is interrupted while waiting
+     */
+    private void acquireSlot(RequestPriority priority, Deadline deadline) throws TwitterErrorRequestException {
+
+        boolean interactive = priority == RequestPriority.INTERACTIVE;
+
+        synchronized (slots) {
+
+            if (interactive) {
+                waitingInteractive++;
+            }
+
+            try {
+
+                while (running >= maxConcurrentRequests || (!interactive && waitingInteractive > 0)) {
+
+                    if (deadline == null) {
+
+                        slots.wait();
+
+                    } else if (deadline.isExpired()) {
+
+                        throw Deadline.expiredError();
+
+                    } else {
+
+                        slots.wait(Math.max(1, deadline.getRemainingMillis()));
+
+                    }
+
+                }
+
+                running++;
+
+            } catch (InterruptedException e) {
+
+                Thread.currentThread().interrupt();
+                throw interruptedError();
+
+            } finally {
+
+                if (interactive) {
+                    waitingInteractive--;
+                    slots.notifyAll();
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Waits until a background petition fits in the window of its endpoint: out of the interactive reserve and
+     * not before its turn, the window left being spread evenly until the reset
+     *
+     * @param registry rate limit windows of the credential
+     * @param method rate limited method of the endpoint
+     * @param policy what to do if the window is exhausted
+     * @param deadline time by which the petition must finish or null if there is none
+     * @throws TwitterErrorRequestException if the window is exhausted and the policy is FAIL_FAST, the turn of the
+     * petition is beyond its deadline or the thread is interrupted
+     */
+    private void awaitBackgroundBudget(RateLimitRegistry registry, Method method, RateLimitPolicy policy, Deadline deadline) throws TwitterErrorRequestException {
+
+        while (true) {
+
+            ApiMethod status = registry.getStatus(method);
+            long now = System.currentTimeMillis();
+            long resetMillis = status != null ? status.getReset() * 1000L : 0;
+
+            // Unknown or already reset window, the response of this petition will tell
+            if (status == null || now >= resetMillis) {
+                return;
+            }
+
+            int reserve = (int) Math.ceil(status.getLimit() * interactiveReserve);
+            int available = status.getRemaining() - reserve;
+
+            long wait;
+
+            if (available <= 0) {
+
+                if (policy == RateLimitPolicy.FAIL_FAST) {
+
+                    TwitterError error = new TwitterError();
+                    error.setCode(TwitterError.ERROR_RATE_LIMIT);
+                    error.setMessage("Background budget of " + method.getName() + " exhausted, resets at " + resetMillis);
+                    throw new TwitterErrorRequestException(error);
+
+                }
+
+                wait = resetMillis - now;
+
+            } else {
+
+                long slot = takeBackgroundSlot(method, now, (resetMillis - now) / available);
+
+                if (slot <= now) {
+                    return;
+                }
+
+                // Pacing is not a rate limit failure, fail fast petitions wait for their turn too
+                wait = slot - now;
+
+            }
+
+            if (deadline != null && wait >= deadline.getRemainingMillis()) {
+                throw Deadline.expiredError();
+            }
+
+            try {
+                Thread.sleep(Math.max(1, wait));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw interruptedError();
+            }
+
+            if (available > 0) {
+                return;
+            }
+
+        }
+
+    }
+
+    /**
+     * Reserves the next background turn of an endpoint
+     *
+     * @param method the endpoint
+     * @param now current time in millis
+     * @param interval time between two background petitions
+     * @return the time of the reserved turn
+     */
+    private long takeBackgroundSlot(Method method, long now, long interval) {
+
+        while (true) {
+
+            Long next = nextBackgroundSlot.get(method);
+            long slot = next != null ? Math.max(now, next) : now;
+            Long updated = slot + interval;
+
+            if (next == null ? nextBackgroundSlot.putIfAbsent(method, updated) == null : nextBackgroundSlot.replace(method, next, updated)) {
+                return slot;
+            }
+
+        }
+
+    }
+
+    /**
+     * @return the error raised when a thread is interrupted while waiting
+     */
+    private static TwitterErrorRequestException interruptedError() {
+
+        return new TwitterErrorRequestException(new TwitterCommunicationException("Interrupted while waiting for the request scheduler"));
+
+    }
+
+}
@@ -0,0 +1,497 @@
+package com.bakingcode.io.twitter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.model.ApiMethod.Method;
+import com.bakingcode.io.twitter.model.CacheStats;
+import com.bakingcode.io.twitter.model.IError;
+import com.bakingcode.io.twitter.model.TwitterError;
+
+/**
+ * Cache of the parsed responses of the GET petitions, in front of {@link Twitter}. Only the endpoints with a
+ * {@link CachePolicy} are cached; by default the api configuration, the trends and the user profiles. The least
+ * recently used responses are evicted when the weight of the cache, the size in bytes of the cached bodies, goes
+ * over its max. The "not found" and "suspended" errors can be cached too, so a missing user is not asked again.
+ *
+ * The consumers do not cache by default, a view caches with twitter.withResponseCache(cache). All its petitions
+ * get the same cached object, it must not be modified. The petitions that change a resource do not refresh its
+ * cached responses: remove the policy of an endpoint whose responses must reflect them at once, e.g.
+ * cache.setPolicy(Method.USERS_SHOW, null) for the following flag of a user.
+ */
+public class ResponseCache {
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Defaults
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Default max weight of the cache
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 4 * 1024 * 1024L;
+
+    /**
+     * Weight of a response whose size is unknown
+     */
+    private static final long UNKNOWN_WEIGHT = 4 * 1024L;
+
+    /**
+     * Cached response
+     */
+    static class Entry {
+
+        /**
+         * Parsed response, null if it is an error
+         */
+        final Object value;
+
+        /**
+         * Cached error or null
+         */
+        final IError error;
+
+        /**
+         * Weight of the entry
+         */
+        final long weight;
+
+        /**
+         * Time in millis until the response is fresh
+         */
+        final long freshUntil;
+
+        /**
+         * Time in millis until the response can be returned while revalidated
+         */
+        final long staleUntil;
+
+        /**
+         * True while a new response is requested in the background
+         */
+        final AtomicBoolean revalidating = new AtomicBoolean();
+
+        /**
+         * Default constructor
+         *
+         * @param value parsed response, null if it is an error
+         * @param error cached error or null
+         * @param weight weight of the entry
+         * @param freshUntil time in millis until the response is fresh
+         * @param staleUntil time in millis until the response can be returned while revalidated
+         */
+        Entry(Object value, IError error, long weight, long freshUntil, long staleUntil) {
+
+            this.value = value;
+            this.error = error;
+            this.weight = weight;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+
+        }
+
+        /**
+         * @return true if the response is no longer fresh and must be revalidated
+         */
+        boolean isStale() {
+            return System.currentTimeMillis() >= freshUntil;
+        }
+
+        /**
+         * @return true if the caller must revalidate the response, false if another one already does it
+         */
+        boolean startRevalidation() {
+            return revalidating.compareAndSet(false, true);
+        }
+
+        /**
+         * Lets another caller revalidate the response, after a failed revalidation
+         */
+        void endRevalidation() {
+            revalidating.set(false);
+        }
+
+        /**
+         * @param <T> type of the parsed response
+         * @return the parsed response
+         * @throws TwitterErrorRequestException with the cached error
+         */
+        @SuppressWarnings("unchecked")
+        <T> T get() throws TwitterErrorRequestException {
+
+            if (error != null) {
+                throw new TwitterErrorRequestException(error);
+            }
+
+            return (T) value;
+
+        }
+
+    }
+
+    /**
+     * Counters of an endpoint
+     */
+    private static class Counters {
+
+        /**
+         * Fresh responses returned
+         */
+        final AtomicLong hits = new AtomicLong();
+
+        /**
+         * Stale responses returned
+         */
+        final AtomicLong staleHits = new AtomicLong();
+
+        /**
+         * Cached errors returned
+         */
+        final AtomicLong negativeHits = new AtomicLong();
+
+        /**
+         * Petitions sent to twitter
+         */
+        final AtomicLong misses = new AtomicLong();
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Max weight of the cache
+     */
+    private volatile long maxWeight = DEFAULT_MAX_WEIGHT;
+
+    /**
+     * Weight of the cached entries
+     */
+    private long weight;
+
+    /**
+     * Cached entries by key, in access order
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75f, true);
+
+    /**
+     * Policies by endpoint
+     */
+    private final ConcurrentMap<Method, CachePolicy> policies = new ConcurrentHashMap<Method, CachePolicy>();
+
+    /**
+     * Counters by endpoint
+     */
+    private final ConcurrentMap<Method, Counters> counters = new ConcurrentHashMap<Method, Counters>();
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a cache with the default policies: the api configuration for a day, the trends for 5 minutes, as
+     * twitter does, the closest places for an hour and the user profiles for 15 minutes
+     */
+    public ResponseCache() {
+
+        setPolicy(Method.HELP_CONFIGURATION, new CachePolicy(TimeUnit.DAYS.toMillis(1)).setStaleMillis(TimeUnit.HOURS.toMillis(1)));
+        setPolicy(Method.TRENDS_PLACE, new CachePolicy(TimeUnit.MINUTES.toMillis(5)).setStaleMillis(TimeUnit.MINUTES.toMillis(1)));
+        setPolicy(Method.TRENDS_CLOSEST, new CachePolicy(TimeUnit.HOURS.toMillis(1)).setStaleMillis(TimeUnit.MINUTES.toMillis(10)));
+        setPolicy(Method.USERS_SHOW, new CachePolicy(TimeUnit.MINUTES.toMillis(15)).setStaleMillis(TimeUnit.MINUTES.toMillis(5)).setNegativeTtlMillis(TimeUnit.MINUTES.toMillis(10)));
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the max weight of the cache, in bytes of the cached bodies
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * @param maxWeight the max weight of the cache to set, in bytes of the cached bodies
+     * @return this cache
+     */
+    public ResponseCache setMaxWeight(long maxWeight) {
+
+        this.maxWeight = maxWeight;
+
+        synchronized (entries) {
+            evict();
+        }
+
+        return this;
+
+    }
+
+    /**
+     * @return the weight of the cached entries
+     */
+    public long getWeight() {
+
+        synchronized (entries) {
+            return weight;
+        }
+
+    }
+
+    /**
+     * @param method endpoint
+     * @return the policy of the endpoint or null if it is not cached
+     */
+    public CachePolicy getPolicy(Method method) {
+        return method != null ? policies.get(method) : null;
+    }
+
+    /**
+     * Sets how long the responses of an endpoint are cached
+     *
+     * @param method endpoint
+     * @param policy the policy, null to stop caching the endpoint
+     * @return this cache
+     */
+    public ResponseCache setPolicy(Method method, CachePolicy policy) {
+
+        if (policy == null) {
+            policies.remove(method);
+        } else {
+            policies.put(method, policy);
+        }
+
+        return this;
+
+    }
+
+    /**
+     * @param method endpoint
+     * @return the counters of the endpoint
+     */
+    public CacheStats getStats(Method method) {
+
+        Counters c = counters(method);
+        return new CacheStats(c.hits.get(), c.staleHits.get(), c.negativeHits.get(), c.misses.get());
+
+    }
+
+    /**
+     * @return the counters of every endpoint called through this cache
+     */
+    public Map<Method, CacheStats> getStats() {
+
+        Map<Method, CacheStats> stats = new LinkedHashMap<Method, CacheStats>();
+
+        for (Method method : counters.keySet()) {
+            stats.put(method, getStats(method));
+        }
+
+        return stats;
+
+    }
+
+    /**
+     * Removes every cached response
+     */
+    public void clear() {
+
+        synchronized (entries) {
+
+            entries.clear();
+            weight = 0;
+
+        }
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Cache
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Gets a cached response that is fresh or can still be returned while revalidated
+     *
+     * @param method endpoint
+     * @param key key of the petition
+     * @return the entry or null if the petition must be sent
+     */
+    Entry get(Method method, String key) {
+
+        Entry entry;
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+
+            entry = entries.get(key);
+
+            if (entry != null && now >= entry.staleUntil) {
+
+                entries.remove(key);
+                weight -= entry.weight;
+                entry = null;
+
+            }
+
+        }
+
+        Counters c = counters(method);
+
+        if (entry == null) {
+            c.misses.incrementAndGet();
+        } else if (entry.error != null) {
+            c.negativeHits.incrementAndGet();
+        } else if (now >= entry.freshUntil) {
+            c.staleHits.incrementAndGet();
+        } else {
+            c.hits.incrementAndGet();
+        }
+
+        return entry;
+
+    }
+
+    /**
+     * Caches a parsed response
+     *
+     * @param method endpoint
+     * @param key key of the petition
+     * @param value the parsed response
+     * @param contentLength size in bytes of the body, -1 if it is unknown
+     */
+    void put(Method method, String key, Object value, long contentLength) {
+
+        CachePolicy policy = getPolicy(method);
+
+        if (policy == null || value == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long freshUntil = now + policy.getTtlMillis();
+        store(key, new Entry(value, null, weigh(key, contentLength), freshUntil, freshUntil + policy.getStaleMillis()));
+
+    }
+
+    /**
+     * Caches an error if it is a "not found" or "suspended" one and the endpoint keeps them
+     *
+     * @param method endpoint
+     * @param key key of the petition
+     * @param error the error
+     */
+    void putError(Method method, String key, IError error) {
+
+        CachePolicy policy = getPolicy(method);
+
+        if (policy == null || policy.getNegativeTtlMillis() <= 0 || !isNegative(error)) {
+            return;
+        }
+
+        long until = System.currentTimeMillis() + policy.getNegativeTtlMillis();
+        store(key, new Entry(null, error, weigh(key, -1), until, until));
+
+    }
+
+    /**
+     * Stores an entry and evicts the least recently used ones over the max weight
+     *
+     * @param key key of the petition
+     * @param entry the entry
+     */
+    private void store(String key, Entry entry) {
+
+        // An entry heavier than the whole cache would only evict everything else
+        if (entry.weight > maxWeight) {
+            return;
+        }
+
+        synchronized (entries) {
+
+            Entry old = entries.put(key, entry);
+
+            if (old != null) {
+                weight -= old.weight;
+            }
+
+            weight += entry.weight;
+            evict();
+
+        }
+
+    }
+
+    /**
+     * Evicts the least recently used entries until the weight is not over the max. Must hold the entries lock.
+     */
+    private void evict() {
+
+        Iterator<Entry> eldest = entries.values().iterator();
+
+        while (weight > maxWeight && eldest.hasNext()) {
+
+            weight -= eldest.next().weight;
+            eldest.remove();
+
+        }
+
+    }
+
+    /**
+     * @param key key of the petition
+     * @param contentLength size in bytes of the body, -1 if it is unknown
+     * @return the weight of an entry
+     */
+    private static long weigh(String key, long contentLength) {
+        return (contentLength >= 0 ? contentLength : UNKNOWN_WEIGHT) + key.length() * 2;
+    }
+
+    /**
+     * @param error error of a petition
+     * @return true if it says that the requested resource does not exist or is suspended
+     */
+    private static boolean isNegative(IError error) {
+
+        if (!(error instanceof TwitterError)) {
+            return false;
+        }
+
+        int code = ((TwitterError) error).getCode();
+        return code == TwitterError.PAGE_NOT_EXISTS || code == TwitterError.ERROR_USER_SUSPENDED;
+
+    }
+
+    /**
+     * Gets the counters of an endpoint, creating them if needed
+     *
+     * @param method the endpoint
+     * @return the counters
+     */
+    private Counters counters(Method method) {
+
+        Counters c = counters.get(method);
+
+        if (c == null) {
+
+            Counters created = new Counters();
+            c = counters.putIfAbsent(method, created);
+
+            if (c == null) {
+                c = created;
+            }
+
+        }
+
+        return c;
+
+    }
+
+}
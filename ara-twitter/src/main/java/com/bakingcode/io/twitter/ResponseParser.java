@@ -0,0 +1,306 @@
+package com.bakingcode.io.twitter;
+
+import com.bakingcode.io.twitter.model.ApiConfiguration;
+import com.bakingcode.io.twitter.model.Friendship;
+import com.bakingcode.io.twitter.model.IdentifierList;
+import com.bakingcode.io.twitter.model.Trend;
+import com.bakingcode.io.twitter.model.TrendPlace;
+import com.bakingcode.io.twitter.model.Tweet;
+import com.bakingcode.io.twitter.model.User;
+import com.bakingcode.io.twitter.tools.JsonStreamReader;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns the body of a twitter response into a model object. Every parser can work over the whole body
+ * string (DOM), the ones that extend StreamingResponseParser can also read straight from the connection.
+ *
+ * @param <T> type of the parsed object
+ */
+public abstract class ResponseParser<T> {
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Parsers
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * A single tweet
+     */
+    static final StreamingResponseParser<Tweet> TWEET = new StreamingResponseParser<Tweet>() {
+
+        @Override
+        public Tweet parse(String response) throws JSONException {
+            return new Tweet(new JSONObject(response));
+        }
+
+        @Override
+        public Tweet parse(JsonStreamReader reader) throws IOException {
+            return new Tweet(reader);
+        }
+
+    };
+
+    /**
+     * A single tweet, its creation time read from the Snowflake id
+     */
+    static final StreamingResponseParser<Tweet> TWEET_SNOWFLAKE = new StreamingResponseParser<Tweet>() {
+
+        @Override
+        public Tweet parse(String response) throws JSONException {
+            return new Tweet(new JSONObject(response), true);
+        }
+
+        @Override
+        public Tweet parse(JsonStreamReader reader) throws IOException {
+            return new Tweet(reader, true);
+        }
+
+    };
+
+    /**
+     * An array of tweets
+     */
+    static final StreamingResponseParser<List<Tweet>> TWEET_LIST = new StreamingResponseParser<List<Tweet>>() {
+
+        @Override
+        public List<Tweet> parse(String response) throws JSONException {
+            return tweets(new JSONArray(response), false);
+        }
+
+        @Override
+        public List<Tweet> parse(JsonStreamReader reader) throws IOException {
+            return Tweet.parseList(reader);
+        }
+
+    };
+
+    /**
+     * An array of tweets, their creation time read from the Snowflake ids
+     */
+    static final StreamingResponseParser<List<Tweet>> TWEET_LIST_SNOWFLAKE = new StreamingResponseParser<List<Tweet>>() {
+
+        @Override
+        public List<Tweet> parse(String response) throws JSONException {
+            return tweets(new JSONArray(response), true);
+        }
+
+        @Override
+        public List<Tweet> parse(JsonStreamReader reader) throws IOException {
+            return Tweet.parseList(reader, true);
+        }
+
+    };
+
+    /**
+     * The tweets of a search, wrapped in the statuses property
+     */
+    static final StreamingResponseParser<List<Tweet>> SEARCH_TWEETS = new StreamingResponseParser<List<Tweet>>() {
+
+        @Override
+        public List<Tweet> parse(String response) throws JSONException {
+            return tweets(new JSONObject(response).getJSONArray("statuses"), false);
+        }
+
+        @Override
+        public List<Tweet> parse(JsonStreamReader reader) throws IOException {
+            return searchTweets(reader, false);
+        }
+
+    };
+
+    /**
+     * The tweets of a search, their creation time read from the Snowflake ids
+     */
+    static final StreamingResponseParser<List<Tweet>> SEARCH_TWEETS_SNOWFLAKE = new StreamingResponseParser<List<Tweet>>() {
+
+        @Override
+        public List<Tweet> parse(String response) throws JSONException {
+            return tweets(new JSONObject(response).getJSONArray("statuses"), true);
+        }
+
+        @Override
+        public List<Tweet> parse(JsonStreamReader reader) throws IOException {
+            return searchTweets(reader, true);
+        }
+
+    };
+
+    /**
+     * A single user
+     */
+    static final StreamingResponseParser<User> USER = new StreamingResponseParser<User>() {
+
+        @Override
+        public User parse(String response) throws JSONException {
+            return new User(new JSONObject(response));
+        }
+
+        @Override
+        public User parse(JsonStreamReader reader) throws IOException {
+            return new User(reader);
+        }
+
+    };
+
+    /**
+     * An array of users
+     */
+    static final StreamingResponseParser<List<User>> USER_LIST = new StreamingResponseParser<List<User>>() {
+
+        @Override
+        public List<User> parse(String response) throws JSONException {
+
+            JSONArray arrJson = new JSONArray(response);
+            List<User> listUsers = new ArrayList<User>();
+
+            for (int i=0 ; i<arrJson.length(); i++) {
+                listUsers.add(new User(arrJson.getJSONObject(i)));
+            }
+
+            return listUsers;
+
+        }
+
+        @Override
+        public List<User> parse(JsonStreamReader reader) throws IOException {
+            return User.parseList(reader);
+        }
+
+    };
+
+    /**
+     * A cursored page of ids
+     */
+    static final StreamingResponseParser<IdentifierList> IDENTIFIER_LIST = new StreamingResponseParser<IdentifierList>() {
+
+        @Override
+        public IdentifierList parse(String response) throws JSONException {
+            return new IdentifierList(new JSONObject(response));
+        }
+
+        @Override
+        public IdentifierList parse(JsonStreamReader reader) throws IOException {
+            return new IdentifierList(reader);
+        }
+
+    };
+
+    /**
+     * The api configuration
+     */
+    static final ResponseParser<ApiConfiguration> API_CONFIGURATION = new ResponseParser<ApiConfiguration>() {
+
+        @Override
+        public ApiConfiguration parse(String response) throws JSONException {
+            return new ApiConfiguration(new JSONObject(response));
+        }
+
+    };
+
+    /**
+     * An array of friendships
+     */
+    static final ResponseParser<List<Friendship>> FRIENDSHIP_LIST = new ResponseParser<List<Friendship>>() {
+
+        @Override
+        public List<Friendship> parse(String response) {
+            return Friendship.parseList(response);
+        }
+
+    };
+
+    /**
+     * The trends of a place
+     */
+    static final ResponseParser<List<Trend>> TREND_LIST = new ResponseParser<List<Trend>>() {
+
+        @Override
+        public List<Trend> parse(String response) {
+            return Trend.parseList(response);
+        }
+
+    };
+
+    /**
+     * An array of trend places
+     */
+    static final ResponseParser<List<TrendPlace>> TREND_PLACE_LIST = new ResponseParser<List<TrendPlace>>() {
+
+        @Override
+        public List<TrendPlace> parse(String response) {
+            return TrendPlace.parseList(response);
+        }
+
+    };
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Parsing
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Parses the whole body of a response
+     *
+     * @param response the body of the response
+     * @return the parsed object
+     * @throws JSONException if the body is not valid, it fails the petition with a TwitterParseException
+     */
+    public abstract T parse(String response) throws JSONException;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Private methods
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Parses an array of tweets
+     *
+     * @param arrJson the array
+     * @param snowflakeTimestamps true to read the creation time from the Snowflake ids
+     * @return the tweets
+     * @throws JSONException if an element is not an object
+     */
+    private static List<Tweet> tweets(JSONArray arrJson, boolean snowflakeTimestamps) throws JSONException {
+
+        List<Tweet> listTweets = new ArrayList<Tweet>();
+
+        for (int i=0 ; i<arrJson.length(); i++) {
+            listTweets.add(new Tweet(arrJson.getJSONObject(i), snowflakeTimestamps));
+        }
+
+        return listTweets;
+
+    }
+
+    /**
+     * Reads the tweets of a search, wrapped in the statuses property
+     *
+     * @param reader reader positioned at the beginning of the object
+     * @param snowflakeTimestamps true to read the creation time from the Snowflake ids
+     * @return the tweets or null if there is no statuses property
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    private static List<Tweet> searchTweets(JsonStreamReader reader, boolean snowflakeTimestamps) throws IOException {
+
+        List<Tweet> listTweets = null;
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+
+            if (reader.nextName().equals("statuses")) {
+                listTweets = Tweet.parseList(reader, snowflakeTimestamps);
+            } else {
+                reader.skipValue();
+            }
+
+        }
+
+        reader.endObject();
+        return listTweets;
+
+    }
+
+}
@@ -0,0 +1,360 @@
+package com.bakingcode.io.twitter;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+
+import com.bakingcode.io.twitter.TwitterHttpClient.Request;
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.model.IError;
+import com.bakingcode.io.twitter.model.ResponseString;
+import com.bakingcode.io.twitter.model.TwitterError;
+
+/**
+ * Decides which failed petitions are repeated and when. The GET petitions are retried on I/O errors and 5xx
+ * responses with a capped exponential backoff with jitter. Rate limited petitions (429 or error 88) wait for the
+ * reset of their window. The POST petitions are not idempotent, e.g. a status update could be published twice, so
+ * they are only retried when twitter surely did not receive them: the connection could not be established or the
+ * petition was rejected by the rate limit.
+ *
+ * Every endpoint has a retry budget: each petition deposits a fraction of a retry and each retry takes a whole
+ * one, so when an endpoint is failing the retries cannot multiply its load beyond that fraction.
+ */
+public class RetryPolicy {
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Defaults
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Default max number of retries of a petition
+     */
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    /**
+     * Default delay before the first retry
+     */
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 500L;
+
+    /**
+     * Default max delay between two retries, except the wait for a rate limit reset
+     */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 30 * 1000L;
+
+    /**
+     * Default fraction of a retry deposited in the budget of an endpoint by every petition
+     */
+    public static final float DEFAULT_BUDGET_RATIO = 0.2f;
+
+    /**
+     * Default max retries kept in the budget of an endpoint, it is also the initial budget
+     */
+    public static final int DEFAULT_BUDGET_CAPACITY = 10;
+
+    /**
+     * Margin added to the reset time of a rate limited petition, absorbs the clock skew with twitter
+     */
+    private static final long RESET_MARGIN_MILLIS = 1000L;
+
+    /**
+     * Status code of a rate limited response
+     */
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Retries available for an endpoint
+     */
+    private static class Budget {
+
+        /**
+         * Retries left, fractional
+         */
+        float balance;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Max number of retries of a petition
+     */
+    private volatile int maxRetries = DEFAULT_MAX_RETRIES;
+
+    /**
+     * Delay in millis before the first retry
+     */
+    private volatile long baseDelayMillis = DEFAULT_BASE_DELAY_MILLIS;
+
+    /**
+     * Max delay in millis between two retries
+     */
+    private volatile long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+
+    /**
+     * Fraction of a retry deposited by every petition
+     */
+    private volatile float budgetRatio = DEFAULT_BUDGET_RATIO;
+
+    /**
+     * Max retries kept in the budget of an endpoint
+     */
+    private volatile int budgetCapacity = DEFAULT_BUDGET_CAPACITY;
+
+    /**
+     * Retry budgets by endpoint
+     */
+    private final ConcurrentMap<Urls, Budget> budgets = new ConcurrentHashMap<Urls, Budget>();
+
+    /**
+     * Source of the jitter
+     */
+    private final Random random = new Random();
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the max number of retries of a petition
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @param maxRetries the max number of retries of a petition to set, 0 disables the retries
+     * @return this policy
+     */
+    public RetryPolicy setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * @return the delay in millis before the first retry
+     */
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    /**
+     * @param baseDelayMillis the delay in millis before the first retry to set, it doubles on every retry
+     * @return this policy
+     */
+    public RetryPolicy setBaseDelayMillis(long baseDelayMillis) {
+        this.baseDelayMillis = baseDelayMillis;
+        return this;
+    }
+
+    /**
+     * @return the max delay in millis between two retries
+     */
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * @param maxDelayMillis the max delay in millis between two retries to set
+     * @return this policy
+     */
+    public RetryPolicy setMaxDelayMillis(long maxDelayMillis) {
+        this.maxDelayMillis = maxDelayMillis;
+        return this;
+    }
+
+    /**
+     * @return the fraction of a retry deposited by every petition
+     */
+    public float getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    /**
+     * @param budgetRatio the fraction of a retry deposited by every petition to set
+     * @return this policy
+     */
+    public RetryPolicy setBudgetRatio(float budgetRatio) {
+        this.budgetRatio = budgetRatio;
+        return this;
+    }
+
+    /**
+     * @return the max retries kept in the budget of an endpoint
+     */
+    public int getBudgetCapacity() {
+        return budgetCapacity;
+    }
+
+    /**
+     * @param budgetCapacity the max retries kept in the budget of an endpoint to set
+     * @return this policy
+     */
+    public RetryPolicy setBudgetCapacity(int budgetCapacity) {
+        this.budgetCapacity = budgetCapacity;
+        return this;
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Retries
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Deposits the share of a new petition in the budget of its endpoint
+     *
+     * @param endpoint endpoint of the petition
+     */
+    void onRequest(Urls endpoint) {
+
+        Budget budget = budget(endpoint);
+
+        synchronized (budget) {
+            budget.balance = Math.min(budgetCapacity, budget.balance + budgetRatio);
+        }
+
+    }
+
+    /**
+     * Takes a retry from the budget of an endpoint
+     *
+     * @param endpoint endpoint of the petition
+     * @return false if the budget is exhausted and the petition must not be retried
+     */
+    boolean tryAcquireRetry(Urls endpoint) {
+
+        Budget budget = budget(endpoint);
+
+        synchronized (budget) {
+
+            if (budget.balance < 1) {
+                return false;
+            }
+
+            budget.balance--;
+            return true;
+
+        }
+
+    }
+
+    /**
+     * Decides if a failed petition can be retried and when
+     *
+     * @param rType request type of the petition, only GET petitions are idempotent
+     * @param response the failed response
+     * @param retries retries already made
+     * @param rateLimitPolicy what the petition does when its rate limit window is exhausted
+     * @return the millis to wait before the retry or -1 if the petition must not be retried
+     */
+    public long getRetryDelay(Request rType, ResponseString response, int retries, RateLimitPolicy rateLimitPolicy) {
+
+        IError error = response.getError();
+
+        if (error == null || retries >= maxRetries) {
+            return -1;
+        }
+
+        boolean idempotent = rType == Request.GET;
+        int status = response.getStatusCode();
+
+        // Rate limited: the petition was rejected, whatever its method, and the window tells when to retry
+        if (status == HTTP_TOO_MANY_REQUESTS || (error instanceof TwitterError && ((TwitterError) error).getCode() == TwitterError.ERROR_RATE_LIMIT)) {
+
+            // Fail fast petitions, e.g. of a credentials pool, prefer to fail over to other credentials
+            if (rateLimitPolicy == RateLimitPolicy.FAIL_FAST) {
+                return -1;
+            }
+
+            if (response.getRateLimit() != null) {
+                return Math.max(0, response.getRateLimit().getReset() * 1000L + RESET_MARGIN_MILLIS - System.currentTimeMillis());
+            }
+
+            return backoff(retries);
+
+        }
+
+        // Twitter failed or is over capacity
+        if (status >= 500) {
+            return idempotent ? backoff(retries) : -1;
+        }
+
+        // Communication errors. Cancelled and expired petitions have no cause and are never retried, neither are
+        // bodies that cannot be parsed, which are not communication errors
+        if (error instanceof TwitterCommunicationException) {
+
+            Throwable cause = ((TwitterCommunicationException) error).getCause();
+
+            if (isNotSent(cause)) {
+                return backoff(retries);
+            }
+
+            if (cause instanceof IOException) {
+                return idempotent ? backoff(retries) : -1;
+            }
+
+        }
+
+        return -1;
+
+    }
+
+    /**
+     * Computes the backoff of a retry: exponential and capped, with half of it random so the clients that failed
+     * at the same time do not retry at the same time
+     *
+     * @param retries retries already made
+     * @return the millis to wait
+     */
+    long backoff(int retries) {
+
+        long delay = Math.min(maxDelayMillis, baseDelayMillis << Math.min(retries, 20));
+        long half = delay / 2;
+        return half + (half > 0 ? (long) (random.nextDouble() * half) : 0);
+
+    }
+
+    /**
+     * @param cause cause of a communication error
+     * @return true if the petition surely did not reach twitter
+     */
+    private static boolean isNotSent(Throwable cause) {
+
+        return cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+                || cause instanceof ConnectionPoolTimeoutException || cause instanceof UnknownHostException;
+
+    }
+
+    /**
+     * Gets the budget of an endpoint, creating a full one if needed
+     *
+     * @param endpoint the endpoint
+     * @return the budget
+     */
+    private Budget budget(Urls endpoint) {
+
+        Budget budget = budgets.get(endpoint);
+
+        if (budget == null) {
+
+            Budget created = new Budget();
+            created.balance = budgetCapacity;
+            budget = budgets.putIfAbsent(endpoint, created);
+
+            if (budget == null) {
+                budget = created;
+            }
+
+        }
+
+        return budget;
+
+    }
+
+}
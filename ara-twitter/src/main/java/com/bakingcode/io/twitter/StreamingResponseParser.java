@@ -0,0 +1,28 @@
+package com.bakingcode.io.twitter;
+
+import com.bakingcode.io.twitter.tools.JsonStreamReader;
+
+import java.io.IOException;
+
+/**
+ * Parser that, besides the whole body string, can read the body of a twitter response straight from the
+ * connection. Only these parsers are used when the parse mode is STREAMING.
+ *
+ * @param <T> type of the parsed object
+ */
+public abstract class StreamingResponseParser<T> extends ResponseParser<T> {
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Parsing
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Parses the body of a response while it is read from the connection
+     *
+     * @param reader reader over the body of the response
+     * @return the parsed object
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public abstract T parse(JsonStreamReader reader) throws IOException;
+
+}
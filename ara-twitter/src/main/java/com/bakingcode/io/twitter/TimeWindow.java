@@ -0,0 +1,137 @@
+package com.bakingcode.io.twitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.model.Tweet;
+import com.bakingcode.io.twitter.tools.Snowflake;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+
+/**
+ * Fetches the tweets of a timeline created within a time window. The window is turned into the since_id and
+ * max_id bounds of the ids generated in it, so the first page already starts at the end of the window and the
+ * walk stops at its beginning, without requesting pages that would be discarded by their dates.
+ */
+final class TimeWindow {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "TimeWindow";
+
+    /**
+     * A page of a timeline
+     */
+    interface Page {
+
+        /**
+         * Requests a page
+         *
+         * @param sinceId the since_id of the page, null for no lower bound
+         * @param maxId the max_id of the page
+         * @return the tweets of the page, newest first
+         * @throws TwitterErrorRequestException if the petition fails
+         */
+        List<Tweet> fetch(Long sinceId, long maxId) throws TwitterErrorRequestException;
+
+    }
+
+    /**
+     * Not instantiable
+     */
+    private TimeWindow() {
+    }
+
+    /**
+     * @param fromMillis unix millis of the start of a window, inclusive
+     * @return the since_id of the window or null if it starts before the Snowflake ids
+     */
+    static Long sinceIdOf(long fromMillis) {
+
+        long first = Snowflake.firstIdAt(fromMillis);
+        return first > 0 ? Long.valueOf(first - 1) : null;
+
+    }
+
+    /**
+     * @param untilMillis unix millis of the end of a window, exclusive
+     * @return the max_id of the window, negative if it ends before the Snowflake ids
+     */
+    static long maxIdOf(long untilMillis) {
+        return Snowflake.firstIdAt(untilMillis) - 1;
+    }
+
+    /**
+     * Fetches the tweets of a time window
+     *
+     * @param fromMillis unix millis of the start of the window, inclusive
+     * @param untilMillis unix millis of the end of the window, exclusive
+     * @param page petition of a page of the timeline
+     * @return the tweets created within the window, newest first
+     * @throws TwitterErrorRequestException if a petition fails
+     */
+    static List<Tweet> fetch(long fromMillis, long untilMillis, Page page) throws TwitterErrorRequestException {
+
+        if (untilMillis <= fromMillis) {
+            return new ArrayList<Tweet>();
+        }
+
+        return walk(sinceIdOf(fromMillis), maxIdOf(untilMillis), page);
+
+    }
+
+    /**
+     * Walks a timeline backwards between two ids, each page asking for the tweets older than the previous one
+     *
+     * @param sinceId the lower bound, exclusive, null for none
+     * @param maxId the upper bound, inclusive
+     * @param page petition of a page of the timeline
+     * @return the tweets between the bounds, newest first
+     * @throws TwitterErrorRequestException if a petition fails
+     */
+    static List<Tweet> walk(Long sinceId, long maxId, Page page) throws TwitterErrorRequestException {
+
+        List<Tweet> tweets = new ArrayList<Tweet>();
+        long lowest = sinceId != null ? sinceId : 0;
+        int pages = 0;
+
+        while (maxId > lowest) {
+
+            List<Tweet> result = page.fetch(sinceId, maxId);
+            pages++;
+
+            if (result == null || result.isEmpty()) {
+                break;
+            }
+
+            long oldest = Long.MAX_VALUE;
+
+            for (Tweet tweet : result) {
+
+                long id = tweet.getId();
+
+                if (id > lowest && id <= maxId) {
+                    tweets.add(tweet);
+                }
+
+                oldest = Math.min(oldest, id);
+
+            }
+
+            // A page with nothing within the bound would be asked again forever
+            if (oldest > maxId) {
+                break;
+            }
+
+            maxId = oldest - 1;
+
+        }
+
+        L(TAG, "Fetched " + tweets.size() + " tweets in " + pages + " pages");
+        return tweets;
+
+    }
+
+}
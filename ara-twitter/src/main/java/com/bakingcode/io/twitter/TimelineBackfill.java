@@ -0,0 +1,335 @@
+package com.bakingcode.io.twitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.model.Tweet;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+
+/**
+ * Backfills the tweets of a time window with several walks at once. The ids carry their creation time, so the
+ * window is split in slices of ids and every slice is walked backwards on its own, concurrently with the others,
+ * instead of waiting for each page to know the max_id of the next one. The tweets of all the slices are merged
+ * newest first and without duplicates:
+ *
+ * twitter.backfillSearch("#android", null, null, null, weekAgo, now).setParallelism(4).execute()
+ *
+ * The slices split the window in equal times, so a window with bursts of tweets is better split in more slices
+ * than workers: a worker that finishes a quiet slice takes the next one.
+ */
+public class TimelineBackfill {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "TimelineBackfill";
+
+    /**
+     * Default number of slices walked at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * Default number of slices of the window
+     */
+    public static final int DEFAULT_SLICES = 8;
+
+    /**
+     * Newest tweets first
+     */
+    private static final Comparator<Tweet> NEWEST_FIRST = new Comparator<Tweet>() {
+
+        @Override
+        public int compare(Tweet a, Tweet b) {
+            return a.getId() < b.getId() ? 1 : (a.getId() > b.getId() ? -1 : 0);
+        }
+
+    };
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Consumer whose async executor runs the walks
+     */
+    private final Twitter twitter;
+
+    /**
+     * Petition of a page of the timeline
+     */
+    private final TimeWindow.Page page;
+
+    /**
+     * Lower bound of the window, exclusive, null for none
+     */
+    private final Long sinceId;
+
+    /**
+     * Upper bound of the window, inclusive
+     */
+    private final long maxId;
+
+    /**
+     * Slices walked at the same time
+     */
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * Slices of the window
+     */
+    private int slices = DEFAULT_SLICES;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a backfill
+     *
+     * @param twitter consumer whose async executor runs the walks
+     * @param page petition of a page of the timeline
+     * @param fromMillis unix millis of the start of the window, inclusive
+     * @param untilMillis unix millis of the end of the window, exclusive
+     */
+    TimelineBackfill(Twitter twitter, TimeWindow.Page page, long fromMillis, long untilMillis) {
+
+        this.twitter = twitter;
+        this.page = page;
+        this.sinceId = TimeWindow.sinceIdOf(fromMillis);
+        this.maxId = untilMillis > fromMillis ? TimeWindow.maxIdOf(untilMillis) : -1;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param parallelism the number of slices walked at the same time
+     * @return this backfill
+     */
+    public TimelineBackfill setParallelism(int parallelism) {
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+
+        this.parallelism = parallelism;
+        return this;
+
+    }
+
+    /**
+     * @param slices the number of slices of the window, at least the parallelism to keep every worker busy
+     * @return this backfill
+     */
+    public TimelineBackfill setSlices(int slices) {
+
+        if (slices < 1) {
+            throw new IllegalArgumentException("slices must be positive");
+        }
+
+        this.slices = slices;
+        return this;
+
+    }
+
+    /**
+     * @return the number of slices of the window, less than the configured ones for a tiny window
+     */
+    public int getSliceCount() {
+
+        long lowest = sinceId != null ? sinceId : 0;
+        return maxId > lowest ? (int) Math.min(slices, maxId - lowest) : 0;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Execution
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starts the backfill in the async executor of the consumer. If a slice fails, the rest of the slices are
+     * not started and the future fails with its error. Cancelling the future stops starting slices too.
+     *
+     * @return a future with the tweets of the window, newest first
+     */
+    public TwitterFuture<List<Tweet>> execute() {
+
+        final int sliceCount = getSliceCount();
+        final List<List<Tweet>> results = new ArrayList<List<Tweet>>(Collections.nCopies(sliceCount, (List<Tweet>) null));
+        final AtomicInteger nextSlice = new AtomicInteger();
+        final AtomicReference<TwitterErrorRequestException> failure = new AtomicReference<TwitterErrorRequestException>();
+        final int workers = Math.min(parallelism, sliceCount);
+        final TwitterFuture<?>[] holder = new TwitterFuture<?>[1];
+
+        TwitterFuture<List<Tweet>> result = new TwitterFuture<List<Tweet>>(new Callable<List<Tweet>>() {
+
+            @Override
+            public List<Tweet> call() throws Exception {
+
+                Callable<Void> worker = new Callable<Void>() {
+
+                    @Override
+                    public Void call() throws Exception {
+
+                        runSlices(sliceCount, nextSlice, results, failure, holder[0]);
+                        return null;
+
+                    }
+
+                };
+
+                // This thread is one of the workers, the others run in the executor
+                List<TwitterFuture<Void>> others = new ArrayList<TwitterFuture<Void>>();
+                for (int i = 1; i < workers; i++) {
+
+                    TwitterFuture<Void> other = new TwitterFuture<Void>(worker);
+                    others.add(other);
+                    twitter.getAsyncExecutor().execute(other);
+
+                }
+
+                worker.call();
+
+                for (TwitterFuture<Void> other : others) {
+
+                    // A worker still queued runs here (and finds no slices left), so a busy executor cannot
+                    // leave this thread waiting for it
+                    other.run();
+
+                    try {
+                        other.get();
+                    } catch (ExecutionException e) {
+                        L(TAG, "Backfill worker failed: " + e.getCause());
+                    }
+
+                }
+
+                if (failure.get() != null) {
+                    throw new TwitterErrorRequestException(failure.get().getError());
+                }
+
+                return merge(results);
+
+            }
+
+        });
+
+        holder[0] = result;
+        twitter.getAsyncExecutor().execute(result);
+        return result;
+
+    }
+
+    /**
+     * Walks slices until there are no more, one fails or the backfill is cancelled
+     *
+     * @param sliceCount number of slices
+     * @param nextSlice index of the next slice to walk
+     * @param results tweets of every slice
+     * @param failure error of the first failed slice
+     * @param backfill future of the whole backfill
+     */
+    private void runSlices(int sliceCount, AtomicInteger nextSlice, List<List<Tweet>> results, AtomicReference<TwitterErrorRequestException> failure, TwitterFuture<?> backfill) {
+
+        int slice;
+
+        while (!backfill.isCancelled() && failure.get() == null && (slice = nextSlice.getAndIncrement()) < sliceCount) {
+
+            List<Tweet> tweets;
+
+            try {
+
+                tweets = TimeWindow.walk(sliceSinceId(slice, sliceCount), sliceMaxId(slice, sliceCount), page);
+
+            } catch (TwitterErrorRequestException e) {
+
+                failure.compareAndSet(null, e);
+                return;
+
+            } catch (RuntimeException e) {
+
+                failure.compareAndSet(null, new TwitterErrorRequestException(new TwitterCommunicationException(e.toString())));
+                return;
+
+            }
+
+            synchronized (results) {
+                results.set(slice, tweets);
+            }
+
+        }
+
+    }
+
+    /**
+     * @param slice index of a slice, 0 is the newest one
+     * @param sliceCount number of slices
+     * @return the upper bound of the slice, inclusive
+     */
+    private long sliceMaxId(int slice, int sliceCount) {
+
+        long lowest = sinceId != null ? sinceId : 0;
+        return maxId - (maxId - lowest) / sliceCount * slice;
+
+    }
+
+    /**
+     * @param slice index of a slice, 0 is the newest one
+     * @param sliceCount number of slices
+     * @return the lower bound of the slice, exclusive, null for none
+     */
+    private Long sliceSinceId(int slice, int sliceCount) {
+        return slice == sliceCount - 1 ? sinceId : Long.valueOf(sliceMaxId(slice + 1, sliceCount));
+    }
+
+    /**
+     * Merges the tweets of the slices newest first, dropping the tweets repeated at the borders of the slices
+     *
+     * @param results tweets of every slice
+     * @return the tweets of the window
+     */
+    private static List<Tweet> merge(List<List<Tweet>> results) {
+
+        List<Tweet> all = new ArrayList<Tweet>();
+
+        synchronized (results) {
+
+            for (List<Tweet> tweets : results) {
+
+                if (tweets != null) {
+                    all.addAll(tweets);
+                }
+
+            }
+
+        }
+
+        Collections.sort(all, NEWEST_FIRST);
+        List<Tweet> merged = new ArrayList<Tweet>(all.size());
+
+        for (Tweet tweet : all) {
+
+            if (merged.isEmpty() || merged.get(merged.size() - 1).getId() != tweet.getId()) {
+                merged.add(tweet);
+            }
+
+        }
+
+        L(TAG, "Backfilled " + merged.size() + " tweets in " + results.size() + " slices");
+        return merged;
+
+    }
+
+}
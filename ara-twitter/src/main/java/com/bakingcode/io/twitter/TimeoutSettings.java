@@ -0,0 +1,139 @@
+package com.bakingcode.io.twitter;
+
+/**
+ * Timeouts of the petitions of a {@link TwitterHttpClient}. The client has its defaults and a view of
+ * {@link Twitter} can override them for its petitions with {@link Twitter#withTimeouts(TimeoutSettings)}.
+ * A timeout of 0 means no timeout.
+ */
+public class TimeoutSettings {
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Defaults
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Default time to establish a connection
+     */
+    public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 15 * 1000;
+
+    /**
+     * Default max time without receiving data from an open connection
+     */
+    public static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 30 * 1000;
+
+    /**
+     * Default time waiting for a free connection of the pool
+     */
+    public static final long DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS = 10 * 1000L;
+
+    /**
+     * Default total time of a petition, none: the connect and socket timeouts already bound a stalled petition
+     */
+    public static final long DEFAULT_DEADLINE_MILLIS = 0;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Time in millis to establish a connection
+     */
+    private int connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
+
+    /**
+     * Max time in millis between two packets of data of an open connection
+     */
+    private int socketTimeoutMillis = DEFAULT_SOCKET_TIMEOUT_MILLIS;
+
+    /**
+     * Time in millis waiting for a free connection of the pool
+     */
+    private long connectionRequestTimeoutMillis = DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS;
+
+    /**
+     * Total time in millis of every petition, from the request scheduler to the parsing of the response
+     */
+    private long deadlineMillis = DEFAULT_DEADLINE_MILLIS;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the time in millis to establish a connection
+     */
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * @param connectTimeoutMillis the time in millis to establish a connection to set
+     * @return this settings instance
+     */
+    public TimeoutSettings setConnectTimeoutMillis(int connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * @return the max time in millis between two packets of data
+     */
+    public int getSocketTimeoutMillis() {
+        return socketTimeoutMillis;
+    }
+
+    /**
+     * @param socketTimeoutMillis the max time in millis between two packets of data to set
+     * @return this settings instance
+     */
+    public TimeoutSettings setSocketTimeoutMillis(int socketTimeoutMillis) {
+        this.socketTimeoutMillis = socketTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * @return the time in millis waiting for a free connection of the pool
+     */
+    public long getConnectionRequestTimeoutMillis() {
+        return connectionRequestTimeoutMillis;
+    }
+
+    /**
+     * @param connectionRequestTimeoutMillis the time in millis waiting for a free connection of the pool to set
+     * @return this settings instance
+     */
+    public TimeoutSettings setConnectionRequestTimeoutMillis(long connectionRequestTimeoutMillis) {
+        this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * @return the total time in millis of every petition
+     */
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    /**
+     * @param deadlineMillis the total time in millis of every petition to set
+     * @return this settings instance
+     */
+    public TimeoutSettings setDeadlineMillis(long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+        return this;
+    }
+
+    /**
+     * @return a copy of these settings, e.g. to override some of the client defaults
+     */
+    public TimeoutSettings copy() {
+
+        return new TimeoutSettings()
+                .setConnectTimeoutMillis(connectTimeoutMillis)
+                .setSocketTimeoutMillis(socketTimeoutMillis)
+                .setConnectionRequestTimeoutMillis(connectionRequestTimeoutMillis)
+                .setDeadlineMillis(deadlineMillis);
+
+    }
+
+}
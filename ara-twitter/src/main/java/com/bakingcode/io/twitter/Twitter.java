@@ -1,22 +1,26 @@
 package com.bakingcode.io.twitter;
 
 import com.bakingcode.io.twitter.TwitterHttpClient.Request;
+import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
 import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
 import com.bakingcode.io.twitter.exceptions.TwitterException;
+import com.bakingcode.io.twitter.exceptions.TwitterParseException;
 import com.bakingcode.io.twitter.model.ApiConfiguration;
+import com.bakingcode.io.twitter.model.ApiMethod;
 import com.bakingcode.io.twitter.model.ApiResourceFamily;
 import com.bakingcode.io.twitter.model.Friendship;
 import com.bakingcode.io.twitter.model.IdentifierList;
+import com.bakingcode.io.twitter.model.ParsedResponse;
 import com.bakingcode.io.twitter.model.ResponseString;
 import com.bakingcode.io.twitter.model.Trend;
 import com.bakingcode.io.twitter.model.TrendPlace;
 import com.bakingcode.io.twitter.model.Tweet;
+import com.bakingcode.io.twitter.model.TwitterError;
 import com.bakingcode.io.twitter.model.User;
 import com.bakingcode.io.twitter.tools.Tools;
 import oauth.signpost.OAuthConsumer;
 import org.apache.http.NameValuePair;
 import org.apache.http.message.BasicNameValuePair;
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -25,6 +29,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
 import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
@@ -48,6 +60,16 @@ public class Twitter {
 	 * Parameter required format
 	 */
 	private final static String PARAMETER_REQUIRED = "%s parameter is required, cannot be null";
+
+	/**
+	 * Max tweets of a search page
+	 */
+	public final static int SEARCH_MAX_COUNT = 100;
+
+	/**
+	 * Max tweets of a timeline page
+	 */
+	public final static int TIMELINE_MAX_COUNT = 200;
 	
 	// ///////////////////////////////////////////////////////////////////////////
 	// Private members
@@ -57,6 +79,111 @@ public class Twitter {
 	 * Twitter Http client for sing with oauth all the request and auto-generate request.
 	 */
 	private TwitterHttpClient twitterHttpClient;
+
+	/**
+	 * Executor that runs the asynchronous petitions. Created on first use.
+	 */
+	private ExecutorService asyncExecutor;
+
+	/**
+	 * How the responses are parsed
+	 */
+	private ParseMode parseMode = ParseMode.DOM;
+
+	/**
+	 * True if the creation time of the tweets is read from their Snowflake ids, false (default) to parse created_at
+	 */
+	private boolean snowflakeTimestamps;
+
+	/**
+	 * Rate limit windows of the endpoints, updated by every response
+	 */
+	private RateLimitRegistry rateLimitRegistry = new RateLimitRegistry();
+
+	/**
+	 * What the petitions do when the rate limit window of their endpoint is exhausted
+	 */
+	private RateLimitPolicy rateLimitPolicy = RateLimitPolicy.WAIT;
+
+	/**
+	 * Rate limit windows of the application-only petitions, separated from the user ones
+	 */
+	private RateLimitRegistry appRateLimitRegistry = new RateLimitRegistry();
+
+	/**
+	 * Bearer token of the application-only petitions, null if they are disabled
+	 */
+	private volatile BearerTokenManager bearerTokenManager;
+
+	/**
+	 * Scheduler of the petitions by priority and rate limit window
+	 */
+	private RequestScheduler requestScheduler;
+
+	/**
+	 * Priority of the petitions
+	 */
+	private RequestPriority priority = RequestPriority.INTERACTIVE;
+
+	/**
+	 * Token that cancels the petitions of this consumer, null if they are only cancelled by abortAllConnections
+	 */
+	private CancellationToken cancellationToken;
+
+	/**
+	 * Timeouts of the petitions of this consumer, null to use the ones of the http client
+	 */
+	private TimeoutSettings timeoutSettings;
+
+	/**
+	 * Time by which all the petitions of this consumer must finish, null if there is none
+	 */
+	private Deadline deadline;
+
+	/**
+	 * Which failed petitions are repeated, with the retry budgets of the endpoints
+	 */
+	private RetryPolicy retryPolicy = new RetryPolicy();
+
+	/**
+	 * Hedging of the slow GET petitions, null if they are not hedged
+	 */
+	private HedgingPolicy hedgingPolicy;
+
+	/**
+	 * Circuit breakers of the endpoints, null (default) if the petitions are always made
+	 */
+	private CircuitBreakerRegistry circuitBreakers;
+
+	/**
+	 * Merges the identical GET petitions in flight, null (default) if every petition is made
+	 */
+	private RequestCoalescer requestCoalescer;
+
+	/**
+	 * Cache of the GET responses, null (default) if every petition is sent
+	 */
+	private ResponseCache responseCache;
+
+	/**
+	 * Batches the single user petitions into users/lookup ones
+	 */
+	private BatchLoader<User> userLoader;
+
+	/**
+	 * Batches the single tweet petitions into statuses/lookup ones
+	 */
+	private BatchLoader<Tweet> statusLoader;
+
+	/**
+	 * Batches the single friendship petitions into friendships/lookup ones
+	 */
+	private BatchLoader<Friendship> friendshipLoader;
+
+	/**
+	 * Token of the asynchronous petition running in the current thread
+	 */
+	private static final ThreadLocal<CancellationToken> asyncCancellation = new ThreadLocal<CancellationToken>();
 	
 	/**
 	 * Creates a twitter consumer by all the secrets
@@ -69,9 +196,43 @@ public class Twitter {
 	public Twitter(String consumerKey, String consumerSecret, String token, String tokenSecret) {
 
 		twitterHttpClient = new TwitterHttpClient(consumerKey, consumerSecret, token, tokenSecret);
+		requestScheduler = new RequestScheduler(rateLimitRegistry, twitterHttpClient.getPoolSettings().getMaxConnectionsPerRoute());
+		createLoaders();
 		
 	}
 
+	/**
+	 * Creates a view of another twitter consumer. The view shares the http client and the async executor
+	 * of the source, so petition options can be changed without affecting it.
+	 *
+	 * @param source the twitter consumer to copy
+	 */
+	private Twitter(Twitter source) {
+
+		twitterHttpClient = source.twitterHttpClient;
+		asyncExecutor = source.getAsyncExecutor();
+		parseMode = source.parseMode;
+		snowflakeTimestamps = source.snowflakeTimestamps;
+		rateLimitRegistry = source.rateLimitRegistry;
+		rateLimitPolicy = source.rateLimitPolicy;
+		requestScheduler = source.requestScheduler;
+		appRateLimitRegistry = source.appRateLimitRegistry;
+		bearerTokenManager = source.bearerTokenManager;
+		priority = source.priority;
+		cancellationToken = source.cancellationToken;
+		timeoutSettings = source.timeoutSettings;
+		deadline = source.deadline;
+		retryPolicy = source.retryPolicy;
+		hedgingPolicy = source.hedgingPolicy;
+		circuitBreakers = source.circuitBreakers;
+		requestCoalescer = source.requestCoalescer;
+		responseCache = source.responseCache;
+		userLoader = source.userLoader;
+		statusLoader = source.statusLoader;
+		friendshipLoader = source.friendshipLoader;
+
+	}
+
     /**
      * Get ouath consumer
      * @return oauth consumer
@@ -86,1332 +247,2864 @@ public class Twitter {
 	public TwitterHttpClient getTwitterHttpClient() {
 		return twitterHttpClient;
 	}
-	
-	// ///////////////////////////////////////////////////////////////////////////
-	// Petitions
-	// ///////////////////////////////////////////////////////////////////////////
 
 	/**
-	 * Makes a search query to twitter, for more information look here: 
-	 * https://dev.twitter.com/docs/api/1.1/get/search/tweets
-	 * 
-	 * @param latitude latitude for search tweets 
-	 * @param longitude longitude for search tweets
-	 * @param radius the radius for search tweets in this format: "1km"/"1mi"
-	 * @param count the count of tweets to retrieve, generally used only for first search
-	 * @param sinceId the since id for search. Read more in <a href="https://dev.twitter.com/docs/working-with-timelines">twitter doc</a>
-	 * @param maxId the max id for search. Read more in <a href="https://dev.twitter.com/docs/working-with-timelines">twitter doc</a>
-	 * @return List<Tweet> a list of tweets searched
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
-	 *
+	 * @return how the responses are parsed
 	 */
-	public List<Tweet> search(String query, Double latitude, Double longitude, String radius, Integer count,  Long sinceId, Long maxId) throws TwitterErrorRequestException {
-		
-		L(TAG, "Search method");
-		
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		
-		if (Tools.isNotEmpty(query)) {
-			nameValuePair.add(Parameters.QUERY.valuePairWith(query));
-		}
-		
-		// Make geocode
-		if (latitude != null && longitude != null && Tools.isNotEmpty(radius)) {
-			
-			String geocode = String.format("%s,%s,%s", Double.toString(latitude), Double.toString(longitude), radius);
-			nameValuePair.add(Parameters.GEOCODE.valuePairWith(geocode));
-			
-		}
-		
-		if (count != null) {
-			nameValuePair.add(Parameters.COUNT.valuePairWith(Integer.toString(count)));
-		}
-		
-		if (sinceId != null) {
-			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(Long.toString(sinceId)));
-		}
-
-		if (maxId != null) {
-			nameValuePair.add(Parameters.MAX_ID.valuePairWith(Long.toString(maxId)));
-		}
-
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_SEARCH, nameValuePair);
-
-		if (response.getError() != null) {
+	public ParseMode getParseMode() {
+		return parseMode;
+	}
 
-			throw new TwitterErrorRequestException(response.getError());
+	/**
+	 * Sets how the responses of all the petitions of this consumer are parsed
+	 *
+	 * @param parseMode the parse mode
+	 */
+	public void setParseMode(ParseMode parseMode) {
+		this.parseMode = parseMode;
+	}
 
-		} else if (response.isNotEmpty()) {
+	/**
+	 * Gets a view of this consumer that parses the responses in the given mode, useful for choosing the mode of
+	 * a single call: twitter.withParseMode(ParseMode.STREAMING).homeTimeline(...)
+	 *
+	 * @param parseMode the parse mode
+	 * @return a twitter consumer sharing the connections of this one
+	 */
+	public Twitter withParseMode(ParseMode parseMode) {
 
-			try {
+		Twitter view = new Twitter(this);
+		view.parseMode = parseMode;
+		return view;
 
-				L(TAG, "Init parsing search:");
+	}
 
-				JSONObject statusesObject = new JSONObject(response.getResponseString());
-				JSONArray arrJson = statusesObject.getJSONArray("statuses");
-				List<Tweet> listTweets = new ArrayList<Tweet>();
+	/**
+	 * @return true if the creation time of the tweets is read from their Snowflake ids
+	 */
+	public boolean isSnowflakeTimestamps() {
+		return snowflakeTimestamps;
+	}
 
-				for (int i=0 ; i<arrJson.length(); i++) {
+	/**
+	 * Gets a view of this consumer that reads the creation time of the tweets from their Snowflake ids instead of
+	 * parsing created_at, e.g. for timelines that are only sorted or bucketed by time:
+	 * twitter.withSnowflakeTimestamps(true).homeTimeline(...). The ids have millis precision and the dates only
+	 * seconds, so these times are not rounded to the second. Tweets older than the Snowflake ids still parse the date.
+	 * The batched petitions, e.g. showStatusBatched, are shared by the views and keep the setting of their consumer.
+	 *
+	 * @param snowflakeTimestamps true to read the creation time from the ids
+	 * @return a twitter consumer sharing the connections of this one
+	 */
+	public Twitter withSnowflakeTimestamps(boolean snowflakeTimestamps) {
 
-					JSONObject jsonObject = arrJson.getJSONObject(i);
-					Tweet t = new Tweet(jsonObject);
-					listTweets.add(t);
+		Twitter view = new Twitter(this);
+		view.snowflakeTimestamps = snowflakeTimestamps;
+		return view;
 
-				}
+	}
 
-				L(TAG, "Finish parsing search item count:"  + listTweets.size());
+	/**
+	 * Gets the rate limit windows known by this consumer. They are updated with the x-rate-limit headers of every
+	 * response, so {@link #rateLimitStatus(List)} is rarely needed.
+	 *
+	 * @return the rate limit registry
+	 */
+	public RateLimitRegistry getRateLimitRegistry() {
+		return rateLimitRegistry;
+	}
 
-				return listTweets;
+	/**
+	 * @return what the petitions do when the rate limit window of their endpoint is exhausted
+	 */
+	public RateLimitPolicy getRateLimitPolicy() {
+		return rateLimitPolicy;
+	}
 
-			} catch (JSONException e) {
-				LT(TAG, e);
-			}
+	/**
+	 * Sets what the petitions of this consumer do when the rate limit window of their endpoint is exhausted
+	 *
+	 * @param rateLimitPolicy wait for the reset (default) or fail fast
+	 */
+	public void setRateLimitPolicy(RateLimitPolicy rateLimitPolicy) {
+		this.rateLimitPolicy = rateLimitPolicy;
+	}
 
-		}
+	/**
+	 * Gets a view of this consumer that applies the given rate limit policy, e.g. to fail fast on a petition made
+	 * from the UI: twitter.withRateLimitPolicy(RateLimitPolicy.FAIL_FAST).homeTimeline(...)
+	 *
+	 * @param rateLimitPolicy the rate limit policy
+	 * @return a twitter consumer sharing the connections and rate limits of this one
+	 */
+	public Twitter withRateLimitPolicy(RateLimitPolicy rateLimitPolicy) {
 
-		return null;
+		Twitter view = new Twitter(this);
+		view.rateLimitPolicy = rateLimitPolicy;
+		return view;
 
 	}
 
 	/**
-	 * Returns fully-hydrated user objects for up to 100 users per request, as specified by comma-separated values passed to the user_id and/or screen_name parameters.
-	 * This method is especially useful when used in conjunction with collections of user IDs returned from GET friends/ids and GET followers/ids.
-	 * GET users/show is used to retrieve a single user object.
+	 * Enables the application-only authentication. The petitions to the endpoints that accept it (search, timelines
+	 * of users, users and followers/friends ids lookups, trends...) are authorized with a bearer token instead of
+	 * being signed, and they use the rate limit windows of the application instead of the ones of the user.
+	 * The token is obtained on the first petition, kept in the store and obtained again if twitter rejects it.
 	 *
-	 * @param screenNames A list of users to do the lookup. A MAX OF 100 ARE ALLOWED BY REQUEST
-	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-	 * @return List<User> a list of users looked up
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @param store storage of the token, null to keep it only in memory
+	 * @return the manager of the bearer token
 	 */
-	public List<User>lookupUsers(List<String> screenNames, boolean includeEntities) throws TwitterErrorRequestException {
+	public BearerTokenManager enableAppOnlyAuth(BearerTokenManager.TokenStore store) {
 
-		// Check parameters
-		if (Tools.isEmpty(screenNames)) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "screenNames"));
-		}
+		bearerTokenManager = new BearerTokenManager(this, store);
+		return bearerTokenManager;
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+	}
 
-		String joinedNames = Tools.join(screenNames.toArray(), ',');
-		nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(joinedNames));
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+	/**
+	 * Disables the application-only authentication, all the petitions are signed with the user token again
+	 */
+	public void disableAppOnlyAuth() {
+		bearerTokenManager = null;
+	}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_USER_LOOKUP, nameValuePair);
+	/**
+	 * @return the manager of the bearer token or null if the application-only authentication is disabled
+	 */
+	public BearerTokenManager getBearerTokenManager() {
+		return bearerTokenManager;
+	}
 
-		if (response.getError() != null) {
+	/**
+	 * @return the rate limit windows of the application-only petitions
+	 */
+	public RateLimitRegistry getAppRateLimitRegistry() {
+		return appRateLimitRegistry;
+	}
 
-			throw new TwitterErrorRequestException(response.getError());
+	/**
+	 * @return the scheduler of the petitions of this consumer and its views
+	 */
+	public RequestScheduler getRequestScheduler() {
+		return requestScheduler;
+	}
 
-		} else if (response.isNotEmpty()) {
+	/**
+	 * @return the priority of the petitions of this consumer
+	 */
+	public RequestPriority getPriority() {
+		return priority;
+	}
 
-			try {
+	/**
+	 * Sets the priority of all the petitions of this consumer
+	 *
+	 * @param priority the priority
+	 */
+	public void setPriority(RequestPriority priority) {
+		this.priority = priority;
+	}
 
-				List<User> listUsers = new ArrayList<User>();
+	/**
+	 * Gets a view of this consumer whose petitions have the given priority, e.g. for a crawl sharing the credentials
+	 * with the UI: twitter.withPriority(RequestPriority.BACKGROUND).getFollowersIdsPages(...)
+	 *
+	 * @param priority the priority
+	 * @return a twitter consumer sharing the connections, rate limits and scheduler of this one
+	 */
+	public Twitter withPriority(RequestPriority priority) {
 
-				L(TAG, "Init parsing lookup:");
+		Twitter view = new Twitter(this);
+		view.priority = priority;
+		return view;
 
-				JSONArray arrJson = new JSONArray(response.getResponseString());
-				for (int i=0 ; i<arrJson.length(); i++) {
+	}
 
-					JSONObject jsonObject = arrJson.getJSONObject(i);
-					User u = new User(jsonObject);
-					listUsers.add(u);
+	/**
+	 * @return the token that cancels the petitions of this consumer or null if there is none
+	 */
+	public CancellationToken getCancellationToken() {
+		return cancellationToken;
+	}
 
-				}
+	/**
+	 * Gets a view of this consumer whose petitions are cancelled with the given token, e.g. all the petitions of
+	 * a screen: twitter.withCancellation(screenToken).showUser(...). The asynchronous petitions of the view get a
+	 * child of the token, so cancelling their future cancels only them.
+	 *
+	 * @param cancellationToken the token
+	 * @return a twitter consumer sharing the connections, rate limits and scheduler of this one
+	 */
+	public Twitter withCancellation(CancellationToken cancellationToken) {
 
-				L(TAG, "Finish parsing lookup:");
+		Twitter view = new Twitter(this);
+		view.cancellationToken = cancellationToken;
+		return view;
 
-				return listUsers;
+	}
 
-			} catch (JSONException e) {
-				LT(TAG, e);
-			}
+	/**
+	 * @return the timeouts of the petitions of this consumer, null if the defaults of the http client are used
+	 */
+	public TimeoutSettings getTimeoutSettings() {
+		return timeoutSettings;
+	}
 
-		}
+	/**
+	 * Gets a view of this consumer whose petitions use other timeouts than the defaults of the http client, e.g.
+	 * a longer socket timeout for a media upload
+	 *
+	 * @param timeoutSettings the timeouts
+	 * @return a twitter consumer sharing the connections, rate limits and scheduler of this one
+	 */
+	public Twitter withTimeouts(TimeoutSettings timeoutSettings) {
 
-		return null;
+		Twitter view = new Twitter(this);
+		view.timeoutSettings = timeoutSettings;
+		return view;
 
 	}
 
 	/**
-	 * Returns fully-hydrated user objects for up to 100 users per request, as specified by comma-separated values passed to the user_id and/or screen_name parameters.
-	 * This method is especially useful when used in conjunction with collections of user IDs returned from GET friends/ids and GET followers/ids.
-	 * GET users/show is used to retrieve a single user object.
-	 *
-	 * @param ids A array of user ids to do the lookup. A MAX OF 100 ARE ALLOWED BY REQUEST
-	 * @return list of Twitter users
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @return the time by which all the petitions of this consumer must finish or null if there is none
+	 */
+	public Deadline getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Gets a view of this consumer whose petitions must all finish within the given time from now. The deadline
+	 * is shared by every petition of the view, so it bounds a whole task: e.g. a cursor walk of
+	 * twitter.withDeadline(2, TimeUnit.MINUTES).getFollowersIdsPages(...) stops when the two minutes are spent.
+	 * A deadline of this consumer that expires earlier is kept.
 	 *
+	 * @param timeout time left to the petitions of the view
+	 * @param unit unit of the timeout
+	 * @return a twitter consumer sharing the connections, rate limits and scheduler of this one
 	 */
-	public List<User>lookupUsers(long[] ids) throws TwitterErrorRequestException {
+	public Twitter withDeadline(long timeout, TimeUnit unit) {
 
-		// Check parameters
-		if (ids == null || ids.length == 0) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "ids"));
-		}
+		Twitter view = new Twitter(this);
+		view.deadline = Deadline.earliest(deadline, Deadline.after(timeout, unit));
+		return view;
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+	}
 
-		String joinedNames = Tools.join(ids, ',');
-		nameValuePair.add(Parameters.USER_ID.valuePairWith(joinedNames));
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.FALSE.toString()));
+	/**
+	 * @return the policy that decides which failed petitions are repeated, null if they are not
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_USER_LOOKUP, nameValuePair);
+	/**
+	 * Gets a view of this consumer whose failed petitions are repeated with another policy, e.g. with more retries
+	 * for a crawl, or none at all with null
+	 *
+	 * @param retryPolicy the policy, null to make every petition once
+	 * @return a twitter consumer sharing the connections, rate limits and scheduler of this one
+	 */
+	public Twitter withRetryPolicy(RetryPolicy retryPolicy) {
 
-		if (response.getError() != null) {
+		Twitter view = new Twitter(this);
+		view.retryPolicy = retryPolicy;
+		return view;
 
-			throw new TwitterErrorRequestException(response.getError());
+	}
 
-		} else if (response.isNotEmpty()) {
+	/**
+	 * @return the hedging of the slow GET petitions or null if they are not hedged
+	 */
+	public HedgingPolicy getHedgingPolicy() {
+		return hedgingPolicy;
+	}
 
-			try {
+	/**
+	 * Gets a view of this consumer whose slow GET petitions are hedged, e.g. for the timelines shown to the user:
+	 * twitter.withHedging(new HedgingPolicy()).homeTimeline(...). Share the same policy between the views of an
+	 * endpoint so its latencies, budget and counters are shared too.
+	 *
+	 * @param hedgingPolicy the policy, null to stop hedging
+	 * @return a twitter consumer sharing the connections, rate limits and scheduler of this one
+	 */
+	public Twitter withHedging(HedgingPolicy hedgingPolicy) {
 
-				List<User> listUsers = new ArrayList<User>();
+		Twitter view = new Twitter(this);
+		view.hedgingPolicy = hedgingPolicy;
+		return view;
 
-				L(TAG, "Init parsing lookup:");
+	}
 
-				JSONArray arrJson = new JSONArray(response.getResponseString());
-				for (int i=0 ; i<arrJson.length(); i++) {
+	/**
+	 * @return the circuit breakers of the endpoints or null if the petitions are always made. Its settings can be
+	 * changed and listeners of the state changes added.
+	 */
+	public CircuitBreakerRegistry getCircuitBreakers() {
+		return circuitBreakers;
+	}
 
-					JSONObject jsonObject = arrJson.getJSONObject(i);
-					User u = new User(jsonObject);
-					listUsers.add(u);
+	/**
+	 * Gets a view of this consumer whose petitions go through circuit breakers, e.g. for a background sync that
+	 * should stop calling a failing endpoint: twitter.withCircuitBreakers(new CircuitBreakerRegistry()). Share the
+	 * same registry between the views that should see the same endpoint health.
+	 *
+	 * @param circuitBreakers the circuit breakers, null to always make the petitions
+	 * @return a twitter consumer sharing the connections, rate limits and scheduler of this one
+	 */
+	public Twitter withCircuitBreakers(CircuitBreakerRegistry circuitBreakers) {
 
-				}
+		Twitter view = new Twitter(this);
+		view.circuitBreakers = circuitBreakers;
+		return view;
 
-				L(TAG, "Finish parsing lookup:");
+	}
 
-				return listUsers;
+	/**
+	 * @return the coalescer of the identical GET petitions in flight or null if every petition is made
+	 */
+	public RequestCoalescer getRequestCoalescer() {
+		return requestCoalescer;
+	}
 
-			} catch (JSONException e) {
-				LT(TAG, e);
-			}
+	/**
+	 * Gets a view of this consumer whose identical GET petitions in flight are merged, e.g. for screens that only
+	 * show the results: twitter.withCoalescing(new RequestCoalescer()). The merged petitions get the same parsed
+	 * objects, so it is not suitable when the results are going to be modified. Share the same coalescer between
+	 * the views that should merge their petitions.
+	 *
+	 * @param requestCoalescer the coalescer, null to make every petition
+	 * @return a twitter consumer sharing the connections, rate limits and scheduler of this one
+	 */
+	public Twitter withCoalescing(RequestCoalescer requestCoalescer) {
 
-		}
+		Twitter view = new Twitter(this);
+		view.requestCoalescer = requestCoalescer;
+		return view;
 
-		return null;
+	}
 
+	/**
+	 * @return the cache of the GET responses or null if every petition is sent. Its policies by endpoint can be
+	 * changed and its hit rates read.
+	 */
+	public ResponseCache getResponseCache() {
+		return responseCache;
 	}
 
 	/**
-	 * Returns a variety of information about the user specified by the required user_id or screen_name parameter. The author's most recent Tweet will be returned inline when possible.
-	 *
-	 * @param screenName the user screen name
-	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-	 * @return a User object
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Gets a view of this consumer whose GET responses are cached, e.g. for the api configuration and the trends:
+	 * twitter.withResponseCache(new ResponseCache()). The cached responses are shared by every caller and are not
+	 * refreshed by the petitions that change them, e.g. a user is still shown as not followed after following it
+	 * until its entry expires. Share the same cache between the views that should reuse the responses.
 	 *
+	 * @param responseCache the cache, null to send every petition
+	 * @return a twitter consumer sharing the connections, rate limits and scheduler of this one
 	 */
-	public User showUser(String screenName, Long twitterid, boolean includeEntities) throws TwitterErrorRequestException {
+	public Twitter withResponseCache(ResponseCache responseCache) {
 
-		if (Tools.isEmpty(screenName) && twitterid == null) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "screenName or twitterId"));
-		}
+		Twitter view = new Twitter(this);
+		view.responseCache = responseCache;
+		return view;
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+	}
 
-        if (Tools.isNotEmpty(screenName)) {
-		    nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
-        }
+	/**
+	 * @return the loader that batches the users requested by id into users/lookup petitions, shared by the views
+	 * of this consumer
+	 */
+	public BatchLoader<User> getUserLoader() {
+		return userLoader;
+	}
 
-        if (twitterid != null) {
-            nameValuePair.add(Parameters.USER_ID.valuePairWith(Long.toString(twitterid)));
-        }
+	/**
+	 * @return the loader that batches the tweets requested by id into statuses/lookup petitions, shared by the
+	 * views of this consumer
+	 */
+	public BatchLoader<Tweet> getStatusLoader() {
+		return statusLoader;
+	}
 
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+	/**
+	 * @return the loader that batches the friendships requested by user id into friendships/lookup petitions,
+	 * shared by the views of this consumer
+	 */
+	public BatchLoader<Friendship> getFriendshipLoader() {
+		return friendshipLoader;
+	}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_USER_SHOW.getUrl(), nameValuePair);
+	/**
+	 * Creates the batch loaders of this consumer. The lookups are made with the options of this consumer, not the
+	 * ones of the view that requested each item.
+	 */
+	private void createLoaders() {
 
-		if (response.getError() != null) {
+		userLoader = new BatchLoader<User>(this, new BatchLoader.BatchFunction<User>() {
 
-			throw new TwitterErrorRequestException(response.getError());
+			@Override
+			public List<User> load(long[] ids) throws TwitterErrorRequestException {
+				return lookupUsers(ids);
+			}
 
-		} else if (response.isNotEmpty()) {
+			@Override
+			public long idOf(User item) {
+				return item.getId();
+			}
 
-			return User.parse(response.getResponseString());
+		});
 
-		}
+		statusLoader = new BatchLoader<Tweet>(this, new BatchLoader.BatchFunction<Tweet>() {
 
-		return null;
+			@Override
+			public List<Tweet> load(long[] ids) throws TwitterErrorRequestException {
+				return lookupStatuses(ids, false);
+			}
+
+			@Override
+			public long idOf(Tweet item) {
+				return item.getId();
+			}
+
+		});
+
+		friendshipLoader = new BatchLoader<Friendship>(this, new BatchLoader.BatchFunction<Friendship>() {
+
+			@Override
+			public List<Friendship> load(long[] ids) throws TwitterErrorRequestException {
+				return lookupFriendships(ids, null);
+			}
+
+			@Override
+			public long idOf(Friendship item) {
+				return item.getId() != null ? item.getId() : -1;
+			}
+
+		});
 
 	}
 
 	/**
-	 * Returns the current configuration used by Twitter including twitter.com slugs which are not usernames, maximum photo resolutions, and t.co URL lengths.
-	 * It is recommended applications request this endpoint when they are loaded, but no more than once a day.
+	 * Sets the executor used by the asynchronous petitions. By default a bounded pool with as many threads as
+	 * pooled connections per route is used, any extra petition waits in the queue instead of creating threads.
 	 *
-	 * @return A new ApiConfiguration Object. This Object is SERIALIZABLE, you can save it.
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @param asyncExecutor the executor to use
 	 */
-	public ApiConfiguration getApiConfiguration() throws TwitterErrorRequestException {
+	public synchronized void setAsyncExecutor(ExecutorService asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_API_CONFIGURATION, null);
+	/**
+	 * Gets the executor used by the asynchronous petitions, creating the default one if needed
+	 *
+	 * @return the async executor
+	 */
+	public synchronized ExecutorService getAsyncExecutor() {
 
-		if (response.getError() != null) {
+		if (asyncExecutor == null) {
 
-			throw new TwitterErrorRequestException(response.getError());
+			int threads = twitterHttpClient.getPoolSettings().getMaxConnectionsPerRoute();
+			final AtomicInteger threadCount = new AtomicInteger();
 
-		} else if (response.isNotEmpty()) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
 
-			try {
+				@Override
+				public Thread newThread(Runnable r) {
 
-				JSONObject jsonResponse = new JSONObject(response.getResponseString());
-                return new ApiConfiguration(jsonResponse);
+					Thread t = new Thread(r, "ara-twitter-async-" + threadCount.incrementAndGet());
+					t.setDaemon(true);
+					return t;
 
-			} catch (JSONException e) {
-				LT(TAG, e);
-			}
+				}
 
-		}
+			});
 
-		return null;
+			executor.allowCoreThreadTimeOut(true);
+			asyncExecutor = executor;
+
+		}
 
+		return asyncExecutor;
 	}
 
 	/**
-	 * Returns a single Tweet, specified by the id parameter. The Tweet's author will also be embedded within the tweet.
-	 *
-	 * @param id the tweet id
-	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-	 * @return a tweet object
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Runs a petition in the async executor
 	 *
+	 * @param petition the petition to run
+	 * @param <T> type of the petition result
+	 * @return a future with the result of the petition
 	 */
-	public Tweet showStatus(long id, boolean includeEntities) throws TwitterErrorRequestException {
+	private <T> TwitterFuture<T> submit(final Callable<T> petition) {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(Parameters.ID.valuePairWith(Long.toString(id)));
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+		final CancellationToken token = new CancellationToken(cancellationToken);
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_STATUSES_SHOW, nameValuePair);
+		TwitterFuture<T> future = new TwitterFuture<T>(new Callable<T>() {
 
-		if (response.getError() != null) {
+			@Override
+			public T call() throws Exception {
 
-			throw new TwitterErrorRequestException(response.getError());
+				asyncCancellation.set(token);
 
-		} else if (response.isNotEmpty()) {
+				try {
+					return petition.call();
+				} finally {
+					asyncCancellation.remove();
+				}
 
-			return Tweet.parse(response.getResponseString());
+			}
 
-		}
+		});
+
+		future.setCancellationToken(token);
+		getAsyncExecutor().execute(future);
+		return future;
 
-		return null;
 	}
 
 	/**
-	 * Returns an HTTP 200 OK response code and a representation of the requesting user if authentication was successful; returns a 401 status code and an error message if not. Use this method to test if supplied user credentials are valid.
+	 * @return the parser of a tweet, reading its creation time as this consumer is set to
+	 */
+	private StreamingResponseParser<Tweet> tweetParser() {
+		return snowflakeTimestamps ? ResponseParser.TWEET_SNOWFLAKE : ResponseParser.TWEET;
+	}
+
+	/**
+	 * @return the parser of an array of tweets, reading their creation time as this consumer is set to
+	 */
+	private StreamingResponseParser<List<Tweet>> tweetListParser() {
+		return snowflakeTimestamps ? ResponseParser.TWEET_LIST_SNOWFLAKE : ResponseParser.TWEET_LIST;
+	}
+
+	/**
+	 * @return the parser of the tweets of a search, reading their creation time as this consumer is set to
+	 */
+	private StreamingResponseParser<List<Tweet>> searchTweetsParser() {
+		return snowflakeTimestamps ? ResponseParser.SEARCH_TWEETS_SNOWFLAKE : ResponseParser.SEARCH_TWEETS;
+	}
+	
+	// ///////////////////////////////////////////////////////////////////////////
+	// Requests
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Makes a petition to an endpoint and parses its response
 	 *
-	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-	 * @return a User representation of the requesting user
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @param rType request type
+	 * @param endpoint endpoint to call
+	 * @param nameValuePair parameters
+	 * @param parser parser of the response
+	 * @param <T> type of the parsed response
+	 * @return the parsed response or null if it is empty
+	 * @throws TwitterErrorRequestException if twitter returns an error, the communication fails or the response
+	 * cannot be parsed
+	 */
+	private <T> T request(Request rType, Urls endpoint, List<NameValuePair> nameValuePair, ResponseParser<T> parser) throws TwitterErrorRequestException {
+		return request(rType, endpoint, endpoint.getUrl(), nameValuePair, null, parser);
+	}
+
+	/**
+	 * Makes a petition and parses its response, streaming it from the connection when the parse mode and
+	 * the parser allow it. The petition waits its turn in the request scheduler, by priority and rate limit
+	 * window of the endpoint, and the window is updated with the headers of the response. GET petitions are
+	 * answered by the response cache when it has them, and identical ones in flight at the same time share a
+	 * single call and its parsed result.
 	 *
+	 * @param rType request type
+	 * @param endpoint endpoint to call, its method identifies the rate limit window
+	 * @param url url to call, the endpoint url with its path parameters
+	 * @param nameValuePair parameters
+	 * @param f file to upload or null
+	 * @param parser parser of the response
+	 * @param <T> type of the parsed response
+	 * @return the parsed response or null if it is empty
+	 * @throws TwitterErrorRequestException if twitter returns an error, the communication fails or the response
+	 * cannot be parsed
 	 */
-	public User verifyCredentials(boolean includeEntities) throws TwitterErrorRequestException {
+	private <T> T request(Request rType, Urls endpoint, String url, List<NameValuePair> nameValuePair, File f, ResponseParser<T> parser) throws TwitterErrorRequestException {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
-		nameValuePair.add(Parameters.SKIP_STATUS.valuePairWith(Boolean.TRUE.toString()));
+		// Only reads can be cached or shared: a repeated POST must reach twitter every time
+		if (rType != Request.GET || f != null) {
+			return requestAndParse(rType, endpoint, url, nameValuePair, f, parser, null, null);
+		}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_VERIFY_CREDENTIALS, nameValuePair);
+		String credentials = endpoint.isAppAuth() && (bearerTokenManager != null || twitterHttpClient.getBearerToken() != null) ? "app" : "user:" + getOuathConsumer().getToken();
+		String key = RequestCoalescer.key(url, nameValuePair, credentials, parser);
 
-		if (response.getError() != null) {
+		ResponseCache cache = responseCache;
 
-			throw new TwitterErrorRequestException(response.getError());
+		if (cache != null && cache.getPolicy(endpoint.getMethod()) != null) {
 
-		} else if (response.isNotEmpty()) {
+			ResponseCache.Entry entry = cache.get(endpoint.getMethod(), key);
+
+			if (entry != null) {
+
+				if (entry.isStale() && entry.startRevalidation()) {
+					revalidate(rType, endpoint, url, nameValuePair, parser, key, cache, entry);
+				}
+
+				return entry.<T>get();
+
+			}
+
+		} else {
 
-			return User.parse(response.getResponseString());
+			cache = null;
 
 		}
 
-		return null;
+		return coalesce(rType, endpoint, url, nameValuePair, parser, key, cache);
 
 	}
+
 	/**
-	 * TODO: Untested!
-	 *
-	 * Returns a list of the resource families and the rate limit status information,
-	 * for all their methods. For more information look here:
-	 * https://dev.twitter.com/docs/api/1.1/get/application/rate_limit_status
+	 * Makes a GET petition, or waits for an identical one in flight, and parses its response
 	 *
-	 * @param resourceFamilies List of resource families.
-	 * @return List<ApiResourceFamily> A list of the resource families.
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @param rType request type
+	 * @param endpoint endpoint to call
+	 * @param url url to call
+	 * @param nameValuePair parameters
+	 * @param parser parser of the response
+	 * @param key key of the petition
+	 * @param cache cache to store the response or null
+	 * @param <T> type of the parsed response
+	 * @return the parsed response or null if it is empty
+	 * @throws TwitterErrorRequestException if twitter returns an error, the communication fails or the response
+	 * cannot be parsed
 	 */
-	public List<ApiResourceFamily> rateLimitStatus(List<String> resourceFamilies) throws TwitterErrorRequestException {
-
-		L(TAG, "rateLimitStatus method");
+	private <T> T coalesce(final Request rType, final Urls endpoint, final String url, final List<NameValuePair> nameValuePair, final ResponseParser<T> parser, final String key, final ResponseCache cache) throws TwitterErrorRequestException {
 
-		if (Tools.isEmpty(resourceFamilies)) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "resourceFamilies"));
-		}
+		RequestCoalescer coalescer = requestCoalescer;
 
-		// Append all the families in one string
-		StringBuilder resources = new StringBuilder();
-		for (String res : resourceFamilies) {
-			resources.append(res).append(",");
+		if (coalescer == null) {
+			return requestAndParse(rType, endpoint, url, nameValuePair, null, parser, key, cache);
 		}
 
-		// Remove the comma if the buffer has data
-		int length = resources.length();
-		if (length > 0) {
-			resources.deleteCharAt(length-1);
+		CancellationToken cancellation = asyncCancellation.get();
+		if (cancellation == null) {
+			cancellation = cancellationToken;
 		}
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(Parameters.RESOURCES.valuePairWith(resources.toString()));
+		// Waiters give up at the same deadline their own petition would have
+		return coalescer.execute(key, new RequestCoalescer.Call<T>() {
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_RATE_LIMIT_STATUS, nameValuePair);
+			@Override
+			public T run() throws TwitterErrorRequestException {
+				return requestAndParse(rType, endpoint, url, nameValuePair, null, parser, key, cache);
+			}
 
-		if (response.getError() != null) {
+		}, cancellation, callDeadline(getEffectiveTimeouts()));
 
-			throw new TwitterErrorRequestException(response.getError());
+	}
 
-		} else if (response.isNotEmpty()) {
+	/**
+	 * @return the timeouts of the petitions of this consumer or, if it has none, the ones of the http client
+	 */
+	private TimeoutSettings getEffectiveTimeouts() {
+		return timeoutSettings != null ? timeoutSettings : twitterHttpClient.getTimeoutSettings();
+	}
 
-			return ApiResourceFamily.parseList(response.getResponseString(), resourceFamilies);
+	/**
+	 * Gets the deadline of a petition and its retries: the one of the consumer or the total time of every petition,
+	 * whichever comes first
+	 *
+	 * @param timeouts timeouts of the petition
+	 * @return the deadline or null if there is none
+	 */
+	private Deadline callDeadline(TimeoutSettings timeouts) {
 
+		if (timeouts.getDeadlineMillis() > 0) {
+			return Deadline.earliest(deadline, Deadline.after(timeouts.getDeadlineMillis(), TimeUnit.MILLISECONDS));
 		}
 
-		return null;
+		return deadline;
 
 	}
 
-	// ///////////////////////////////////////////////////////////////////////////
-	// Timelines
-	// ///////////////////////////////////////////////////////////////////////////
+	/**
+	 * Requests again a stale cached response in the background
+	 *
+	 * @param rType request type
+	 * @param endpoint endpoint to call
+	 * @param url url to call
+	 * @param nameValuePair parameters
+	 * @param parser parser of the response
+	 * @param key key of the petition
+	 * @param cache cache to store the response
+	 * @param entry the stale entry
+	 * @param <T> type of the parsed response
+	 */
+	private <T> void revalidate(final Request rType, final Urls endpoint, final String url, final List<NameValuePair> nameValuePair, final ResponseParser<T> parser, final String key, final ResponseCache cache, final ResponseCache.Entry entry) {
 
-    /**
-     * Returns a collection of the most recent Tweets and retweets posted by the authenticating user and the users they follow. The home timeline is central to how most users interact with the Twitter service.
-     * Up to 800 Tweets are obtainable on the home timeline. It is more volatile for users that follow many users or follow users who tweet frequently.
-     *
-     * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
-     * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
-     * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
-     * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-     * @return a list with tweets
-     * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
-     */
-    public List<Tweet> retweetsOfMe(Integer count, Long sinceId, Long maxId, boolean includeEntities) throws TwitterErrorRequestException {
+		try {
 
-        List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-        nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+			getAsyncExecutor().execute(new Runnable() {
 
-        if (count != null) {
-            nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
-        }
+				@Override
+				public void run() {
 
-        if (sinceId != null) {
-            nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
-        }
+					try {
 
-        if (maxId != null) {
-            nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
-        }
+						coalesce(rType, endpoint, url, nameValuePair, parser, key, cache);
 
-        ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_RETWEETS_OF_ME, nameValuePair);
+					} catch (TwitterErrorRequestException e) {
 
-        if (response.getError() != null) {
+						L(TAG, "Revalidation of " + endpoint + " failed: " + e.getError());
 
-            throw new TwitterErrorRequestException(response.getError());
+					} finally {
 
-        } else if (response.isNotEmpty()) {
+						entry.endRevalidation();
 
-            return Tweet.parseList(response.getResponseString());
+					}
 
-        }
+				}
 
-        return null;
-    }
+			});
+
+		} catch (RejectedExecutionException e) {
+
+			// The stale response is still returned, a later petition revalidates it
+			entry.endRevalidation();
+
+		}
+
+	}
 
 	/**
-	 * Returns a collection of the most recent Tweets and retweets posted by the authenticating user and the users they follow. The home timeline is central to how most users interact with the Twitter service.
-	 * Up to 800 Tweets are obtainable on the home timeline. It is more volatile for users that follow many users or follow users who tweet frequently.
+	 * Makes a petition and parses its response, see {@link #request(Request, Urls, String, List, File, ResponseParser)}
 	 *
-	 * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
-	 * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
-	 * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
-	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-	 * @return a list with tweets
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @param rType request type
+	 * @param endpoint endpoint to call
+	 * @param url url to call
+	 * @param nameValuePair parameters
+	 * @param f file to upload or null
+	 * @param parser parser of the response
+	 * @param key key of the petition, null if it is not cached
+	 * @param cache cache to store the response or null
+	 * @param <T> type of the parsed response
+	 * @return the parsed response or null if it is empty
+	 * @throws TwitterErrorRequestException if twitter returns an error, the communication fails or the response
+	 * cannot be parsed
 	 */
-	public List<Tweet> homeTimeline(Integer count, Long sinceId, Long maxId, boolean includeEntities) throws TwitterErrorRequestException {
+	private <T> T requestAndParse(Request rType, Urls endpoint, String url, List<NameValuePair> nameValuePair, File f, ResponseParser<T> parser, String key, ResponseCache cache) throws TwitterErrorRequestException {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+		BearerTokenManager bearer = endpoint.isAppAuth() ? bearerTokenManager : null;
+		ParsedResponse<T> response = bearer != null ? requestAppOnly(rType, endpoint, url, nameValuePair, parser, bearer) : null;
 
-		if (count != null) {
-			nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
-		}
+		if (response == null) {
 
-		if (sinceId != null) {
-			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
-		}
+			// A bearer token set in the client only authorizes the endpoints that accept it
+			String appToken = endpoint.isAppAuth() ? twitterHttpClient.getBearerToken() : null;
+			Map<String, String> headers = null;
+
+			if (appToken != null) {
+				headers = new HashMap<String, String>();
+				headers.put("Authorization", "Bearer " + appToken);
+			}
+
+			response = request(rType, endpoint, url, nameValuePair, headers, f, parser, rateLimitRegistry);
 
-		if (maxId != null) {
-			nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
 		}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_HOME_TIMELINE, nameValuePair);
+		T result = null;
 
 		if (response.getError() != null) {
 
+			if (cache != null) {
+				cache.putError(endpoint.getMethod(), key, response.getError());
+			}
+
 			throw new TwitterErrorRequestException(response.getError());
 
+		} else if (response.isParsed()) {
+
+			result = response.getResult();
+
 		} else if (response.isNotEmpty()) {
 
-			return Tweet.parseList(response.getResponseString());
+			try {
 
-		}
+				result = parser.parse(response.getResponseString());
+
+			} catch (JSONException e) {
+
+				// Same error as a malformed streamed body, so both parse modes fail alike
+				LT(TAG, e);
+				throw new TwitterErrorRequestException(new TwitterParseException(e.getLocalizedMessage(), e));
+
+			}
+
+		}
+
+		if (cache != null) {
+			cache.put(endpoint.getMethod(), key, result, response.getContentLength());
+		}
+
+		return result;
 
-		return null;
 	}
 
 	/**
-	 * Returns a collection of the most recent Tweets posted by the user indicated by the screen_name or user_id parameters.
-	 * User timelines belonging to protected users may only be requested when the authenticated user either "owns" the timeline or is an approved follower of the owner.
-	 * The timeline returned is the equivalent of the one seen when you view a user's profile on twitter.com.
-	 * This method can only return up to 3,200 of a user's most recent Tweets. Native retweets of other statuses by the user is included in this total, regardless of whether include_rts is set to false when requesting this resource.
+	 * Makes a petition through the request scheduler and updates the rate limit window of its endpoint. Failed
+	 * petitions are repeated as the retry policy allows, within the deadline of the petition.
 	 *
-	 * @param userId The ID of the user for whom to return results for. Helpful for disambiguating when a valid user ID is also a valid screen name.
-	 * @param screenName The screen name of the user for whom to return results for. Helpful for disambiguating when a valid screen name is also a user ID.
-	 * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
-	 * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
-	 * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
-	 * @param exludeReplies This parameter will prevent replies from appearing in the returned timeline. Using exclude_replies with the count parameter will mean you will receive up-to count tweets ��� this is because the count parameter retrieves that many tweets before filtering out retweets and replies. This parameter is only supported for JSON and XML responses.
-	 * @param includeRts When set to false, the timeline will strip any native retweets (though they will still count toward both the maximal length of the timeline and the slice selected by the count parameter). Note: If you're using the trim_user parameter in conjunction with include_rts, the retweets will still contain a full user object.
-	 * @return a list with tweets
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @param rType request type
+	 * @param endpoint endpoint to call
+	 * @param url url to call
+	 * @param nameValuePair parameters
+	 * @param headers headers of the petition, an Authorization header replaces the oauth signature
+	 * @param f file to upload or null
+	 * @param parser parser of the response
+	 * @param registry rate limit windows of the credential used
+	 * @param <T> type of the parsed response
+	 * @return the response
+	 * @throws TwitterErrorRequestException if the rate limit window is exhausted and the policy is FAIL_FAST, or
+	 * the petition is cancelled or reaches its deadline before being made
 	 */
-	public List<Tweet> userTimeline(Long userId, String screenName, Integer count, Long sinceId, Long maxId, Boolean exludeReplies, Boolean includeRts) throws TwitterErrorRequestException {
+	private <T> ParsedResponse<T> request(Request rType, Urls endpoint, String url, List<NameValuePair> nameValuePair, Map<String, String> headers, File f, ResponseParser<T> parser, RateLimitRegistry registry) throws TwitterErrorRequestException {
 
-		// Check params
-		if (userId == null && Tools.isEmpty(screenName)) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName required"));
+		CancellationToken cancellation = asyncCancellation.get();
+		if (cancellation == null) {
+			cancellation = cancellationToken;
 		}
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-        if (userId != null) {
-            nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
-        }
+		TimeoutSettings timeouts = getEffectiveTimeouts();
+		Deadline callDeadline = callDeadline(timeouts);
 
-		if (count != null) {
-			nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
-		}
+		RetryPolicy retry = retryPolicy;
 
-		if (sinceId != null) {
-			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
+		// Without a policy the petition is made once
+		if (retry == null) {
+			return attempt(rType, endpoint, url, nameValuePair, headers, f, parser, registry, cancellation, timeouts, callDeadline);
 		}
 
-		if (maxId != null) {
-			nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
-		}
+		retry.onRequest(endpoint);
 
-		if (exludeReplies != null) {
-			nameValuePair.add(Parameters.EXCLUDE_REPLIES.valuePairWith(exludeReplies.toString()));
-		}
+		for (int retries = 0; ; retries++) {
 
-		if (includeRts != null) {
-			nameValuePair.add(Parameters.INCLUDE_RTS.valuePairWith(includeRts.toString()));
-		}
+			ParsedResponse<T> response = attempt(rType, endpoint, url, nameValuePair, headers, f, parser, registry, cancellation, timeouts, callDeadline);
+			long delay = retry.getRetryDelay(rType, response, retries, rateLimitPolicy);
+
+			if (delay < 0 || (callDeadline != null && delay >= callDeadline.getRemainingMillis())) {
+				return response;
+			}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_USER_TIMELINE, nameValuePair);
+			if (!retry.tryAcquireRetry(endpoint)) {
 
-		if (response.getError() != null) {
+				L(TAG, "Retry budget of " + endpoint + " exhausted, not retrying");
+				return response;
 
-			throw new TwitterErrorRequestException(response.getError());
+			}
 
-		} else if (response.isNotEmpty()) {
+			L(TAG, "Retrying " + endpoint + " in " + delay + "ms: " + response.getError());
 
-			return Tweet.parseList(response.getResponseString());
+			try {
 
-		}
+				Thread.sleep(delay);
 
-		return null;
+			} catch (InterruptedException e) {
+
+				Thread.currentThread().interrupt();
+				return response;
+
+			}
+
+		}
 
 	}
 
 	/**
-	 * Returns the 20 most recent mentions (status containing @username) for the authenticating user.
-	 * The timeline returned is the equivalent of the one seen when you view your mentions on twitter.com.
-	 * This method can only return up to 800 statuses.
-	 * This method will include retweets in the JSON response regardless of whether the include_rts parameter is set.
-	 *
-	 * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
-	 * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
-	 * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
-	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-	 * @return a list with tweets
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Makes a single attempt of a petition through the circuit breaker and the request scheduler and updates the
+	 * rate limit window of its endpoint
 	 *
+	 * @param rType request type
+	 * @param endpoint endpoint to call
+	 * @param url url to call
+	 * @param nameValuePair parameters
+	 * @param headers headers of the petition or null
+	 * @param f file to upload or null
+	 * @param parser parser of the response
+	 * @param registry rate limit windows of the credential used
+	 * @param cancellation token of the petition or null
+	 * @param timeouts timeouts of the petition
+	 * @param callDeadline deadline of the petition or null
+	 * @param <T> type of the parsed response
+	 * @return the response
+	 * @throws TwitterErrorRequestException if the rate limit window is exhausted and the policy is FAIL_FAST, the
+	 * circuit breaker of the endpoint is open, or the petition is cancelled or reaches its deadline before being made
 	 */
-	public List<Tweet> mentionsTimeline(Integer count, Long sinceId, Long maxId, boolean includeEntities) throws TwitterErrorRequestException {
-
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+	private <T> ParsedResponse<T> attempt(final Request rType, final Urls endpoint, final String url, final List<NameValuePair> nameValuePair, final Map<String, String> headers, final File f, final ResponseParser<T> parser, final RateLimitRegistry registry, CancellationToken cancellation, final TimeoutSettings timeouts, final Deadline callDeadline) throws TwitterErrorRequestException {
 
-		if (count != null) {
-			nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
+		if (cancellation != null && cancellation.isCancelled()) {
+			throw new TwitterErrorRequestException(new TwitterCommunicationException(CancellationToken.CANCELLED_MESSAGE));
 		}
 
-		if (sinceId != null) {
-			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
+		if (callDeadline != null && callDeadline.isExpired()) {
+			throw Deadline.expiredError();
 		}
 
-		if (maxId != null) {
-			nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
+		// A degraded endpoint fails at once instead of holding the thread until its timeouts
+		CircuitBreaker breaker = circuitBreakers != null ? circuitBreakers.get(endpoint) : null;
+		if (breaker != null) {
+			breaker.acquire();
 		}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_MENTIONS_TIMELINE, nameValuePair);
+		ParsedResponse<T> response = null;
 
-		if (response.getError() != null) {
+		try {
 
-			throw new TwitterErrorRequestException(response.getError());
+			response = hedge(rType, endpoint, url, nameValuePair, headers, f, parser, registry, cancellation, timeouts, callDeadline);
 
-		} else if (response.isNotEmpty()) {
+		} finally {
+
+			if (breaker != null) {
+
+				if (response != null) {
+					breaker.onResult(response);
+				} else {
+					breaker.onIgnored();
+				}
 
-			return Tweet.parseList(response.getResponseString());
+			}
 
 		}
 
-		return null;
-	}
+		return response;
 
-	// ///////////////////////////////////////////////////////////////////////////
-	// Tweets
-	// ///////////////////////////////////////////////////////////////////////////
+	}
 
 	/**
-	 * Retweets a tweet. Returns the original tweet with retweet details embedded.
-	 *
-	 * @param id the id of tweet to retweet
-	 * @return Tweet a tweet retweeted
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Sends a petition, hedging it if it is a GET and this consumer has a hedging policy
 	 *
+	 * @param rType request type
+	 * @param endpoint endpoint to call
+	 * @param url url to call
+	 * @param nameValuePair parameters
+	 * @param headers headers of the petition or null
+	 * @param f file to upload or null
+	 * @param parser parser of the response
+	 * @param registry rate limit windows of the credential used
+	 * @param cancellation token of the petition or null
+	 * @param timeouts timeouts of the petition
+	 * @param callDeadline deadline of the petition or null
+	 * @param <T> type of the parsed response
+	 * @return the response
+	 * @throws TwitterErrorRequestException if the rate limit window is exhausted and the policy is FAIL_FAST, or
+	 * the deadline expires while waiting
 	 */
-	public Tweet retweet(long id) throws TwitterErrorRequestException {
+	private <T> ParsedResponse<T> hedge(final Request rType, final Urls endpoint, final String url, final List<NameValuePair> nameValuePair, final Map<String, String> headers, final File f, final ResponseParser<T> parser, final RateLimitRegistry registry, CancellationToken cancellation, final TimeoutSettings timeouts, final Deadline callDeadline) throws TwitterErrorRequestException {
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, String.format(Urls.URL_RETWEET.getUrl(), Long.toString(id)) , null);
+		HedgingPolicy hedging = hedgingPolicy;
 
-		if (response.getError() != null) {
+		if (hedging == null || rType != Request.GET) {
+			return send(rType, endpoint, url, nameValuePair, headers, f, parser, registry, cancellation, timeouts, callDeadline, true);
+		}
 
-			throw new TwitterErrorRequestException(response.getError());
+		return hedging.execute(endpoint, cancellation, new HedgingPolicy.Attempt<T>() {
 
-		} else if (response.isNotEmpty()) {
+			@Override
+			public ParsedResponse<T> run(CancellationToken token) throws TwitterErrorRequestException {
+				return send(rType, endpoint, url, nameValuePair, headers, f, parser, registry, token, timeouts, callDeadline, true);
+			}
 
-			return Tweet.parse(response.getResponseString());
+		}, new HedgingPolicy.Attempt<T>() {
 
-		}
+			@Override
+			public ParsedResponse<T> run(CancellationToken token) throws TwitterErrorRequestException {
+				return send(rType, endpoint, url, nameValuePair, headers, f, parser, registry, token, timeouts, callDeadline, false);
+			}
 
-		return null;
+		}, getAsyncExecutor());
 
 	}
 
 	/**
-	 * First retweets a tweet. Returns up to 100 of the first retweets of a given tweet.
-	 *
-	 * @param id the id of tweet to retweet
-	 * @return a list with the first retweets for the given tweet id
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Sends a petition through the request scheduler and updates the rate limit window of its endpoint
 	 *
+	 * @param rType request type
+	 * @param endpoint endpoint to call
+	 * @param url url to call
+	 * @param nameValuePair parameters
+	 * @param headers headers of the petition or null
+	 * @param f file to upload or null
+	 * @param parser parser of the response
+	 * @param registry rate limit windows of the credential used
+	 * @param cancellation token of the petition or null
+	 * @param timeouts timeouts of the petition
+	 * @param callDeadline deadline of the petition or null
+	 * @param wait false to give up if no connection or request of the rate limit window is free right away
+	 * @param <T> type of the parsed response
+	 * @return the response, null if it was not sent because wait is false
+	 * @throws TwitterErrorRequestException if the rate limit window is exhausted and the policy is FAIL_FAST, or
+	 * the deadline expires while waiting
 	 */
-	public List<Tweet> firstRetweets(long id) throws TwitterErrorRequestException {
+	private <T> ParsedResponse<T> send(Request rType, Urls endpoint, String url, List<NameValuePair> nameValuePair, Map<String, String> headers, File f, ResponseParser<T> parser, RateLimitRegistry registry, CancellationToken cancellation, TimeoutSettings timeouts, Deadline callDeadline, boolean wait) throws TwitterErrorRequestException {
+
+		if (wait) {
+			requestScheduler.acquire(registry, endpoint.getMethod(), priority, rateLimitPolicy, callDeadline);
+		} else if (!requestScheduler.tryAcquire(registry, endpoint.getMethod())) {
+			return null;
+		}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(
-				Request.GET, String.format(Urls.URL_RETWEETS.getUrl(), Long.toString(id)), null);
+		ParsedResponse<T> response;
 
-		if (response.getError() != null) {
+		try {
 
-			throw new TwitterErrorRequestException(response.getError());
+			StreamingResponseParser<T> streamingParser = null;
 
-		} else if (response.isNotEmpty()) {
+			if (parseMode == ParseMode.STREAMING && parser instanceof StreamingResponseParser) {
+				streamingParser = (StreamingResponseParser<T>) parser;
+			}
 
-			return Tweet.parseList(response.getResponseString());
+			response = twitterHttpClient.makeRequestWithParameters(rType, url, nameValuePair, headers, f, streamingParser, cancellation, timeouts, callDeadline);
 
+		} finally {
+			requestScheduler.release();
 		}
 
-		return null;
+		registry.update(endpoint.getMethod(), response.getRateLimit());
+		return response;
 
 	}
 
-	/**
-	 * Updates the authenticating user's current status, also known as tweeting. To upload an image to accompany the tweet, use POST statuses/update_with_media.
-	 * For each update attempt, the update text is compared with the authenticating user's recent tweets. Any attempt that would result in duplication will be blocked, resulting in a 403 error.
-	 * Therefore, a user cannot submit the same status twice in a row. While not rate limited by the API a user is limited in the number of tweets they can create at a time. If the number of
-	 * updates posted by the user reaches the current allowed limit this method will return an HTTP 403 error.
-	 *
-	 * @param update update
-	 * @return Tweet a tweet update
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
-	 */
-	public Tweet update(String update) throws TwitterErrorRequestException {
-		return update(update, null, null, null, Boolean.FALSE);
-	}
 
 	/**
-	 * Updates the authenticating user's current status, also known as tweeting. To upload an image to accompany the tweet, use POST statuses/update_with_media.
-	 * For each update attempt, the update text is compared with the authenticating user's recent tweets. Any attempt that would result in duplication will be blocked, resulting in a 403 error.
-	 * Therefore, a user cannot submit the same status twice in a row. While not rate limited by the API a user is limited in the number of tweets they can create at a time. If the number of
-	 * updates posted by the user reaches the current allowed limit this method will return an HTTP 403 error.
-	 *
-	 * @param update String with status to update
-	 * @param inReplyToStatusId if is a reply of other tweet, send the other tweet id
-	 * @param lat latitude of tweet
-	 * @param lon longitude of tweet
-	 * @param displayCoordinates True if want to displau coordinates
-	 * @return the uploaded tweet
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Makes a petition with the application-only bearer token. A rejected token is obtained again and the petition
+	 * repeated once.
 	 *
+	 * @param rType request type
+	 * @param endpoint endpoint to call
+	 * @param url url to call
+	 * @param nameValuePair parameters
+	 * @param parser parser of the response
+	 * @param bearer manager of the bearer token
+	 * @param <T> type of the parsed response
+	 * @return the response or null if no bearer token can be obtained, then the petition is signed as usual
+	 * @throws TwitterErrorRequestException if the rate limit window is exhausted and the policy is FAIL_FAST
 	 */
-	public Tweet update(String update, Long inReplyToStatusId, Double lat, Double lon, Boolean displayCoordinates) throws TwitterErrorRequestException {
+	private <T> ParsedResponse<T> requestAppOnly(Request rType, Urls endpoint, String url, List<NameValuePair> nameValuePair, ResponseParser<T> parser, BearerTokenManager bearer) throws TwitterErrorRequestException {
 
-		L(TAG, "Post Update");
+		for (int attempt = 0; attempt < 2; attempt++) {
 
-		// Check required parameters
-		if (Tools.isEmpty(update)) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "update"));
-		}
+			String token;
 
-		List<NameValuePair> nameValuePairs = new ArrayList<NameValuePair>();
-        nameValuePairs.add(Parameters.STATUS.valuePairWith(update));
+			try {
 
-        if (inReplyToStatusId != null) {
-        	nameValuePairs.add(Parameters.IN_REPLY_TO_STATUS_ID.valuePairWith(inReplyToStatusId.toString()));
-        }
+				token = bearer.getToken();
 
-        if (lat != null) {
-        	nameValuePairs.add(Parameters.LATITUDE.valuePairWith(lat.toString()));
-        }
+			} catch (TwitterErrorRequestException e) {
+				LT(TAG, e);
+				return null;
+			}
 
-        if (lon != null) {
-        	nameValuePairs.add(Parameters.LONGITUDE.valuePairWith(lon.toString()));
-        }
+			Map<String, String> headers = new HashMap<String, String>();
+			headers.put("Authorization", "Bearer " + token);
 
-        if (displayCoordinates != null && displayCoordinates) {
-        	nameValuePairs.add(Parameters.DISPLAY_COORDINATES.valuePairWith(Boolean.TRUE.toString()));
-        }
+			ParsedResponse<T> response = request(rType, endpoint, url, nameValuePair, headers, null, parser, appRateLimitRegistry);
 
-        ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_STATUSES_UPDATE, nameValuePairs);
+			if (!(response.getError() instanceof TwitterError) || ((TwitterError) response.getError()).getCode() != TwitterError.ERROR_INVALID_TOKEN || attempt > 0) {
+				return response;
+			}
 
-        if (response.getError() != null) {
+			bearer.reject(token);
 
-			throw new TwitterErrorRequestException(response.getError());
+		}
 
-		} else if (response.isNotEmpty()) {
+		return null;
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Petitions
+	// ///////////////////////////////////////////////////////////////////////////
 
-			return Tweet.parse(response.getResponseString());
+	/**
+	 * Makes a search query to twitter, for more information look here: 
+	 * https://dev.twitter.com/docs/api/1.1/get/search/tweets
+	 * 
+	 * @param latitude latitude for search tweets 
+	 * @param longitude longitude for search tweets
+	 * @param radius the radius for search tweets in this format: "1km"/"1mi"
+	 * @param count the count of tweets to retrieve, generally used only for first search
+	 * @param sinceId the since id for search. Read more in <a href="https://dev.twitter.com/docs/working-with-timelines">twitter doc</a>
+	 * @param maxId the max id for search. Read more in <a href="https://dev.twitter.com/docs/working-with-timelines">twitter doc</a>
+	 * @return List<Tweet> a list of tweets searched
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public List<Tweet> search(String query, Double latitude, Double longitude, String radius, Integer count,  Long sinceId, Long maxId) throws TwitterErrorRequestException {
+		
+		L(TAG, "Search method");
+		
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		
+		if (Tools.isNotEmpty(query)) {
+			nameValuePair.add(Parameters.QUERY.valuePairWith(query));
+		}
+		
+		// Make geocode
+		if (latitude != null && longitude != null && Tools.isNotEmpty(radius)) {
+			
+			String geocode = String.format("%s,%s,%s", Double.toString(latitude), Double.toString(longitude), radius);
+			nameValuePair.add(Parameters.GEOCODE.valuePairWith(geocode));
+			
+		}
+		
+		if (count != null) {
+			nameValuePair.add(Parameters.COUNT.valuePairWith(Integer.toString(count)));
+		}
+		
+		if (sinceId != null) {
+			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(Long.toString(sinceId)));
+		}
 
+		if (maxId != null) {
+			nameValuePair.add(Parameters.MAX_ID.valuePairWith(Long.toString(maxId)));
 		}
 
-        return null;
+		return request(Request.GET, Urls.URL_SEARCH, nameValuePair, searchTweetsParser());
+
 	}
 
 	/**
-	 * Updates the authenticating user's current status and attaches media for upload. In other words, it creates a Tweet with a picture attached.
-	 * Unlike POST statuses/update, this method expects raw multipart data. Your POST request's Content-Type should be set to multipart/form-data with the media[] parameter
-	 * The Tweet text will be rewritten to include the media URL(s), which will reduce the number of characters allowed in the Tweet text. If the URL(s) cannot be appended without text truncation, the tweet will be rejected and this method will return an HTTP 403 error.
+	 * Returns fully-hydrated user objects for up to 100 users per request, as specified by comma-separated values passed to the user_id and/or screen_name parameters.
+	 * This method is especially useful when used in conjunction with collections of user IDs returned from GET friends/ids and GET followers/ids.
+	 * GET users/show is used to retrieve a single user object.
 	 *
-	 * @param status String with status to update
-	 * @param fImg File with image to upload
-	 * @param inReplyToStatusId if is a reply of other tweet, send the other tweet id
-	 * @param lat latitude of tweet
-	 * @param lon longitude of tweet
-	 * @param displayCoordinates True if want to displau coordinates
-	 * @return the uploaded tweet
+	 * @param screenNames A list of users to do the lookup. A MAX OF 100 ARE ALLOWED BY REQUEST
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return List<User> a list of users looked up
 	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
 	 */
-	public Tweet updateWithMedia(String status, File fImg, Long inReplyToStatusId, Double lat, Double lon, Boolean displayCoordinates) throws TwitterErrorRequestException {
+	public List<User>lookupUsers(List<String> screenNames, boolean includeEntities) throws TwitterErrorRequestException {
 
 		// Check parameters
-		if (Tools.isEmpty(status)) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "status"));
+		if (Tools.isEmpty(screenNames)) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "screenNames"));
 		}
 
-		if (fImg == null || !fImg.exists() || !fImg.canRead()) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "file media"));
-		}
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
 
-		List<NameValuePair> nameValuePairs = new ArrayList<NameValuePair>();
+		String joinedNames = Tools.join(screenNames.toArray(), ',');
+		nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(joinedNames));
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
 
-		nameValuePairs.add(Parameters.STATUS.valuePairWith(status));
+		return request(Request.POST, Urls.URL_USER_LOOKUP, nameValuePair, ResponseParser.USER_LIST);
+
+	}
+
+	/**
+	 * Returns fully-hydrated user objects for up to 100 users per request, as specified by comma-separated values passed to the user_id and/or screen_name parameters.
+	 * This method is especially useful when used in conjunction with collections of user IDs returned from GET friends/ids and GET followers/ids.
+	 * GET users/show is used to retrieve a single user object.
+	 *
+	 * @param ids A array of user ids to do the lookup. A MAX OF 100 ARE ALLOWED BY REQUEST
+	 * @return list of Twitter users
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public List<User>lookupUsers(long[] ids) throws TwitterErrorRequestException {
+
+		// Check parameters
+		if (ids == null || ids.length == 0) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "ids"));
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+
+		String joinedNames = Tools.join(ids, ',');
+		nameValuePair.add(Parameters.USER_ID.valuePairWith(joinedNames));
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.FALSE.toString()));
+
+		return request(Request.POST, Urls.URL_USER_LOOKUP, nameValuePair, ResponseParser.USER_LIST);
+
+	}
+
+	/**
+	 * Prepares the hydration of any number of user ids. The ids are requested in chunks of 100 concurrently, waiting
+	 * for the users/lookup window tracked by the rate limit registry when it is spent, see {@link BulkUserLookup}.
+	 *
+	 * @param ids the user ids to hydrate
+	 * @return the lookup, started with {@link BulkUserLookup#execute(BulkUserLookup.Listener)}
+	 */
+	public BulkUserLookup bulkLookupUsers(long[] ids) {
+
+		// Check parameters
+		if (ids == null) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "ids"));
+		}
+
+		return new BulkUserLookup(this, ids);
+
+	}
+
+	/**
+	 * Prepares the hydration of the ids of a list, e.g. all the pages of followers ids of a user
+	 *
+	 * @param ids the user ids to hydrate
+	 * @return the lookup, started with {@link BulkUserLookup#execute(BulkUserLookup.Listener)}
+	 */
+	public BulkUserLookup bulkLookupUsers(IdentifierList ids) {
+
+		// Check parameters
+		if (ids == null) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "ids"));
+		}
+
+		return bulkLookupUsers(ids.getIDs());
+
+	}
+
+	/**
+	 * Returns a variety of information about the user specified by the required user_id or screen_name parameter. The author's most recent Tweet will be returned inline when possible.
+	 *
+	 * @param screenName the user screen name
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return a User object
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public User showUser(String screenName, Long twitterid, boolean includeEntities) throws TwitterErrorRequestException {
+
+		if (Tools.isEmpty(screenName) && twitterid == null) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "screenName or twitterId"));
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+
+        if (Tools.isNotEmpty(screenName)) {
+		    nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
+        }
+
+        if (twitterid != null) {
+            nameValuePair.add(Parameters.USER_ID.valuePairWith(Long.toString(twitterid)));
+        }
+
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+
+		return request(Request.GET, Urls.URL_USER_SHOW, nameValuePair, ResponseParser.USER);
+
+	}
+
+	/**
+	 * Requests a single user in the next users/lookup batch of this consumer, see {@link BatchLoader}. Many users
+	 * requested at the same time, e.g. the authors of a timeline, cost a single petition.
+	 *
+	 * @param twitterid the user id
+	 * @return a future with the user, without entities, or null if it does not exist or is suspended
+	 */
+	public TwitterFuture<User> showUserBatched(long twitterid) {
+		return userLoader.load(twitterid);
+	}
+
+	/**
+	 * Returns the current configuration used by Twitter including twitter.com slugs which are not usernames, maximum photo resolutions, and t.co URL lengths.
+	 * It is recommended applications request this endpoint when they are loaded, but no more than once a day,
+	 * so the default policies of ResponseCache keep it for a day in the views that use one.
+	 *
+	 * @return An ApiConfiguration Object, shared with the other callers if it is cached. This Object is SERIALIZABLE, you can save it.
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public ApiConfiguration getApiConfiguration() throws TwitterErrorRequestException {
+
+		return request(Request.GET, Urls.URL_API_CONFIGURATION, null, ResponseParser.API_CONFIGURATION);
+
+	}
+
+	/**
+	 * Returns a single Tweet, specified by the id parameter. The Tweet's author will also be embedded within the tweet.
+	 *
+	 * @param id the tweet id
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return a tweet object
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public Tweet showStatus(long id, boolean includeEntities) throws TwitterErrorRequestException {
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.ID.valuePairWith(Long.toString(id)));
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+
+		return request(Request.GET, Urls.URL_STATUSES_SHOW, nameValuePair, tweetParser());
+	}
+
+	/**
+	 * Requests a single tweet in the next statuses/lookup batch of this consumer, see {@link BatchLoader}. Many
+	 * tweets requested at the same time cost a single petition.
+	 *
+	 * @param id The numerical ID of the desired Tweet.
+	 * @return a future with the tweet, without entities, or null if it does not exist or is not visible
+	 */
+	public TwitterFuture<Tweet> showStatusBatched(long id) {
+		return statusLoader.load(id);
+	}
+
+	/**
+	 * Returns fully-hydrated tweet objects for up to 100 tweets per request, as specified by comma-separated values passed to the id parameter.
+	 * The deleted tweets and the ones not visible to the user are not returned.
+	 *
+	 * @param ids A array of tweet ids to do the lookup. A MAX OF 100 ARE ALLOWED BY REQUEST
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return list of tweets
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<Tweet> lookupStatuses(long[] ids, boolean includeEntities) throws TwitterErrorRequestException {
+
+		// Check parameters
+		if (ids == null || ids.length == 0) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "ids"));
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.ID.valuePairWith(Tools.join(ids, ',')));
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+
+		return request(Request.GET, Urls.URL_STATUSES_LOOKUP, nameValuePair, tweetListParser());
+
+	}
+
+	/**
+	 * Returns an HTTP 200 OK response code and a representation of the requesting user if authentication was successful; returns a 401 status code and an error message if not. Use this method to test if supplied user credentials are valid.
+	 *
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return a User representation of the requesting user
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public User verifyCredentials(boolean includeEntities) throws TwitterErrorRequestException {
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+		nameValuePair.add(Parameters.SKIP_STATUS.valuePairWith(Boolean.TRUE.toString()));
+
+		return request(Request.GET, Urls.URL_VERIFY_CREDENTIALS, nameValuePair, ResponseParser.USER);
+
+	}
+	/**
+	 * TODO: Untested!
+	 *
+	 * Returns a list of the resource families and the rate limit status information,
+	 * for all their methods. For more information look here:
+	 * https://dev.twitter.com/docs/api/1.1/get/application/rate_limit_status
+	 *
+	 * @param resourceFamilies List of resource families.
+	 * @return List<ApiResourceFamily> A list of the resource families.
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<ApiResourceFamily> rateLimitStatus(List<String> resourceFamilies) throws TwitterErrorRequestException {
+
+		L(TAG, "rateLimitStatus method");
+
+		if (Tools.isEmpty(resourceFamilies)) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "resourceFamilies"));
+		}
+
+		// Append all the families in one string
+		StringBuilder resources = new StringBuilder();
+		for (String res : resourceFamilies) {
+			resources.append(res).append(",");
+		}
+
+		// Remove the comma if the buffer has data
+		int length = resources.length();
+		if (length > 0) {
+			resources.deleteCharAt(length-1);
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.RESOURCES.valuePairWith(resources.toString()));
+
+		final List<String> families = resourceFamilies;
+		List<ApiResourceFamily> status = request(Request.GET, Urls.URL_RATE_LIMIT_STATUS, nameValuePair, new ResponseParser<List<ApiResourceFamily>>() {
+
+			@Override
+			public List<ApiResourceFamily> parse(String response) {
+				return ApiResourceFamily.parseList(response, families);
+			}
+
+		});
+
+		// The returned status is the freshest one of every method
+		if (status != null) {
+			for (ApiResourceFamily resource : status) {
+				if (resource.getMethods() != null) {
+					for (ApiMethod method : resource.getMethods()) {
+						rateLimitRegistry.update(method);
+					}
+				}
+			}
+		}
+
+		return status;
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Timelines
+	// ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns a collection of the most recent Tweets and retweets posted by the authenticating user and the users they follow. The home timeline is central to how most users interact with the Twitter service.
+     * Up to 800 Tweets are obtainable on the home timeline. It is more volatile for users that follow many users or follow users who tweet frequently.
+     *
+     * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
+     * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
+     * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
+     * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+     * @return a list with tweets
+     * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+     */
+    public List<Tweet> retweetsOfMe(Integer count, Long sinceId, Long maxId, boolean includeEntities) throws TwitterErrorRequestException {
+
+        List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+        nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+
+        if (count != null) {
+            nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
+        }
+
+        if (sinceId != null) {
+            nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
+        }
+
+        if (maxId != null) {
+            nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
+        }
+
+        return request(Request.GET, Urls.URL_RETWEETS_OF_ME, nameValuePair, tweetListParser());
+    }
+
+	/**
+	 * Returns a collection of the most recent Tweets and retweets posted by the authenticating user and the users they follow. The home timeline is central to how most users interact with the Twitter service.
+	 * Up to 800 Tweets are obtainable on the home timeline. It is more volatile for users that follow many users or follow users who tweet frequently.
+	 *
+	 * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
+	 * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
+	 * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return a list with tweets
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<Tweet> homeTimeline(Integer count, Long sinceId, Long maxId, boolean includeEntities) throws TwitterErrorRequestException {
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+
+		if (count != null) {
+			nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
+		}
+
+		if (sinceId != null) {
+			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
+		}
+
+		if (maxId != null) {
+			nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
+		}
+
+		return request(Request.GET, Urls.URL_HOME_TIMELINE, nameValuePair, tweetListParser());
+	}
+
+	/**
+	 * Returns a collection of the most recent Tweets posted by the user indicated by the screen_name or user_id parameters.
+	 * User timelines belonging to protected users may only be requested when the authenticated user either "owns" the timeline or is an approved follower of the owner.
+	 * The timeline returned is the equivalent of the one seen when you view a user's profile on twitter.com.
+	 * This method can only return up to 3,200 of a user's most recent Tweets. Native retweets of other statuses by the user is included in this total, regardless of whether include_rts is set to false when requesting this resource.
+	 *
+	 * @param userId The ID of the user for whom to return results for. Helpful for disambiguating when a valid user ID is also a valid screen name.
+	 * @param screenName The screen name of the user for whom to return results for. Helpful for disambiguating when a valid screen name is also a user ID.
+	 * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
+	 * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
+	 * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
+	 * @param exludeReplies This parameter will prevent replies from appearing in the returned timeline. Using exclude_replies with the count parameter will mean you will receive up-to count tweets ��� this is because the count parameter retrieves that many tweets before filtering out retweets and replies. This parameter is only supported for JSON and XML responses.
+	 * @param includeRts When set to false, the timeline will strip any native retweets (though they will still count toward both the maximal length of the timeline and the slice selected by the count parameter). Note: If you're using the trim_user parameter in conjunction with include_rts, the retweets will still contain a full user object.
+	 * @return a list with tweets
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<Tweet> userTimeline(Long userId, String screenName, Integer count, Long sinceId, Long maxId, Boolean exludeReplies, Boolean includeRts) throws TwitterErrorRequestException {
+
+		// Check params
+		if (userId == null && Tools.isEmpty(screenName)) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName required"));
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+        if (userId != null) {
+            nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
+        }
+
+		if (count != null) {
+			nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
+		}
+
+		if (sinceId != null) {
+			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
+		}
+
+		if (maxId != null) {
+			nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
+		}
+
+		if (exludeReplies != null) {
+			nameValuePair.add(Parameters.EXCLUDE_REPLIES.valuePairWith(exludeReplies.toString()));
+		}
+
+		if (includeRts != null) {
+			nameValuePair.add(Parameters.INCLUDE_RTS.valuePairWith(includeRts.toString()));
+		}
+
+		return request(Request.GET, Urls.URL_USER_TIMELINE, nameValuePair, tweetListParser());
+
+	}
+
+	/**
+	 * Returns the 20 most recent mentions (status containing @username) for the authenticating user.
+	 * The timeline returned is the equivalent of the one seen when you view your mentions on twitter.com.
+	 * This method can only return up to 800 statuses.
+	 * This method will include retweets in the JSON response regardless of whether the include_rts parameter is set.
+	 *
+	 * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
+	 * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
+	 * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return a list with tweets
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public List<Tweet> mentionsTimeline(Integer count, Long sinceId, Long maxId, boolean includeEntities) throws TwitterErrorRequestException {
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+
+		if (count != null) {
+			nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
+		}
+
+		if (sinceId != null) {
+			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
+		}
+
+		if (maxId != null) {
+			nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
+		}
+
+		return request(Request.GET, Urls.URL_MENTIONS_TIMELINE, nameValuePair, tweetListParser());
+	}
+
+	/**
+	 * Searches the tweets created within a time window. The window is turned into since_id and max_id bounds, because
+	 * the ids carry their creation time, so only the pages of the window are requested, with the max count each.
+	 *
+	 * @param query the search query
+	 * @param latitude latitude for search tweets
+	 * @param longitude longitude for search tweets
+	 * @param radius the radius for search tweets in this format: "1km"/"1mi"
+	 * @param fromMillis unix millis of the start of the window, inclusive
+	 * @param untilMillis unix millis of the end of the window, exclusive
+	 * @return the tweets of the window, newest first
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<Tweet> searchBetween(String query, Double latitude, Double longitude, String radius, long fromMillis, long untilMillis) throws TwitterErrorRequestException {
+
+		return TimeWindow.fetch(fromMillis, untilMillis, searchPage(query, latitude, longitude, radius));
+
+	}
+
+	/**
+	 * Gets the tweets of the home timeline created within a time window, requesting only the pages of the window.
+	 * The home timeline only reaches the latest 800 tweets.
+	 *
+	 * @param fromMillis unix millis of the start of the window, inclusive
+	 * @param untilMillis unix millis of the end of the window, exclusive
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return the tweets of the window, newest first
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<Tweet> homeTimelineBetween(long fromMillis, long untilMillis, boolean includeEntities) throws TwitterErrorRequestException {
+
+		return TimeWindow.fetch(fromMillis, untilMillis, homeTimelinePage(includeEntities));
+
+	}
+
+	/**
+	 * Gets the tweets of a user timeline created within a time window, requesting only the pages of the window.
+	 * The user timeline only reaches the latest 3,200 tweets.
+	 *
+	 * @param userId The ID of the user for whom to return results for
+	 * @param screenName The screen name of the user for whom to return results for
+	 * @param fromMillis unix millis of the start of the window, inclusive
+	 * @param untilMillis unix millis of the end of the window, exclusive
+	 * @param exludeReplies True to prevent replies from appearing in the returned timeline
+	 * @param includeRts When set to false, the timeline will strip any native retweets
+	 * @return the tweets of the window, newest first
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<Tweet> userTimelineBetween(Long userId, String screenName, long fromMillis, long untilMillis, Boolean exludeReplies, Boolean includeRts) throws TwitterErrorRequestException {
+
+		return TimeWindow.fetch(fromMillis, untilMillis, userTimelinePage(userId, screenName, exludeReplies, includeRts));
+
+	}
+
+	/**
+	 * Prepares the backfill of the tweets searched within a time window. The window is split in slices that are
+	 * walked concurrently, see {@link TimelineBackfill}. The search only reaches the tweets of the last 7 days.
+	 *
+	 * @param query the search query
+	 * @param latitude latitude for search tweets
+	 * @param longitude longitude for search tweets
+	 * @param radius the radius for search tweets in this format: "1km"/"1mi"
+	 * @param fromMillis unix millis of the start of the window, inclusive
+	 * @param untilMillis unix millis of the end of the window, exclusive
+	 * @return the backfill, started with {@link TimelineBackfill#execute()}
+	 */
+	public TimelineBackfill backfillSearch(String query, Double latitude, Double longitude, String radius, long fromMillis, long untilMillis) {
+		return new TimelineBackfill(this, searchPage(query, latitude, longitude, radius), fromMillis, untilMillis);
+	}
+
+	/**
+	 * Prepares the backfill of the tweets of a user timeline within a time window. The window is split in slices
+	 * that are walked concurrently, see {@link TimelineBackfill}. The user timeline only reaches the latest 3,200 tweets.
+	 *
+	 * @param userId The ID of the user for whom to return results for
+	 * @param screenName The screen name of the user for whom to return results for
+	 * @param fromMillis unix millis of the start of the window, inclusive
+	 * @param untilMillis unix millis of the end of the window, exclusive
+	 * @param exludeReplies True to prevent replies from appearing in the returned timeline
+	 * @param includeRts When set to false, the timeline will strip any native retweets
+	 * @return the backfill, started with {@link TimelineBackfill#execute()}
+	 */
+	public TimelineBackfill backfillUserTimeline(Long userId, String screenName, long fromMillis, long untilMillis, Boolean exludeReplies, Boolean includeRts) {
+
+		// Check parameters
+		if (userId == null && screenName == null) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
+		}
+
+		return new TimelineBackfill(this, userTimelinePage(userId, screenName, exludeReplies, includeRts), fromMillis, untilMillis);
+
+	}
+
+	/**
+	 * @param query the search query
+	 * @param latitude latitude for search tweets
+	 * @param longitude longitude for search tweets
+	 * @param radius the radius for search tweets
+	 * @return the petition of a search page of the max count
+	 */
+	private TimeWindow.Page searchPage(final String query, final Double latitude, final Double longitude, final String radius) {
+
+		return new TimeWindow.Page() {
+
+			@Override
+			public List<Tweet> fetch(Long sinceId, long maxId) throws TwitterErrorRequestException {
+				return search(query, latitude, longitude, radius, SEARCH_MAX_COUNT, sinceId, maxId);
+			}
+
+		};
+
+	}
+
+	/**
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return the petition of a home timeline page of the max count
+	 */
+	private TimeWindow.Page homeTimelinePage(final boolean includeEntities) {
+
+		return new TimeWindow.Page() {
+
+			@Override
+			public List<Tweet> fetch(Long sinceId, long maxId) throws TwitterErrorRequestException {
+				return homeTimeline(TIMELINE_MAX_COUNT, sinceId, maxId, includeEntities);
+			}
+
+		};
+
+	}
+
+	/**
+	 * @param userId The ID of the user
+	 * @param screenName The screen name of the user
+	 * @param exludeReplies True to prevent replies from appearing in the returned timeline
+	 * @param includeRts When set to false, the timeline will strip any native retweets
+	 * @return the petition of a user timeline page of the max count
+	 */
+	private TimeWindow.Page userTimelinePage(final Long userId, final String screenName, final Boolean exludeReplies, final Boolean includeRts) {
+
+		return new TimeWindow.Page() {
+
+			@Override
+			public List<Tweet> fetch(Long sinceId, long maxId) throws TwitterErrorRequestException {
+				return userTimeline(userId, screenName, TIMELINE_MAX_COUNT, sinceId, maxId, exludeReplies, includeRts);
+			}
+
+		};
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Tweets
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Retweets a tweet. Returns the original tweet with retweet details embedded.
+	 *
+	 * @param id the id of tweet to retweet
+	 * @return Tweet a tweet retweeted
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public Tweet retweet(long id) throws TwitterErrorRequestException {
+
+		return request(Request.POST, Urls.URL_RETWEET, String.format(Urls.URL_RETWEET.getUrl(), Long.toString(id)), null, null, tweetParser());
+
+	}
+
+	/**
+	 * First retweets a tweet. Returns up to 100 of the first retweets of a given tweet.
+	 *
+	 * @param id the id of tweet to retweet
+	 * @return a list with the first retweets for the given tweet id
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public List<Tweet> firstRetweets(long id) throws TwitterErrorRequestException {
+
+		return request(Request.GET, Urls.URL_RETWEETS, String.format(Urls.URL_RETWEETS.getUrl(), Long.toString(id)), null, null, tweetListParser());
+
+	}
+
+	/**
+	 * Updates the authenticating user's current status, also known as tweeting. To upload an image to accompany the tweet, use POST statuses/update_with_media.
+	 * For each update attempt, the update text is compared with the authenticating user's recent tweets. Any attempt that would result in duplication will be blocked, resulting in a 403 error.
+	 * Therefore, a user cannot submit the same status twice in a row. While not rate limited by the API a user is limited in the number of tweets they can create at a time. If the number of
+	 * updates posted by the user reaches the current allowed limit this method will return an HTTP 403 error.
+	 *
+	 * @param update update
+	 * @return Tweet a tweet update
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public Tweet update(String update) throws TwitterErrorRequestException {
+		return update(update, null, null, null, Boolean.FALSE);
+	}
+
+	/**
+	 * Updates the authenticating user's current status, also known as tweeting. To upload an image to accompany the tweet, use POST statuses/update_with_media.
+	 * For each update attempt, the update text is compared with the authenticating user's recent tweets. Any attempt that would result in duplication will be blocked, resulting in a 403 error.
+	 * Therefore, a user cannot submit the same status twice in a row. While not rate limited by the API a user is limited in the number of tweets they can create at a time. If the number of
+	 * updates posted by the user reaches the current allowed limit this method will return an HTTP 403 error.
+	 *
+	 * @param update String with status to update
+	 * @param inReplyToStatusId if is a reply of other tweet, send the other tweet id
+	 * @param lat latitude of tweet
+	 * @param lon longitude of tweet
+	 * @param displayCoordinates True if want to displau coordinates
+	 * @return the uploaded tweet
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public Tweet update(String update, Long inReplyToStatusId, Double lat, Double lon, Boolean displayCoordinates) throws TwitterErrorRequestException {
+
+		L(TAG, "Post Update");
+
+		// Check required parameters
+		if (Tools.isEmpty(update)) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "update"));
+		}
+
+		List<NameValuePair> nameValuePairs = new ArrayList<NameValuePair>();
+        nameValuePairs.add(Parameters.STATUS.valuePairWith(update));
+
+        if (inReplyToStatusId != null) {
+        	nameValuePairs.add(Parameters.IN_REPLY_TO_STATUS_ID.valuePairWith(inReplyToStatusId.toString()));
+        }
+
+        if (lat != null) {
+        	nameValuePairs.add(Parameters.LATITUDE.valuePairWith(lat.toString()));
+        }
+
+        if (lon != null) {
+        	nameValuePairs.add(Parameters.LONGITUDE.valuePairWith(lon.toString()));
+        }
+
+        if (displayCoordinates != null && displayCoordinates) {
+        	nameValuePairs.add(Parameters.DISPLAY_COORDINATES.valuePairWith(Boolean.TRUE.toString()));
+        }
+
+        return request(Request.POST, Urls.URL_STATUSES_UPDATE, nameValuePairs, tweetParser());
+	}
+
+	/**
+	 * Updates the authenticating user's current status and attaches media for upload. In other words, it creates a Tweet with a picture attached.
+	 * Unlike POST statuses/update, this method expects raw multipart data. Your POST request's Content-Type should be set to multipart/form-data with the media[] parameter
+	 * The Tweet text will be rewritten to include the media URL(s), which will reduce the number of characters allowed in the Tweet text. If the URL(s) cannot be appended without text truncation, the tweet will be rejected and this method will return an HTTP 403 error.
+	 *
+	 * @param status String with status to update
+	 * @param fImg File with image to upload
+	 * @param inReplyToStatusId if is a reply of other tweet, send the other tweet id
+	 * @param lat latitude of tweet
+	 * @param lon longitude of tweet
+	 * @param displayCoordinates True if want to displau coordinates
+	 * @return the uploaded tweet
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public Tweet updateWithMedia(String status, File fImg, Long inReplyToStatusId, Double lat, Double lon, Boolean displayCoordinates) throws TwitterErrorRequestException {
+
+		// Check parameters
+		if (Tools.isEmpty(status)) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "status"));
+		}
+
+		if (fImg == null || !fImg.exists() || !fImg.canRead()) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "file media"));
+		}
+
+		List<NameValuePair> nameValuePairs = new ArrayList<NameValuePair>();
+
+		nameValuePairs.add(Parameters.STATUS.valuePairWith(status));
+
+        if (inReplyToStatusId != null) {
+        	nameValuePairs.add(Parameters.IN_REPLY_TO_STATUS_ID.valuePairWith(inReplyToStatusId.toString()));
+        }
+
+        if (lat != null) {
+        	nameValuePairs.add(Parameters.LATITUDE.valuePairWith(lat.toString()));
+        }
+
+        if (lon != null) {
+        	nameValuePairs.add(Parameters.LONGITUDE.valuePairWith(lon.toString()));
+        }
+
+        if (displayCoordinates != null && displayCoordinates) {
+        	nameValuePairs.add(Parameters.DISPLAY_COORDINATES.valuePairWith(Boolean.TRUE.toString()));
+        }
+
+        return request(Request.POST_WITH_MEDIA, Urls.URL_UPDATE_WITH_MEDIA, Urls.URL_UPDATE_WITH_MEDIA.getUrl(), nameValuePairs, fImg, tweetParser());
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Favorites
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Returns the 20 most recent Tweets favorited by the authenticating or specified user.
+	 *
+     * @param userId user id
+	 * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
+	 * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
+	 * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @return a list with tweets
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<Tweet> favoritesList(Long userId, String screenName, Integer count, Long sinceId, Long maxId, boolean includeEntities) throws TwitterErrorRequestException {
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+
+        if (userId != null) {
+            nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(userId.toString()));
+        }
+
+		if (screenName != null) {
+			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
+		}
+
+		if (count != null) {
+			nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
+		}
+
+		if (sinceId != null) {
+			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
+		}
+
+		if (maxId != null) {
+			nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
+		}
+
+		return request(Request.GET, Urls.URL_FAVORITES_LIST, nameValuePair, tweetListParser());
+	}
+
+	/**
+	 * Un-favorites the status specified in the ID parameter as the authenticating user. Returns the un-favorited status in the requested format when successful.
+	 * This process invoked by this method is asynchronous. The immediately returned status may not indicate the resultant favorited status of the tweet. A 200 OK response from this method will indicate whether the intended action was successful or not.
+	 *
+	 * @param id the id of tweet to un-favorite
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public Tweet destroyFavorite(long id, boolean includeEntities) throws TwitterErrorRequestException {
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+		nameValuePair.add(Parameters.ID.valuePairWith(Long.toString(id)));
+
+		return request(Request.POST, Urls.URL_DESTROY_FAVORITE, nameValuePair, tweetParser());
+
+	}
+
+	/**
+	 * Favorites the status specified in the ID parameter as the authenticating user. Returns the favorite status when successful.
+	 * This process invoked by this method is asynchronous. The immediately returned status may not indicate the resultant favorited status of the tweet. A 200 OK response from this method will indicate whether the intended action was successful or not.
+	 *
+	 * @param id the id of tweet to favorite
+	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public Tweet createFavorite(long id, boolean includeEntities) throws TwitterErrorRequestException {
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
+		nameValuePair.add(Parameters.ID.valuePairWith(Long.toString(id)));
+
+		return request(Request.POST, Urls.URL_CREATE_FAVORITE, nameValuePair, tweetParser());
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Friends & followers
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Returns a cursored collection of user IDs for every user the specified user is following (otherwise known as their "friends").
+	 * At this time, results are ordered with the most recent following first ��� however, this ordering is subject to unannounced change and eventual consistency issues.
+	 * Results are given in groups of 5,000 user IDs and multiple "pages" of results can be navigated through using the next_cursor value in subsequent requests.
+	 * See Using cursors to navigate collections for more information.
+	 *
+	 * @param userId the user whose friends are requested. If empty, then screenName must be informed.
+	 * @param screenName the user name whose friends are requested. If empty, then userId must be informed
+	 * @param cursor The next cursor for a cursored query. If null, cursor = -1 is the default.
+	 * @param stringifyIds: true if the ids are retrieved as strings, false or null if ids are retrieved as longs
+	 * @return the list of identifiers of the friends of the user
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public IdentifierList getFriendIds(Long userId, String screenName, Long cursor, Boolean stringifyIds) throws TwitterErrorRequestException {
+
+		// Check parameters: userId and screenName cannot be both null at the same time
+		if ((userId == null) && (Tools.isEmpty(screenName))) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+
+		if (userId != null) {
+			nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
+		}
+
+		if (!Tools.isEmpty(screenName)) {
+			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
+		}
+
+		if (cursor != null) {
+			nameValuePair.add(Parameters.CURSOR.valuePairWith(cursor.toString()));
+		}
+
+		if (stringifyIds != null) {
+			nameValuePair.add(Parameters.STRINGIFY_IDS.valuePairWith(stringifyIds.toString()));
+		}
+
+		return request(Request.GET, Urls.URL_GET_FRIENDS, nameValuePair, ResponseParser.IDENTIFIER_LIST);
+	}
+
+	/**
+	 * Returns the relationships of the authenticating user to the comma-separated list of up to 100 screen_names or user_ids provided.
+	 *  Values for connections can be: following, following_requested, followed_by, none.
+	 *
+	 * @param userIds A comma separated list of user IDs, up to 100 are allowed in a single request.
+	 * @param screenNames A comma separated list of screen names, up to 100 are allowed in a single request.
+	 * @return A list of friendships for the logged user
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<Friendship> lookupFriendships(long[] userIds, List<String> screenNames) throws TwitterErrorRequestException {
+
+		// Check parameters: userId and screenName cannot be both null at the same time
+		if ((userIds == null || userIds.length == 0) && (Tools.isEmpty(screenNames))) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+
+		if (userIds != null) {
+			nameValuePair.add(Parameters.USER_ID.valuePairWith(Tools.join(userIds, ',')));
+		}
+
+		if (!Tools.isEmpty(screenNames)) {
+			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(Tools.join(screenNames.toArray(), ',')));
+		}
+
+		return request(Request.GET, Urls.URL_LOOKUP_FRIENDSHIPS, nameValuePair, ResponseParser.FRIENDSHIP_LIST);
+
+	}
+
+	/**
+	 * Requests the friendship with a single user in the next friendships/lookup batch of this consumer, see
+	 * {@link BatchLoader}
+	 *
+	 * @param userId the user id
+	 * @return a future with the friendship or null if the user does not exist
+	 */
+	public TwitterFuture<Friendship> lookupFriendshipBatched(long userId) {
+		return friendshipLoader.load(userId);
+	}
+
+	/**
+	 * Returns a cursored collection of user IDs for every user following the specified user.
+	 * At this time, results are ordered with the most recent following first ��� however, this ordering is subject to unannounced change and eventual consistency issues.
+	 * Results are given in groups of 5,000 user IDs and multiple "pages" of results can be navigated through using the next_cursor value in subsequent requests.
+	 * See Using cursors to navigate collections for more information.
+	 *
+	 * @param userId the user whose friends are requested. If empty, then screenName must be informed.
+	 * @param screenName the user name whose friends are requested. If empty, then userId must be informed
+	 * @param cursor The next cursor for a cursored query. If null, cursor = -1 is the default.
+	 * @param stringifyIds: true if the ids are retrieved as strings, false or null if ids are retrieved as longs
+	 * @return the list of identifiers of the friends of the user
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public IdentifierList getFollowersIds(Long userId, String screenName, Long cursor, Boolean stringifyIds) throws TwitterErrorRequestException {
+
+		// Check parameters: userId and screenName cannot be both null at the same time
+		if ((userId == null) && (Tools.isEmpty(screenName))) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+
+		if (userId != null) {
+			nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
+		}
+
+		if (!Tools.isEmpty(screenName)) {
+			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
+		}
+
+		if (cursor != null) {
+			nameValuePair.add(Parameters.CURSOR.valuePairWith(cursor.toString()));
+		}
+
+		if (stringifyIds != null) {
+			nameValuePair.add(Parameters.STRINGIFY_IDS.valuePairWith(stringifyIds.toString()));
+		}
+
+		return request(Request.GET, Urls.URL_GET_FOLLOWERS, nameValuePair, ResponseParser.IDENTIFIER_LIST);
+	}
+
+	/**
+	 * Walks all the pages of ids of the users following the specified user. The next page is fetched while the
+	 * current one is processed and the rate limited pages are retried, see {@link CursorPaginator}.
+	 *
+	 * @param userId the user whose followers are requested. If empty, then screenName must be informed.
+	 * @param screenName the user name whose followers are requested. If empty, then userId must be informed
+	 * @param stringifyIds: true if the ids are retrieved as strings, false or null if ids are retrieved as longs
+	 * @return a paginator over the pages of identifiers
+	 */
+	public CursorPaginator<IdentifierList> getFollowersIdsPages(final Long userId, final String screenName, final Boolean stringifyIds) {
+
+		// Check parameters: userId and screenName cannot be both null at the same time
+		if ((userId == null) && (Tools.isEmpty(screenName))) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
+		}
+
+		// The pages are fetched with a token of the walk, so closing the paginator aborts a running prefetch
+		final CancellationToken token = new CancellationToken(cancellationToken);
+		final Twitter view = withCancellation(token);
+
+		return new CursorPaginator<IdentifierList>(new CursorPaginator.PageFetcher<IdentifierList>() {
+
+			@Override
+			public IdentifierList fetch(long cursor) throws TwitterErrorRequestException {
+				return view.getFollowersIds(userId, screenName, cursor, stringifyIds);
+			}
+
+		}, getAsyncExecutor()).setDeadline(deadline).setCancellationToken(token);
+
+	}
+
+	/**
+	 * Walks all the pages of ids of the users the specified user is following. The next page is fetched while
+	 * the current one is processed and the rate limited pages are retried, see {@link CursorPaginator}.
+	 *
+	 * @param userId the user whose friends are requested. If empty, then screenName must be informed.
+	 * @param screenName the user name whose friends are requested. If empty, then userId must be informed
+	 * @param stringifyIds: true if the ids are retrieved as strings, false or null if ids are retrieved as longs
+	 * @return a paginator over the pages of identifiers
+	 */
+	public CursorPaginator<IdentifierList> getFriendIdsPages(final Long userId, final String screenName, final Boolean stringifyIds) {
+
+		// Check parameters: userId and screenName cannot be both null at the same time
+		if ((userId == null) && (Tools.isEmpty(screenName))) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
+		}
+
+		final CancellationToken token = new CancellationToken(cancellationToken);
+		final Twitter view = withCancellation(token);
+
+		return new CursorPaginator<IdentifierList>(new CursorPaginator.PageFetcher<IdentifierList>() {
+
+			@Override
+			public IdentifierList fetch(long cursor) throws TwitterErrorRequestException {
+				return view.getFriendIds(userId, screenName, cursor, stringifyIds);
+			}
+
+		}, getAsyncExecutor()).setDeadline(deadline).setCancellationToken(token);
+
+	}
+
+	/**
+	 * Allows the authenticating users to follow the user specified in the ID parameter.
+	 * Returns the befriended user in the requested format when successful. Returns a string describing the failure condition when unsuccessful. If you are already friends with the user a HTTP 403 may be returned, though for performance reasons you may get a 200 OK message even if the friendship already exists.
+	 * Actions taken in this method are asynchronous and changes will be eventually consistent.
+	 *
+	 * @param userId The screen name of the user for whom to befriend.
+	 * @param screenName The ID of the user for whom to befriend.
+	 * @param follow Enable notifications for the target user.
+	 * @return the user who follows profile
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public User createFriendship(Long userId, String screenName, Boolean follow) throws TwitterErrorRequestException {
+
+		// Check required parameters
+		if (userId == null && Tools.isEmpty(screenName)) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+
+		if (userId != null) {
+			nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
+		}
+
+		if (!Tools.isEmpty(screenName)) {
+			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
+		}
+
+		if (follow != null) {
+			nameValuePair.add(Parameters.FOLLOW.valuePairWith(follow.toString()));
+		}
+
+		return request(Request.POST, Urls.URL_CREATE_FRIENDSHIP, nameValuePair, ResponseParser.USER);
+
+	}
+
+	/**
+	 * Allows the authenticating user to unfollow the user specified in the ID parameter.
+	 * Returns the unfollowed user in the requested format when successful. Returns a string describing the failure condition when unsuccessful.
+	 * Actions taken in this method are asynchronous and changes will be eventually consistent.
+	 *
+	 * @param userId The screen name of the user for whom to unfollow.
+	 * @param screenName The ID of the user for whom to unfollow.
+	 * @return the user who unfollows profile
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public User destroyFriendship(Long userId, String screenName) throws TwitterErrorRequestException {
+
+		// Check required parameters
+		if (userId == null && Tools.isEmpty(screenName)) {
+			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
+		}
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+
+		if (userId != null) {
+			nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
+		}
+
+		if (!Tools.isEmpty(screenName)) {
+			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
+		}
+
+		return request(Request.POST, Urls.URL_DESTROY_FRIENDSHIP, nameValuePair, ResponseParser.USER);
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Trends
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Returns the locations that Twitter has trending topic information for, closest to a specified location.
+	 * The response is an array of "locations" that encode the location's WOEID and some other human-readable information such as a canonical name and country the location belongs in.
+	 *
+	 * @param lon If provided with a long parameter the available trend locations will be sorted by distance, nearest to furthest, to the co-ordinate pair. The valid ranges for longitude is -180.0 to +180.0 (West is negative, East is positive) inclusive.
+	 * @param lat If provided with a lat parameter the available trend locations will be sorted by distance, nearest to furthest, to the co-ordinate pair. The valid ranges for longitude is -180.0 to +180.0 (West is negative, East is positive) inclusive.
+	 * @return A list of places near the given coordinates
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 */
+	public List<TrendPlace> closestPlaces(Double lon, Double lat) throws TwitterErrorRequestException {
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+
+		if (lat != null) {
+			nameValuePair.add(Parameters.LATITUDE.valuePairWith(Double.toString(lat)));
+		}
+
+		if (lon != null) {
+			nameValuePair.add(Parameters.LONGITUDE.valuePairWith(Double.toString(lon)));
+		}
+
+		return request(Request.GET, Urls.URL_CLOSEST_PLACES, nameValuePair, ResponseParser.TREND_PLACE_LIST);
+	}
+
+	/**
+	 * Returns the top 10 trending topics for a specific WOEID, if trending information is available for it.
+	 * The response is an array of "trend" objects that encode the name of the trending topic, the query parameter that can be used to search for the topic on Twitter Search, and the Twitter Search URL.
+	 * This information is cached for 5 minutes. Requesting more frequently than that will not return any more data, and will count against your rate limit usage.
+	 *
+	 * @param woeid The Yahoo! Where On Earth ID of the location to return trending information for. Global information is available by using 1 as the WOEID
+	 * @param exclude Setting this equal to hashtags will remove all hashtags from the trends list.
+	 * @return a list of trends
+	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 *
+	 */
+	public List<Trend> trendsForPlace(long woeid, String exclude) throws TwitterErrorRequestException {
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(Parameters.ID.valuePairWith(Double.toString(woeid)));
+
+		if (Tools.isNotEmpty(exclude)) {
+			nameValuePair.add(Parameters.EXCLUDE.valuePairWith(exclude));
+		}
 
-        if (inReplyToStatusId != null) {
-        	nameValuePairs.add(Parameters.IN_REPLY_TO_STATUS_ID.valuePairWith(inReplyToStatusId.toString()));
-        }
+		return request(Request.GET, Urls.URL_TRENDS_PLACE, nameValuePair, ResponseParser.TREND_LIST);
+	}
 
-        if (lat != null) {
-        	nameValuePairs.add(Parameters.LATITUDE.valuePairWith(lat.toString()));
-        }
+	/**
+	 * Invalidates current token via oauth basic authorization
+	 * @return The access token (bearer)
+	 * @throws TwitterErrorRequestException
+	 */
+	public String obtainBearerToken() throws TwitterErrorRequestException {
 
-        if (lon != null) {
-        	nameValuePairs.add(Parameters.LONGITUDE.valuePairWith(lon.toString()));
-        }
+		Map<String, String> headers = new HashMap<String, String>();
+		String header = "Basic " + twitterHttpClient.getOauthBase64BearerToken();
+		headers.put("Authorization", header);
+		headers.put("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8");
 
-        if (displayCoordinates != null && displayCoordinates) {
-        	nameValuePairs.add(Parameters.DISPLAY_COORDINATES.valuePairWith(Boolean.TRUE.toString()));
-        }
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(new BasicNameValuePair("grant_type", "client_credentials"));
 
-        ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST_WITH_MEDIA, Urls.URL_UPDATE_WITH_MEDIA.getUrl(), nameValuePairs, null, fImg);
+		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_OBTAIN_BEARER_TOKEN.getUrl(), nameValuePair, headers);
 
-        if (response.getError() != null) {
+		if (response.getError() != null) {
 
 			throw new TwitterErrorRequestException(response.getError());
 
 		} else if (response.isNotEmpty()) {
 
-			return Tweet.parse(response.getResponseString());
+			String rString = response.getResponseString();
+			JSONObject jsonObj;
+			try {
+
+				jsonObj = new JSONObject(rString);
+                return jsonObj.getString("access_token");
+
+			} catch (JSONException e) {
+				e.printStackTrace();
+			}
 
 		}
 
-        return null;
+		return null;
+	}
+
+	/**
+	 * Invalidates current token via oauth basic authorization
+	 * @return The access token (bearer)
+	 * @throws TwitterErrorRequestException
+	 */
+	public String invalidateBearerToken(String accessTokenBearer) throws TwitterErrorRequestException {
+
+		Map<String, String> headers = new HashMap<String, String>();
+		headers.put("Authorization", "Basic " + twitterHttpClient.getOauthBase64BearerToken());
+		headers.put("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8");
+
+		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		nameValuePair.add(new BasicNameValuePair("access_token", accessTokenBearer));
 
+		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_INVALIDATE_BEARER_TOKEN.getUrl(), nameValuePair, headers);
+		
+		if (response.getError() != null) {
+			
+			throw new TwitterErrorRequestException(response.getError());
+			
+		} else if (response.isNotEmpty()) {
+			
+			String rString = response.getResponseString();
+			JSONObject jsonObj;
+			try {
+				
+				jsonObj = new JSONObject(rString);
+                return jsonObj.getString("access_token");
+				
+			} catch (JSONException e) {
+				e.printStackTrace();
+			}
+			
+		}
+		
+		return null;
 	}
 
 	// ///////////////////////////////////////////////////////////////////////////
-	// Favorites
+	// Asynchronous petitions
 	// ///////////////////////////////////////////////////////////////////////////
 
 	/**
-	 * Returns the 20 most recent Tweets favorited by the authenticating or specified user.
+	 * Asynchronous version of {@link #search(String, Double, Double, String, Integer, Long, Long)}
 	 *
-     * @param userId user id
-	 * @param count Specifies the number of records to retrieve. Must be less than or equal to 200. Defaults to 20.
-	 * @param sinceId Returns results with an ID greater than (that is, more recent than) the specified ID. There are limits to the number of Tweets which can be accessed through the API. If the limit of Tweets has occured since the since_id, the since_id will be forced to the oldest ID available.
-	 * @param maxId Returns results with an ID less than (that is, older than) or equal to the specified ID.
-	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-	 * @return a list with tweets
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @return a future with the result of the petition
 	 */
-	public List<Tweet> favoritesList(Long userId, String screenName, Integer count, Long sinceId, Long maxId, boolean includeEntities) throws TwitterErrorRequestException {
-
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
-
-        if (userId != null) {
-            nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(userId.toString()));
-        }
+	public TwitterFuture<List<Tweet>> searchAsync(final String query, final Double latitude, final Double longitude, final String radius, final Integer count, final Long sinceId, final Long maxId) {
 
-		if (screenName != null) {
-			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
-		}
+		return submit(new Callable<List<Tweet>>() {
 
-		if (count != null) {
-			nameValuePair.add(Parameters.COUNT.valuePairWith(count.toString()));
-		}
+			@Override
+			public List<Tweet> call() throws Exception {
+				return search(query, latitude, longitude, radius, count, sinceId, maxId);
+			}
 
-		if (sinceId != null) {
-			nameValuePair.add(Parameters.SINCE_ID.valuePairWith(sinceId.toString()));
-		}
+		});
 
-		if (maxId != null) {
-			nameValuePair.add(Parameters.MAX_ID.valuePairWith(maxId.toString()));
-		}
+	}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_FAVORITES_LIST, nameValuePair);
+	/**
+	 * Asynchronous version of {@link #lookupUsers(List, boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<List<User>> lookupUsersAsync(final List<String> screenNames, final boolean includeEntities) {
 
-		if (response.getError() != null) {
+		return submit(new Callable<List<User>>() {
 
-			throw new TwitterErrorRequestException(response.getError());
+			@Override
+			public List<User> call() throws Exception {
+				return lookupUsers(screenNames, includeEntities);
+			}
 
-		} else if (response.isNotEmpty()) {
+		});
 
-			try {
+	}
 
-				L(TAG, "Init parsing favoritesList:");
+	/**
+	 * Asynchronous version of {@link #lookupUsers(long[])}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<List<User>> lookupUsersAsync(final long[] ids) {
 
-				JSONArray arrJson = new JSONArray(response.getResponseString());
-				List<Tweet> listTweets = new ArrayList<Tweet>();
+		return submit(new Callable<List<User>>() {
 
-				for (int i=0 ; i<arrJson.length(); i++) {
+			@Override
+			public List<User> call() throws Exception {
+				return lookupUsers(ids);
+			}
 
-					JSONObject jsonObject = arrJson.getJSONObject(i);
-					Tweet t = new Tweet(jsonObject);
-					listTweets.add(t);
+		});
 
-				}
+	}
 
-				L(TAG, "Finish parsing favoritesList:");
+	/**
+	 * Asynchronous version of {@link #showUser(String, Long, boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<User> showUserAsync(final String screenName, final Long twitterid, final boolean includeEntities) {
 
-				return listTweets;
+		return submit(new Callable<User>() {
 
-			} catch (JSONException e) {
-				LT(TAG, e);
+			@Override
+			public User call() throws Exception {
+				return showUser(screenName, twitterid, includeEntities);
 			}
 
-		}
+		});
 
-		return null;
 	}
 
 	/**
-	 * Un-favorites the status specified in the ID parameter as the authenticating user. Returns the un-favorited status in the requested format when successful.
-	 * This process invoked by this method is asynchronous. The immediately returned status may not indicate the resultant favorited status of the tweet. A 200 OK response from this method will indicate whether the intended action was successful or not.
-	 *
-	 * @param id the id of tweet to un-favorite
-	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Asynchronous version of {@link #getApiConfiguration()}
 	 *
+	 * @return a future with the result of the petition
 	 */
-	public Tweet destroyFavorite(long id, boolean includeEntities) throws TwitterErrorRequestException {
+	public TwitterFuture<ApiConfiguration> getApiConfigurationAsync() {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
-		nameValuePair.add(Parameters.ID.valuePairWith(Long.toString(id)));
+		return submit(new Callable<ApiConfiguration>() {
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_DESTROY_FAVORITE, nameValuePair);
+			@Override
+			public ApiConfiguration call() throws Exception {
+				return getApiConfiguration();
+			}
 
-		if (response.getError() != null) {
+		});
 
-			throw new TwitterErrorRequestException(response.getError());
+	}
 
-		} else if (response.isNotEmpty()) {
+	/**
+	 * Asynchronous version of {@link #showStatus(long, boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<Tweet> showStatusAsync(final long id, final boolean includeEntities) {
 
-			return Tweet.parse(response.getResponseString());
+		return submit(new Callable<Tweet>() {
 
-		}
+			@Override
+			public Tweet call() throws Exception {
+				return showStatus(id, includeEntities);
+			}
 
-		return null;
+		});
 
 	}
 
 	/**
-	 * Favorites the status specified in the ID parameter as the authenticating user. Returns the favorite status when successful.
-	 * This process invoked by this method is asynchronous. The immediately returned status may not indicate the resultant favorited status of the tweet. A 200 OK response from this method will indicate whether the intended action was successful or not.
-	 *
-	 * @param id the id of tweet to favorite
-	 * @param includeEntities True if you want to include parsing of twitter entities false otherwise
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Asynchronous version of {@link #lookupStatuses(long[], boolean)}
 	 *
+	 * @return a future with the result of the petition
 	 */
-	public Tweet createFavorite(long id, boolean includeEntities) throws TwitterErrorRequestException {
+	public TwitterFuture<List<Tweet>> lookupStatusesAsync(final long[] ids, final boolean includeEntities) {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(Parameters.INCLUDE_ENTITIES.valuePairWith(Boolean.toString(includeEntities)));
-		nameValuePair.add(Parameters.ID.valuePairWith(Long.toString(id)));
+		return submit(new Callable<List<Tweet>>() {
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_CREATE_FAVORITE, nameValuePair);
+			@Override
+			public List<Tweet> call() throws Exception {
+				return lookupStatuses(ids, includeEntities);
+			}
 
-		if (response.getError() != null) {
+		});
 
-			throw new TwitterErrorRequestException(response.getError());
+	}
 
-		} else if (response.isNotEmpty()) {
+	/**
+	 * Asynchronous version of {@link #verifyCredentials(boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<User> verifyCredentialsAsync(final boolean includeEntities) {
 
-			return Tweet.parse(response.getResponseString());
+		return submit(new Callable<User>() {
 
-		}
+			@Override
+			public User call() throws Exception {
+				return verifyCredentials(includeEntities);
+			}
 
-		return null;
+		});
 
 	}
 
-	// ///////////////////////////////////////////////////////////////////////////
-	// Friends & followers
-	// ///////////////////////////////////////////////////////////////////////////
-
 	/**
-	 * Returns a cursored collection of user IDs for every user the specified user is following (otherwise known as their "friends").
-	 * At this time, results are ordered with the most recent following first ��� however, this ordering is subject to unannounced change and eventual consistency issues.
-	 * Results are given in groups of 5,000 user IDs and multiple "pages" of results can be navigated through using the next_cursor value in subsequent requests.
-	 * See Using cursors to navigate collections for more information.
-	 *
-	 * @param userId the user whose friends are requested. If empty, then screenName must be informed.
-	 * @param screenName the user name whose friends are requested. If empty, then userId must be informed
-	 * @param cursor The next cursor for a cursored query. If null, cursor = -1 is the default.
-	 * @param stringifyIds: true if the ids are retrieved as strings, false or null if ids are retrieved as longs
-	 * @return the list of identifiers of the friends of the user
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Asynchronous version of {@link #rateLimitStatus(List)}
 	 *
+	 * @return a future with the result of the petition
 	 */
-	public IdentifierList getFriendIds(Long userId, String screenName, Long cursor, Boolean stringifyIds) throws TwitterErrorRequestException {
-
-		// Check parameters: userId and screenName cannot be both null at the same time
-		if ((userId == null) && (Tools.isEmpty(screenName))) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
-		}
+	public TwitterFuture<List<ApiResourceFamily>> rateLimitStatusAsync(final List<String> resourceFamilies) {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		return submit(new Callable<List<ApiResourceFamily>>() {
 
-		if (userId != null) {
-			nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
-		}
+			@Override
+			public List<ApiResourceFamily> call() throws Exception {
+				return rateLimitStatus(resourceFamilies);
+			}
 
-		if (!Tools.isEmpty(screenName)) {
-			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
-		}
+		});
 
-		if (cursor != null) {
-			nameValuePair.add(Parameters.CURSOR.valuePairWith(cursor.toString()));
-		}
+	}
 
-		if (stringifyIds != null) {
-			nameValuePair.add(Parameters.STRINGIFY_IDS.valuePairWith(stringifyIds.toString()));
-		}
+	/**
+	 * Asynchronous version of {@link #retweetsOfMe(Integer, Long, Long, boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<List<Tweet>> retweetsOfMeAsync(final Integer count, final Long sinceId, final Long maxId, final boolean includeEntities) {
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_GET_FRIENDS, nameValuePair);
+		return submit(new Callable<List<Tweet>>() {
 
-		if (response.getError() != null) {
+			@Override
+			public List<Tweet> call() throws Exception {
+				return retweetsOfMe(count, sinceId, maxId, includeEntities);
+			}
 
-			throw new TwitterErrorRequestException(response.getError());
+		});
 
-		} else if (response.isNotEmpty()) {
+	}
 
-			try {
+	/**
+	 * Asynchronous version of {@link #homeTimeline(Integer, Long, Long, boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<List<Tweet>> homeTimelineAsync(final Integer count, final Long sinceId, final Long maxId, final boolean includeEntities) {
 
-				JSONObject jsonResponse = new JSONObject(response.getResponseString());
-				return new IdentifierList(jsonResponse);
+		return submit(new Callable<List<Tweet>>() {
 
-			} catch (JSONException e) {
-				LT(TAG, e);
+			@Override
+			public List<Tweet> call() throws Exception {
+				return homeTimeline(count, sinceId, maxId, includeEntities);
 			}
 
-		}
+		});
 
-		return null;
 	}
 
 	/**
-	 * Returns the relationships of the authenticating user to the comma-separated list of up to 100 screen_names or user_ids provided.
-	 *  Values for connections can be: following, following_requested, followed_by, none.
+	 * Asynchronous version of {@link #userTimeline(Long, String, Integer, Long, Long, Boolean, Boolean)}
 	 *
-	 * @param userIds A comma separated list of user IDs, up to 100 are allowed in a single request.
-	 * @param screenNames A comma separated list of screen names, up to 100 are allowed in a single request.
-	 * @return A list of friendships for the logged user
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @return a future with the result of the petition
 	 */
-	public List<Friendship> lookupFriendships(long[] userIds, List<String> screenNames) throws TwitterErrorRequestException {
+	public TwitterFuture<List<Tweet>> userTimelineAsync(final Long userId, final String screenName, final Integer count, final Long sinceId, final Long maxId, final Boolean exludeReplies, final Boolean includeRts) {
 
-		// Check parameters: userId and screenName cannot be both null at the same time
-		if ((userIds == null || userIds.length == 0) && (Tools.isEmpty(screenNames))) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
-		}
+		return submit(new Callable<List<Tweet>>() {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+			@Override
+			public List<Tweet> call() throws Exception {
+				return userTimeline(userId, screenName, count, sinceId, maxId, exludeReplies, includeRts);
+			}
 
-		if (userIds != null) {
-			nameValuePair.add(Parameters.USER_ID.valuePairWith(Tools.join(userIds, ',')));
-		}
+		});
 
-		if (!Tools.isEmpty(screenNames)) {
-			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(Tools.join(screenNames.toArray(), ',')));
-		}
+	}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_LOOKUP_FRIENDSHIPS, nameValuePair);
+	/**
+	 * Asynchronous version of {@link #searchBetween(String, Double, Double, String, long, long)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<List<Tweet>> searchBetweenAsync(final String query, final Double latitude, final Double longitude, final String radius, final long fromMillis, final long untilMillis) {
 
-		if (response.getError() != null) {
+		return submit(new Callable<List<Tweet>>() {
 
-			throw new TwitterErrorRequestException(response.getError());
+			@Override
+			public List<Tweet> call() throws Exception {
+				return searchBetween(query, latitude, longitude, radius, fromMillis, untilMillis);
+			}
 
-		} else if (response.isNotEmpty()) {
+		});
+
+	}
+
+	/**
+	 * Asynchronous version of {@link #homeTimelineBetween(long, long, boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<List<Tweet>> homeTimelineBetweenAsync(final long fromMillis, final long untilMillis, final boolean includeEntities) {
 
-			return Friendship.parseList(response.getResponseString());
+		return submit(new Callable<List<Tweet>>() {
 
-		}
+			@Override
+			public List<Tweet> call() throws Exception {
+				return homeTimelineBetween(fromMillis, untilMillis, includeEntities);
+			}
 
-		return null;
+		});
 
 	}
 
 	/**
-	 * Returns a cursored collection of user IDs for every user following the specified user.
-	 * At this time, results are ordered with the most recent following first ��� however, this ordering is subject to unannounced change and eventual consistency issues.
-	 * Results are given in groups of 5,000 user IDs and multiple "pages" of results can be navigated through using the next_cursor value in subsequent requests.
-	 * See Using cursors to navigate collections for more information.
+	 * Asynchronous version of {@link #userTimelineBetween(Long, String, long, long, Boolean, Boolean)}
 	 *
-	 * @param userId the user whose friends are requested. If empty, then screenName must be informed.
-	 * @param screenName the user name whose friends are requested. If empty, then userId must be informed
-	 * @param cursor The next cursor for a cursored query. If null, cursor = -1 is the default.
-	 * @param stringifyIds: true if the ids are retrieved as strings, false or null if ids are retrieved as longs
-	 * @return the list of identifiers of the friends of the user
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @return a future with the result of the petition
 	 */
-	public IdentifierList getFollowersIds(Long userId, String screenName, Long cursor, Boolean stringifyIds) throws TwitterErrorRequestException {
-
-		// Check parameters: userId and screenName cannot be both null at the same time
-		if ((userId == null) && (Tools.isEmpty(screenName))) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
-		}
+	public TwitterFuture<List<Tweet>> userTimelineBetweenAsync(final Long userId, final String screenName, final long fromMillis, final long untilMillis, final Boolean exludeReplies, final Boolean includeRts) {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+		return submit(new Callable<List<Tweet>>() {
 
-		if (userId != null) {
-			nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
-		}
+			@Override
+			public List<Tweet> call() throws Exception {
+				return userTimelineBetween(userId, screenName, fromMillis, untilMillis, exludeReplies, includeRts);
+			}
 
-		if (!Tools.isEmpty(screenName)) {
-			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
-		}
+		});
 
-		if (cursor != null) {
-			nameValuePair.add(Parameters.CURSOR.valuePairWith(cursor.toString()));
-		}
+	}
 
-		if (stringifyIds != null) {
-			nameValuePair.add(Parameters.STRINGIFY_IDS.valuePairWith(stringifyIds.toString()));
-		}
+	/**
+	 * Asynchronous version of {@link #mentionsTimeline(Integer, Long, Long, boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<List<Tweet>> mentionsTimelineAsync(final Integer count, final Long sinceId, final Long maxId, final boolean includeEntities) {
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_GET_FOLLOWERS, nameValuePair);
+		return submit(new Callable<List<Tweet>>() {
 
-		if (response.getError() != null) {
+			@Override
+			public List<Tweet> call() throws Exception {
+				return mentionsTimeline(count, sinceId, maxId, includeEntities);
+			}
 
-			throw new TwitterErrorRequestException(response.getError());
+		});
 
-		} else if (response.isNotEmpty()) {
+	}
 
-			try {
+	/**
+	 * Asynchronous version of {@link #retweet(long)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<Tweet> retweetAsync(final long id) {
 
-				JSONObject jsonResponse = new JSONObject(response.getResponseString());
-				return new IdentifierList(jsonResponse);
+		return submit(new Callable<Tweet>() {
 
-			} catch (JSONException e) {
-				LT(TAG, e);
+			@Override
+			public Tweet call() throws Exception {
+				return retweet(id);
 			}
 
-		}
+		});
 
-		return null;
 	}
 
 	/**
-	 * Allows the authenticating users to follow the user specified in the ID parameter.
-	 * Returns the befriended user in the requested format when successful. Returns a string describing the failure condition when unsuccessful. If you are already friends with the user a HTTP 403 may be returned, though for performance reasons you may get a 200 OK message even if the friendship already exists.
-	 * Actions taken in this method are asynchronous and changes will be eventually consistent.
+	 * Asynchronous version of {@link #firstRetweets(long)}
 	 *
-	 * @param userId The screen name of the user for whom to befriend.
-	 * @param screenName The ID of the user for whom to befriend.
-	 * @param follow Enable notifications for the target user.
-	 * @return the user who follows profile
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @return a future with the result of the petition
 	 */
-	public User createFriendship(Long userId, String screenName, Boolean follow) throws TwitterErrorRequestException {
+	public TwitterFuture<List<Tweet>> firstRetweetsAsync(final long id) {
 
-		// Check required parameters
-		if (userId == null && Tools.isEmpty(screenName)) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
-		}
+		return submit(new Callable<List<Tweet>>() {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+			@Override
+			public List<Tweet> call() throws Exception {
+				return firstRetweets(id);
+			}
 
-		if (userId != null) {
-			nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
-		}
+		});
 
-		if (!Tools.isEmpty(screenName)) {
-			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
-		}
+	}
 
-		if (follow != null) {
-			nameValuePair.add(Parameters.FOLLOW.valuePairWith(follow.toString()));
-		}
+	/**
+	 * Asynchronous version of {@link #update(String)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<Tweet> updateAsync(final String update) {
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_CREATE_FRIENDSHIP, nameValuePair);
+		return submit(new Callable<Tweet>() {
 
-		if (response.getError() != null) {
+			@Override
+			public Tweet call() throws Exception {
+				return update(update);
+			}
 
-			throw new TwitterErrorRequestException(response.getError());
+		});
 
-		} else if (response.isNotEmpty()) {
+	}
 
-			return User.parse(response.getResponseString());
+	/**
+	 * Asynchronous version of {@link #update(String, Long, Double, Double, Boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<Tweet> updateAsync(final String update, final Long inReplyToStatusId, final Double lat, final Double lon, final Boolean displayCoordinates) {
 
-		}
-		return null;
+		return submit(new Callable<Tweet>() {
+
+			@Override
+			public Tweet call() throws Exception {
+				return update(update, inReplyToStatusId, lat, lon, displayCoordinates);
+			}
+
+		});
 
 	}
 
 	/**
-	 * Allows the authenticating user to unfollow the user specified in the ID parameter.
-	 * Returns the unfollowed user in the requested format when successful. Returns a string describing the failure condition when unsuccessful.
-	 * Actions taken in this method are asynchronous and changes will be eventually consistent.
+	 * Asynchronous version of {@link #updateWithMedia(String, File, Long, Double, Double, Boolean)}
 	 *
-	 * @param userId The screen name of the user for whom to unfollow.
-	 * @param screenName The ID of the user for whom to unfollow.
-	 * @return the user who unfollows profile
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @return a future with the result of the petition
 	 */
-	public User destroyFriendship(Long userId, String screenName) throws TwitterErrorRequestException {
+	public TwitterFuture<Tweet> updateWithMediaAsync(final String status, final File fImg, final Long inReplyToStatusId, final Double lat, final Double lon, final Boolean displayCoordinates) {
 
-		// Check required parameters
-		if (userId == null && Tools.isEmpty(screenName)) {
-			throw new TwitterException(String.format(PARAMETER_REQUIRED, "userId or screenName"));
-		}
+		return submit(new Callable<Tweet>() {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+			@Override
+			public Tweet call() throws Exception {
+				return updateWithMedia(status, fImg, inReplyToStatusId, lat, lon, displayCoordinates);
+			}
 
-		if (userId != null) {
-			nameValuePair.add(Parameters.USER_ID.valuePairWith(userId.toString()));
-		}
+		});
 
-		if (!Tools.isEmpty(screenName)) {
-			nameValuePair.add(Parameters.SCREEN_NAME.valuePairWith(screenName));
-		}
+	}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_DESTROY_FRIENDSHIP, nameValuePair);
+	/**
+	 * Asynchronous version of {@link #favoritesList(Long, String, Integer, Long, Long, boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<List<Tweet>> favoritesListAsync(final Long userId, final String screenName, final Integer count, final Long sinceId, final Long maxId, final boolean includeEntities) {
 
-		if (response.getError() != null) {
+		return submit(new Callable<List<Tweet>>() {
 
-			throw new TwitterErrorRequestException(response.getError());
+			@Override
+			public List<Tweet> call() throws Exception {
+				return favoritesList(userId, screenName, count, sinceId, maxId, includeEntities);
+			}
 
-		} else if (response.isNotEmpty()) {
+		});
 
-			return User.parse(response.getResponseString());
+	}
 
-		}
+	/**
+	 * Asynchronous version of {@link #destroyFavorite(long, boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<Tweet> destroyFavoriteAsync(final long id, final boolean includeEntities) {
 
-		return null;
+		return submit(new Callable<Tweet>() {
 
-	}
+			@Override
+			public Tweet call() throws Exception {
+				return destroyFavorite(id, includeEntities);
+			}
 
-	// ///////////////////////////////////////////////////////////////////////////
-	// Trends
-	// ///////////////////////////////////////////////////////////////////////////
+		});
+
+	}
 
 	/**
-	 * Returns the locations that Twitter has trending topic information for, closest to a specified location.
-	 * The response is an array of "locations" that encode the location's WOEID and some other human-readable information such as a canonical name and country the location belongs in.
+	 * Asynchronous version of {@link #createFavorite(long, boolean)}
 	 *
-	 * @param lon If provided with a long parameter the available trend locations will be sorted by distance, nearest to furthest, to the co-ordinate pair. The valid ranges for longitude is -180.0 to +180.0 (West is negative, East is positive) inclusive.
-	 * @param lat If provided with a lat parameter the available trend locations will be sorted by distance, nearest to furthest, to the co-ordinate pair. The valid ranges for longitude is -180.0 to +180.0 (West is negative, East is positive) inclusive.
-	 * @return A list of places near the given coordinates
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * @return a future with the result of the petition
 	 */
-	public List<TrendPlace> closestPlaces(Double lon, Double lat) throws TwitterErrorRequestException {
-
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
+	public TwitterFuture<Tweet> createFavoriteAsync(final long id, final boolean includeEntities) {
 
-		if (lat != null) {
-			nameValuePair.add(Parameters.LATITUDE.valuePairWith(Double.toString(lat)));
-		}
+		return submit(new Callable<Tweet>() {
 
-		if (lon != null) {
-			nameValuePair.add(Parameters.LONGITUDE.valuePairWith(Double.toString(lon)));
-		}
+			@Override
+			public Tweet call() throws Exception {
+				return createFavorite(id, includeEntities);
+			}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_CLOSEST_PLACES, nameValuePair);
+		});
 
-		if (response.getError() != null) {
+	}
 
-			throw new TwitterErrorRequestException(response.getError());
+	/**
+	 * Asynchronous version of {@link #getFriendIds(Long, String, Long, Boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<IdentifierList> getFriendIdsAsync(final Long userId, final String screenName, final Long cursor, final Boolean stringifyIds) {
 
-		} else if (response.isNotEmpty()) {
+		return submit(new Callable<IdentifierList>() {
 
-			return TrendPlace.parseList(response.getResponseString());
+			@Override
+			public IdentifierList call() throws Exception {
+				return getFriendIds(userId, screenName, cursor, stringifyIds);
+			}
 
-		}
+		});
 
-		return null;
 	}
 
 	/**
-	 * Returns the top 10 trending topics for a specific WOEID, if trending information is available for it.
-	 * The response is an array of "trend" objects that encode the name of the trending topic, the query parameter that can be used to search for the topic on Twitter Search, and the Twitter Search URL.
-	 * This information is cached for 5 minutes. Requesting more frequently than that will not return any more data, and will count against your rate limit usage.
-	 *
-	 * @param woeid The Yahoo! Where On Earth ID of the location to return trending information for. Global information is available by using 1 as the WOEID
-	 * @param exclude Setting this equal to hashtags will remove all hashtags from the trends list.
-	 * @return a list of trends
-	 * @throws TwitterErrorRequestException Throws a Twitter Error request exception if something fails exs: Communication error / twitter api down / Twitter params request errors..
+	 * Asynchronous version of {@link #lookupFriendships(long[], List)}
 	 *
+	 * @return a future with the result of the petition
 	 */
-	public List<Trend> trendsForPlace(long woeid, String exclude) throws TwitterErrorRequestException {
+	public TwitterFuture<List<Friendship>> lookupFriendshipsAsync(final long[] userIds, final List<String> screenNames) {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(Parameters.ID.valuePairWith(Double.toString(woeid)));
+		return submit(new Callable<List<Friendship>>() {
 
-		if (Tools.isNotEmpty(exclude)) {
-			nameValuePair.add(Parameters.EXCLUDE.valuePairWith(exclude));
-		}
+			@Override
+			public List<Friendship> call() throws Exception {
+				return lookupFriendships(userIds, screenNames);
+			}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.GET, Urls.URL_TRENDS_PLACE, nameValuePair);
+		});
 
-		if (response.getError() != null) {
+	}
 
-			throw new TwitterErrorRequestException(response.getError());
+	/**
+	 * Asynchronous version of {@link #getFollowersIds(Long, String, Long, Boolean)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<IdentifierList> getFollowersIdsAsync(final Long userId, final String screenName, final Long cursor, final Boolean stringifyIds) {
 
-		} else if (response.isNotEmpty()) {
+		return submit(new Callable<IdentifierList>() {
 
-			return Trend.parseList(response.getResponseString());
+			@Override
+			public IdentifierList call() throws Exception {
+				return getFollowersIds(userId, screenName, cursor, stringifyIds);
+			}
 
-		}
+		});
 
-		return null;
 	}
 
 	/**
-	 * Invalidates current token via oauth basic authorization
-	 * @return The access token (bearer)
-	 * @throws TwitterErrorRequestException
+	 * Asynchronous version of {@link #createFriendship(Long, String, Boolean)}
+	 *
+	 * @return a future with the result of the petition
 	 */
-	public String obtainBearerToken() throws TwitterErrorRequestException {
+	public TwitterFuture<User> createFriendshipAsync(final Long userId, final String screenName, final Boolean follow) {
 
-		Map<String, String> headers = new HashMap<String, String>();
-		String header = "Basic " + twitterHttpClient.getOauthBase64BearerToken();
-		headers.put("Authorization", header);
-		headers.put("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8");
+		return submit(new Callable<User>() {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(new BasicNameValuePair("grant_type", "client_credentials"));
+			@Override
+			public User call() throws Exception {
+				return createFriendship(userId, screenName, follow);
+			}
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_OBTAIN_BEARER_TOKEN.getUrl(), nameValuePair, headers);
+		});
 
-		if (response.getError() != null) {
+	}
 
-			throw new TwitterErrorRequestException(response.getError());
+	/**
+	 * Asynchronous version of {@link #destroyFriendship(Long, String)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<User> destroyFriendshipAsync(final Long userId, final String screenName) {
 
-		} else if (response.isNotEmpty()) {
+		return submit(new Callable<User>() {
 
-			String rString = response.getResponseString();
-			JSONObject jsonObj;
-			try {
+			@Override
+			public User call() throws Exception {
+				return destroyFriendship(userId, screenName);
+			}
 
-				jsonObj = new JSONObject(rString);
-                return jsonObj.getString("access_token");
+		});
 
-			} catch (JSONException e) {
-				e.printStackTrace();
+	}
+
+	/**
+	 * Asynchronous version of {@link #closestPlaces(Double, Double)}
+	 *
+	 * @return a future with the result of the petition
+	 */
+	public TwitterFuture<List<TrendPlace>> closestPlacesAsync(final Double lon, final Double lat) {
+
+		return submit(new Callable<List<TrendPlace>>() {
+
+			@Override
+			public List<TrendPlace> call() throws Exception {
+				return closestPlaces(lon, lat);
 			}
 
-		}
+		});
 
-		return null;
 	}
 
 	/**
-	 * Invalidates current token via oauth basic authorization
-	 * @return The access token (bearer)
-	 * @throws TwitterErrorRequestException
+	 * Asynchronous version of {@link #trendsForPlace(long, String)}
+	 *
+	 * @return a future with the result of the petition
 	 */
-	public String invalidateBearerToken(String accessTokenBearer) throws TwitterErrorRequestException {
-
-		Map<String, String> headers = new HashMap<String, String>();
-		headers.put("Authorization", "Basic " + twitterHttpClient.getOauthBase64BearerToken());
-		headers.put("Content-Type", "application/x-www-form-urlencoded;charset=UTF-8");
+	public TwitterFuture<List<Trend>> trendsForPlaceAsync(final long woeid, final String exclude) {
 
-		List<NameValuePair> nameValuePair = new ArrayList<NameValuePair>();
-		nameValuePair.add(new BasicNameValuePair("access_token", accessTokenBearer));
+		return submit(new Callable<List<Trend>>() {
 
-		ResponseString response = twitterHttpClient.makeRequestWithParameters(Request.POST, Urls.URL_INVALIDATE_BEARER_TOKEN.getUrl(), nameValuePair, headers);
-		
-		if (response.getError() != null) {
-			
-			throw new TwitterErrorRequestException(response.getError());
-			
-		} else if (response.isNotEmpty()) {
-			
-			String rString = response.getResponseString();
-			JSONObject jsonObj;
-			try {
-				
-				jsonObj = new JSONObject(rString);
-                return jsonObj.getString("access_token");
-				
-			} catch (JSONException e) {
-				e.printStackTrace();
+			@Override
+			public List<Trend> call() throws Exception {
+				return trendsForPlace(woeid, exclude);
 			}
-			
-		}
-		
-		return null;
+
+		});
+
 	}
-	
+
 }
@@ -0,0 +1,23 @@
+package com.bakingcode.io.twitter;
+
+/**
+ * Listener notified when an asynchronous twitter petition finishes. Callbacks are invoked in the thread
+ * that completes the petition, post the result to your own handler if you need to touch the UI.
+ *
+ * @param <T> type of the petition result
+ */
+public interface TwitterCallback<T> {
+
+    /**
+     * Called when the petition finishes successfully
+     * @param result the petition result, may be null if twitter returned an empty response
+     */
+    public void onSuccess(T result);
+
+    /**
+     * Called when the petition fails or is cancelled
+     * @param error the cause of the failure, usually a TwitterErrorRequestException or a CancellationException
+     */
+    public void onFailure(Throwable error);
+
+}
@@ -0,0 +1,384 @@
+package com.bakingcode.io.twitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
+
+/**
+ * Result of an asynchronous twitter petition. Besides the plain Future contract it can notify callbacks,
+ * be chained with other petitions and be cancelled automatically when a deadline expires.
+ *
+ * @param <T> type of the petition result
+ */
+public class TwitterFuture<T> extends FutureTask<T> {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "TwitterFuture";
+
+    /**
+     * Shared timer that cancels the futures whose deadline expires
+     */
+    private static final ScheduledExecutorService deadlineTimer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+        @Override
+        public Thread newThread(Runnable r) {
+
+            Thread t = new Thread(r, "ara-twitter-deadlines");
+            t.setDaemon(true);
+            return t;
+
+        }
+
+    });
+
+    /**
+     * Task of the deadline timer that cancels a future. The future is released when it finishes, so a task left
+     * in the timer queue until its time does not keep the future, its result and its callbacks alive.
+     */
+    private static class DeadlineTask implements Runnable {
+
+        /**
+         * Future to cancel, null once it has finished
+         */
+        volatile TwitterFuture<?> future;
+
+        /**
+         * Timer entry of the task
+         */
+        volatile ScheduledFuture<?> timer;
+
+        @Override
+        public void run() {
+
+            TwitterFuture<?> f = future;
+
+            if (f != null) {
+                f.cancel(true);
+            }
+
+        }
+
+    }
+
+    /**
+     * Callbacks waiting for the result. Null once they have been dispatched.
+     */
+    private List<TwitterCallback<? super T>> callbacks = new ArrayList<TwitterCallback<? super T>>();
+
+    /**
+     * Future this one depends on, cancelling this future cancels it too
+     */
+    private volatile TwitterFuture<?> upstream;
+
+    /**
+     * Token of the petition, cancelling this future aborts its connection too
+     */
+    private volatile CancellationToken cancellationToken;
+
+    /**
+     * Deadlines of this future, cancelled when it finishes
+     */
+    private List<DeadlineTask> deadlines;
+
+    /**
+     * Transformation of the result of a petition into the input of the next one
+     *
+     * @param <T> type of the previous result
+     * @param <R> type of the new result
+     */
+    public interface Continuation<T, R> {
+
+        /**
+         * Transforms the result of the previous petition
+         * @param result the previous result
+         * @return the new result
+         * @throws Exception if the transformation fails, the chained future fails with this cause
+         */
+        public R apply(T result) throws Exception;
+
+    }
+
+    /**
+     * Creates a future that will run the given callable
+     * @param callable the petition
+     */
+    public TwitterFuture(Callable<T> callable) {
+        super(callable);
+    }
+
+    /**
+     * Sets the token of the petition, so cancelling this future also aborts its running connection
+     *
+     * @param cancellationToken the token of the petition
+     * @return this future
+     */
+    public TwitterFuture<T> setCancellationToken(CancellationToken cancellationToken) {
+
+        this.cancellationToken = cancellationToken;
+
+        if (isCancelled() && cancellationToken != null) {
+            cancellationToken.cancel();
+        }
+
+        return this;
+
+    }
+
+    /**
+     * Registers a callback. If the petition already finished it is called immediately in the caller thread.
+     *
+     * @param callback callback to notify
+     * @return this future
+     */
+    public TwitterFuture<T> addCallback(TwitterCallback<? super T> callback) {
+
+        synchronized (this) {
+
+            if (callbacks != null) {
+                callbacks.add(callback);
+                return this;
+            }
+
+        }
+
+        dispatch(callback);
+        return this;
+
+    }
+
+    /**
+     * Cancels this petition if it has not finished when the timeout expires. The callbacks receive a
+     * CancellationException in that case.
+     *
+     * @param timeout the timeout
+     * @param unit unit of the timeout
+     * @return this future
+     */
+    public TwitterFuture<T> withDeadline(long timeout, TimeUnit unit) {
+
+        DeadlineTask task = new DeadlineTask();
+        task.future = this;
+
+        synchronized (this) {
+
+            // Finished futures have dispatched their callbacks
+            if (callbacks == null) {
+                return this;
+            }
+
+            if (deadlines == null) {
+                deadlines = new ArrayList<DeadlineTask>(1);
+            }
+
+            deadlines.add(task);
+
+        }
+
+        task.timer = deadlineTimer.schedule(task, timeout, unit);
+
+        if (isDone()) {
+            releaseDeadlines();
+        }
+
+        return this;
+
+    }
+
+    /**
+     * Chains a transformation that runs as soon as this petition succeeds, in the thread that completes it.
+     * If this petition fails the returned future fails with the same cause.
+     *
+     * @param continuation the transformation
+     * @param <R> type of the new result
+     * @return a future with the transformed result
+     */
+    public <R> TwitterFuture<R> then(final Continuation<? super T, R> continuation) {
+
+        final TwitterFuture<R> next = new TwitterFuture<R>(new Callable<R>() {
+
+            @Override
+            public R call() throws Exception {
+                return continuation.apply(getUninterruptibly());
+            }
+
+        });
+
+        next.upstream = this;
+
+        addCallback(new TwitterCallback<T>() {
+
+            @Override
+            public void onSuccess(T result) {
+                next.run();
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+
+                if (error instanceof CancellationException) {
+                    next.cancel(false);
+                } else {
+                    next.setException(error);
+                }
+
+            }
+
+        });
+
+        return next;
+
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+
+        TwitterFuture<?> previous = upstream;
+
+        if (previous != null) {
+            previous.cancel(mayInterruptIfRunning);
+        }
+
+        CancellationToken token = cancellationToken;
+
+        if (token != null) {
+            token.cancel();
+        }
+
+        return super.cancel(mayInterruptIfRunning);
+
+    }
+
+    @Override
+    protected void done() {
+
+        List<TwitterCallback<? super T>> pending;
+
+        synchronized (this) {
+
+            pending = callbacks;
+            callbacks = null;
+
+        }
+
+        releaseDeadlines();
+
+        if (pending != null) {
+
+            for (TwitterCallback<? super T> callback : pending) {
+                dispatch(callback);
+            }
+
+        }
+
+    }
+
+    /**
+     * Cancels the deadlines of this future once it has finished and releases it from their tasks
+     */
+    private void releaseDeadlines() {
+
+        List<DeadlineTask> tasks;
+
+        synchronized (this) {
+
+            tasks = deadlines;
+            deadlines = null;
+
+        }
+
+        if (tasks == null) {
+            return;
+        }
+
+        for (DeadlineTask task : tasks) {
+
+            task.future = null;
+            ScheduledFuture<?> timer = task.timer;
+
+            if (timer != null) {
+                timer.cancel(false);
+            }
+
+        }
+
+    }
+
+    /**
+     * Notifies the result of this future to a callback
+     * @param callback callback to notify
+     */
+    private void dispatch(TwitterCallback<? super T> callback) {
+
+        try {
+
+            T result;
+
+            try {
+
+                result = getUninterruptibly();
+
+            } catch (CancellationException e) {
+
+                callback.onFailure(e);
+                return;
+
+            } catch (ExecutionException e) {
+
+                callback.onFailure(e.getCause());
+                return;
+
+            }
+
+            callback.onSuccess(result);
+
+        } catch (Throwable e) {
+            LT(TAG, e);
+        }
+
+    }
+
+    /**
+     * Gets the result of a finished future ignoring interruptions of the calling thread
+     *
+     * @return the result
+     * @throws ExecutionException if the petition failed
+     */
+    private T getUninterruptibly() throws ExecutionException {
+
+        boolean interrupted = false;
+
+        try {
+
+            while (true) {
+
+                try {
+                    return get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+
+            }
+
+        } finally {
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+        }
+
+    }
+
+}
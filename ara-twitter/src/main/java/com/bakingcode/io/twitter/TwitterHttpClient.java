@@ -4,17 +4,28 @@ import android.net.Uri;
 import android.net.Uri.Builder;
 import android.util.Base64;
 import com.bakingcode.io.twitter.exceptions.TwitterCommunicationException;
+import com.bakingcode.io.twitter.exceptions.TwitterParseException;
+import com.bakingcode.io.twitter.model.ApiMethod;
+import com.bakingcode.io.twitter.model.ParsedResponse;
+import com.bakingcode.io.twitter.model.PoolStats;
 import com.bakingcode.io.twitter.model.ResponseString;
 import com.bakingcode.io.twitter.model.TwitterError;
+import com.bakingcode.io.twitter.tools.JsonStreamReader;
+import com.bakingcode.io.twitter.tools.MalformedJsonException;
+import com.bakingcode.io.twitter.tools.OAuthSigner;
 import com.bakingcode.io.twitter.tools.Tools;
 import oauth.signpost.OAuthConsumer;
 import oauth.signpost.commonshttp.CommonsHttpOAuthConsumer;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.params.ConnManagerParams;
+import org.apache.http.conn.params.ConnPerRouteBean;
 import org.apache.http.conn.scheme.PlainSocketFactory;
 import org.apache.http.conn.scheme.Scheme;
 import org.apache.http.conn.scheme.SchemeRegistry;
@@ -25,21 +36,30 @@ import org.apache.http.entity.mime.MultipartEntity;
 import org.apache.http.entity.mime.content.FileBody;
 import org.apache.http.entity.mime.content.StringBody;
 import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
 import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
 import org.apache.http.params.HttpParams;
 import org.apache.http.util.EntityUtils;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
 import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
@@ -60,6 +80,21 @@ public final class TwitterHttpClient {
 	 */
 	public final static String UTF8_ENCODING = "UTF-8";
 
+	/**
+	 * Header with the requests allowed in the rate limit window of the endpoint
+	 */
+	public final static String HEADER_RATE_LIMIT_LIMIT = "x-rate-limit-limit";
+
+	/**
+	 * Header with the requests left in the rate limit window of the endpoint
+	 */
+	public final static String HEADER_RATE_LIMIT_REMAINING = "x-rate-limit-remaining";
+
+	/**
+	 * Header with the time the rate limit window resets, in seconds since the epoch
+	 */
+	public final static String HEADER_RATE_LIMIT_RESET = "x-rate-limit-reset";
+
     /**
      * Logging tag
      */
@@ -73,6 +108,17 @@ public final class TwitterHttpClient {
 	 * OAuth consumer for provide signing on petitions
 	 */
 	private OAuthConsumer consumer = null;
+
+	/**
+	 * Thread safe signer of the petitions, built from the credentials of the consumer
+	 */
+	private volatile OAuthSigner signer;
+
+	/**
+	 * Application-only bearer token. When it is set the petitions of Twitter to the endpoints that accept
+	 * application-only authentication are authorized with it instead of being signed
+	 */
+	private volatile String bearerToken;
 	
 	// ///////////////////////////////////////////////////////////////////////////
 	// Twitter private members
@@ -82,11 +128,37 @@ public final class TwitterHttpClient {
 	 * Http client to make requests
 	 */
 	private DefaultHttpClient httpClient;
+
+	/**
+	 * Keep-alive connection pool shared by all the requests of this client
+	 */
+	private CountingConnManager connectionManager;
+
+	/**
+	 * Pool settings used to build the connection manager
+	 */
+	private ConnectionPoolSettings poolSettings;
+
+	/**
+	 * Default timeouts of the petitions, read on every petition
+	 */
+	private volatile TimeoutSettings timeoutSettings;
+
+	/**
+	 * Background task that evicts expired and idle connections from the pool, it also aborts the petitions whose
+	 * deadline expires
+	 */
+	private ScheduledExecutorService connectionReaper;
+
+	/**
+	 * Requests currently running (waiting for a connection or using it)
+	 */
+	private final AtomicInteger runningRequests = new AtomicInteger();
 	
 	/**
-	 * Current requests
+	 * Current requests of this client
 	 */
-	private static final List<HttpRequestBase> currentRequests = new ArrayList<HttpRequestBase>();
+	private final ConcurrentMap<HttpRequestBase, Boolean> currentRequests = new ConcurrentHashMap<HttpRequestBase, Boolean>();
 	
 	/**
 	 *  Enum request generator
@@ -223,14 +295,56 @@ public final class TwitterHttpClient {
 	 * @param tokenSecret token secret
 	 */
 	public TwitterHttpClient(String consumerKey, String consumerSecret, String token, String tokenSecret) {
-		
-		// Create default http client
+
+		this(consumerKey, consumerSecret, token, tokenSecret, new ConnectionPoolSettings());
+
+	}
+
+	/**
+	 * Creates a twitter consumer by all the secrets with a custom connection pool
+	 *
+	 * @param consumerKey consumer key
+	 * @param consumerSecret consumer secret
+	 * @param token token
+	 * @param tokenSecret token secret
+	 * @param poolSettings settings of the keep-alive connection pool
+	 */
+	public TwitterHttpClient(String consumerKey, String consumerSecret, String token, String tokenSecret, ConnectionPoolSettings poolSettings) {
+
+		this(consumerKey, consumerSecret, token, tokenSecret, poolSettings, new TimeoutSettings());
+
+	}
+
+	/**
+	 * Creates a twitter consumer with custom connection pool and timeouts
+	 *
+	 * @param consumerKey consumer key
+	 * @param consumerSecret consumer secret
+	 * @param token token
+	 * @param tokenSecret token secret
+	 * @param poolSettings settings of the keep-alive connection pool
+	 * @param timeoutSettings default timeouts of the petitions
+	 */
+	public TwitterHttpClient(String consumerKey, String consumerSecret, String token, String tokenSecret, ConnectionPoolSettings poolSettings, TimeoutSettings timeoutSettings) {
+
+		this.poolSettings = poolSettings;
+		this.timeoutSettings = timeoutSettings;
+
+		// Create pooled http client. Stale checks are disabled because the reaper evicts dead connections
 		HttpParams httpParams = new BasicHttpParams();
+		ConnManagerParams.setMaxTotalConnections(httpParams, poolSettings.getMaxTotalConnections());
+		ConnManagerParams.setMaxConnectionsPerRoute(httpParams, new ConnPerRouteBean(poolSettings.getMaxConnectionsPerRoute()));
+		HttpConnectionParams.setStaleCheckingEnabled(httpParams, false);
+		applyTimeouts(httpParams, timeoutSettings, 0);
+
 		SchemeRegistry registry = new SchemeRegistry();
 		registry.register(new Scheme("http", new PlainSocketFactory(), 80));
 		registry.register(new Scheme("https", SSLSocketFactory.getSocketFactory(), 443));
-        
-		httpClient = new DefaultHttpClient(new ThreadSafeClientConnManager(httpParams, registry), httpParams);
+
+		connectionManager = new CountingConnManager(httpParams, registry);
+		httpClient = new DefaultHttpClient(connectionManager, httpParams);
+
+		startConnectionReaper();
 		
 		// Set consumer
 		consumer = new CommonsHttpOAuthConsumer(consumerKey, consumerSecret);
@@ -286,12 +400,77 @@ public final class TwitterHttpClient {
 	 * @param f file to upload
 	 */
 	public ResponseString makeRequestWithParameters(Request rType, String url, List<NameValuePair> valuePairs, Map<String, String> headers, File f) {
+
+		return makeRequestWithParameters(rType, url, valuePairs, headers, f, null);
+
+	}
+
+	/**
+	 * Makes a request with the given parameters. If a streaming parser is given, a successful body is parsed
+	 * while it is read from the connection and the response string is not kept.
+	 *
+	 * @param rType request type
+	 * @param url url to make request
+	 * @param valuePairs parameters
+	 * @param headers headers to add, an Authorization header disables the oauth signing
+	 * @param f file to upload
+	 * @param parser streaming parser for the body or null to read it as a string
+	 * @param <T> type of the parsed body
+	 * @return the response
+	 */
+	public <T> ParsedResponse<T> makeRequestWithParameters(Request rType, String url, List<NameValuePair> valuePairs, Map<String, String> headers, File f, StreamingResponseParser<T> parser) {
+
+		return makeRequestWithParameters(rType, url, valuePairs, headers, f, parser, null);
+
+	}
+
+	/**
+	 * Makes a request with the given parameters that can be cancelled with a token
+	 *
+	 * @param rType request type
+	 * @param url url to make request
+	 * @param valuePairs parameters
+	 * @param headers headers to add, an Authorization header disables the oauth signing
+	 * @param f file to upload
+	 * @param parser streaming parser for the body or null to read it as a string
+	 * @param cancellation token that aborts the request when it is cancelled, or null
+	 * @param <T> type of the parsed body
+	 * @return the response, with a communication error if the request is cancelled
+	 */
+	public <T> ParsedResponse<T> makeRequestWithParameters(Request rType, String url, List<NameValuePair> valuePairs, Map<String, String> headers, File f, StreamingResponseParser<T> parser, CancellationToken cancellation) {
+
+		return makeRequestWithParameters(rType, url, valuePairs, headers, f, parser, cancellation, null, null);
+
+	}
+
+	/**
+	 * Makes a request with the given parameters, timeouts and deadline. The connection is aborted when the
+	 * deadline expires, wherever the request is: waiting for a pooled connection, in the round trip or being
+	 * parsed.
+	 *
+	 * @param rType request type
+	 * @param url url to make request
+	 * @param valuePairs parameters
+	 * @param headers headers to add, an Authorization header disables the oauth signing
+	 * @param f file to upload
+	 * @param parser streaming parser for the body or null to read it as a string
+	 * @param cancellation token that aborts the request when it is cancelled, or null
+	 * @param timeouts timeouts of the request or null to use the ones of this client
+	 * @param deadline time by which the request must finish or null if there is none
+	 * @param <T> type of the parsed body
+	 * @return the response, with a communication error if the request is cancelled or its deadline expires
+	 */
+	public <T> ParsedResponse<T> makeRequestWithParameters(Request rType, String url, List<NameValuePair> valuePairs, Map<String, String> headers, File f, StreamingResponseParser<T> parser, CancellationToken cancellation, TimeoutSettings timeouts, Deadline deadline) {
 		
 		// Create request
-		HttpRequestBase baseRequest = rType.generateRequest(url, valuePairs, f);
+		final HttpRequestBase baseRequest = rType.generateRequest(url, valuePairs, f);
+
+		// Timeouts, bounded by the time left until the deadline
+		long remaining = deadline != null ? Math.max(1, deadline.getRemainingMillis()) : 0;
+		applyTimeouts(baseRequest.getParams(), timeouts != null ? timeouts : timeoutSettings, remaining);
 
 		// Store connection for later abort
-		currentRequests.add(baseRequest);
+		currentRequests.put(baseRequest, Boolean.TRUE);
 		
 		// Add headers
 		boolean signPetition = true;
@@ -310,49 +489,126 @@ public final class TwitterHttpClient {
 		}
 
 		// Create response 
-		ResponseString resp = new ResponseString();
+		ParsedResponse<T> resp = new ParsedResponse<T>();
+		boolean connectionReleased = false;
+		runningRequests.incrementAndGet();
 		
+		ScheduledFuture<?> deadlineAbort = null;
+		long started = 0;
+
 		try {
 
+			if (cancellation != null && !cancellation.register(baseRequest)) {
+
+				resp.setError(new TwitterCommunicationException(CancellationToken.CANCELLED_MESSAGE));
+				return resp;
+
+			}
+
+			if (deadline != null) {
+
+				if (deadline.isExpired()) {
+
+					resp.setError(new TwitterCommunicationException(Deadline.EXPIRED_MESSAGE));
+					return resp;
+
+				}
+
+				deadlineAbort = connectionReaper.schedule(new Runnable() {
+
+					@Override
+					public void run() {
+						baseRequest.abort();
+					}
+
+				}, deadline.getRemainingMillis(), TimeUnit.MILLISECONDS);
+
+			}
+
 			if (signPetition) {
 				
-				// Sign petition
-				consumer.sign(baseRequest);
+				// Sign petition. Multipart bodies are not part of the signature
+				List<NameValuePair> signedPairs = rType == Request.POST_WITH_MEDIA ? null : valuePairs;
+				baseRequest.setHeader("Authorization", getSigner().sign(baseRequest.getMethod(), url, signedPairs));
 				
 			}
 			
 			// Make request
+			started = System.currentTimeMillis();
 			HttpResponse response = httpClient.execute(baseRequest);
+			resp.setRateLimit(readRateLimit(response));
 			
 			// Read content from response
 			L(TAG, "rType: "+ rType.toString() + ", url: " + url + "\n");
-			String responseString = EntityUtils.toString(response.getEntity(), UTF8_ENCODING);
-			
-			if (response.getStatusLine().getStatusCode() != HttpURLConnection.HTTP_OK) {
-				
-				TwitterError e = TwitterError.parse(responseString);
-				resp.setError(e);
-				
+			int statusCode = response.getStatusLine().getStatusCode();
+			boolean success = statusCode == HttpURLConnection.HTTP_OK;
+			resp.setStatusCode(statusCode);
+
+			if (success && parser != null && response.getEntity() != null) {
+
+				resp.setContentLength(response.getEntity().getContentLength());
+				resp.setResult(parseAndRelease(response, parser));
+				connectionReleased = true;
+
+			} else {
+
+				String responseString = readAndRelease(response);
+				connectionReleased = true;
+
+				if (responseString != null) {
+					resp.setContentLength(responseString.length());
+				}
+
+				if (!success) {
+
+					// A body without twitter errors, e.g. the html page of a proxy, still is an error
+					TwitterError e = TwitterError.parse(responseString);
+					resp.setError(e != null ? e : new TwitterCommunicationException("HTTP " + statusCode));
+
+				}
+
+				resp.setResponseString(responseString);
+
+				L(TAG, responseString);
+
 			}
-			
-			resp.setResponseString(responseString);
-			
-			L(TAG, responseString);
 				
 		} catch (Throwable e) {
 			
-			resp.setError(new TwitterCommunicationException(e.getLocalizedMessage()));
+			// Cancelled and expired petitions keep no cause, so they are not taken for a retryable I/O error
+			if (cancellation != null && cancellation.isCancelled()) {
+				resp.setError(new TwitterCommunicationException(CancellationToken.CANCELLED_MESSAGE));
+			} else if (deadline != null && deadline.isExpired()) {
+				resp.setError(new TwitterCommunicationException(Deadline.EXPIRED_MESSAGE));
+			} else if (e instanceof MalformedJsonException) {
+				resp.setError(new TwitterParseException(e.getLocalizedMessage(), e));
+			} else {
+				resp.setError(new TwitterCommunicationException(e.getLocalizedMessage(), e));
+			}
 			
 			LT(TAG, e);
 			
 		} finally {
 			
-			if (currentRequests.contains(baseRequest)) {
-				currentRequests.remove(baseRequest);
+			if (deadlineAbort != null) {
+				deadlineAbort.cancel(false);
+			}
+
+			if (started > 0) {
+				resp.setElapsedMillis(System.currentTimeMillis() - started);
+			}
+
+			runningRequests.decrementAndGet();
+			currentRequests.remove(baseRequest);
+
+			if (cancellation != null) {
+				cancellation.unregister(baseRequest);
 			}
 			
-			// Close connection
-			baseRequest.abort();
+			// Only a half-read connection is closed, a fully consumed one is already back in the pool
+			if (!connectionReleased) {
+				baseRequest.abort();
+			}
 			
 		}
 		
@@ -360,26 +616,222 @@ public final class TwitterHttpClient {
 	}
 	
 	/**
-	 * Aborts all current connections
+	 * Sets the timeouts of a client or a request
+	 *
+	 * @param params params of the client or the request
+	 * @param timeouts the timeouts
+	 * @param remaining millis left until the deadline of the request, 0 if it has no deadline
 	 */
-	public void abortAllConnections() {
-		
-		synchronized (currentRequests) {
-			
-			Iterator<HttpRequestBase> it = currentRequests.iterator();
+	private static void applyTimeouts(HttpParams params, TimeoutSettings timeouts, long remaining) {
+
+		HttpConnectionParams.setConnectionTimeout(params, (int) bound(timeouts.getConnectTimeoutMillis(), remaining));
+		HttpConnectionParams.setSoTimeout(params, (int) bound(timeouts.getSocketTimeoutMillis(), remaining));
+		ConnManagerParams.setTimeout(params, bound(timeouts.getConnectionRequestTimeoutMillis(), remaining));
+
+	}
+
+	/**
+	 * Bounds a timeout by the time left until a deadline
+	 *
+	 * @param timeout the timeout, 0 for none
+	 * @param remaining millis left until the deadline, 0 if there is none
+	 * @return the bounded timeout, 0 for none
+	 */
+	private static long bound(long timeout, long remaining) {
+
+		if (remaining <= 0) {
+			return timeout;
+		}
+
+		return timeout <= 0 ? remaining : Math.min(timeout, remaining);
+
+	}
+
+	/**
+	 * Reads the rate limit headers of a response
+	 *
+	 * @param response http response
+	 * @return the rate limit status, without method, or null if the response has no rate limit headers
+	 */
+	private ApiMethod readRateLimit(HttpResponse response) {
+
+		Header limit = response.getFirstHeader(HEADER_RATE_LIMIT_LIMIT);
+		Header remaining = response.getFirstHeader(HEADER_RATE_LIMIT_REMAINING);
+		Header reset = response.getFirstHeader(HEADER_RATE_LIMIT_RESET);
+
+		if (limit == null || remaining == null || reset == null) {
+			return null;
+		}
+
+		try {
+
+			return new ApiMethod(null, Integer.parseInt(limit.getValue().trim()), Integer.parseInt(remaining.getValue().trim()), Long.parseLong(reset.getValue().trim()));
+
+		} catch (NumberFormatException e) {
+			LT(TAG, e);
+		}
+
+		return null;
+
+	}
+
+	/**
+	 * Reads the whole entity of the response and gives back the connection to the pool
+	 *
+	 * @param response http response
+	 * @return the response body or null if the response has no entity
+	 * @throws IOException if the body cannot be read
+	 */
+	private String readAndRelease(HttpResponse response) throws IOException {
+
+		HttpEntity entity = response.getEntity();
+
+		if (entity == null) {
+			return null;
+		}
+
+		try {
+
+			return EntityUtils.toString(entity, UTF8_ENCODING);
+
+		} finally {
+
+			// Ensures the content stream is closed so the connection is released for reuse
+			entity.consumeContent();
+
+		}
+
+	}
+
+	/**
+	 * Parses the entity of the response while it is read and gives back the connection to the pool
+	 *
+	 * @param response http response with an entity
+	 * @param parser streaming parser
+	 * @param <T> type of the parsed body
+	 * @return the parsed body
+	 * @throws IOException if the body cannot be read, a MalformedJsonException if it is not valid
+	 */
+	private <T> T parseAndRelease(HttpResponse response, StreamingResponseParser<T> parser) throws IOException {
+
+		HttpEntity entity = response.getEntity();
+		JsonStreamReader reader = new JsonStreamReader(new InputStreamReader(entity.getContent(), UTF8_ENCODING));
+
+		T result = parser.parse(reader);
+
+		// Drains anything left after the parsed value so the connection can be reused
+		entity.consumeContent();
+
+		return result;
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Connection pool
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Starts the daemon task that evicts expired and idle connections of the pool
+	 */
+	private void startConnectionReaper() {
+
+		connectionReaper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+
+				Thread t = new Thread(r, "ara-twitter-connection-reaper");
+				t.setDaemon(true);
+				return t;
+
+			}
+
+		});
+
+		long interval = poolSettings.getReaperIntervalMillis();
+		connectionReaper.scheduleWithFixedDelay(new Runnable() {
+
+			@Override
+			public void run() {
 
-			while(it.hasNext()) {
-	
 				try {
-					
-					it.next().abort();
-					it.remove();
-					
+
+					connectionManager.closeExpiredConnections();
+					connectionManager.closeIdleConnections(poolSettings.getIdleConnectionTimeoutMillis(), TimeUnit.MILLISECONDS);
+
 				} catch (Throwable e) {
-                    LT(TAG, e);
-                }
-				
+					LT(TAG, e);
+				}
+
 			}
+
+		}, interval, interval, TimeUnit.MILLISECONDS);
+
+	}
+
+	/**
+	 * Gets a snapshot of the connection pool usage
+	 *
+	 * @return the pool statistics
+	 */
+	public PoolStats getPoolStats() {
+
+		int inPool = connectionManager.getConnectionsInPool();
+		int leased = connectionManager.getLeased();
+
+		return new PoolStats(leased, Math.max(0, inPool - leased), connectionManager.getPending(), runningRequests.get(), poolSettings.getMaxTotalConnections());
+
+	}
+
+	/**
+	 * @return the settings of the connection pool
+	 */
+	public ConnectionPoolSettings getPoolSettings() {
+		return poolSettings;
+	}
+
+	/**
+	 * @return the default timeouts of the petitions, changes are applied to the next petitions
+	 */
+	public TimeoutSettings getTimeoutSettings() {
+		return timeoutSettings;
+	}
+
+	/**
+	 * @param timeoutSettings the default timeouts of the petitions
+	 */
+	public void setTimeoutSettings(TimeoutSettings timeoutSettings) {
+		this.timeoutSettings = timeoutSettings;
+	}
+
+	/**
+	 * Closes all the pooled connections and stops the reaper. The client cannot be used after this call.
+	 */
+	public void shutdown() {
+
+		connectionReaper.shutdownNow();
+		connectionManager.shutdown();
+
+	}
+
+	/**
+	 * Aborts all current connections of this client. Use a {@link CancellationToken} to abort only some of them.
+	 */
+	public void abortAllConnections() {
+		
+		Iterator<HttpRequestBase> it = currentRequests.keySet().iterator();
+
+		while(it.hasNext()) {
+
+			try {
+				
+				it.next().abort();
+				it.remove();
+				
+			} catch (Throwable e) {
+                LT(TAG, e);
+            }
+			
 		}
 		
 	}
@@ -395,7 +847,44 @@ public final class TwitterHttpClient {
     public OAuthConsumer getConsumer() {
         return consumer;
     }
+
+    /**
+     * Gets the signer of the petitions, built again if the token of the consumer has changed
+     * @return the signer
+     */
+    public OAuthSigner getSigner() {
+
+        OAuthSigner current = signer;
+
+        if (current == null || !current.isFor(consumer.getToken(), consumer.getTokenSecret())) {
+
+            current = new OAuthSigner(consumer.getConsumerKey(), consumer.getConsumerSecret(), consumer.getToken(), consumer.getTokenSecret());
+            signer = current;
+
+        }
+
+        return current;
+
+    }
     
+    /**
+     * Gets the application-only bearer token used to authorize the petitions
+     * @return the bearer token or null if the petitions are signed with the user token
+     */
+    public String getBearerToken() {
+        return bearerToken;
+    }
+
+    /**
+     * Sets the application-only bearer token obtained with Twitter.obtainBearerToken(). While it is set the
+     * petitions of Twitter to the endpoints that accept application-only authentication are authorized with it
+     * instead of being signed with the user token. The rest of the petitions are still signed.
+     * @param bearerToken the bearer token or null to sign the petitions again
+     */
+    public void setBearerToken(String bearerToken) {
+        this.bearerToken = bearerToken;
+    }
+
     /**
      * Gets Bearer token of actual consumer
      * @return bearer token
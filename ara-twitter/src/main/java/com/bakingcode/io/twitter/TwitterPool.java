@@ -0,0 +1,308 @@
+package com.bakingcode.io.twitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.bakingcode.io.twitter.exceptions.TwitterErrorRequestException;
+import com.bakingcode.io.twitter.exceptions.TwitterException;
+import com.bakingcode.io.twitter.model.ApiMethod;
+import com.bakingcode.io.twitter.model.ApiMethod.Method;
+import com.bakingcode.io.twitter.model.TwitterError;
+
+import static com.bakingcode.io.twitter.tools.TwitterLogging.L;
+
+/**
+ * Pool of twitter consumers with different credentials (user tokens and application-only bearer tokens). Every
+ * credential has its own rate limit windows, so routing each read to the credential with most requests left for
+ * its endpoint multiplies the read throughput by the number of credentials:
+ *
+ * List<User> users = pool.execute(Method.USERS_LOOKUP, new TwitterPool.Petition<List<User>>() {
+ *     public List<User> run(Twitter twitter) throws TwitterErrorRequestException {
+ *         return twitter.lookupUsers(ids);
+ *     }
+ * });
+ *
+ * A petition that finds the window of its credential exhausted is retried with the next best credential. The
+ * credentials rejected by twitter (invalid or expired token, suspended or locked account) are taken out of the
+ * rotation. The application-only credentials, consumers with a bearer token in their client, are only chosen for
+ * the endpoints that accept them.
+ */
+public class TwitterPool {
+
+    /**
+     * Logging tag
+     */
+    private static final String TAG = "TwitterPool";
+
+    /**
+     * Petition made with one of the credentials of the pool
+     *
+     * @param <T> type of the result
+     */
+    public interface Petition<T> {
+
+        /**
+         * Makes the petition
+         * @param twitter consumer with the chosen credential
+         * @return the result
+         * @throws TwitterErrorRequestException if the petition fails
+         */
+        public T run(Twitter twitter) throws TwitterErrorRequestException;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Credentials in rotation
+     */
+    private final List<Twitter> active = new CopyOnWriteArrayList<Twitter>();
+
+    /**
+     * Credentials taken out of the rotation
+     */
+    private final List<Twitter> retired = new CopyOnWriteArrayList<Twitter>();
+
+    /**
+     * Offset of the round robin between credentials with the same budget
+     */
+    private final AtomicInteger turn = new AtomicInteger();
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a pool
+     *
+     * @param credentials consumers with the credentials of the pool
+     */
+    public TwitterPool(List<Twitter> credentials) {
+
+        for (Twitter twitter : credentials) {
+            add(twitter);
+        }
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Get & Set
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds a credential to the rotation
+     *
+     * @param twitter consumer with the credential
+     */
+    public void add(Twitter twitter) {
+
+        retired.remove(twitter);
+
+        if (!active.contains(twitter)) {
+            active.add(twitter);
+        }
+
+    }
+
+    /**
+     * Takes a credential out of the rotation
+     *
+     * @param twitter consumer with the credential
+     */
+    public void retire(Twitter twitter) {
+
+        if (active.remove(twitter)) {
+            retired.add(twitter);
+        }
+
+    }
+
+    /**
+     * @return the credentials in rotation
+     */
+    public List<Twitter> getActive() {
+        return new ArrayList<Twitter>(active);
+    }
+
+    /**
+     * @return the credentials taken out of the rotation
+     */
+    public List<Twitter> getRetired() {
+        return new ArrayList<Twitter>(retired);
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Routing
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Chooses the credential with most requests left for an endpoint. Credentials whose window is unknown or has
+     * reset go first, and among the exhausted ones the one that resets first.
+     *
+     * @param method rate limited method of the endpoint, null to just rotate the user credentials
+     * @return the consumer with the chosen credential
+     * @throws TwitterException if there are no credentials in rotation for the endpoint
+     */
+    public Twitter choose(Method method) {
+        return choose(method, null);
+    }
+
+    /**
+     * Chooses the best credential for an endpoint
+     *
+     * @param method rate limited method of the endpoint or null
+     * @param excluded credentials not to choose, null for none
+     * @return the consumer with the chosen credential or null if all the credentials are excluded
+     * @throws TwitterException if there are no credentials in rotation
+     */
+    private Twitter choose(Method method, List<Twitter> excluded) {
+
+        Object[] candidates = active.toArray();
+        boolean appAuth = method != null && Urls.isAppAuth(method);
+        boolean eligible = false;
+
+        for (Object candidate : candidates) {
+            eligible |= appAuth || !isAppOnly((Twitter) candidate);
+        }
+
+        if (!eligible) {
+            throw new TwitterException("The pool has no credentials in rotation for " + method);
+        }
+
+        long now = System.currentTimeMillis();
+        int offset = (turn.getAndIncrement() & Integer.MAX_VALUE) % candidates.length;
+
+        Twitter best = null;
+        long bestRemaining = 0;
+        long bestReset = 0;
+
+        for (int i = 0; i < candidates.length; i++) {
+
+            Twitter twitter = (Twitter) candidates[(offset + i) % candidates.length];
+
+            if ((excluded != null && excluded.contains(twitter)) || (!appAuth && isAppOnly(twitter))) {
+                continue;
+            }
+
+            ApiMethod status = method != null ? twitter.getRateLimitRegistry().getStatus(method) : null;
+            long resetMillis = status != null ? status.getReset() * 1000L : 0;
+            long remaining = status == null || now >= resetMillis ? Long.MAX_VALUE : status.getRemaining();
+
+            if (best == null || remaining > bestRemaining || (remaining == 0 && bestRemaining == 0 && resetMillis < bestReset)) {
+
+                best = twitter;
+                bestRemaining = remaining;
+                bestReset = resetMillis;
+
+            }
+
+        }
+
+        return best;
+
+    }
+
+    /**
+     * Makes a petition with the best credential for its endpoint. If the window of the credential is exhausted the
+     * next best one is tried, when all of them are exhausted the petition waits for the first reset.
+     *
+     * @param method rate limited method of the endpoint of the petition, null to just rotate the credentials
+     * @param petition the petition
+     * @param <T> type of the result
+     * @return the result of the petition
+     * @throws TwitterErrorRequestException if the petition fails with all the credentials
+     * @throws TwitterException if there are no credentials in rotation
+     */
+    public <T> T execute(Method method, Petition<T> petition) throws TwitterErrorRequestException {
+
+        List<Twitter> tried = new ArrayList<Twitter>();
+        List<Twitter> notAllowed = new ArrayList<Twitter>();
+        TwitterErrorRequestException notAllowedError = null;
+
+        while (true) {
+
+            Twitter twitter = choose(method, tried);
+
+            if (twitter == null) {
+
+                // Every credential is exhausted: wait for the one that resets first
+                Twitter first = choose(method, notAllowed);
+
+                if (first == null) {
+                    throw notAllowedError;
+                }
+
+                return petition.run(first);
+
+            }
+
+            tried.add(twitter);
+
+            try {
+
+                return petition.run(twitter.withRateLimitPolicy(RateLimitPolicy.FAIL_FAST));
+
+            } catch (TwitterErrorRequestException e) {
+
+                int code = errorCode(e);
+
+                if (isCredentialError(code)) {
+
+                    L(TAG, "Credential rejected with error " + code + ", taking it out of the rotation");
+                    retire(twitter);
+
+                    if (active.isEmpty()) {
+                        throw e;
+                    }
+
+                } else if (code == TwitterError.ERROR_CREDENTIALS_NOT_ALLOWED) {
+
+                    // Valid for other endpoints, the next credential may be allowed
+                    L(TAG, "Credential not allowed for " + method + ", trying the next one");
+                    notAllowed.add(twitter);
+                    notAllowedError = e;
+
+                } else if (code != TwitterError.ERROR_RATE_LIMIT) {
+
+                    throw e;
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * @param e the error of a petition
+     * @return the twitter error code or 0 if it is not a twitter error
+     */
+    private static int errorCode(TwitterErrorRequestException e) {
+        return e.getError() instanceof TwitterError ? ((TwitterError) e.getError()).getCode() : 0;
+    }
+
+    /**
+     * @param twitter a consumer of the pool
+     * @return true if it authorizes its petitions with an application-only bearer token
+     */
+    private static boolean isAppOnly(Twitter twitter) {
+        return twitter.getTwitterHttpClient().getBearerToken() != null;
+    }
+
+    /**
+     * @param code twitter error code
+     * @return true if the error means the credential cannot be used anymore
+     */
+    private static boolean isCredentialError(int code) {
+
+        return code == TwitterError.ERROR_COULD_NOT_AUTHENTICATE || code == TwitterError.ERROR_INVALID_TOKEN
+                || code == TwitterError.ERROR_ACCOUNT_SUSPENDED || code == TwitterError.ERROR_ACCOUNT_LOCKED;
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.bakingcode.io.twitter;
 
+import com.bakingcode.io.twitter.model.ApiMethod.Method;
+
 /**
  * Twitter Urls
  */
@@ -8,149 +10,177 @@ enum Urls {
     /**
      * https://dev.twitter.com/docs/api/1.1/post/statuses/update
      */
-    URL_STATUSES_UPDATE("https://api.twitter.com/1.1/statuses/update.json"),
+    URL_STATUSES_UPDATE("https://api.twitter.com/1.1/statuses/update.json", null),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/search/tweets
      */
-    URL_SEARCH("https://api.twitter.com/1.1/search/tweets.json"),
+    URL_SEARCH("https://api.twitter.com/1.1/search/tweets.json", Method.SEARCH_TWEETS, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/users/lookup
      */
-    URL_USER_LOOKUP("https://api.twitter.com/1.1/users/lookup.json"),
+    URL_USER_LOOKUP("https://api.twitter.com/1.1/users/lookup.json", Method.USERS_LOOKUP, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/help/configuration
      */
-    URL_API_CONFIGURATION("https://api.twitter.com/1.1/help/configuration.json"),
+    URL_API_CONFIGURATION("https://api.twitter.com/1.1/help/configuration.json", Method.HELP_CONFIGURATION),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/statuses/show/%3Aid
      */
-    URL_STATUSES_SHOW("https://api.twitter.com/1.1/statuses/show.json"),
+    URL_STATUSES_SHOW("https://api.twitter.com/1.1/statuses/show.json", Method.STATUSES_SHOW_ID, true),
+
+    /**
+     * https://dev.twitter.com/docs/api/1.1/get/statuses/lookup
+     */
+    URL_STATUSES_LOOKUP("https://api.twitter.com/1.1/statuses/lookup.json", Method.STATUSES_LOOKUP, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/users/show
      */
-    URL_USER_SHOW("https://api.twitter.com/1.1/users/show.json"),
+    URL_USER_SHOW("https://api.twitter.com/1.1/users/show.json", Method.USERS_SHOW, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/account/verify_credentials
      */
-    URL_VERIFY_CREDENTIALS("https://api.twitter.com/1.1/account/verify_credentials.json"),
+    URL_VERIFY_CREDENTIALS("https://api.twitter.com/1.1/account/verify_credentials.json", Method.ACCOUNT_VERIFY_CREDENTIALS),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/statuses/home_timeline
      */
-    URL_HOME_TIMELINE("https://api.twitter.com/1.1/statuses/home_timeline.json"),
+    URL_HOME_TIMELINE("https://api.twitter.com/1.1/statuses/home_timeline.json", Method.STATUSES_HOME_TIMELINE),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/statuses/user_timeline
      */
-    URL_USER_TIMELINE("https://api.twitter.com/1.1/statuses/user_timeline.json"),
+    URL_USER_TIMELINE("https://api.twitter.com/1.1/statuses/user_timeline.json", Method.STATUSES_USER_TIMELINE, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/statuses/mentions_timeline
      */
-    URL_MENTIONS_TIMELINE("https://api.twitter.com/1.1/statuses/mentions_timeline.json"),
+    URL_MENTIONS_TIMELINE("https://api.twitter.com/1.1/statuses/mentions_timeline.json", Method.STATUSES_MENTIONS_TIMELINE),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/favorites/list
      */
-    URL_FAVORITES_LIST("https://api.twitter.com/1.1/favorites/list.json"),
+    URL_FAVORITES_LIST("https://api.twitter.com/1.1/favorites/list.json", Method.FAVOURITES),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/post/favorites/destroy
      */
-    URL_DESTROY_FAVORITE("https://api.twitter.com/1.1/favorites/destroy.json"),
+    URL_DESTROY_FAVORITE("https://api.twitter.com/1.1/favorites/destroy.json", null),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/post/favorites/create
      */
-    URL_CREATE_FAVORITE("https://api.twitter.com/1.1/favorites/create.json"),
+    URL_CREATE_FAVORITE("https://api.twitter.com/1.1/favorites/create.json", null),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/post/statuses/retweet/%3Aid
      */
-    URL_RETWEET("https://api.twitter.com/1.1/statuses/retweet/%s.json"),
+    URL_RETWEET("https://api.twitter.com/1.1/statuses/retweet/%s.json", null),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/statuses/retweets/%3Aid
      */
-    URL_RETWEETS("https://api.twitter.com/1.1/statuses/retweets/%s.json"),
+    URL_RETWEETS("https://api.twitter.com/1.1/statuses/retweets/%s.json", Method.STATUSES_RETWEETS_ID, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/post/statuses/update_with_media
      */
-    URL_UPDATE_WITH_MEDIA("https://api.twitter.com/1.1/statuses/update_with_media.json"),
+    URL_UPDATE_WITH_MEDIA("https://api.twitter.com/1.1/statuses/update_with_media.json", null),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/friends/ids
      */
-    URL_GET_FRIENDS("https://api.twitter.com/1.1/friends/ids.json"),
+    URL_GET_FRIENDS("https://api.twitter.com/1.1/friends/ids.json", Method.FRIENDS_IDS, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/friendships/lookup
      */
-    URL_LOOKUP_FRIENDSHIPS("https://api.twitter.com/1.1/friendships/lookup.json"),
+    URL_LOOKUP_FRIENDSHIPS("https://api.twitter.com/1.1/friendships/lookup.json", Method.FRIENDSHIPS_LOOKUP),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/followers/ids
      */
-    URL_GET_FOLLOWERS("https://api.twitter.com/1.1/followers/ids.json"),
+    URL_GET_FOLLOWERS("https://api.twitter.com/1.1/followers/ids.json", Method.FOLLOWERS_IDS, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/post/friendships/create
      */
-    URL_CREATE_FRIENDSHIP("https://api.twitter.com/1.1/friendships/create.json"),
+    URL_CREATE_FRIENDSHIP("https://api.twitter.com/1.1/friendships/create.json", null),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/post/friendships/destroy
      */
-    URL_DESTROY_FRIENDSHIP("https://api.twitter.com/1.1/friendships/destroy.json"),
+    URL_DESTROY_FRIENDSHIP("https://api.twitter.com/1.1/friendships/destroy.json", null),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/trends/closest
      */
-    URL_CLOSEST_PLACES("https://api.twitter.com/1.1/trends/closest.json"),
+    URL_CLOSEST_PLACES("https://api.twitter.com/1.1/trends/closest.json", Method.TRENDS_CLOSEST, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/trends/place
      */
-    URL_TRENDS_PLACE("https://api.twitter.com/1.1/trends/place.json"),
+    URL_TRENDS_PLACE("https://api.twitter.com/1.1/trends/place.json", Method.TRENDS_PLACE, true),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/statuses/retweets_of_me
      */
-    URL_RETWEETS_OF_ME("https://api.twitter.com/1.1/statuses/retweets_of_me.json"),
+    URL_RETWEETS_OF_ME("https://api.twitter.com/1.1/statuses/retweets_of_me.json", Method.STATUSES_RETWEETS_OF_ME),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/get/application/rate_limit_status
      */
-    URL_RATE_LIMIT_STATUS("https://api.twitter.com/1.1/application/rate_limit_status.json"),
+    URL_RATE_LIMIT_STATUS("https://api.twitter.com/1.1/application/rate_limit_status.json", Method.APPLICATION_RATE_LIMIT_STATUS),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/post/oauth2/token
      */
-    URL_OBTAIN_BEARER_TOKEN("https://api.twitter.com/oauth2/token"),
+    URL_OBTAIN_BEARER_TOKEN("https://api.twitter.com/oauth2/token", null),
 
     /**
      * https://dev.twitter.com/docs/api/1.1/post/oauth2/invalidate_token
      */
-    URL_INVALIDATE_BEARER_TOKEN("https://api.twitter.com/oauth2/invalidate_token");
+    URL_INVALIDATE_BEARER_TOKEN("https://api.twitter.com/oauth2/invalidate_token", null);
 
     /**
      * Url
      */
     private String url;
 
+    /**
+     * Rate limited method of the endpoint, null if the endpoint has no rate limit window
+     */
+    private Method method;
+
+    /**
+     * True if the endpoint accepts application-only authentication
+     */
+    private boolean appAuth;
+
     /**
      * Default constructor
      * @param url url to set
+     * @param method rate limited method of the endpoint or null
+     */
+    private Urls(String url, Method method) {
+        this(url, method, false);
+    }
+
+    /**
+     * Constructor
+     * @param url url to set
+     * @param method rate limited method of the endpoint or null
+     * @param appAuth true if the endpoint accepts application-only authentication
      */
-    private Urls(String url) {
+    private Urls(String url, Method method, boolean appAuth) {
         this.url = url;
+        this.method = method;
+        this.appAuth = appAuth;
     }
 
     /**
@@ -161,6 +191,41 @@ enum Urls {
         return url;
     }
 
+    /**
+     * Gets the method used to track the rate limit of the endpoint
+     * @return the method or null if the endpoint has no rate limit window
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Checks if the endpoint can be called with an application-only bearer token
+     * @return true if the endpoint accepts application-only authentication
+     */
+    public boolean isAppAuth() {
+        return appAuth;
+    }
+
+    /**
+     * Checks if the endpoints of a rate limited method can be called with an application-only bearer token
+     * @param method the method
+     * @return true if an endpoint of the method accepts application-only authentication
+     */
+    static boolean isAppAuth(Method method) {
+
+        for (Urls url : values()) {
+
+            if (url.method == method && url.appAuth) {
+                return true;
+            }
+
+        }
+
+        return false;
+
+    }
+
     @Override
     public String toString() {
         return url;
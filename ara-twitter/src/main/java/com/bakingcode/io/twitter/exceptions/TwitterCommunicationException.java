@@ -31,6 +31,17 @@ public class TwitterCommunicationException extends Exception implements IError {
 	public TwitterCommunicationException(String stackTrace) {
 		this.stackTrace = stackTrace;
 	}
+
+	/**
+	 * Creates the exception of a failed communication
+	 * 
+	 * @param stackTrace description of the error
+	 * @param cause the error of the communication, e.g. an IOException
+	 */
+	public TwitterCommunicationException(String stackTrace, Throwable cause) {
+		this(stackTrace);
+		initCause(cause);
+	}
 	
 	@Override
 	public String toString() {
@@ -0,0 +1,38 @@
+package com.bakingcode.io.twitter.exceptions;
+
+import com.bakingcode.io.twitter.model.IError;
+
+/**
+ * Unchecked wrapper of a twitter error raised while a paginator fetches a page through the Iterator contract
+ */
+public class TwitterPaginationException extends RuntimeException {
+
+	/**
+	 * Serial UID
+	 */
+	private static final long serialVersionUID = 3620957210473355831L;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Constructors
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Default constructor
+	 * @param cause the error of the page request
+	 */
+	public TwitterPaginationException(TwitterErrorRequestException cause) {
+		super(cause);
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Get & Set
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * @return the error of the page request
+	 */
+	public IError getError() {
+		return ((TwitterErrorRequestException) getCause()).getError();
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.bakingcode.io.twitter.exceptions;
+
+import com.bakingcode.io.twitter.model.IError;
+
+/**
+ * This exception is used for raise a response body that cannot be parsed. The petition reached twitter and
+ * was answered, so it is neither retried nor counted as a failure of the endpoint.
+ */
+public class TwitterParseException extends Exception implements IError {
+
+	/**
+	 * Serial UID
+	 */
+	private static final long serialVersionUID = -4381266020785136618L;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Fields
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Description of the error
+	 */
+	private String message;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Constructors
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Default constructor
+	 *
+	 * @param message description of the error
+	 * @param cause the error of the parser
+	 */
+	public TwitterParseException(String message, Throwable cause) {
+		this.message = message;
+		initCause(cause);
+	}
+
+	@Override
+	public String toString() {
+		return message;
+	}
+
+}
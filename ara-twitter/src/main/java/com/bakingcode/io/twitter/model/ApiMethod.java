@@ -5,7 +5,6 @@ import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -37,79 +36,80 @@ public class ApiMethod implements Serializable {
 	 */
 	public enum Method {
 
-		ACCOUNT_SETTINGS(ResourceFamily.ACCOUNT + "/settings"),
-		ACCOUNT_VERIFY_CREDENTIALS(ResourceFamily.ACCOUNT + "/verify_credentials"),
+		ACCOUNT_SETTINGS(ResourceFamily.ACCOUNT.getName() + "/settings"),
+		ACCOUNT_VERIFY_CREDENTIALS(ResourceFamily.ACCOUNT.getName() + "/verify_credentials"),
 		
-		APPLICATION_RATE_LIMIT_STATUS(ResourceFamily.APPLICATION + "/rate_limit_status"),
+		APPLICATION_RATE_LIMIT_STATUS(ResourceFamily.APPLICATION.getName() + "/rate_limit_status"),
 		
-		BLOCKS_IDS(ResourceFamily.BLOCKS + "/ids"),
-		BLOCKS_LIST(ResourceFamily.BLOCKS + "/list"),
+		BLOCKS_IDS(ResourceFamily.BLOCKS.getName() + "/ids"),
+		BLOCKS_LIST(ResourceFamily.BLOCKS.getName() + "/list"),
 
 		DIRECT_MESSAGES(ResourceFamily.DIRECT_MESSAGES.getName()),
-		DIRECT_MESSAGES_SENT(ResourceFamily.DIRECT_MESSAGES + "/sent"),
-		DIRECT_MESSAGES_SHOW(ResourceFamily.DIRECT_MESSAGES + "/show"),
+		DIRECT_MESSAGES_SENT(ResourceFamily.DIRECT_MESSAGES.getName() + "/sent"),
+		DIRECT_MESSAGES_SHOW(ResourceFamily.DIRECT_MESSAGES.getName() + "/show"),
 		
-		FAVOURITES(ResourceFamily.FAVOURITES + "/list"),
+		FAVOURITES(ResourceFamily.FAVOURITES.getName() + "/list"),
 
-		FOLLOWERS_IDS(ResourceFamily.FOLLOWERS + "/ids"),
-		FOLLOWERS_LIST(ResourceFamily.FOLLOWERS + "/list"),
+		FOLLOWERS_IDS(ResourceFamily.FOLLOWERS.getName() + "/ids"),
+		FOLLOWERS_LIST(ResourceFamily.FOLLOWERS.getName() + "/list"),
 
-		FRIENDS_IDS(ResourceFamily.FRIENDS + "/ids"),
-		FRIENDS_LIST(ResourceFamily.FRIENDS + "/list"),
+		FRIENDS_IDS(ResourceFamily.FRIENDS.getName() + "/ids"),
+		FRIENDS_LIST(ResourceFamily.FRIENDS.getName() + "/list"),
 
-		FRIENDSHIPS_INCOMING(ResourceFamily.FRIENDSHIPS + "/incoming"),
-		FRIENDSHIPS_LOOKUP(ResourceFamily.FRIENDSHIPS + "/lookup"),
-		FRIENDSHIPS_NO_RETWEETS_IDS(ResourceFamily.FRIENDSHIPS + "/no_retweets/ids"),
-		FRIENDSHIPS_OUTGOING(ResourceFamily.FRIENDSHIPS + "/outgoing"),
-		FRIENDSHIPS_SHOW(ResourceFamily.FRIENDSHIPS + "/show"),
+		FRIENDSHIPS_INCOMING(ResourceFamily.FRIENDSHIPS.getName() + "/incoming"),
+		FRIENDSHIPS_LOOKUP(ResourceFamily.FRIENDSHIPS.getName() + "/lookup"),
+		FRIENDSHIPS_NO_RETWEETS_IDS(ResourceFamily.FRIENDSHIPS.getName() + "/no_retweets/ids"),
+		FRIENDSHIPS_OUTGOING(ResourceFamily.FRIENDSHIPS.getName() + "/outgoing"),
+		FRIENDSHIPS_SHOW(ResourceFamily.FRIENDSHIPS.getName() + "/show"),
 
-		GEO_ID_PLACE_ID(ResourceFamily.GEO + "/id/:place_id"),
-		GEO_REVERSE_GEOCODE(ResourceFamily.GEO + "/reverse_geocode"),
-		GEO_SEARCH(ResourceFamily.GEO + "/search"),
-		GEO_SIMILAR_PLACES(ResourceFamily.GEO + "/similar_places"),
+		GEO_ID_PLACE_ID(ResourceFamily.GEO.getName() + "/id/:place_id"),
+		GEO_REVERSE_GEOCODE(ResourceFamily.GEO.getName() + "/reverse_geocode"),
+		GEO_SEARCH(ResourceFamily.GEO.getName() + "/search"),
+		GEO_SIMILAR_PLACES(ResourceFamily.GEO.getName() + "/similar_places"),
 
-		HELP_CONFIGURATION(ResourceFamily.HELP + "/configuration"),
-		HELP_LANGUAGES(ResourceFamily.HELP + "/languages"),
-		HELP_PRIVACY(ResourceFamily.HELP + "/privacy"),
-		HELP_TOS(ResourceFamily.HELP + "/tos"),
+		HELP_CONFIGURATION(ResourceFamily.HELP.getName() + "/configuration"),
+		HELP_LANGUAGES(ResourceFamily.HELP.getName() + "/languages"),
+		HELP_PRIVACY(ResourceFamily.HELP.getName() + "/privacy"),
+		HELP_TOS(ResourceFamily.HELP.getName() + "/tos"),
 
 		LISTS(ResourceFamily.LISTS.getName()),
-		LISTS_LIST(ResourceFamily.LISTS + "/list"),
-		LISTS_MEMBERS(ResourceFamily.LISTS + "/members"),
-		LISTS_MEMBERS_SHOW(ResourceFamily.LISTS + "/members/show"),
-		LISTS_MEMBERSHIPS(ResourceFamily.LISTS + "/memberships"),
-		LISTS_SHOW(ResourceFamily.LISTS + "/show"),
-		LISTS_STATUSES(ResourceFamily.LISTS + "/statuses"),
-		LISTS_SUSCRIBERS(ResourceFamily.LISTS + "/subscribers"),
-		LISTS_SUSCRIBERS_SHOW(ResourceFamily.LISTS + "/subscribers/show"),
-		LISTS_SUBSCRIPTIONS(ResourceFamily.LISTS + "/subscriptions"),
-
-		SAVED_SEARCHES_LIST(ResourceFamily.SAVED_SEARCHES + "/list"),
-		SAVED_SEARCHES_SHOW_ID(ResourceFamily.SAVED_SEARCHES + "/show/:id"),
+		LISTS_LIST(ResourceFamily.LISTS.getName() + "/list"),
+		LISTS_MEMBERS(ResourceFamily.LISTS.getName() + "/members"),
+		LISTS_MEMBERS_SHOW(ResourceFamily.LISTS.getName() + "/members/show"),
+		LISTS_MEMBERSHIPS(ResourceFamily.LISTS.getName() + "/memberships"),
+		LISTS_SHOW(ResourceFamily.LISTS.getName() + "/show"),
+		LISTS_STATUSES(ResourceFamily.LISTS.getName() + "/statuses"),
+		LISTS_SUSCRIBERS(ResourceFamily.LISTS.getName() + "/subscribers"),
+		LISTS_SUSCRIBERS_SHOW(ResourceFamily.LISTS.getName() + "/subscribers/show"),
+		LISTS_SUBSCRIPTIONS(ResourceFamily.LISTS.getName() + "/subscriptions"),
+
+		SAVED_SEARCHES_LIST(ResourceFamily.SAVED_SEARCHES.getName() + "/list"),
+		SAVED_SEARCHES_SHOW_ID(ResourceFamily.SAVED_SEARCHES.getName() + "/show/:id"),
 		
-		SEARCH_TWEETS(ResourceFamily.SEARCH + "/tweets"),
-
-		STATUSES_HOME_TIMELINE(ResourceFamily.STATUSES + "/home_timeline"),
-		STATUSES_MENTIONS_TIMELINE(ResourceFamily.STATUSES + "/mentions_timeline"),
-		STATUSES_OEMBED(ResourceFamily.STATUSES + "/oembed"),
-		STATUSES_RETWEETS_ID(ResourceFamily.STATUSES + "/retweets/:id"),
-		STATUSES_RETWEETS_OF_ME(ResourceFamily.STATUSES + "/retweets_of_me"),
-		STATUSES_SHOW_ID(ResourceFamily.STATUSES + "/show/:id"),
-		STATUSES_USER_TIMELINE(ResourceFamily.STATUSES + "/user_timeline"),
-
-		TRENDS_AVAILABLE(ResourceFamily.TRENDS + "/available"),
-		TRENDS_CLOSEST(ResourceFamily.TRENDS + "/closest"),
-		TRENDS_PLACE(ResourceFamily.TRENDS + "/place"),
-
-		USERS_CONTRIBUTEES(ResourceFamily.USERS + "/contributees"),
-		USERS_CONTRIBUTORS(ResourceFamily.USERS + "/contributors"),
-		USERS_LOOKUP(ResourceFamily.USERS + "/lookup"),
-		USERS_PROFILE_BANNER(ResourceFamily.USERS + "/profile_banner"),
-		USERS_SEARCH(ResourceFamily.USERS + "/search"),
-		USERS_SHOW(ResourceFamily.USERS + "/show"),
-		USERS_SUGGESTIONS(ResourceFamily.USERS + "/suggestions"),
-		USERS_SUGGESTIONS_SLUG(ResourceFamily.USERS + "/suggestions/:slug"),
-		USERS_SUGGESTIONS_SLUG_MEMBERS(ResourceFamily.USERS + "/suggestions/:slug/members");	
+		SEARCH_TWEETS(ResourceFamily.SEARCH.getName() + "/tweets"),
+
+		STATUSES_HOME_TIMELINE(ResourceFamily.STATUSES.getName() + "/home_timeline"),
+		STATUSES_LOOKUP(ResourceFamily.STATUSES.getName() + "/lookup"),
+		STATUSES_MENTIONS_TIMELINE(ResourceFamily.STATUSES.getName() + "/mentions_timeline"),
+		STATUSES_OEMBED(ResourceFamily.STATUSES.getName() + "/oembed"),
+		STATUSES_RETWEETS_ID(ResourceFamily.STATUSES.getName() + "/retweets/:id"),
+		STATUSES_RETWEETS_OF_ME(ResourceFamily.STATUSES.getName() + "/retweets_of_me"),
+		STATUSES_SHOW_ID(ResourceFamily.STATUSES.getName() + "/show/:id"),
+		STATUSES_USER_TIMELINE(ResourceFamily.STATUSES.getName() + "/user_timeline"),
+
+		TRENDS_AVAILABLE(ResourceFamily.TRENDS.getName() + "/available"),
+		TRENDS_CLOSEST(ResourceFamily.TRENDS.getName() + "/closest"),
+		TRENDS_PLACE(ResourceFamily.TRENDS.getName() + "/place"),
+
+		USERS_CONTRIBUTEES(ResourceFamily.USERS.getName() + "/contributees"),
+		USERS_CONTRIBUTORS(ResourceFamily.USERS.getName() + "/contributors"),
+		USERS_LOOKUP(ResourceFamily.USERS.getName() + "/lookup"),
+		USERS_PROFILE_BANNER(ResourceFamily.USERS.getName() + "/profile_banner"),
+		USERS_SEARCH(ResourceFamily.USERS.getName() + "/search"),
+		USERS_SHOW(ResourceFamily.USERS.getName() + "/show"),
+		USERS_SUGGESTIONS(ResourceFamily.USERS.getName() + "/suggestions"),
+		USERS_SUGGESTIONS_SLUG(ResourceFamily.USERS.getName() + "/suggestions/:slug"),
+		USERS_SUGGESTIONS_SLUG_MEMBERS(ResourceFamily.USERS.getName() + "/suggestions/:slug/members");	
 		
 		/**
 		 * Obtains the list of methods that start with the name provided.
@@ -123,11 +123,10 @@ public class ApiMethod implements Serializable {
 				return null;
 			}
 			
-			// Add all methods starting with the name
+			// Add all methods of the family, "friends" must not match "friendships/..."
 			List<Method> methods = new ArrayList<Method>();
-			Locale locale = Locale.getDefault();
 			for (Method meth : Method.values()) {
-				if (name.startsWith(name.toUpperCase(locale))) {
+				if (meth.getName().equals(name) || meth.getName().startsWith(name + "/")) {
 					methods.add(meth);
 				}
 			}
@@ -187,6 +186,23 @@ public class ApiMethod implements Serializable {
 	 */
 	public ApiMethod () { }
 	
+	/**
+	 * Creates an api method with its rate limit status
+	 *
+	 * @param method Method value, null if it is unknown
+	 * @param limit the limit of the requests
+	 * @param remaining the remaining requests
+	 * @param reset the time when the requests will be available again, in seconds since the epoch
+	 */
+	public ApiMethod (Method method, int limit, int remaining, long reset) {
+
+		this.method = method;
+		this.limit = limit;
+		this.remaining = remaining;
+		this.reset = reset;
+
+	}
+
 	/**
 	 * JSON parser constructor. It parses a json object to make a new api method.
 	 * 
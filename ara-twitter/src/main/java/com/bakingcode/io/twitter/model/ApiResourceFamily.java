@@ -58,13 +58,12 @@ public class ApiResourceFamily{
 		private List<Method> methods;
 
 		/**
-		 * Constructor. Initializes the methods of the resource family.
+		 * Constructor
 		 * 
 		 * @param name Name of the resource family
 		 */
 		private ResourceFamily(String name) {
 			this.name = name;
-			this.methods = Method.getMethodsStartWith(name);
 		}
 
 		/**
@@ -78,6 +77,11 @@ public class ApiResourceFamily{
 		 * @return the methods
 		 */
 		public List<Method> getMethods() {
+			// Resolved lazily: the methods are named after the families, resolving them while the families are
+			// being initialized is a class initialization cycle
+			if (methods == null) {
+				methods = Method.getMethodsStartWith(name);
+			}
 			return methods;
 		}
 		
@@ -112,22 +116,19 @@ public class ApiResourceFamily{
 		resourceFamily = resource;
 		if (json != null) {
 			methods = new ArrayList<ApiMethod>();
-			try {
-				// Get the resource family object
-				JSONObject jsonRes = json.getJSONObject(resource.getName());
-
-				JSONObject jsonMeth;
-				ApiMethod apiMethod;
-				// For all methods in the resource family..
-				for (Method meth : resource.getMethods()) {
-					// ..add a new method
-					jsonMeth = jsonRes.getJSONObject(meth.getName());
-					apiMethod = new ApiMethod(jsonMeth, meth);
-					methods.add(apiMethod);
+
+			// The json is already the resource family object, its methods are keyed by their path
+			JSONObject jsonMeth;
+			ApiMethod apiMethod;
+			// For all methods in the resource family..
+			for (Method meth : resource.getMethods()) {
+				// ..add a new method
+				jsonMeth = json.optJSONObject("/" + meth.getName());
+				if (jsonMeth == null) {
+					continue;
 				}
-				
-			} catch (JSONException e) {
-				LT(TAG, e);
+				apiMethod = new ApiMethod(jsonMeth, meth);
+				methods.add(apiMethod);
 			}
 		}
 	}
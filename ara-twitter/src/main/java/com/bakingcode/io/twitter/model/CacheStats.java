@@ -0,0 +1,110 @@
+package com.bakingcode.io.twitter.model;
+
+/**
+ * Snapshot of the counters of an endpoint in a ResponseCache
+ */
+public class CacheStats {
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Fields
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Petitions answered with a fresh response
+	 */
+	private final long hits;
+
+	/**
+	 * Petitions answered with a stale response while it was revalidated
+	 */
+	private final long staleHits;
+
+	/**
+	 * Petitions answered with a cached "not found" or "suspended" error
+	 */
+	private final long negativeHits;
+
+	/**
+	 * Petitions sent to twitter
+	 */
+	private final long misses;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Constructors
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Default constructor
+	 *
+	 * @param hits petitions answered with a fresh response
+	 * @param staleHits petitions answered with a stale response
+	 * @param negativeHits petitions answered with a cached error
+	 * @param misses petitions sent to twitter
+	 */
+	public CacheStats(long hits, long staleHits, long negativeHits, long misses) {
+
+		this.hits = hits;
+		this.staleHits = staleHits;
+		this.negativeHits = negativeHits;
+		this.misses = misses;
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Get & Set
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * @return the petitions answered with a fresh response
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return the petitions answered with a stale response while it was revalidated
+	 */
+	public long getStaleHits() {
+		return staleHits;
+	}
+
+	/**
+	 * @return the petitions answered with a cached "not found" or "suspended" error
+	 */
+	public long getNegativeHits() {
+		return negativeHits;
+	}
+
+	/**
+	 * @return the petitions sent to twitter
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return the fraction of petitions answered by the cache, 0 if there were none
+	 */
+	public float getHitRate() {
+
+		long total = hits + staleHits + negativeHits + misses;
+		return total == 0 ? 0 : (float) (hits + staleHits + negativeHits) / total;
+
+	}
+
+	/**
+	 * @return the fraction of petitions sent to twitter, 0 if there were none
+	 */
+	public float getMissRate() {
+
+		long total = hits + staleHits + negativeHits + misses;
+		return total == 0 ? 0 : (float) misses / total;
+
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats [hits=" + hits + ", staleHits=" + staleHits + ", negativeHits=" + negativeHits + ", misses=" + misses + "]";
+	}
+
+}
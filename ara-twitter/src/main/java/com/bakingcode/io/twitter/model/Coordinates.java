@@ -1,9 +1,11 @@
 package com.bakingcode.io.twitter.model;
 
+import com.bakingcode.io.twitter.tools.JsonStreamReader;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -64,6 +66,48 @@ public class Coordinates implements Serializable {
 		}
 		
 	}
+
+	/**
+	 * Streaming parser constructor. It reads a json object from the reader to make a new coordinates instance
+	 *
+	 * @param reader reader positioned at the beginning of the object
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public Coordinates(JsonStreamReader reader) throws IOException {
+
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+
+			String name = reader.nextName();
+
+			if (name.equals("coordinates")) {
+
+				if (!reader.nextIfNull()) {
+
+					reader.beginArray();
+					longitude = reader.nextDouble();
+					latitude = reader.nextDouble();
+
+					while (reader.hasNext()) {
+						reader.skipValue();
+					}
+
+					reader.endArray();
+
+				}
+
+			} else if (name.equals("type")) {
+				type = reader.nextStringOrNull();
+			} else {
+				reader.skipValue();
+			}
+
+		}
+
+		reader.endObject();
+
+	}
 	
 	// ///////////////////////////////////////////////////////////////////////////
 	// Get & Set
@@ -19,6 +19,11 @@ public class Cursor {
      */
 	protected long nextCursor;
 
+    /**
+     * Empty constructor for cursors filled by a streaming parser
+     */
+    protected Cursor() { }
+
     /**
      * Default constructor
      * @param json
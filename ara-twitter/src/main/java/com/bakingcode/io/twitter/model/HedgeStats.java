@@ -0,0 +1,90 @@
+package com.bakingcode.io.twitter.model;
+
+/**
+ * Snapshot of the counters of a HedgingPolicy
+ */
+public class HedgeStats {
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Fields
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Petitions that could be hedged
+	 */
+	private final long requests;
+
+	/**
+	 * Second copies sent because the first one was slow
+	 */
+	private final long hedges;
+
+	/**
+	 * Second copies that answered before the first one
+	 */
+	private final long wins;
+
+	/**
+	 * Second copies not sent because the hedge budget, the rate limit window or the connections were exhausted
+	 */
+	private final long denied;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Constructors
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Default constructor
+	 *
+	 * @param requests petitions that could be hedged
+	 * @param hedges second copies sent
+	 * @param wins second copies that answered first
+	 * @param denied second copies not sent
+	 */
+	public HedgeStats(long requests, long hedges, long wins, long denied) {
+
+		this.requests = requests;
+		this.hedges = hedges;
+		this.wins = wins;
+		this.denied = denied;
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Get & Set
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * @return the petitions that could be hedged
+	 */
+	public long getRequests() {
+		return requests;
+	}
+
+	/**
+	 * @return the second copies sent
+	 */
+	public long getHedges() {
+		return hedges;
+	}
+
+	/**
+	 * @return the second copies that answered before the first one
+	 */
+	public long getWins() {
+		return wins;
+	}
+
+	/**
+	 * @return the second copies not sent because of the budget, the rate limit or the connections
+	 */
+	public long getDenied() {
+		return denied;
+	}
+
+	@Override
+	public String toString() {
+		return "HedgeStats [requests=" + requests + ", hedges=" + hedges + ", wins=" + wins + ", denied=" + denied + "]";
+	}
+
+}
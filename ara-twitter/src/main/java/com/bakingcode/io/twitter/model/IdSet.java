@@ -0,0 +1,624 @@
+package com.bakingcode.io.twitter.model;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable sorted set of user identifiers stored compressed. The ids are sorted and written as the
+ * varint encoded difference with the previous one, in blocks of {@link #BLOCK_SIZE} ids whose first id is kept
+ * uncompressed so the set can be searched and skipped by block. Dense id ranges take one or two bytes per id
+ * instead of the eight of a long[].
+ *
+ * Intersection, difference and union merge both sets in a single pass, so computing the mutual follows or the
+ * unfollowers of an account is linear in the size of the sets:
+ *
+ * IdSet followers = IdSet.of(twitter.getFollowersIds(...));
+ * IdSet friends = IdSet.of(twitter.getFriendIds(...));
+ * IdSet notFollowingBack = followers.difference(friends);
+ */
+public class IdSet {
+
+	/**
+	 * Number of ids of a block
+	 */
+	public static final int BLOCK_SIZE = 128;
+
+	/**
+	 * The empty set
+	 */
+	public static final IdSet EMPTY = new Encoder(0).build();
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Fields
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Varint encoded deltas of all the blocks
+	 */
+	private final byte[] data;
+
+	/**
+	 * First id of every block
+	 */
+	private final long[] blockFirst;
+
+	/**
+	 * Offset in data of the deltas of every block
+	 */
+	private final int[] blockOffset;
+
+	/**
+	 * Number of ids
+	 */
+	private final int size;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Constructors
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Creates a set from its encoded form
+	 *
+	 * @param data varint encoded deltas
+	 * @param blockFirst first id of every block
+	 * @param blockOffset offset of every block in data
+	 * @param size number of ids
+	 */
+	private IdSet(byte[] data, long[] blockFirst, int[] blockOffset, int size) {
+
+		this.data = data;
+		this.blockFirst = blockFirst;
+		this.blockOffset = blockOffset;
+		this.size = size;
+
+	}
+
+	/**
+	 * Creates a set from any ids, they don't need to be sorted nor unique. The array is not modified.
+	 *
+	 * @param ids the ids
+	 * @return the set
+	 */
+	public static IdSet of(long[] ids) {
+		return ids != null ? ofSorted(sortedCopy(ids, ids.length)) : EMPTY;
+	}
+
+	/**
+	 * Creates a set from the ids of one or more lists, e.g. all the pages of a cursored petition
+	 *
+	 * @param lists the lists
+	 * @return the set
+	 */
+	public static IdSet of(IdentifierList... lists) {
+
+		Builder builder = new Builder();
+		for (IdentifierList list : lists) {
+			builder.add(list);
+		}
+		return builder.build();
+
+	}
+
+	/**
+	 * Creates a set from sorted ids, repeated ids are dropped
+	 *
+	 * @param sortedIds ids sorted in ascending order
+	 * @return the set
+	 */
+	private static IdSet ofSorted(long[] sortedIds) {
+
+		Encoder encoder = new Encoder(sortedIds.length);
+		for (int i = 0; i < sortedIds.length; i++) {
+			if (i == 0 || sortedIds[i] != sortedIds[i - 1]) {
+				encoder.add(sortedIds[i]);
+			}
+		}
+		return encoder.build();
+
+	}
+
+	/**
+	 * Copies and sorts the first ids of an array
+	 *
+	 * @param ids the ids
+	 * @param length number of ids to copy
+	 * @return the sorted copy
+	 */
+	private static long[] sortedCopy(long[] ids, int length) {
+
+		long[] sorted = Arrays.copyOf(ids, length);
+		Arrays.sort(sorted);
+		return sorted;
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Get & Set
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * @return the number of ids of the set
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return true if the set has no ids
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return the approximate heap used by the set in bytes
+	 */
+	public long sizeInBytes() {
+		return data.length + blockFirst.length * 8L + blockOffset.length * 4L;
+	}
+
+	/**
+	 * Checks if an id is in the set. It looks for the block by binary search and decodes only that block.
+	 *
+	 * @param id the id
+	 * @return true if the set has the id
+	 */
+	public boolean contains(long id) {
+
+		IdIterator it = iterator();
+		return it.advanceTo(id) && it.next() == id;
+
+	}
+
+	/**
+	 * @return an iterator over the ids in ascending order
+	 */
+	public IdIterator iterator() {
+		return new IdIterator();
+	}
+
+	/**
+	 * @return the ids in ascending order
+	 */
+	public long[] toArray() {
+
+		long[] ids = new long[size];
+		IdIterator it = iterator();
+		for (int i = 0; i < size; i++) {
+			ids[i] = it.next();
+		}
+		return ids;
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Set algebra
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Ids that are in both sets, e.g. the mutual follows of followers and friends
+	 *
+	 * @param other the other set
+	 * @return a new set
+	 */
+	public IdSet intersection(IdSet other) {
+
+		Encoder encoder = new Encoder(Math.min(size, other.size));
+		IdSet small = size <= other.size ? this : other;
+		IdSet big = small == this ? other : this;
+
+		IdIterator it = small.iterator();
+		IdIterator bigIt = big.iterator();
+
+		// Skipping whole blocks of the biggest set keeps this fast when the sizes are very different
+		while (it.hasNext()) {
+			long id = it.next();
+			if (!bigIt.advanceTo(id)) {
+				break;
+			}
+			if (bigIt.peek() == id) {
+				encoder.add(id);
+			}
+		}
+
+		return encoder.build();
+
+	}
+
+	/**
+	 * Ids of this set that are not in the other one, e.g. followers.difference(friends) are the followers not
+	 * followed back, and oldFollowers.difference(newFollowers) the unfollowers
+	 *
+	 * @param other the other set
+	 * @return a new set
+	 */
+	public IdSet difference(IdSet other) {
+
+		Encoder encoder = new Encoder(size);
+		IdIterator it = iterator();
+		IdIterator otherIt = other.iterator();
+
+		while (it.hasNext()) {
+			long id = it.next();
+			if (!otherIt.advanceTo(id) || otherIt.peek() != id) {
+				encoder.add(id);
+			}
+		}
+
+		return encoder.build();
+
+	}
+
+	/**
+	 * Ids that are in any of the sets
+	 *
+	 * @param other the other set
+	 * @return a new set
+	 */
+	public IdSet union(IdSet other) {
+
+		Encoder encoder = new Encoder(size + other.size);
+		IdIterator it = iterator();
+		IdIterator otherIt = other.iterator();
+
+		while (it.hasNext() && otherIt.hasNext()) {
+			long a = it.peek();
+			long b = otherIt.peek();
+			if (a <= b) {
+				encoder.add(it.next());
+				if (a == b) {
+					otherIt.next();
+				}
+			} else {
+				encoder.add(otherIt.next());
+			}
+		}
+		while (it.hasNext()) {
+			encoder.add(it.next());
+		}
+		while (otherIt.hasNext()) {
+			encoder.add(otherIt.next());
+		}
+
+		return encoder.build();
+
+	}
+
+	/**
+	 * Number of ids that are in both sets, without building the intersection
+	 *
+	 * @param other the other set
+	 * @return the cardinality of the intersection
+	 */
+	public int intersectionSize(IdSet other) {
+
+		int count = 0;
+		IdIterator it = iterator();
+		IdIterator otherIt = other.iterator();
+
+		while (it.hasNext()) {
+			long id = it.next();
+			if (!otherIt.advanceTo(id)) {
+				break;
+			}
+			if (otherIt.peek() == id) {
+				count++;
+			}
+		}
+
+		return count;
+
+	}
+
+	@Override
+	public boolean equals(Object o) {
+
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof IdSet)) {
+			return false;
+		}
+		IdSet other = (IdSet) o;
+		return size == other.size && Arrays.equals(blockFirst, other.blockFirst) && Arrays.equals(data, other.data);
+
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(blockFirst) + Arrays.hashCode(data);
+	}
+
+	@Override
+	public String toString() {
+		return "[size: " + size + "; bytes: " + sizeInBytes() + "]";
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Iterator
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Iterator over the ids of a set in ascending order. It works on primitives so no id is boxed.
+	 */
+	public class IdIterator {
+
+		/**
+		 * Position of the next id
+		 */
+		private int index;
+
+		/**
+		 * Offset in data of the next delta
+		 */
+		private int offset;
+
+		/**
+		 * Last id returned
+		 */
+		private long current;
+
+		/**
+		 * Creates an iterator at the beginning of the set
+		 */
+		private IdIterator() { }
+
+		/**
+		 * @return true if there are more ids
+		 */
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		/**
+		 * @return the next id
+		 */
+		public long next() {
+
+			if (index >= size) {
+				throw new NoSuchElementException();
+			}
+
+			if (index % BLOCK_SIZE == 0) {
+
+				int block = index / BLOCK_SIZE;
+				current = blockFirst[block];
+				offset = blockOffset[block];
+
+			} else {
+
+				long delta = 0;
+				int shift = 0;
+				byte b;
+				do {
+					b = data[offset++];
+					delta |= (long) (b & 0x7F) << shift;
+					shift += 7;
+				} while (b < 0);
+				current += delta;
+
+			}
+
+			index++;
+			return current;
+
+		}
+
+		/**
+		 * Gets the next id without moving the iterator
+		 *
+		 * @return the next id
+		 */
+		public long peek() {
+
+			int savedIndex = index;
+			int savedOffset = offset;
+			long savedCurrent = current;
+			long next = next();
+			index = savedIndex;
+			offset = savedOffset;
+			current = savedCurrent;
+			return next;
+
+		}
+
+		/**
+		 * Moves the iterator so the next id is the first one greater than or equal to the target. Whole blocks
+		 * are skipped by binary search over their first ids.
+		 *
+		 * @param target the id to look for
+		 * @return false if there are no more ids greater than or equal to the target
+		 */
+		public boolean advanceTo(long target) {
+
+			if (index >= size) {
+				return false;
+			}
+
+			int block = Arrays.binarySearch(blockFirst, target);
+			if (block < 0) {
+				block = -block - 2;
+			}
+
+			if (block > 0 && block * BLOCK_SIZE > index) {
+				index = block * BLOCK_SIZE;
+			}
+
+			while (index < size) {
+				if (peek() >= target) {
+					return true;
+				}
+				next();
+			}
+
+			return false;
+
+		}
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Builders
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Collects ids in any order, e.g. page by page from a cursored petition, and builds the set
+	 */
+	public static class Builder {
+
+		/**
+		 * Collected ids
+		 */
+		private long[] ids = new long[256];
+
+		/**
+		 * Number of collected ids
+		 */
+		private int size;
+
+		/**
+		 * Adds an id
+		 *
+		 * @param id the id
+		 * @return this builder
+		 */
+		public Builder add(long id) {
+
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1));
+			}
+			ids[size++] = id;
+			return this;
+
+		}
+
+		/**
+		 * Adds the ids of a list
+		 *
+		 * @param list the list
+		 * @return this builder
+		 */
+		public Builder add(IdentifierList list) {
+
+			if (list != null && list.size() > 0) {
+
+				if (size + list.size() > ids.length) {
+					ids = Arrays.copyOf(ids, Math.max(size + list.size(), ids.length + (ids.length >> 1)));
+				}
+
+				System.arraycopy(list.getBackingIDs(), 0, ids, size, list.size());
+				size += list.size();
+
+			}
+			return this;
+
+		}
+
+		/**
+		 * @return the set of the collected ids
+		 */
+		public IdSet build() {
+			return ofSorted(sortedCopy(ids, size));
+		}
+
+	}
+
+	/**
+	 * Writes ids given in strictly ascending order
+	 */
+	private static class Encoder {
+
+		/**
+		 * Encoded deltas
+		 */
+		private byte[] data;
+
+		/**
+		 * First id of every block
+		 */
+		private long[] blockFirst;
+
+		/**
+		 * Offset of every block
+		 */
+		private int[] blockOffset;
+
+		/**
+		 * Bytes written
+		 */
+		private int length;
+
+		/**
+		 * Ids written
+		 */
+		private int size;
+
+		/**
+		 * Last id written
+		 */
+		private long last;
+
+		/**
+		 * Creates an encoder
+		 *
+		 * @param expectedSize expected number of ids, used to size the buffers
+		 */
+		Encoder(int expectedSize) {
+
+			data = new byte[Math.max(16, expectedSize * 2)];
+			int blocks = Math.max(1, (expectedSize + BLOCK_SIZE - 1) / BLOCK_SIZE);
+			blockFirst = new long[blocks];
+			blockOffset = new int[blocks];
+
+		}
+
+		/**
+		 * Writes an id
+		 *
+		 * @param id the id, greater than the last one
+		 */
+		void add(long id) {
+
+			if (size % BLOCK_SIZE == 0) {
+
+				int block = size / BLOCK_SIZE;
+				if (block == blockFirst.length) {
+					blockFirst = Arrays.copyOf(blockFirst, block * 2);
+					blockOffset = Arrays.copyOf(blockOffset, block * 2);
+				}
+				blockFirst[block] = id;
+				blockOffset[block] = length;
+
+			} else {
+
+				if (length + 10 > data.length) {
+					data = Arrays.copyOf(data, Math.max(length + 10, data.length * 2));
+				}
+
+				long delta = id - last;
+				while ((delta & ~0x7FL) != 0) {
+					data[length++] = (byte) ((delta & 0x7F) | 0x80);
+					delta >>>= 7;
+				}
+				data[length++] = (byte) delta;
+
+			}
+
+			last = id;
+			size++;
+
+		}
+
+		/**
+		 * @return the set, with the buffers trimmed
+		 */
+		IdSet build() {
+
+			int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+			return new IdSet(Arrays.copyOf(data, length), Arrays.copyOf(blockFirst, blocks), Arrays.copyOf(blockOffset, blocks), size);
+
+		}
+
+	}
+
+}
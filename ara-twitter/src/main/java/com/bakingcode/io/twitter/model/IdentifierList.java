@@ -1,6 +1,10 @@
 package com.bakingcode.io.twitter.model;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import com.bakingcode.io.twitter.tools.JsonStreamReader;
 
 import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
 
@@ -8,91 +12,241 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+/**
+ * Cursored list of user identifiers. The ids are kept in a growable primitive array, no object is allocated
+ * for each id.
+ */
 public class IdentifierList extends Cursor{
 
 	/**
 	 * Logging tag
 	 */
 	private static final String TAG = "IdentifierList";
-	
-	private ArrayList<Id> idList;
-	private long[] idArray;
-	
+
+	/**
+	 * Initial capacity of an empty list
+	 */
+	private static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * Ids of the list, only the first size positions are used
+	 */
+	private long[] ids;
+
+	/**
+	 * Number of ids of the list
+	 */
+	private int size;
+
+	/**
+	 * Creates an empty list
+	 */
+	public IdentifierList() {
+		ids = new long[DEFAULT_CAPACITY];
+	}
+
 	public IdentifierList(JSONObject json) {
 		super(json);
 		if (json != null) {
-			idList = new ArrayList<Id>();
 			try {
-				JSONArray array = json.getJSONArray("ids");
+				JSONArray array = json.optJSONArray("ids");
 				if (array != null) {
-					int size = array.length();
-					idArray = new long[size];
-					Id id;
-					for (int i = 0; i < size; i++) {
-						id = null;
-						Object item = array.get(i);
-						if (item instanceof String) {
-							String idStr = (String) item;
-							id = new Id(idStr);							
-						} else if (item instanceof Long) {
-							long idLong = (Long) item;
-							id = new Id(idLong);							
-						} else if (item instanceof Integer) {							
-							long idLong = (Integer) item;
-							id = new Id(idLong);
-							
-						}
-						if (id != null) {
-							idList.add(id);			
-							idArray[i] = id.getId();
-						}
-						
+					int length = array.length();
+					ids = new long[Math.max(length, DEFAULT_CAPACITY)];
+					for (int i = 0; i < length; i++) {
+						ids[size++] = array.getLong(i);
 					}
-				}				
-				
+				}
+
 			} catch (JSONException e) {
 				LT(TAG, e);
 			}
 		}
+		if (ids == null) {
+			ids = new long[DEFAULT_CAPACITY];
+		}
+	}
+
+	/**
+	 * Streaming parser constructor. It reads the cursors and the ids from the reader without building a json tree,
+	 * the ids are read as raw digits straight into the primitive array
+	 *
+	 * @param reader reader positioned at the beginning of the object
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public IdentifierList(JsonStreamReader reader) throws IOException {
+
+		ids = new long[DEFAULT_CAPACITY];
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+
+			String name = reader.nextName();
+
+			if (name.equals("previous_cursor")) {
+				previousCursor = reader.nextLong();
+			} else if (name.equals("next_cursor")) {
+				nextCursor = reader.nextLong();
+			} else if (name.equals("ids")) {
+
+				if (!reader.nextIfNull()) {
+
+					reader.beginArray();
+
+					while (reader.hasNext()) {
+						add(reader.nextLong());
+					}
+
+					reader.endArray();
+
+				}
+
+			} else {
+				reader.skipValue();
+			}
+
+		}
+
+		reader.endObject();
+
 	}
-	
+
+	/**
+	 * Parses a page of ids from a response without building a json tree. Both the numeric ids and the
+	 * stringified ones (stringify_ids=true) are accepted.
+	 *
+	 * @param response the json response
+	 * @return the list or null if the response is malformed
+	 */
+	public static IdentifierList parse(String response) {
+
+		try {
+
+			return new IdentifierList(new JsonStreamReader(new StringReader(response)));
+
+		} catch (IOException e) {
+			LT(TAG, e);
+		}
+
+		return null;
+
+	}
+
+	/**
+	 * Makes sure the array can hold the given number of ids
+	 *
+	 * @param capacity the number of ids
+	 */
+	private void ensureCapacity(int capacity) {
+
+		if (capacity > ids.length) {
+			ids = Arrays.copyOf(ids, Math.max(capacity, ids.length + (ids.length >> 1)));
+		}
+
+	}
+
+	/**
+	 * Adds an id at the end of the list
+	 *
+	 * @param id the id
+	 */
+	public void add(long id) {
+		ensureCapacity(size + 1);
+		ids[size++] = id;
+	}
+
 	public void add(Id id) {
-		if (idList != null) {
-			idList.add(id);
+		if (id != null) {
+			add(id.getId());
 		}
 	}
-	
+
+	/**
+	 * Appends all the ids of another list, e.g. the next page of a cursored petition
+	 *
+	 * @param anotherList the list to append
+	 */
 	public void add(IdentifierList anotherList) {
-		if (idList == null) {
-			idList = new ArrayList<Id>();
-		}
-		
-		if (anotherList != null) {
-			idList.addAll(anotherList.idList);
+		if (anotherList != null && anotherList.size > 0) {
+			ensureCapacity(size + anotherList.size);
+			System.arraycopy(anotherList.ids, 0, ids, size, anotherList.size);
+			size += anotherList.size;
 		}
 	}
-	
-	
+
+
 	public int size() {
-		return (idList != null) ? idList.size() : 0;
+		return size;
 	}
-	
+
+	/**
+	 * Gets the id at the given position
+	 *
+	 * @param index the position
+	 * @return the id
+	 */
+	public long get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		return ids[index];
+	}
+
 	public Id elementAt(int index) {
-		return (idList != null) ? idList.get(index) : null;
+		return new Id(get(index));
 	}
-	
+
+	/**
+	 * Gets the position of an id
+	 *
+	 * @param id the id
+	 * @return the position or -1 if the id is not in the list
+	 */
+	public int indexOf(long id) {
+		for (int i = 0; i < size; i++) {
+			if (ids[i] == id) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	public int indexOf(Id object) {
-		return (idList != null) ? idList.indexOf(object) : -1;
+		return (object != null) ? indexOf(object.getId()) : -1;
 	}
-	
+
 	public void clear() {
-		if (idList != null) {
-			idList.clear();
-		}
+		size = 0;
 	}
-	
+
+	/**
+	 * Gets the ids of the list as a compressed set, ready for set algebra with other lists
+	 *
+	 * @return the set of ids
+	 */
+	public IdSet toIdSet() {
+		return IdSet.of(this);
+	}
+
+	/**
+	 * Gets a copy of the ids of the list. Every call allocates a new array, {@link #getBackingIDs()} reads them
+	 * without copying.
+	 *
+	 * @return a copy of the ids, its length is the size of the list
+	 */
 	public long[] getIDs() {
-		return this.idArray;
+		return Arrays.copyOf(ids, size);
+	}
+
+	/**
+	 * Gets the array that holds the ids of the list, without copying it. Only its first {@link #size()} positions
+	 * are ids. The array is replaced when the list grows, so it must not be kept across changes of the list nor
+	 * modified.
+	 *
+	 * @return the array that holds the ids
+	 */
+	public long[] getBackingIDs() {
+		return ids;
 	}
 
 }
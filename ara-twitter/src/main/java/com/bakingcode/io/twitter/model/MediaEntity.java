@@ -2,8 +2,10 @@ package com.bakingcode.io.twitter.model;
 
 import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
 
+import java.io.IOException;
 import java.io.Serializable;
 
+import com.bakingcode.io.twitter.tools.JsonStreamReader;
 import com.bakingcode.io.twitter.tools.Tools;
 
 import org.json.JSONException;
@@ -119,6 +121,44 @@ public class MediaEntity implements Serializable {
 		}
 		
 	}
+
+	/**
+	 * Streaming parser constructor. It reads a json object from the reader to make a new MediaEntity instance
+	 *
+	 * @param reader reader positioned at the beginning of the object
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public MediaEntity(JsonStreamReader reader) throws IOException {
+
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+
+			String name = reader.nextName();
+
+			if (name.equals("id")) {
+				id = reader.nextLong();
+			} else if (name.equals("media_url")) {
+				mediaUrl = reader.nextStringOrNull();
+			} else if (name.equals("media_url_https")) {
+				mediaUrlHttps = reader.nextStringOrNull();
+			} else if (name.equals("url")) {
+				url = reader.nextStringOrNull();
+			} else if (name.equals("display_url")) {
+				displayUrl = reader.nextStringOrNull();
+			} else if (name.equals("expanded_url")) {
+				expandedUrl = reader.nextStringOrNull();
+			} else if (name.equals("type")) {
+				type = reader.nextStringOrNull();
+			} else {
+				reader.skipValue();
+			}
+
+		}
+
+		reader.endObject();
+
+	}
 	
 	
 	// ///////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,51 @@
+package com.bakingcode.io.twitter.model;
+
+/**
+ * Http response whose body has been parsed while it was read from the connection. The response string is
+ * only available when the petition failed or the body was not parsed.
+ *
+ * @param <T> type of the parsed body
+ */
+public class ParsedResponse<T> extends ResponseString {
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Fields
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * The parsed body
+	 */
+	private T result;
+
+	/**
+	 * True if the body has been parsed
+	 */
+	private boolean parsed;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Get & Set
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * @return the parsed body
+	 */
+	public T getResult() {
+		return result;
+	}
+
+	/**
+	 * @param result the parsed body to set
+	 */
+	public void setResult(T result) {
+		this.result = result;
+		this.parsed = true;
+	}
+
+	/**
+	 * @return true if the body has been parsed
+	 */
+	public boolean isParsed() {
+		return parsed;
+	}
+
+}
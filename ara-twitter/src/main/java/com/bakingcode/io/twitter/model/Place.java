@@ -1,9 +1,11 @@
 package com.bakingcode.io.twitter.model;
 
+import com.bakingcode.io.twitter.tools.JsonStreamReader;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -99,6 +101,42 @@ public class Place implements Serializable {
 		}
 		
 	}
+
+	/**
+	 * Streaming parser constructor. It reads a json object from the reader to make a new place instance
+	 *
+	 * @param reader reader positioned at the beginning of the object
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public Place (JsonStreamReader reader) throws IOException {
+
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+
+			String name = reader.nextName();
+
+			if (name.equals("id")) {
+				id = reader.nextStringOrNull();
+			} else if (name.equals("country")) {
+				country = reader.nextStringOrNull();
+			} else if (name.equals("country_code")) {
+				countryCode = reader.nextStringOrNull();
+			} else if (name.equals("full_name")) {
+				fullName = reader.nextStringOrNull();
+			} else if (name.equals("place_type")) {
+				placeType = reader.nextStringOrNull();
+			} else if (name.equals("url")) {
+				url = reader.nextStringOrNull();
+			} else {
+				reader.skipValue();
+			}
+
+		}
+
+		reader.endObject();
+
+	}
 	
 	/**
 	 * Parses a JSON string to a Place list
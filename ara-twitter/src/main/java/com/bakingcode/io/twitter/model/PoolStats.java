@@ -0,0 +1,106 @@
+package com.bakingcode.io.twitter.model;
+
+/**
+ * Snapshot of the state of the connection pool of a TwitterHttpClient
+ */
+public class PoolStats {
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Fields
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Connections of the pool leased to a petition
+	 */
+	private final int leased;
+
+	/**
+	 * Open connections of the pool idle, ready to be reused
+	 */
+	private final int available;
+
+	/**
+	 * Petitions blocked waiting for a connection of the pool
+	 */
+	private final int pending;
+
+	/**
+	 * Petitions of the client executing, either waiting for a connection or using it
+	 */
+	private final int inFlightRequests;
+
+	/**
+	 * Max number of connections of the pool
+	 */
+	private final int max;
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Constructors
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Default constructor
+	 *
+	 * @param leased connections leased to a petition
+	 * @param available idle connections
+	 * @param pending petitions waiting for a connection
+	 * @param inFlightRequests petitions executing
+	 * @param max max number of connections
+	 */
+	public PoolStats(int leased, int available, int pending, int inFlightRequests, int max) {
+
+		this.leased = leased;
+		this.available = available;
+		this.pending = pending;
+		this.inFlightRequests = inFlightRequests;
+		this.max = max;
+
+	}
+
+	// ///////////////////////////////////////////////////////////////////////////
+	// Get & Set
+	// ///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * @return the connections leased to a petition
+	 */
+	public int getLeased() {
+		return leased;
+	}
+
+	/**
+	 * @return the idle connections, ready to be reused
+	 */
+	public int getAvailable() {
+		return available;
+	}
+
+	/**
+	 * @return the petitions blocked waiting for a connection
+	 */
+	public int getPending() {
+		return pending;
+	}
+
+	/**
+	 * @return the petitions executing, either waiting for a connection or using it. Responses, streamed or not,
+	 * are parsed before the petition returns, so a petition keeps being counted until its connection is released.
+	 */
+	public int getInFlightRequests() {
+		return inFlightRequests;
+	}
+
+	/**
+	 * @return the max number of connections
+	 */
+	public int getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "[leased: " + leased + "; available: " + available + "; pending: " + pending + "; inFlightRequests: "
+				+ inFlightRequests + "; max: " + max + "]";
+	}
+
+}
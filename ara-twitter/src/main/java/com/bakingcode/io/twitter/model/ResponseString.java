@@ -20,6 +20,26 @@ public class ResponseString {
 	 * If the response code of twitter request is != 200 this will parse a error item
 	 */
 	private IError error;
+
+	/**
+	 * Rate limit status of the endpoint read from the x-rate-limit headers, null if the response has no headers
+	 */
+	private ApiMethod rateLimit;
+
+	/**
+	 * Http status code of the response, 0 if no response was received
+	 */
+	private int statusCode;
+
+	/**
+	 * Time in millis taken by the http exchange, 0 if it was not made
+	 */
+	private long elapsedMillis;
+
+	/**
+	 * Size in bytes of the body, -1 if it is unknown
+	 */
+	private long contentLength = -1;
 	
 	// ///////////////////////////////////////////////////////////////////////////
 	// Utils
@@ -65,4 +85,60 @@ public class ResponseString {
 		this.error = error;
 	}
 
+	/**
+	 * @return the rate limit status of the endpoint or null if the response has no rate limit headers
+	 */
+	public ApiMethod getRateLimit() {
+		return rateLimit;
+	}
+
+	/**
+	 * @param rateLimit the rate limit status to set
+	 */
+	public void setRateLimit(ApiMethod rateLimit) {
+		this.rateLimit = rateLimit;
+	}
+
+	/**
+	 * @return the http status code or 0 if no response was received
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * @param statusCode the http status code to set
+	 */
+	public void setStatusCode(int statusCode) {
+		this.statusCode = statusCode;
+	}
+
+	/**
+	 * @return the time in millis taken by the http exchange, 0 if it was not made
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * @param elapsedMillis the time in millis taken by the http exchange to set
+	 */
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/**
+	 * @return the size in bytes of the body, -1 if it is unknown
+	 */
+	public long getContentLength() {
+		return contentLength;
+	}
+
+	/**
+	 * @param contentLength the size in bytes of the body to set
+	 */
+	public void setContentLength(long contentLength) {
+		this.contentLength = contentLength;
+	}
+
 }
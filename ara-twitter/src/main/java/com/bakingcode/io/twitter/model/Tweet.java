@@ -10,6 +10,7 @@ package com.bakingcode.io.twitter.model;
 
 import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -17,7 +18,10 @@ import java.util.Date;
 import java.util.List;
 
 import com.bakingcode.io.twitter.tools.HTMLEntity;
+import com.bakingcode.io.twitter.tools.JsonStreamReader;
+import com.bakingcode.io.twitter.tools.Snowflake;
 import com.bakingcode.io.twitter.tools.Tools;
+import com.bakingcode.io.twitter.tools.TwitterDateParser;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -31,7 +35,7 @@ public class Tweet implements Serializable {
 	/**
 	 * Serial Id
 	 */
-	private static final long serialVersionUID = 1415346057322953722L;
+	private static final long serialVersionUID = 6430827981489857252L;
 	
 	/**
 	 * Private log tag
@@ -53,9 +57,15 @@ public class Tweet implements Serializable {
 	private Place place;
 	
 	/**
-	 * UTC time when this Tweet was created.
+	 * UTC time in millis when this Tweet was created, TwitterDateParser.INVALID if it is unknown. Not used if
+	 * the time is read from the id.
 	 */
-	private Date createdAt;
+	private long createdAtMillis = TwitterDateParser.INVALID;
+
+	/**
+	 * True if the creation time is read from the Snowflake id when it is requested, created_at was not parsed
+	 */
+	private boolean snowflakeTime;
 	
 	/**
 	 * Nullable. Perspectival. Indicates whether this Tweet has been favorited by the authenticating user.
@@ -182,6 +192,39 @@ public class Tweet implements Serializable {
 		}
 		
 	}
+
+	/**
+	 * Reads a List of tweets from a json array in the stream
+	 *
+	 * @param reader reader positioned at the beginning of the array
+	 * @return List of tweets
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public static List<Tweet> parseList(JsonStreamReader reader) throws IOException {
+		return parseList(reader, false);
+	}
+
+	/**
+	 * Reads a List of tweets from a json array in the stream
+	 *
+	 * @param reader reader positioned at the beginning of the array
+	 * @param snowflakeTimestamps true to read the creation time from the Snowflake ids, see {@link #Tweet(JSONObject, boolean)}
+	 * @return List of tweets
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public static List<Tweet> parseList(JsonStreamReader reader, boolean snowflakeTimestamps) throws IOException {
+
+		List<Tweet> listTweets = new ArrayList<Tweet>();
+		reader.beginArray();
+
+		while (reader.hasNext()) {
+			listTweets.add(new Tweet(reader, snowflakeTimestamps));
+		}
+
+		reader.endArray();
+		return listTweets;
+
+	}
 	
 	/**
 	 * JSON parser constructor. It parses a json object to make a new tweet instance
@@ -189,6 +232,18 @@ public class Tweet implements Serializable {
 	 * @param json jsonObject to parse
 	 */
 	public Tweet(JSONObject json) {
+		this(json, false);
+	}
+
+	/**
+	 * JSON parser constructor. It parses a json object to make a new tweet instance
+	 *
+	 * @param json jsonObject to parse
+	 * @param snowflakeTimestamps true to read the creation time from the Snowflake id, without parsing created_at,
+	 * when the tweet has one. The id has millis precision, the date only seconds, so these times are not rounded
+	 * to the second.
+	 */
+	public Tweet(JSONObject json, boolean snowflakeTimestamps) {
 		
 		try {
 			
@@ -200,10 +255,6 @@ public class Tweet implements Serializable {
 				setPlace(new Place(json.getJSONObject("place")));
 			}
 			
-			if (json.has("created_at") && !json.isNull("created_at")) {
-				createdAt = Tools.parseLargeTweetDate(json.getString("created_at"));
-			}
-			
 			if (json.has("entities") && !json.isNull("entities")) {
 				
 				JSONObject entitiesObject = json.getJSONObject("entities");
@@ -230,6 +281,12 @@ public class Tweet implements Serializable {
 			}
 			
 			id = json.getLong("id");
+			snowflakeTime = snowflakeTimestamps && Snowflake.isSnowflake(id);
+			
+			if (!snowflakeTime && json.has("created_at") && !json.isNull("created_at")) {
+				createdAtMillis = TwitterDateParser.parse(json.getString("created_at"));
+			}
+			
 			inReplyToScreenName = json.getString("in_reply_to_screen_name");
 			
 			if (!json.isNull("in_reply_to_status_id")) {
@@ -252,7 +309,7 @@ public class Tweet implements Serializable {
 			}
 			
 			if (json.has("retweeted_status") && !json.isNull("retweeted_status")) {
-				retweetedStatus = new Tweet(json.getJSONObject("retweeted_status"));
+				retweetedStatus = new Tweet(json.getJSONObject("retweeted_status"), snowflakeTimestamps);
 			}
 			
 		} catch (JSONException e) {
@@ -261,6 +318,126 @@ public class Tweet implements Serializable {
 		
 	}
 
+	/**
+	 * Streaming parser constructor. It reads a json object from the reader to make a new tweet instance
+	 *
+	 * @param reader reader positioned at the beginning of the object
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public Tweet(JsonStreamReader reader) throws IOException {
+		this(reader, false);
+	}
+
+	/**
+	 * Streaming parser constructor. It reads a json object from the reader to make a new tweet instance
+	 *
+	 * @param reader reader positioned at the beginning of the object
+	 * @param snowflakeTimestamps true to read the creation time from the Snowflake id, see {@link #Tweet(JSONObject, boolean)}
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public Tweet(JsonStreamReader reader, boolean snowflakeTimestamps) throws IOException {
+
+		String createdAt = null;
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+
+			String name = reader.nextName();
+
+			if (reader.nextIfNull()) {
+				continue;
+			}
+
+			if (name.equals("coordinates")) {
+				coordinates = new Coordinates(reader);
+			} else if (name.equals("place")) {
+				place = new Place(reader);
+			} else if (name.equals("created_at")) {
+
+				// Not even read if the id came first and carries the time
+				if (snowflakeTimestamps && Snowflake.isSnowflake(id)) {
+					reader.skipValue();
+				} else {
+					createdAt = reader.nextString();
+				}
+
+			} else if (name.equals("entities")) {
+				readEntities(reader);
+			} else if (name.equals("favorited")) {
+				favorited = reader.nextBoolean();
+			} else if (name.equals("id")) {
+				id = reader.nextLong();
+			} else if (name.equals("in_reply_to_screen_name")) {
+				inReplyToScreenName = reader.nextString();
+			} else if (name.equals("in_reply_to_status_id")) {
+				inReplyToStatusId = reader.nextLong();
+			} else if (name.equals("in_reply_to_user_id")) {
+				inReplyToUserId = reader.nextLong();
+			} else if (name.equals("retweet_count")) {
+				retweetCount = reader.nextInt();
+			} else if (name.equals("retweeted")) {
+				retweeted = reader.nextBoolean();
+			} else if (name.equals("text")) {
+				text = HTMLEntity.unescape(reader.nextString());
+			} else if (name.equals("truncated")) {
+				truncated = reader.nextBoolean();
+			} else if (name.equals("user")) {
+				user = new User(reader);
+			} else if (name.equals("retweeted_status")) {
+				retweetedStatus = new Tweet(reader, snowflakeTimestamps);
+			} else {
+				reader.skipValue();
+			}
+
+		}
+
+		reader.endObject();
+		snowflakeTime = snowflakeTimestamps && Snowflake.isSnowflake(id);
+
+		if (!snowflakeTime) {
+			createdAtMillis = TwitterDateParser.parse(createdAt);
+		}
+
+	}
+
+	/**
+	 * Reads the media of the entities object, the rest of entities are skipped
+	 *
+	 * @param reader reader positioned at the beginning of the entities object
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	private void readEntities(JsonStreamReader reader) throws IOException {
+
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+
+			if (reader.nextName().equals("media")) {
+
+				if (!reader.nextIfNull()) {
+
+					List<MediaEntity> media = new ArrayList<MediaEntity>();
+					reader.beginArray();
+
+					while (reader.hasNext()) {
+						media.add(new MediaEntity(reader));
+					}
+
+					reader.endArray();
+					mediaEntities = media.toArray(new MediaEntity[media.size()]);
+
+				}
+
+			} else {
+				reader.skipValue();
+			}
+
+		}
+
+		reader.endObject();
+
+	}
+
 	// ///////////////////////////////////////////////////////////////////////////
 	// Get & Set
 	// ///////////////////////////////////////////////////////////////////////////
@@ -280,17 +457,27 @@ public class Tweet implements Serializable {
 	}
 
 	/**
-	 * @return the createdAt
+	 * @return the createdAt, a new Date on every call, or null if it is unknown
 	 */
 	public Date getCreatedAt() {
-		return createdAt;
+		long millis = getCreatedAtMillis();
+		return millis != TwitterDateParser.INVALID ? new Date(millis) : null;
 	}
 
 	/**
 	 * @param createdAt the createdAt to set
 	 */
 	public void setCreatedAt(Date createdAt) {
-		this.createdAt = createdAt;
+		this.createdAtMillis = createdAt != null ? createdAt.getTime() : TwitterDateParser.INVALID;
+		this.snowflakeTime = false;
+	}
+
+	/**
+	 * @return the creation time in millis or TwitterDateParser.INVALID if it is unknown. If the tweet was parsed
+	 * with Snowflake timestamps it is read from the id on every call.
+	 */
+	public long getCreatedAtMillis() {
+		return snowflakeTime ? Snowflake.timestampOf(id) : createdAtMillis;
 	}
 
 	/**
@@ -18,11 +18,36 @@ public class TwitterError implements Serializable, IError {
     // Twitter error constants
     // ///////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Could not authenticate the petition
+     */
+    public final static int ERROR_COULD_NOT_AUTHENTICATE = 32;
+
     /**
      * User has been suspended
      */
     public final static int ERROR_USER_SUSPENDED = 63;
 
+    /**
+     * The account of the credentials has been suspended
+     */
+    public final static int ERROR_ACCOUNT_SUSPENDED = 64;
+
+    /**
+     * Invalid or expired token
+     */
+    public final static int ERROR_INVALID_TOKEN = 89;
+
+    /**
+     * The credentials do not allow access to the resource, e.g. a user context endpoint with a bearer token
+     */
+    public final static int ERROR_CREDENTIALS_NOT_ALLOWED = 220;
+
+    /**
+     * The account of the credentials is temporarily locked
+     */
+    public final static int ERROR_ACCOUNT_LOCKED = 326;
+
     /**
      * Rate limit Error
      */
@@ -1,11 +1,17 @@
 package com.bakingcode.io.twitter.model;
 
+import com.bakingcode.io.twitter.tools.JsonStreamReader;
 import com.bakingcode.io.twitter.tools.Tools;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import static com.bakingcode.io.twitter.tools.TwitterLogging.LT;
 
@@ -176,6 +182,57 @@ public class User implements Serializable {
 		return null;
 		
 	}
+
+	/**
+	 * Parses a List of users envolved by a JsonArray
+	 *
+	 * @param response JSON string response
+	 * @return List of users
+	 */
+	public static List<User> parseList(String response) {
+
+		try {
+
+			JSONArray arrJson = new JSONArray(response);
+			List<User> listUsers = new ArrayList<User>();
+
+			for (int i=0 ; i<arrJson.length(); i++) {
+
+				JSONObject jsonObject = arrJson.getJSONObject(i);
+				User u = new User(jsonObject);
+				listUsers.add(u);
+
+			}
+
+			return listUsers;
+
+		} catch (JSONException e) {
+			LT(TAG, e);
+			return Collections.emptyList();
+		}
+
+	}
+
+	/**
+	 * Reads a List of users from a json array in the stream
+	 *
+	 * @param reader reader positioned at the beginning of the array
+	 * @return List of users
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public static List<User> parseList(JsonStreamReader reader) throws IOException {
+
+		List<User> listUsers = new ArrayList<User>();
+		reader.beginArray();
+
+		while (reader.hasNext()) {
+			listUsers.add(new User(reader));
+		}
+
+		reader.endArray();
+		return listUsers;
+
+	}
 	
 	/**
 	 * JSON parser constructor. It parses a json object to make a new user instance
@@ -241,6 +298,76 @@ public class User implements Serializable {
 		}
 		
 		
+	}
+
+	/**
+	 * Streaming parser constructor. It reads a json object from the reader to make a new user instance
+	 *
+	 * @param reader reader positioned at the beginning of the object
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public User(JsonStreamReader reader) throws IOException {
+
+		reader.beginObject();
+
+		while (reader.hasNext()) {
+
+			String name = reader.nextName();
+
+			if (reader.nextIfNull()) {
+				continue;
+			}
+
+			if (name.equals("created_at")) {
+				createdAt = Tools.parseLargeTweetDate(reader.nextString());
+			} else if (name.equals("default_profile")) {
+				defaultProfile = reader.nextBoolean();
+			} else if (name.equals("default_profile_image")) {
+				defaultProfileImage = reader.nextBoolean();
+			} else if (name.equals("description")) {
+				description = reader.nextString();
+			} else if (name.equals("favourites_count")) {
+				favouritesCount = reader.nextInt();
+			} else if (name.equals("following")) {
+				following = reader.nextBoolean();
+			} else if (name.equals("followers_count")) {
+				followersCount = reader.nextInt();
+			} else if (name.equals("friends_count")) {
+				friendsCount = reader.nextInt();
+			} else if (name.equals("id")) {
+				id = reader.nextLong();
+			} else if (name.equals("listed_count")) {
+				listedCount = reader.nextInt();
+			} else if (name.equals("location")) {
+				location = reader.nextString();
+			} else if (name.equals("name")) {
+				this.name = reader.nextString();
+			} else if (name.equals("profile_image_url")) {
+				profileImageUrl = reader.nextString();
+			} else if (name.equals("screen_name")) {
+				screenName = reader.nextString();
+			} else if (name.equals("statuses_count")) {
+				statusesCount = reader.nextInt();
+			} else if (name.equals("url")) {
+				url = reader.nextString();
+			} else if (name.equals("profile_background_tile")) {
+				profileBackgroundTile = reader.nextBoolean();
+			} else if (name.equals("profile_background_image_url")) {
+				profileBackgroundImageUrl = reader.nextString();
+			} else if (name.equals("profile_background_image_url_https")) {
+				profileBackgroundImageUrlHttps = reader.nextString();
+			} else if (name.equals("profile_banner_url")) {
+				profileBannerUrl = reader.nextString();
+			} else if (name.equals("profile_background_color")) {
+				profileBackgroundColor = reader.nextString();
+			} else {
+				reader.skipValue();
+			}
+
+		}
+
+		reader.endObject();
+
 	}
 	
 	// ///////////////////////////////////////////////////////////////////////////
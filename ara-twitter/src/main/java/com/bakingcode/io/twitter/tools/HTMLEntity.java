@@ -15,66 +15,246 @@
  */
 package com.bakingcode.io.twitter.tools;
 
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Escapes and unescapes the HTML 4 entities. Both directions are done in a single pass over the text and return
+ * the same string, without copying it, when there is nothing to replace. Unescaping also decodes any numeric
+ * entity, decimal "&#8364;" or hexadecimal "&#x20AC;".
+ */
 public final class HTMLEntity {
+
+    /**
+     * Escapes the characters that have a named entity
+     *
+     * @param original the text
+     * @return the escaped text, the same string if there is nothing to escape
+     */
     public static String escape(String original) {
-        StringBuilder buf = new StringBuilder(original);
-        escape(buf);
-        return buf.toString();
+        if (original == null) {
+            return null;
+        }
+        StringBuilder escaped = escape(original, 0);
+        return escaped != null ? escaped.toString() : original;
     }
 
+    /**
+     * Escapes in place the characters that have a named entity
+     *
+     * @param original the text
+     */
     public static void escape(StringBuilder original) {
-        int index = 0;
-        String escaped;
-        while (index < original.length()) {
-            escaped = entityEscapeMap.get(original.substring(index, index + 1));
-            if (escaped != null) {
-                original.replace(index, index + 1, escaped);
-                index += escaped.length();
-            } else {
-                index++;
-            }
+        StringBuilder escaped = escape(original, 0);
+        if (escaped != null) {
+            original.setLength(0);
+            original.append(escaped);
         }
     }
 
+    /**
+     * Unescapes the named and numeric entities
+     *
+     * @param original the text
+     * @return the unescaped text, the same string if it has no entities
+     */
     public static String unescape(String original) {
-        String returnValue = null;
-        if (original != null) {
-            StringBuilder buf = new StringBuilder(original);
-            unescape(buf);
-            returnValue = buf.toString();
+        if (original == null) {
+            return null;
         }
-        return returnValue;
+        int amp = original.indexOf('&');
+        if (amp < 0) {
+            return original;
+        }
+        StringBuilder unescaped = unescape(original, amp);
+        return unescaped != null ? unescaped.toString() : original;
     }
 
+    /**
+     * Unescapes in place the named and numeric entities
+     *
+     * @param original the text
+     */
     public static void unescape(StringBuilder original) {
-        int index = 0;
-        int semicolonIndex;
-        String escaped;
-        String entity;
-        while (index < original.length()) {
-            index = original.indexOf("&", index);
-            if (-1 == index) {
-                break;
+        int amp = original.indexOf("&");
+        if (amp < 0) {
+            return;
+        }
+        StringBuilder unescaped = unescape(original, amp);
+        if (unescaped != null) {
+            original.setLength(0);
+            original.append(unescaped);
+        }
+    }
+
+    /**
+     * @param text the text
+     * @param from first character to look at
+     * @return the escaped text or null if there is nothing to escape
+     */
+    private static StringBuilder escape(CharSequence text, int from) {
+        StringBuilder out = null;
+        int copied = 0;
+        int length = text.length();
+        for (int i = from; i < length; i++) {
+            char c = text.charAt(i);
+            String[] row = escapes[c >> 8];
+            String entity = row != null ? row[c & 0xFF] : null;
+            if (entity != null) {
+                if (out == null) {
+                    out = new StringBuilder(length + 16);
+                }
+                out.append(text, copied, i).append(entity);
+                copied = i + 1;
             }
-            semicolonIndex = original.indexOf(";", index);
-            if (-1 != semicolonIndex) {
-                escaped = original.substring(index, semicolonIndex + 1);
-                entity = escapeEntityMap.get(escaped);
-                if (entity != null) {
-                    original.replace(index, semicolonIndex + 1, entity);
+        }
+        if (out != null) {
+            out.append(text, copied, length);
+        }
+        return out;
+    }
+
+    /**
+     * @param text the text
+     * @param amp position of its first '&amp;'
+     * @return the unescaped text or null if there is no entity to unescape
+     */
+    private static StringBuilder unescape(CharSequence text, int amp) {
+        StringBuilder out = null;
+        int copied = 0;
+        int length = text.length();
+        for (int i = amp; i < length; i++) {
+            if (text.charAt(i) != '&') {
+                continue;
+            }
+            int semicolon = -1;
+            int limit = Math.min(length, i + maxEntityLength);
+            for (int j = i + 1; j < limit; j++) {
+                char c = text.charAt(j);
+                if (c == ';') {
+                    semicolon = j;
+                    break;
+                }
+                if (c == '&') {
+                    break;
                 }
-                index++;
+            }
+            if (semicolon < 0) {
+                continue;
+            }
+            if (out == null) {
+                out = new StringBuilder(length);
+            }
+            int mark = out.length();
+            out.append(text, copied, i);
+            if (text.charAt(i + 1) == '#' ? appendNumeric(text, i + 2, semicolon, out) : appendNamed(text, i + 1, semicolon, out)) {
+                copied = semicolon + 1;
+                i = semicolon;
             } else {
-                break;
+                out.setLength(mark);
             }
         }
+        if (out == null || copied == 0) {
+            return null;
+        }
+        out.append(text, copied, length);
+        return out;
     }
 
-    private static Map<String, String> entityEscapeMap = new HashMap<String, String>();
-    private static Map<String, String> escapeEntityMap = new HashMap<String, String>();
+    /**
+     * Appends the character of a named entity
+     *
+     * @param text the text
+     * @param start first character of the name
+     * @param end position of the ';'
+     * @param out where the character is appended
+     * @return true if the name is an entity
+     */
+    private static boolean appendNamed(CharSequence text, int start, int end, StringBuilder out) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        for (int slot = hash & (names.length - 1); names[slot] != null; slot = (slot + 1) & (names.length - 1)) {
+            if (regionEquals(names[slot], text, start, end)) {
+                out.append(values[slot]);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends the character of a numeric entity
+     *
+     * @param text the text
+     * @param start first character after the '#'
+     * @param end position of the ';'
+     * @param out where the character is appended
+     * @return true if it is a valid code point in decimal or, after an 'x', hexadecimal
+     */
+    private static boolean appendNumeric(CharSequence text, int start, int end, StringBuilder out) {
+        int radix = 10;
+        if (start < end && (text.charAt(start) == 'x' || text.charAt(start) == 'X')) {
+            radix = 16;
+            start++;
+        }
+        if (start == end) {
+            return false;
+        }
+        int codePoint = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(text.charAt(i), radix);
+            if (digit < 0) {
+                return false;
+            }
+            codePoint = codePoint * radix + digit;
+            if (codePoint > Character.MAX_CODE_POINT) {
+                return false;
+            }
+        }
+        if (codePoint == 0 || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return false;
+        }
+        out.appendCodePoint(codePoint);
+        return true;
+    }
+
+    /**
+     * @param name an entity name
+     * @param text the text
+     * @param start first character of the region
+     * @param end end of the region, exclusive
+     * @return true if the region is the name
+     */
+    private static boolean regionEquals(String name, CharSequence text, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Named entities by character, in rows of 256 characters so the table stays small
+     */
+    private static final String[][] escapes = new String[256][];
+
+    /**
+     * Names of the entities, without '&amp;' and ';', in an open addressing table by hash
+     */
+    private static final String[] names = new String[512];
+
+    /**
+     * Characters of the names, at the same slots
+     */
+    private static final String[] values = new String[512];
+
+    /**
+     * Length of the longest entity, '&amp;' and ';' included. A longer text between '&amp;' and ';' is left as it is.
+     */
+    private static int maxEntityLength = "&#x10FFFF;".length();
 
     static {
         String[][] entities =
@@ -358,9 +538,19 @@ public final class HTMLEntity {
 /* rsaquo is proposed but not yet ISO standardized */
                         , {"&euro;", "&#8364;" /* euro sign */, "\u20AC"}};
         for (String[] entity : entities) {
-            entityEscapeMap.put(entity[2], entity[0]);
-            escapeEntityMap.put(entity[0], entity[2]);
-            escapeEntityMap.put(entity[1], entity[2]);
+            char c = entity[2].charAt(0);
+            if (escapes[c >> 8] == null) {
+                escapes[c >> 8] = new String[256];
+            }
+            escapes[c >> 8][c & 0xFF] = entity[0];
+            String name = entity[0].substring(1, entity[0].length() - 1);
+            int slot = name.hashCode() & (names.length - 1);
+            while (names[slot] != null) {
+                slot = (slot + 1) & (names.length - 1);
+            }
+            names[slot] = name;
+            values[slot] = entity[2];
+            maxEntityLength = Math.max(maxEntityLength, entity[0].length());
         }
     }
 
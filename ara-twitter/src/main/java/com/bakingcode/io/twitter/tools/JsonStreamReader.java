@@ -0,0 +1,838 @@
+package com.bakingcode.io.twitter.tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pull parser that reads a JSON document token by token straight from a character stream, without building
+ * any intermediate tree. Its API mirrors android.util.JsonReader, which is not available before API 11.
+ *
+ * Numbers are decoded from the raw digits so reading a long does not allocate.
+ */
+public class JsonStreamReader implements Closeable {
+
+    /**
+     * JSON tokens
+     */
+    public enum Token {
+        BEGIN_ARRAY,
+        END_ARRAY,
+        BEGIN_OBJECT,
+        END_OBJECT,
+        NAME,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Scopes
+    // ///////////////////////////////////////////////////////////////////////////
+
+    private static final int EMPTY_ARRAY = 1;
+    private static final int NONEMPTY_ARRAY = 2;
+    private static final int EMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int EMPTY_DOCUMENT = 6;
+    private static final int NONEMPTY_DOCUMENT = 7;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Source of characters
+     */
+    private final Reader in;
+
+    /**
+     * Read buffer
+     */
+    private final char[] buffer = new char[8192];
+
+    /**
+     * Position of the next char to read in the buffer
+     */
+    private int pos = 0;
+
+    /**
+     * Number of valid chars in the buffer
+     */
+    private int limit = 0;
+
+    /**
+     * Stack of open arrays and objects
+     */
+    private int[] stack = new int[32];
+
+    /**
+     * Size of the stack
+     */
+    private int stackSize = 0;
+
+    /**
+     * Token already peeked and not consumed, null if none
+     */
+    private Token peeked;
+
+    /**
+     * Reusable builder for strings spanning more than one buffer or containing escapes
+     */
+    private final StringBuilder stringBuilder = new StringBuilder();
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a new reader
+     * @param in source of the JSON document
+     */
+    public JsonStreamReader(Reader in) {
+
+        this.in = in;
+        stack[stackSize++] = EMPTY_DOCUMENT;
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Structure
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Consumes the beginning of an array
+     * @throws IOException if the next token is not the beginning of an array
+     */
+    public void beginArray() throws IOException {
+
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+        peeked = null;
+
+    }
+
+    /**
+     * Consumes the end of an array
+     * @throws IOException if the next token is not the end of an array
+     */
+    public void endArray() throws IOException {
+
+        expect(Token.END_ARRAY);
+        stackSize--;
+        peeked = null;
+
+    }
+
+    /**
+     * Consumes the beginning of an object
+     * @throws IOException if the next token is not the beginning of an object
+     */
+    public void beginObject() throws IOException {
+
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+        peeked = null;
+
+    }
+
+    /**
+     * Consumes the end of an object
+     * @throws IOException if the next token is not the end of an object
+     */
+    public void endObject() throws IOException {
+
+        expect(Token.END_OBJECT);
+        stackSize--;
+        peeked = null;
+
+    }
+
+    /**
+     * @return true if the current array or object has more elements
+     * @throws IOException if the document cannot be read
+     */
+    public boolean hasNext() throws IOException {
+
+        Token p = peek();
+        return p != Token.END_OBJECT && p != Token.END_ARRAY && p != Token.END_DOCUMENT;
+
+    }
+
+    /**
+     * Gets the type of the next token without consuming it
+     *
+     * @return the next token
+     * @throws IOException if the document cannot be read or is malformed
+     */
+    public Token peek() throws IOException {
+
+        if (peeked != null) {
+            return peeked;
+        }
+
+        int scope = stack[stackSize - 1];
+        int c;
+
+        switch (scope) {
+
+            case EMPTY_ARRAY:
+
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+
+                pos--;
+                return peeked = peekValue();
+
+            case NONEMPTY_ARRAY:
+
+                c = nextNonWhitespace();
+
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                } else if (c != ',') {
+                    throw syntaxError("Unterminated array");
+                }
+
+                return peeked = peekValue();
+
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+
+                stack[stackSize - 1] = DANGLING_NAME;
+                c = nextNonWhitespace();
+
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+
+                if (scope == NONEMPTY_OBJECT) {
+
+                    if (c != ',') {
+                        throw syntaxError("Unterminated object");
+                    }
+
+                    c = nextNonWhitespace();
+
+                }
+
+                if (c != '"') {
+                    throw syntaxError("Expected name");
+                }
+
+                return peeked = Token.NAME;
+
+            case DANGLING_NAME:
+
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Expected ':'");
+                }
+
+                return peeked = peekValue();
+
+            case EMPTY_DOCUMENT:
+
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                return peeked = peekValue();
+
+            default:
+
+                return peeked = Token.END_DOCUMENT;
+
+        }
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Values
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the name of the next property of the current object
+     * @throws IOException if the next token is not a name
+     */
+    public String nextName() throws IOException {
+
+        expect(Token.NAME);
+        peeked = null;
+        return readString();
+
+    }
+
+    /**
+     * Reads the next value as a string. Numbers are returned with their literal representation.
+     *
+     * @return the next string
+     * @throws IOException if the next token is not a string or a number
+     */
+    public String nextString() throws IOException {
+
+        Token p = peek();
+        peeked = null;
+
+        if (p == Token.STRING) {
+            return readString();
+        } else if (p == Token.NUMBER) {
+            return readNumberLiteral();
+        }
+
+        throw syntaxError("Expected a string but was " + p);
+
+    }
+
+    /**
+     * Reads the next value as a string or null if the value is a JSON null
+     *
+     * @return the next string or null
+     * @throws IOException if the next token is not a string, a number or null
+     */
+    public String nextStringOrNull() throws IOException {
+        return nextIfNull() ? null : nextString();
+    }
+
+    /**
+     * Reads the next value as a long. Quoted numbers (like stringified ids) are also accepted.
+     *
+     * @return the next long
+     * @throws IOException if the next token is not a number
+     */
+    public long nextLong() throws IOException {
+
+        Token p = peek();
+        peeked = null;
+
+        if (p == Token.STRING) {
+
+            String s = readString();
+
+            try {
+                return Long.parseLong(s);
+            } catch (NumberFormatException e) {
+                throw syntaxError("Expected a long but was " + s);
+            }
+
+        } else if (p != Token.NUMBER) {
+            throw syntaxError("Expected a long but was " + p);
+        }
+
+        // Fast path: plain integer literal decoded digit by digit
+        boolean negative = false;
+        long value = 0;
+
+        if (fillIfNeeded() && buffer[pos] == '-') {
+            negative = true;
+            pos++;
+        }
+
+        while (fillIfNeeded()) {
+
+            char c = buffer[pos];
+
+            if (c >= '0' && c <= '9') {
+
+                value = value * 10 - (c - '0');
+                pos++;
+
+            } else if (c == '.' || c == 'e' || c == 'E') {
+
+                // Not an integer, the rest of the literal is read and parsed as a double
+                StringBuilder builder = stringBuilder;
+                builder.setLength(0);
+                builder.append(negative ? "-" : "").append(Long.toString(-value));
+
+                while (fillIfNeeded() && isNumberChar(buffer[pos])) {
+                    builder.append(buffer[pos++]);
+                }
+
+                return (long) Double.parseDouble(builder.toString());
+
+            } else {
+                break;
+            }
+
+        }
+
+        return negative ? value : -value;
+
+    }
+
+    /**
+     * @return the next value as an int
+     * @throws IOException if the next token is not a number
+     */
+    public int nextInt() throws IOException {
+        return (int) nextLong();
+    }
+
+    /**
+     * @return the next value as a double
+     * @throws IOException if the next token is not a number
+     */
+    public double nextDouble() throws IOException {
+
+        Token p = peek();
+        peeked = null;
+
+        if (p == Token.STRING) {
+            return Double.parseDouble(readString());
+        } else if (p != Token.NUMBER) {
+            throw syntaxError("Expected a double but was " + p);
+        }
+
+        return Double.parseDouble(readNumberLiteral());
+
+    }
+
+    /**
+     * @return the next value as a boolean
+     * @throws IOException if the next token is not a boolean
+     */
+    public boolean nextBoolean() throws IOException {
+
+        expect(Token.BOOLEAN);
+        peeked = null;
+
+        if (buffer[pos] == 't') {
+            consumeLiteral("true");
+            return true;
+        }
+
+        consumeLiteral("false");
+        return false;
+
+    }
+
+    /**
+     * Consumes a null value
+     * @throws IOException if the next token is not null
+     */
+    public void nextNull() throws IOException {
+
+        expect(Token.NULL);
+        peeked = null;
+        consumeLiteral("null");
+
+    }
+
+    /**
+     * Consumes the next value if it is null
+     *
+     * @return true if a null value was consumed
+     * @throws IOException if the document cannot be read
+     */
+    public boolean nextIfNull() throws IOException {
+
+        if (peek() == Token.NULL) {
+            nextNull();
+            return true;
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Skips the next value, including nested arrays and objects
+     * @throws IOException if the document cannot be read
+     */
+    public void skipValue() throws IOException {
+
+        int depth = 0;
+
+        do {
+
+            Token p = peek();
+
+            switch (p) {
+
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+
+                case END_ARRAY:
+                    endArray();
+                    depth--;
+                    break;
+
+                case END_OBJECT:
+                    endObject();
+                    depth--;
+                    break;
+
+                case NAME:
+                case STRING:
+                    peeked = null;
+                    skipString();
+                    break;
+
+                case NUMBER:
+                    peeked = null;
+                    skipNumber();
+                    break;
+
+                case BOOLEAN:
+                    nextBoolean();
+                    break;
+
+                case NULL:
+                    nextNull();
+                    break;
+
+                default:
+                    throw syntaxError("Unexpected " + p);
+
+            }
+
+        } while (depth != 0);
+
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        peeked = null;
+        stackSize = 0;
+        in.close();
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Lexer
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Classifies the value that starts at the next non whitespace char. Strings consume their opening quote,
+     * the rest of values are left untouched.
+     */
+    private Token peekValue() throws IOException {
+
+        int c = nextNonWhitespace();
+
+        switch (c) {
+
+            case '{':
+                return Token.BEGIN_OBJECT;
+
+            case '[':
+                return Token.BEGIN_ARRAY;
+
+            case '"':
+                return Token.STRING;
+
+            case 't':
+            case 'f':
+                pos--;
+                return Token.BOOLEAN;
+
+            case 'n':
+                pos--;
+                return Token.NULL;
+
+            default:
+
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    pos--;
+                    return Token.NUMBER;
+                }
+
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+
+        }
+
+    }
+
+    /**
+     * Reads the rest of a string whose opening quote has already been consumed
+     */
+    private String readString() throws IOException {
+
+        StringBuilder builder = null;
+
+        while (true) {
+
+            int start = pos;
+
+            while (pos < limit) {
+
+                char c = buffer[pos++];
+
+                if (c == '"') {
+
+                    if (builder == null) {
+                        return new String(buffer, start, pos - start - 1);
+                    }
+
+                    builder.append(buffer, start, pos - start - 1);
+                    return builder.toString();
+
+                } else if (c == '\\') {
+
+                    if (builder == null) {
+                        builder = stringBuilder;
+                        builder.setLength(0);
+                    }
+
+                    builder.append(buffer, start, pos - start - 1);
+                    builder.append(readEscape());
+                    start = pos;
+
+                }
+
+            }
+
+            if (builder == null) {
+                builder = stringBuilder;
+                builder.setLength(0);
+            }
+
+            builder.append(buffer, start, pos - start);
+
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+
+        }
+
+    }
+
+    /**
+     * Skips the rest of a string whose opening quote has already been consumed
+     */
+    private void skipString() throws IOException {
+
+        while (fillIfNeeded()) {
+
+            char c = buffer[pos++];
+
+            if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                readEscape();
+            }
+
+        }
+
+        throw syntaxError("Unterminated string");
+
+    }
+
+    /**
+     * Reads an escape sequence whose backslash has already been consumed
+     */
+    private char readEscape() throws IOException {
+
+        if (!fillIfNeeded()) {
+            throw syntaxError("Unterminated escape sequence");
+        }
+
+        char escaped = buffer[pos++];
+
+        switch (escaped) {
+
+            case 'u':
+
+                int value = 0;
+
+                for (int i = 0; i < 4; i++) {
+
+                    if (!fillIfNeeded()) {
+                        throw syntaxError("Unterminated escape sequence");
+                    }
+
+                    char c = buffer[pos++];
+                    value <<= 4;
+
+                    if (c >= '0' && c <= '9') {
+                        value += c - '0';
+                    } else if (c >= 'a' && c <= 'f') {
+                        value += c - 'a' + 10;
+                    } else if (c >= 'A' && c <= 'F') {
+                        value += c - 'A' + 10;
+                    } else {
+                        throw syntaxError("Invalid escape sequence");
+                    }
+
+                }
+
+                return (char) value;
+
+            case 't':
+                return '\t';
+
+            case 'b':
+                return '\b';
+
+            case 'n':
+                return '\n';
+
+            case 'r':
+                return '\r';
+
+            case 'f':
+                return '\f';
+
+            default:
+                return escaped;
+
+        }
+
+    }
+
+    /**
+     * Reads the literal representation of a number
+     */
+    private String readNumberLiteral() throws IOException {
+
+        StringBuilder builder = stringBuilder;
+        builder.setLength(0);
+
+        while (fillIfNeeded() && isNumberChar(buffer[pos])) {
+            builder.append(buffer[pos++]);
+        }
+
+        return builder.toString();
+
+    }
+
+    /**
+     * Skips a number
+     */
+    private void skipNumber() throws IOException {
+
+        while (fillIfNeeded() && isNumberChar(buffer[pos])) {
+            pos++;
+        }
+
+    }
+
+    /**
+     * @return true if the char can be part of a JSON number
+     */
+    private static boolean isNumberChar(char c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
+    /**
+     * Consumes the expected literal
+     */
+    private void consumeLiteral(String literal) throws IOException {
+
+        for (int i = 0; i < literal.length(); i++) {
+
+            if (!fillIfNeeded() || buffer[pos++] != literal.charAt(i)) {
+                throw syntaxError("Expected " + literal);
+            }
+
+        }
+
+    }
+
+    /**
+     * Returns the next char that is not a whitespace, consuming it
+     *
+     * @return the next char
+     * @throws IOException at the end of the document
+     */
+    private int nextNonWhitespace() throws IOException {
+
+        while (fillIfNeeded()) {
+
+            char c = buffer[pos++];
+
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+
+        }
+
+        throw syntaxError("End of input");
+
+    }
+
+    /**
+     * Makes sure there is at least a char available in the buffer
+     *
+     * @return false at the end of the stream
+     */
+    private boolean fillIfNeeded() throws IOException {
+        return pos < limit || fill();
+    }
+
+    /**
+     * Reads more chars into the buffer, discarding the consumed ones
+     *
+     * @return false at the end of the stream
+     */
+    private boolean fill() throws IOException {
+
+        pos = 0;
+        limit = 0;
+
+        int read;
+
+        while ((read = in.read(buffer, 0, buffer.length)) == 0) {
+            // Keep reading until data or end of stream
+        }
+
+        if (read < 0) {
+            return false;
+        }
+
+        limit = read;
+        return true;
+
+    }
+
+    /**
+     * Checks the type of the next token
+     */
+    private void expect(Token expected) throws IOException {
+
+        Token p = peek();
+
+        if (p != expected) {
+            throw syntaxError("Expected " + expected + " but was " + p);
+        }
+
+    }
+
+    /**
+     * Pushes a new scope to the stack
+     */
+    private void push(int scope) {
+
+        if (stackSize == stack.length) {
+
+            int[] newStack = new int[stackSize * 2];
+            System.arraycopy(stack, 0, newStack, 0, stackSize);
+            stack = newStack;
+
+        }
+
+        stack[stackSize++] = scope;
+
+    }
+
+    /**
+     * Creates a syntax error exception
+     */
+    private MalformedJsonException syntaxError(String message) {
+        return new MalformedJsonException("Malformed JSON: " + message);
+    }
+
+}
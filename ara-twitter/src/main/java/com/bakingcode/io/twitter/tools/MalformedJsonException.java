@@ -0,0 +1,24 @@
+package com.bakingcode.io.twitter.tools;
+
+import java.io.IOException;
+
+/**
+ * Raised by JsonStreamReader when the document is not valid JSON, as opposed to an I/O error of the stream
+ */
+public class MalformedJsonException extends IOException {
+
+    /**
+     * Serial UID
+     */
+    private static final long serialVersionUID = 6204592857061127468L;
+
+    /**
+     * Default constructor
+     *
+     * @param message description of the error
+     */
+    public MalformedJsonException(String message) {
+        super(message);
+    }
+
+}
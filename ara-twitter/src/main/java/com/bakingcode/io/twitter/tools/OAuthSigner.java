@@ -0,0 +1,455 @@
+package com.bakingcode.io.twitter.tools;
+
+import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.http.NameValuePair;
+
+/**
+ * OAuth 1.0a HMAC-SHA1 signer. It is immutable and can be shared by any number of threads: the key material is
+ * encoded once, and every thread keeps one Mac and buffers, shared by all the signers, so signing does not lock
+ * nor create them again, and a signer replaced after a credential change leaves nothing behind in the threads.
+ */
+public final class OAuthSigner {
+
+    /**
+     * Signature method
+     */
+    private static final String HMAC_SHA1 = "HMAC-SHA1";
+
+    /**
+     * Separator of the key and the value of the parameters while they are sorted
+     */
+    private static final char SEPARATOR = ' ';
+
+    /**
+     * Hex digits
+     */
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Base64 alphabet
+     */
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    /**
+     * Seeds of the per thread nonce generators
+     */
+    private static final SecureRandom seeds = new SecureRandom();
+
+    /**
+     * Per thread signing state, shared by all the signers
+     */
+    private static final ThreadLocal<State> state = new ThreadLocal<State>() {
+
+        @Override
+        protected State initialValue() {
+            return new State();
+        }
+
+    };
+
+    /**
+     * Reusable state of a signing thread
+     */
+    private static final class State {
+
+        /**
+         * HMAC-SHA1 Mac
+         */
+        final Mac mac;
+
+        /**
+         * Key the mac is initialized with, null until the first signature
+         */
+        SecretKeySpec key;
+
+        /**
+         * Buffer of the signature base string and the header
+         */
+        final StringBuilder buffer = new StringBuilder(512);
+
+        /**
+         * Buffer of the encoded parameters
+         */
+        final StringBuilder params = new StringBuilder(256);
+
+        /**
+         * Sorted encoded parameters, grown when needed
+         */
+        String[] sorted = new String[16];
+
+        /**
+         * Nonce generator
+         */
+        final Random random = new Random(seeds.nextLong());
+
+        /**
+         * Creates the state
+         */
+        State() {
+
+            try {
+                mac = Mac.getInstance("HmacSHA1");
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+
+        }
+
+        /**
+         * Gets the mac initialized with the given key. It is only initialized again when the thread signs with
+         * another signer than the previous time.
+         *
+         * @param signingKey key of the signer
+         * @return the mac
+         */
+        Mac mac(SecretKeySpec signingKey) {
+
+            if (key != signingKey) {
+
+                try {
+                    mac.init(signingKey);
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException(e);
+                }
+
+                key = signingKey;
+
+            }
+
+            return mac;
+
+        }
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Fields
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Percent encoded consumer key
+     */
+    private final String encodedConsumerKey;
+
+    /**
+     * Percent encoded token, null for petitions without user token
+     */
+    private final String encodedToken;
+
+    /**
+     * Raw token, used to detect credential changes
+     */
+    private final String token;
+
+    /**
+     * Raw token secret, used to detect credential changes
+     */
+    private final String tokenSecret;
+
+    /**
+     * HMAC key: encoded consumer secret & encoded token secret
+     */
+    private final SecretKeySpec key;
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Constructors
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a signer
+     *
+     * @param consumerKey consumer key
+     * @param consumerSecret consumer secret
+     * @param token user token or null
+     * @param tokenSecret user token secret or null
+     */
+    public OAuthSigner(String consumerKey, String consumerSecret, String token, String tokenSecret) {
+
+        this.token = token;
+        this.tokenSecret = tokenSecret;
+        this.encodedConsumerKey = encode(consumerKey);
+        this.encodedToken = token != null ? encode(token) : null;
+
+        String signingKey = encode(consumerSecret) + "&" + (tokenSecret != null ? encode(tokenSecret) : "");
+
+        try {
+            key = new SecretKeySpec(signingKey.getBytes("UTF-8"), "HmacSHA1");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Signing
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Checks if this signer was created for the given user token
+     *
+     * @param token user token
+     * @param tokenSecret user token secret
+     * @return true if the signer uses the same token
+     */
+    public boolean isFor(String token, String tokenSecret) {
+        return equals(this.token, token) && equals(this.tokenSecret, tokenSecret);
+    }
+
+    /**
+     * Builds the Authorization header of a petition
+     *
+     * @param method http method, GET or POST
+     * @param url url of the petition without query string
+     * @param parameters query parameters, or form parameters of a url encoded POST. Multipart parameters are not
+     * signed.
+     * @return the value of the Authorization header
+     */
+    public String sign(String method, String url, List<NameValuePair> parameters) {
+
+        State s = state.get();
+        String timestamp = Long.toString(System.currentTimeMillis() / 1000L);
+        String nonce = nonce(s);
+
+        // Encoded parameters, sorted by key and value
+        int count = (parameters != null ? parameters.size() : 0) + 6;
+        if (s.sorted.length < count) {
+            s.sorted = new String[count];
+        }
+
+        String[] sorted = s.sorted;
+        int n = 0;
+
+        if (parameters != null) {
+            for (NameValuePair p : parameters) {
+                sorted[n++] = encode(p.getName()) + SEPARATOR + (p.getValue() != null ? encode(p.getValue()) : "");
+            }
+        }
+
+        sorted[n++] = "oauth_consumer_key" + SEPARATOR + encodedConsumerKey;
+        sorted[n++] = "oauth_nonce" + SEPARATOR + nonce;
+        sorted[n++] = "oauth_signature_method" + SEPARATOR + HMAC_SHA1;
+        sorted[n++] = "oauth_timestamp" + SEPARATOR + timestamp;
+        if (encodedToken != null) {
+            sorted[n++] = "oauth_token" + SEPARATOR + encodedToken;
+        }
+        sorted[n++] = "oauth_version" + SEPARATOR + "1.0";
+
+        // The separator sorts before any encoded character, so the pairs are sorted by key and then by value
+        Arrays.sort(sorted, 0, n);
+
+        StringBuilder params = s.params;
+        params.setLength(0);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                params.append('&');
+            }
+            String pair = sorted[i];
+            int separator = pair.indexOf(SEPARATOR);
+            params.append(pair, 0, separator).append('=').append(pair, separator + 1, pair.length());
+            sorted[i] = null;
+        }
+
+        // Signature base string
+        StringBuilder buffer = s.buffer;
+        buffer.setLength(0);
+        buffer.append(method).append('&');
+        encode(url, buffer);
+        buffer.append('&');
+        encode(params, buffer);
+
+        byte[] signature = s.mac(key).doFinal(utf8(buffer));
+
+        // Header
+        buffer.setLength(0);
+        buffer.append("OAuth oauth_consumer_key=\"").append(encodedConsumerKey)
+                .append("\", oauth_nonce=\"").append(nonce)
+                .append("\", oauth_signature=\"");
+        base64Encoded(signature, buffer);
+        buffer.append("\", oauth_signature_method=\"").append(HMAC_SHA1)
+                .append("\", oauth_timestamp=\"").append(timestamp);
+        if (encodedToken != null) {
+            buffer.append("\", oauth_token=\"").append(encodedToken);
+        }
+        buffer.append("\", oauth_version=\"1.0\"");
+
+        return buffer.toString();
+
+    }
+
+    // ///////////////////////////////////////////////////////////////////////////
+    // Encoding
+    // ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Percent encodes a value following RFC 3986, as required by OAuth
+     *
+     * @param value the value
+     * @return the encoded value
+     */
+    public static String encode(String value) {
+
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        encode(value, out);
+        return out.toString();
+
+    }
+
+    /**
+     * Percent encodes a value following RFC 3986 into a buffer
+     *
+     * @param value the value
+     * @param out the buffer
+     */
+    private static void encode(CharSequence value, StringBuilder out) {
+
+        int length = value.length();
+
+        for (int i = 0; i < length; i++) {
+
+            char c = value.charAt(i);
+
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '.' || c == '_' || c == '~') {
+
+                out.append(c);
+
+            } else if (c < 0x80) {
+
+                percent(c, out);
+
+            } else if (c < 0x800) {
+
+                percent(0xC0 | (c >> 6), out);
+                percent(0x80 | (c & 0x3F), out);
+
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                percent(0xF0 | (cp >> 18), out);
+                percent(0x80 | ((cp >> 12) & 0x3F), out);
+                percent(0x80 | ((cp >> 6) & 0x3F), out);
+                percent(0x80 | (cp & 0x3F), out);
+
+            } else {
+
+                percent(0xE0 | (c >> 12), out);
+                percent(0x80 | ((c >> 6) & 0x3F), out);
+                percent(0x80 | (c & 0x3F), out);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Appends a percent encoded byte
+     *
+     * @param b the byte
+     * @param out the buffer
+     */
+    private static void percent(int b, StringBuilder out) {
+        out.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    /**
+     * Gets the bytes of the signature base string, which is already percent encoded and so ASCII
+     *
+     * @param ascii the ascii text
+     * @return the bytes
+     */
+    private static byte[] utf8(CharSequence ascii) {
+
+        int length = ascii.length();
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ascii.charAt(i);
+        }
+        return bytes;
+
+    }
+
+    /**
+     * Appends the percent encoded base64 of some bytes
+     *
+     * @param bytes the bytes
+     * @param out the buffer
+     */
+    private static void base64Encoded(byte[] bytes, StringBuilder out) {
+
+        int i = 0;
+
+        while (i < bytes.length) {
+
+            int remaining = bytes.length - i;
+            int b = (bytes[i++] & 0xFF) << 16;
+            if (remaining > 1) {
+                b |= (bytes[i++] & 0xFF) << 8;
+            }
+            if (remaining > 2) {
+                b |= bytes[i++] & 0xFF;
+            }
+
+            base64Char(BASE64[(b >> 18) & 0x3F], out);
+            base64Char(BASE64[(b >> 12) & 0x3F], out);
+            base64Char(remaining > 1 ? BASE64[(b >> 6) & 0x3F] : '=', out);
+            base64Char(remaining > 2 ? BASE64[b & 0x3F] : '=', out);
+
+        }
+
+    }
+
+    /**
+     * Appends a base64 character percent encoded
+     *
+     * @param c the character
+     * @param out the buffer
+     */
+    private static void base64Char(char c, StringBuilder out) {
+
+        if (c == '+' || c == '/' || c == '=') {
+            percent(c, out);
+        } else {
+            out.append(c);
+        }
+
+    }
+
+    /**
+     * Generates a nonce
+     *
+     * @param s state of the thread
+     * @return 16 hex characters
+     */
+    private static String nonce(State s) {
+
+        long value = s.random.nextLong();
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+
+    }
+
+    /**
+     * Null safe equals
+     *
+     * @param a a string
+     * @param b another string
+     * @return true if both are null or equal
+     */
+    private static boolean equals(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.bakingcode.io.twitter.tools;
+
+/**
+ * Twitter ids generated by Snowflake since November 2010. The 41 highest bits of an id are the millis since the
+ * Snowflake epoch, so the creation time of a tweet can be read from its id without parsing its created_at date.
+ * The older ids were sequential and carry no time.
+ */
+public final class Snowflake {
+
+    /**
+     * Epoch of the Snowflake timestamps, in unix millis
+     */
+    public static final long EPOCH_MILLIS = 1288834974657L;
+
+    /**
+     * First Snowflake id, the previous ids were sequential
+     */
+    public static final long FIRST_ID = 29700859247L;
+
+    /**
+     * Bits of an id below the timestamp: worker, datacenter and sequence
+     */
+    private static final int TIMESTAMP_SHIFT = 22;
+
+    /**
+     * Not instantiable
+     */
+    private Snowflake() {
+    }
+
+    /**
+     * @param id a tweet id
+     * @return true if it is a Snowflake id and carries its creation time
+     */
+    public static boolean isSnowflake(long id) {
+        return id >= FIRST_ID;
+    }
+
+    /**
+     * @param id a Snowflake id
+     * @return the unix millis when the id was generated
+     */
+    public static long timestampOf(long id) {
+        return (id >> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    /**
+     * Gives the lowest id that can be generated at a time, so every tweet created at that time or later has an id
+     * greater or equal than it. Used to turn a time into the since_id and max_id bounds of a timeline.
+     *
+     * @param millis unix millis
+     * @return the lowest id of that millisecond, 0 if it is before the Snowflake epoch
+     */
+    public static long firstIdAt(long millis) {
+        return millis <= EPOCH_MILLIS ? 0 : (millis - EPOCH_MILLIS) << TIMESTAMP_SHIFT;
+    }
+
+}
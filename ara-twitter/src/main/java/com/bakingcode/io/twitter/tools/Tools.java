@@ -8,11 +8,8 @@
  */ 
 package com.bakingcode.io.twitter.tools;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
-import java.util.Locale;
 
 public class Tools {
 
@@ -21,16 +18,6 @@ public class Tools {
      */
     public static final String EMPTY_STRING = "";
     
-    /**
-     * Large twitter date format sample: "Wed Aug 27 13:08:45 +0000 2008"
-     */
-    private static final String LARGE_TWITTER_DATE_FORMAT = "EEE MMM dd HH:mm:ss Z yyyy";
-    
-    /**
-     * Simple date format for match LARGET_TWITTER_DATE_FORMAT
-     */
-    private static final SimpleDateFormat sdfLargeTwitterDateFormat = new SimpleDateFormat(LARGE_TWITTER_DATE_FORMAT, Locale.ENGLISH);
-	
 	/**
      * Checks if a string is null or empty
      * @param strCheck the string to check
@@ -79,18 +66,15 @@ public class Tools {
     /**
      * Parses a large dat eof twitter like this:
      * "Wed Aug 27 13:08:45 +0000 2008"
+     * It can be called from any thread, see {@link TwitterDateParser}
      * @param largeDate large format date of twitter
-     * @return a new date
+     * @return a new date or null if the date does not follow the format
      */
     public static Date parseLargeTweetDate(String largeDate) {
     	
-    	try {
-			return sdfLargeTwitterDateFormat.parse(largeDate);
-		} catch (ParseException e) {
-			e.printStackTrace();
-		}
+    	long millis = TwitterDateParser.parse(largeDate);
+    	return millis != TwitterDateParser.INVALID ? new Date(millis) : null;
     	
-    	return null;
     }
     
 	/**
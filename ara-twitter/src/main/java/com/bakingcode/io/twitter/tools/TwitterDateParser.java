@@ -0,0 +1,231 @@
+package com.bakingcode.io.twitter.tools;
+
+/**
+ * Parser of the dates of the twitter api, "EEE MMM dd HH:mm:ss Z yyyy", e.g. "Wed Aug 27 13:08:45 +0000 2008".
+ * The format is fixed, so the fields are read at their positions and turned into epoch millis without
+ * SimpleDateFormat, which is slow and cannot be shared between threads. The parser has no mutable state except a
+ * small cache of the latest dates, so it is safe for any number of threads.
+ */
+public final class TwitterDateParser {
+
+    /**
+     * Returned for a date that does not follow the format
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * Length of a twitter date
+     */
+    private static final int LENGTH = 30;
+
+    /**
+     * Number of cached dates, a power of two
+     */
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * Parsed date, immutable so it can be published through the cache without locks
+     */
+    private static final class Entry {
+
+        /**
+         * The date as received
+         */
+        final String date;
+
+        /**
+         * Its epoch millis
+         */
+        final long millis;
+
+        /**
+         * Default constructor
+         *
+         * @param date the date as received
+         * @param millis its epoch millis
+         */
+        Entry(String date, long millis) {
+
+            this.date = date;
+            this.millis = millis;
+
+        }
+
+    }
+
+    /**
+     * Latest dates by hash. The tweets of a timeline repeat the creation dates of their users, and a slot
+     * overwritten by another thread only costs a parse.
+     */
+    private static final Entry[] cache = new Entry[CACHE_SIZE];
+
+    /**
+     * Not instantiable
+     */
+    private TwitterDateParser() {
+    }
+
+    /**
+     * Parses a twitter date
+     *
+     * @param date the date, e.g. "Wed Aug 27 13:08:45 +0000 2008"
+     * @return the epoch millis or INVALID if the date is null or does not follow the format
+     */
+    public static long parse(String date) {
+
+        if (date == null) {
+            return INVALID;
+        }
+
+        int slot = date.hashCode() & (CACHE_SIZE - 1);
+        Entry entry = cache[slot];
+
+        if (entry != null && entry.date.equals(date)) {
+            return entry.millis;
+        }
+
+        long millis = parseUncached(date);
+
+        if (millis != INVALID) {
+            cache[slot] = new Entry(date, millis);
+        }
+
+        return millis;
+
+    }
+
+    /**
+     * Parses a twitter date without the cache
+     *
+     * @param date the date, e.g. "Wed Aug 27 13:08:45 +0000 2008"
+     * @return the epoch millis or INVALID if the date does not follow the format
+     */
+    public static long parseUncached(CharSequence date) {
+
+        if (date == null || date.length() != LENGTH || date.charAt(3) != ' ' || date.charAt(7) != ' ' || date.charAt(10) != ' '
+                || date.charAt(13) != ':' || date.charAt(16) != ':' || date.charAt(19) != ' ' || date.charAt(25) != ' ') {
+            return INVALID;
+        }
+
+        int month = month(date.charAt(4), date.charAt(5), date.charAt(6));
+        int day = digits(date, 8, 2);
+        int hour = digits(date, 11, 2);
+        int minute = digits(date, 14, 2);
+        int second = digits(date, 17, 2);
+        int offset = digits(date, 21, 4);
+        int year = digits(date, 26, 4);
+        char sign = date.charAt(20);
+
+        if (month < 0 || day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60
+                || offset < 0 || year < 0 || (sign != '+' && sign != '-')) {
+            return INVALID;
+        }
+
+        int offsetSeconds = (offset / 100) * 3600 + (offset % 100) * 60;
+
+        if (sign == '-') {
+            offsetSeconds = -offsetSeconds;
+        }
+
+        long seconds = daysFromEpoch(year, month, day) * 86400L + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return seconds * 1000L;
+
+    }
+
+    /**
+     * Reads a number of fixed digits
+     *
+     * @param s the characters
+     * @param start position of the first digit
+     * @param count number of digits
+     * @return the number or -1 if a character is not a digit
+     */
+    private static int digits(CharSequence s, int start, int count) {
+
+        int value = 0;
+
+        for (int i = start; i < start + count; i++) {
+
+            int digit = s.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+
+            value = value * 10 + digit;
+
+        }
+
+        return value;
+
+    }
+
+    /**
+     * @param a first letter of the month
+     * @param b second letter of the month
+     * @param c third letter of the month
+     * @return the month, 1 to 12, or -1 if it is not an english month
+     */
+    private static int month(char a, char b, char c) {
+
+        switch (a) {
+
+            case 'J':
+                if (b == 'a' && c == 'n') return 1;
+                if (b == 'u' && c == 'n') return 6;
+                if (b == 'u' && c == 'l') return 7;
+                return -1;
+
+            case 'F':
+                return b == 'e' && c == 'b' ? 2 : -1;
+
+            case 'M':
+                if (b == 'a' && c == 'r') return 3;
+                if (b == 'a' && c == 'y') return 5;
+                return -1;
+
+            case 'A':
+                if (b == 'p' && c == 'r') return 4;
+                if (b == 'u' && c == 'g') return 8;
+                return -1;
+
+            case 'S':
+                return b == 'e' && c == 'p' ? 9 : -1;
+
+            case 'O':
+                return b == 'c' && c == 't' ? 10 : -1;
+
+            case 'N':
+                return b == 'o' && c == 'v' ? 11 : -1;
+
+            case 'D':
+                return b == 'e' && c == 'c' ? 12 : -1;
+
+            default:
+                return -1;
+
+        }
+
+    }
+
+    /**
+     * Counts the days from 1970-01-01 to a date of the proleptic gregorian calendar
+     *
+     * @param year the year
+     * @param month the month, 1 to 12
+     * @param day the day of the month
+     * @return the days, negative before 1970
+     */
+    private static long daysFromEpoch(int year, int month, int day) {
+
+        // Years starting in March, so the leap day is the last one of the year
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+
+    }
+
+}